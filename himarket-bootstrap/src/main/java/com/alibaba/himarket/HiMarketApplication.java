@@ -20,6 +20,7 @@
 package com.alibaba.himarket;
 
 import com.alibaba.himarket.config.AcpProperties;
+import com.alibaba.himarket.config.GatewayResilienceProperties;
 import com.alibaba.himarket.config.JwtProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -30,7 +31,11 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @SpringBootApplication
 @EnableJpaAuditing
 @EnableScheduling
-@EnableConfigurationProperties({AcpProperties.class, JwtProperties.class})
+@EnableConfigurationProperties({
+    AcpProperties.class,
+    GatewayResilienceProperties.class,
+    JwtProperties.class
+})
 public class HiMarketApplication {
 
     public static void main(String[] args) {
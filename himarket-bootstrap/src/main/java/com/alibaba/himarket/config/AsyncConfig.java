@@ -41,4 +41,67 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Gateway calls of the gateway outbox. The dispatcher waits for each pass, so it runs the calls
+     * itself when the pool is saturated.
+     */
+    @Bean("gatewayOutboxExecutor")
+    public Executor getGatewayOutboxExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(16);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(256);
+        executor.setThreadNamePrefix("GatewayOutbox-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Registry fetches of the scheduled sync tasks. The tasks wait for every fetch, so they run the
+     * fetches themselves when the pool is saturated.
+     */
+    @Bean("registrySyncExecutor")
+    public Executor getRegistrySyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(64);
+        executor.setThreadNamePrefix("RegistrySync-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Product import jobs. A job runs for minutes, so a full queue rejects new jobs instead of
+     * running them on the request thread.
+     */
+    @Bean("productImportJobExecutor")
+    public Executor getProductImportJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("ProductImportJob-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Source lookups of product import jobs. A job waits for each batch, so it runs the lookups
+     * itself when the pool is saturated.
+     */
+    @Bean("productImportResolveExecutor")
+    public Executor getProductImportResolveExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(64);
+        executor.setThreadNamePrefix("ProductImportResolve-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
 }
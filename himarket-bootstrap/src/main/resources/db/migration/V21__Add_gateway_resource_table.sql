@@ -0,0 +1,49 @@
+CREATE TABLE IF NOT EXISTS `gateway_resource` (
+    `id` bigint NOT NULL AUTO_INCREMENT,
+    `gateway_id` varchar(64) NOT NULL,
+    `resource_type` varchar(32) NOT NULL COMMENT 'HTTP_API / REST_API / MCP_SERVER / AGENT_API / MODEL_API',
+    `resource_key` varchar(256) NOT NULL COMMENT 'Stable resource identifier on the gateway',
+    `resource_name` varchar(256) DEFAULT NULL,
+    `result_class` varchar(256) NOT NULL COMMENT 'Result class used to restore the stored content',
+    `content` json NOT NULL,
+    `content_hash` varchar(64) NOT NULL COMMENT 'SHA-256 of content, used for change detection',
+    `created_at` datetime(3) DEFAULT CURRENT_TIMESTAMP(3),
+    `updated_at` datetime(3) DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_gateway_resource_key` (`gateway_id`, `resource_type`, `resource_key`),
+    KEY `idx_gateway_resource_name` (`gateway_id`, `resource_type`, `resource_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+SET @dbname = DATABASE();
+SET @tablename = 'gateway';
+SET @columnname = 'resource_synced_at';
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE
+      (TABLE_SCHEMA = @dbname)
+      AND (TABLE_NAME = @tablename)
+      AND (COLUMN_NAME = @columnname)
+  ) > 0,
+  'SELECT 1',
+  'ALTER TABLE `gateway` ADD COLUMN `resource_synced_at` datetime(3) DEFAULT NULL'
+));
+PREPARE alterIfNotExists FROM @preparedStatement;
+EXECUTE alterIfNotExists;
+DEALLOCATE PREPARE alterIfNotExists;
+
+SET @columnname = 'resource_sync_message';
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE
+      (TABLE_SCHEMA = @dbname)
+      AND (TABLE_NAME = @tablename)
+      AND (COLUMN_NAME = @columnname)
+  ) > 0,
+  'SELECT 1',
+  'ALTER TABLE `gateway` ADD COLUMN `resource_sync_message` varchar(512) DEFAULT NULL'
+));
+PREPARE alterIfNotExists FROM @preparedStatement;
+EXECUTE alterIfNotExists;
+DEALLOCATE PREPARE alterIfNotExists;
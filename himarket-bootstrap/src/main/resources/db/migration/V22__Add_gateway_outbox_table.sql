@@ -0,0 +1,20 @@
+CREATE TABLE IF NOT EXISTS `gateway_outbox` (
+    `id` bigint NOT NULL AUTO_INCREMENT,
+    `idempotency_key` varchar(128) NOT NULL COMMENT 'Identifies the side effect so it is queued at most once',
+    `operation` varchar(32) NOT NULL COMMENT 'AUTHORIZE_CONSUMER / REVOKE_AUTHORIZATION / DELETE_CONSUMER',
+    `status` varchar(32) NOT NULL COMMENT 'PENDING / PROCESSING / SUCCEEDED / FAILED',
+    `consumer_id` varchar(64) DEFAULT NULL,
+    `subscription_id` varchar(64) DEFAULT NULL,
+    `gateway_id` varchar(64) DEFAULT NULL,
+    `gw_consumer_id` varchar(64) DEFAULT NULL,
+    `gateway_config` json DEFAULT NULL,
+    `consumer_auth_config` json DEFAULT NULL,
+    `attempts` int NOT NULL DEFAULT 0,
+    `next_attempt_at` datetime(3) DEFAULT NULL,
+    `last_error` varchar(512) DEFAULT NULL,
+    `created_at` datetime(3) DEFAULT CURRENT_TIMESTAMP(3),
+    `updated_at` datetime(3) DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_idempotency_key` (`idempotency_key`),
+    KEY `idx_status_next_attempt` (`status`, `next_attempt_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS `scheduler_lease` (
+    `id` bigint NOT NULL AUTO_INCREMENT,
+    `lease_name` varchar(64) NOT NULL COMMENT 'Scheduled task the lease elects a leader for',
+    `owner` varchar(128) NOT NULL COMMENT 'Instance currently holding the lease',
+    `lease_until` datetime(3) NOT NULL,
+    `created_at` datetime(3) DEFAULT CURRENT_TIMESTAMP(3),
+    `updated_at` datetime(3) DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_lease_name` (`lease_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,28 @@
+CREATE TABLE IF NOT EXISTS `vendor_mcp_mirror` (
+    `id` bigint NOT NULL AUTO_INCREMENT,
+    `vendor_type` varchar(32) NOT NULL COMMENT 'External marketplace the item is mirrored from',
+    `remote_id` varchar(255) NOT NULL COMMENT 'Vendor-side unique ID',
+    `mcp_name` varchar(128) DEFAULT NULL,
+    `display_name` varchar(512) DEFAULT NULL,
+    `description` text,
+    `protocol_type` varchar(32) DEFAULT NULL,
+    `connection_config` text,
+    `tags` text,
+    `icon` text,
+    `repo_url` varchar(1024) DEFAULT NULL,
+    `extra_params` text,
+    `sort_order` int NOT NULL COMMENT 'Position in the vendor catalog',
+    `synced_at` datetime(3) NOT NULL COMMENT 'Time the vendor catalog was mirrored',
+    `created_at` datetime(3) DEFAULT CURRENT_TIMESTAMP(3),
+    `updated_at` datetime(3) DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_vendor_remote_id` (`vendor_type`, `remote_id`),
+    KEY `idx_vendor_sort_order` (`vendor_type`, `sort_order`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS `vendor_mcp_mirror_token` (
+    `vendor_type` varchar(32) NOT NULL,
+    `token` varchar(64) NOT NULL COMMENT 'Normalized search term of a mirrored item',
+    `remote_id` varchar(255) NOT NULL,
+    PRIMARY KEY (`vendor_type`, `token`, `remote_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_bin;
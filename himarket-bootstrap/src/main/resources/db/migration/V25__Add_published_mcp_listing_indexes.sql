@@ -0,0 +1,43 @@
+-- Published MCP listing joins product and mcp_server_meta and filters by product type and status,
+-- optionally by meta origin.
+SET @dbname = DATABASE();
+
+-- ========================================
+-- Add idx_type_status on product
+-- ========================================
+SET @tablename = 'product';
+SET @indexname = 'idx_type_status';
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE
+      (TABLE_SCHEMA = @dbname)
+      AND (TABLE_NAME = @tablename)
+      AND (INDEX_NAME = @indexname)
+  ) > 0,
+  'SELECT 1',
+  'ALTER TABLE `product` ADD INDEX `idx_type_status` (`type`, `status`, `product_id`)'
+));
+PREPARE addIndexIfNotExists FROM @preparedStatement;
+EXECUTE addIndexIfNotExists;
+DEALLOCATE PREPARE addIndexIfNotExists;
+
+-- ========================================
+-- Add idx_product_origin on mcp_server_meta
+-- ========================================
+SET @tablename = 'mcp_server_meta';
+SET @indexname = 'idx_product_origin';
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE
+      (TABLE_SCHEMA = @dbname)
+      AND (TABLE_NAME = @tablename)
+      AND (INDEX_NAME = @indexname)
+  ) > 0,
+  'SELECT 1',
+  'ALTER TABLE `mcp_server_meta` ADD INDEX `idx_product_origin` (`product_id`, `origin`)'
+));
+PREPARE addIndexIfNotExists FROM @preparedStatement;
+EXECUTE addIndexIfNotExists;
+DEALLOCATE PREPARE addIndexIfNotExists;
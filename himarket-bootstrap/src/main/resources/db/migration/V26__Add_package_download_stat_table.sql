@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS `package_download_stat` (
+    `id` bigint NOT NULL AUTO_INCREMENT,
+    `product_id` varchar(64) NOT NULL,
+    `cache_hit_count` bigint NOT NULL DEFAULT 0 COMMENT 'Downloads served from the package cache without reaching the registry',
+    `created_at` datetime(3) DEFAULT CURRENT_TIMESTAMP(3),
+    `updated_at` datetime(3) DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_download_stat_product_id` (`product_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
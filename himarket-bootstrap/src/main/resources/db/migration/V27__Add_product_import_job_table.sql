@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS `product_import_job` (
+    `id` bigint NOT NULL AUTO_INCREMENT,
+    `job_id` varchar(64) NOT NULL,
+    `admin_id` varchar(64) NOT NULL,
+    `status` varchar(32) NOT NULL,
+    `items` json DEFAULT NULL COMMENT 'Status of every resource, in request order',
+    `cancel_requested` tinyint(1) NOT NULL DEFAULT 0,
+    `finished_at` datetime(3) DEFAULT NULL,
+    `created_at` datetime(3) DEFAULT CURRENT_TIMESTAMP(3),
+    `updated_at` datetime(3) DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_import_job_id` (`job_id`),
+    KEY `idx_import_job_finished_at` (`finished_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -38,6 +38,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -91,4 +92,10 @@ public class Gateway extends BaseEntity {
     @Convert(converter = ApsaraGatewayConfigConverter.class)
     @Column(name = "apsara_gateway_config", columnDefinition = "json")
     private ApsaraGatewayConfig apsaraGatewayConfig;
+
+    @Column(name = "resource_synced_at", columnDefinition = "datetime(3)")
+    private LocalDateTime resourceSyncedAt;
+
+    @Column(name = "resource_sync_message", length = 512)
+    private String resourceSyncMessage;
 }
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.entity;
+
+import com.alibaba.himarket.converter.ConsumerAuthConfigConverter;
+import com.alibaba.himarket.converter.GatewayConfigConverter;
+import com.alibaba.himarket.support.consumer.ConsumerAuthConfig;
+import com.alibaba.himarket.support.enums.GatewayOutboxOperation;
+import com.alibaba.himarket.support.enums.GatewayOutboxStatus;
+import com.alibaba.himarket.support.gateway.GatewayConfig;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Gateway side effect recorded in the same transaction as the local state change.
+ *
+ * <p>Rows are executed after commit by the outbox worker, which retries failures with backoff.
+ * The idempotency key identifies the side effect so that it is queued at most once.
+ */
+@Entity
+@Table(
+        name = "gateway_outbox",
+        uniqueConstraints = {
+            @UniqueConstraint(
+                    columnNames = {"idempotency_key"},
+                    name = "uk_idempotency_key"),
+        })
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GatewayOutbox extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "idempotency_key", length = 128, nullable = false)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", length = 32, nullable = false)
+    private GatewayOutboxOperation operation;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 32, nullable = false)
+    private GatewayOutboxStatus status;
+
+    @Column(name = "consumer_id", length = 64)
+    private String consumerId;
+
+    @Column(name = "subscription_id", length = 64)
+    private String subscriptionId;
+
+    @Column(name = "gateway_id", length = 64)
+    private String gatewayId;
+
+    @Column(name = "gw_consumer_id", length = 64)
+    private String gwConsumerId;
+
+    @Column(name = "gateway_config", columnDefinition = "json")
+    @Convert(converter = GatewayConfigConverter.class)
+    private GatewayConfig gatewayConfig;
+
+    @Column(name = "consumer_auth_config", columnDefinition = "json")
+    @Convert(converter = ConsumerAuthConfigConverter.class)
+    private ConsumerAuthConfig consumerAuthConfig;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", columnDefinition = "datetime(3)")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 512)
+    private String lastError;
+}
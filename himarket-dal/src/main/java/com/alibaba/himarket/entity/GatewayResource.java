@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.entity;
+
+import com.alibaba.himarket.support.enums.GatewayResourceType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Locally synced copy of a resource discovered on an imported gateway.
+ *
+ * <p>Rows are maintained by the background inventory sync and serve gateway resource listing and
+ * search without calling the remote gateway.
+ */
+@Entity
+@Table(
+        name = "gateway_resource",
+        uniqueConstraints = {
+            @UniqueConstraint(
+                    columnNames = {"gateway_id", "resource_type", "resource_key"},
+                    name = "uk_gateway_resource_key"),
+        })
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GatewayResource extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "gateway_id", length = 64, nullable = false)
+    private String gatewayId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resource_type", length = 32, nullable = false)
+    private GatewayResourceType resourceType;
+
+    @Column(name = "resource_key", length = 256, nullable = false)
+    private String resourceKey;
+
+    @Column(name = "resource_name", length = 256)
+    private String resourceName;
+
+    @Column(name = "result_class", length = 256, nullable = false)
+    private String resultClass;
+
+    @Column(name = "content", columnDefinition = "json", nullable = false)
+    private String content;
+
+    @Column(name = "content_hash", length = 64, nullable = false)
+    private String contentHash;
+}
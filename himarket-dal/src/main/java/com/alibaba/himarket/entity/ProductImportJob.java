@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.entity;
+
+import com.alibaba.himarket.converter.ListProductImportItemConverter;
+import com.alibaba.himarket.support.enums.ProductImportStatus;
+import com.alibaba.himarket.support.product.ProductImportItem;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+
+/**
+ * Asynchronous product import job and the status of its items.
+ *
+ * <p>The instance running the job saves its progress, any instance serves polls and cancellation.
+ * Updates only write changed columns, so saving progress never overwrites a cancellation
+ * requested on another instance.
+ */
+@Entity
+@Table(
+        name = "product_import_job",
+        uniqueConstraints = {
+            @UniqueConstraint(
+                    columnNames = {"job_id"},
+                    name = "uk_import_job_id"),
+        })
+@DynamicUpdate
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportJob extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", length = 64, nullable = false)
+    private String jobId;
+
+    @Column(name = "admin_id", length = 64, nullable = false)
+    private String adminId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 32, nullable = false)
+    private ProductImportStatus status;
+
+    @Column(name = "items", columnDefinition = "json")
+    @Convert(converter = ListProductImportItemConverter.class)
+    private List<ProductImportItem> items;
+
+    @Column(name = "cancel_requested", nullable = false)
+    private boolean cancelRequested;
+
+    @Column(name = "finished_at", columnDefinition = "datetime(3)")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.alibaba.himarket.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * MCP server mirrored from an external vendor catalog.
+ *
+ * <p>Rows are written and queried through JDBC by the vendor mirror; the mapping keeps the schema
+ * in sync where it is generated from entities.
+ */
+@Entity
+@Table(
+        name = "vendor_mcp_mirror",
+        uniqueConstraints = {
+            @UniqueConstraint(
+                    columnNames = {"vendor_type", "remote_id"},
+                    name = "uk_vendor_remote_id")
+        },
+        indexes = {@Index(name = "idx_vendor_sort_order", columnList = "vendor_type, sort_order")})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendorMcpMirror extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "vendor_type", length = 32, nullable = false)
+    private String vendorType;
+
+    @Column(name = "remote_id", length = 255, nullable = false)
+    private String remoteId;
+
+    @Column(name = "mcp_name", length = 128)
+    private String mcpName;
+
+    @Column(name = "display_name", length = 512)
+    private String displayName;
+
+    @Column(name = "description", columnDefinition = "text")
+    private String description;
+
+    @Column(name = "protocol_type", length = 32)
+    private String protocolType;
+
+    @Column(name = "connection_config", columnDefinition = "text")
+    private String connectionConfig;
+
+    @Column(name = "tags", columnDefinition = "text")
+    private String tags;
+
+    @Column(name = "icon", columnDefinition = "text")
+    private String icon;
+
+    @Column(name = "repo_url", length = 1024)
+    private String repoUrl;
+
+    @Column(name = "extra_params", columnDefinition = "text")
+    private String extraParams;
+
+    @Column(name = "sort_order", nullable = false)
+    private Integer sortOrder;
+
+    @Column(name = "synced_at", columnDefinition = "datetime(3)", nullable = false)
+    private LocalDateTime syncedAt;
+}
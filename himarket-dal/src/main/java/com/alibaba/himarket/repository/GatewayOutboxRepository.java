@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.repository;
+
+import com.alibaba.himarket.entity.GatewayOutbox;
+import com.alibaba.himarket.support.enums.GatewayOutboxStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface GatewayOutboxRepository extends BaseRepository<GatewayOutbox, Long> {
+
+    /**
+     * Find an outbox entry by idempotency key
+     *
+     * @param idempotencyKey the idempotency key
+     * @return the outbox entry if found
+     */
+    Optional<GatewayOutbox> findByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Find entries in a status that are due before the given time, oldest first
+     *
+     * @param status the outbox status
+     * @param nextAttemptAt the due time
+     * @param pageable pagination info
+     * @return the list of due entries
+     */
+    List<GatewayOutbox> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            GatewayOutboxStatus status, LocalDateTime nextAttemptAt, Pageable pageable);
+
+    /**
+     * Move an entry from one status to another if it is still in the expected status
+     *
+     * @param id the entry ID
+     * @param expected the expected current status
+     * @param status the new status
+     * @return the number of updated rows, 0 if another worker changed it first
+     */
+    @Modifying
+    @Transactional
+    @Query(
+            "UPDATE GatewayOutbox o SET o.status = :status WHERE o.id = :id AND o.status ="
+                    + " :expected")
+    int compareAndSetStatus(
+            @Param("id") Long id,
+            @Param("expected") GatewayOutboxStatus expected,
+            @Param("status") GatewayOutboxStatus status);
+
+    /**
+     * Move entries stuck in a status since before the given time to another status
+     *
+     * @param expected the stuck status
+     * @param status the new status
+     * @param before the time before which entries are considered stuck
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Transactional
+    @Query(
+            "UPDATE GatewayOutbox o SET o.status = :status WHERE o.status = :expected AND"
+                    + " o.updatedAt < :before")
+    int resetStaleStatus(
+            @Param("expected") GatewayOutboxStatus expected,
+            @Param("status") GatewayOutboxStatus status,
+            @Param("before") LocalDateTime before);
+}
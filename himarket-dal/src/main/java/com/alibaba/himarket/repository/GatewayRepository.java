@@ -20,7 +20,12 @@
 package com.alibaba.himarket.repository;
 
 import com.alibaba.himarket.entity.Gateway;
+import java.time.LocalDateTime;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface GatewayRepository extends BaseRepository<Gateway, Long> {
 
@@ -39,4 +44,21 @@ public interface GatewayRepository extends BaseRepository<Gateway, Long> {
      * @return the gateway if found
      */
     Optional<Gateway> findByGatewayName(String gatewayName);
+
+    /**
+     * Update the resource inventory sync state of a gateway without touching its configuration
+     *
+     * @param gatewayId the gateway ID
+     * @param syncedAt the time of the last successful sync
+     * @param message the last sync error message, or null when the sync succeeded
+     */
+    @Modifying
+    @Transactional
+    @Query(
+            "UPDATE Gateway g SET g.resourceSyncedAt = :syncedAt, g.resourceSyncMessage = :message"
+                    + " WHERE g.gatewayId = :gatewayId")
+    void updateResourceSyncState(
+            @Param("gatewayId") String gatewayId,
+            @Param("syncedAt") LocalDateTime syncedAt,
+            @Param("message") String message);
 }
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.repository;
+
+import com.alibaba.himarket.entity.GatewayResource;
+import com.alibaba.himarket.support.enums.GatewayResourceType;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface GatewayResourceRepository extends BaseRepository<GatewayResource, Long> {
+
+    /**
+     * Find all inventory rows of one resource type on a gateway
+     *
+     * @param gatewayId the gateway ID
+     * @param resourceType the resource type
+     * @return the list of inventory rows
+     */
+    List<GatewayResource> findByGatewayIdAndResourceType(
+            String gatewayId, GatewayResourceType resourceType);
+
+    /**
+     * Find inventory rows of one resource type on a gateway (paginated)
+     *
+     * @param gatewayId the gateway ID
+     * @param resourceType the resource type
+     * @param pageable pagination info
+     * @return the page of inventory rows
+     */
+    Page<GatewayResource> findByGatewayIdAndResourceType(
+            String gatewayId, GatewayResourceType resourceType, Pageable pageable);
+
+    /**
+     * Find inventory rows of one resource type on a gateway whose name contains the keyword
+     * (paginated)
+     *
+     * @param gatewayId the gateway ID
+     * @param resourceType the resource type
+     * @param keyword the name keyword
+     * @param pageable pagination info
+     * @return the page of inventory rows
+     */
+    Page<GatewayResource> findByGatewayIdAndResourceTypeAndResourceNameContainingIgnoreCase(
+            String gatewayId, GatewayResourceType resourceType, String keyword, Pageable pageable);
+
+    /**
+     * Delete all inventory rows of a gateway
+     *
+     * @param gatewayId the gateway ID
+     */
+    @Modifying
+    @Transactional
+    void deleteByGatewayId(String gatewayId);
+}
@@ -20,10 +20,14 @@
 package com.alibaba.himarket.repository;
 
 import com.alibaba.himarket.entity.McpServerMeta;
+import com.alibaba.himarket.support.enums.ProductStatus;
+import com.alibaba.himarket.support.enums.ProductType;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface McpServerMetaRepository extends BaseRepository<McpServerMeta, Long> {
 
@@ -50,14 +54,57 @@ public interface McpServerMetaRepository extends BaseRepository<McpServerMeta, L
     Page<McpServerMeta> findByOrigin(String origin, Pageable pageable);
 
     /**
-     * Paged query for metadata by product IDs and origin, used by Open API.
+     * Paged query for metadata of products with the given type and status, joined in the database
+     * instead of passing the product IDs, used by Open API.
      */
-    Page<McpServerMeta> findByProductIdInAndOrigin(
-            java.util.Collection<String> productIds, String origin, Pageable pageable);
+    @Query(
+            value =
+                    """
+                    SELECT meta
+                    FROM McpServerMeta meta
+                    JOIN Product product ON product.productId = meta.productId
+                    WHERE product.type = :type
+                      AND product.status = :status
+                    """,
+            countQuery =
+                    """
+                    SELECT COUNT(meta)
+                    FROM McpServerMeta meta
+                    JOIN Product product ON product.productId = meta.productId
+                    WHERE product.type = :type
+                      AND product.status = :status
+                    """)
+    Page<McpServerMeta> findByProductTypeAndStatus(
+            @Param("type") ProductType type,
+            @Param("status") ProductStatus status,
+            Pageable pageable);
 
     /**
-     * Paged query for all metadata under the given product IDs, used by Open API.
+     * Paged query for metadata with the given origin of products with the given type and status,
+     * used by Open API.
      */
-    Page<McpServerMeta> findByProductIdIn(
-            java.util.Collection<String> productIds, Pageable pageable);
+    @Query(
+            value =
+                    """
+                    SELECT meta
+                    FROM McpServerMeta meta
+                    JOIN Product product ON product.productId = meta.productId
+                    WHERE product.type = :type
+                      AND product.status = :status
+                      AND meta.origin = :origin
+                    """,
+            countQuery =
+                    """
+                    SELECT COUNT(meta)
+                    FROM McpServerMeta meta
+                    JOIN Product product ON product.productId = meta.productId
+                    WHERE product.type = :type
+                      AND product.status = :status
+                      AND meta.origin = :origin
+                    """)
+    Page<McpServerMeta> findByProductTypeAndStatusAndOrigin(
+            @Param("type") ProductType type,
+            @Param("status") ProductStatus status,
+            @Param("origin") String origin,
+            Pageable pageable);
 }
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.repository;
+
+import com.alibaba.himarket.entity.PackageDownloadStat;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface PackageDownloadStatRepository extends BaseRepository<PackageDownloadStat, Long> {
+
+    /**
+     * Add cache hits to the download stat of a product
+     *
+     * @param productId the product ID
+     * @param delta the number of cache hits to add
+     * @return the number of updated rows, 0 if the product has no stat row yet
+     */
+    @Modifying
+    @Transactional
+    @Query(
+            "UPDATE PackageDownloadStat s SET s.cacheHitCount = s.cacheHitCount + :delta WHERE"
+                    + " s.productId = :productId")
+    int incrementCacheHitCount(@Param("productId") String productId, @Param("delta") long delta);
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.repository;
+
+import com.alibaba.himarket.entity.ProductImportJob;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ProductImportJobRepository extends BaseRepository<ProductImportJob, Long> {
+
+    /**
+     * Find import job by job ID
+     *
+     * @param jobId the job ID
+     * @return the import job if found
+     */
+    Optional<ProductImportJob> findByJobId(String jobId);
+
+    /**
+     * Request cancellation of an import job that has not finished
+     *
+     * @param jobId the job ID
+     * @return the number of updated rows, 0 if the job has finished
+     */
+    @Modifying
+    @Transactional
+    @Query(
+            "UPDATE ProductImportJob j SET j.cancelRequested = true WHERE j.jobId = :jobId"
+                    + " AND j.finishedAt IS NULL")
+    int requestCancel(@Param("jobId") String jobId);
+
+    /**
+     * Delete import jobs finished before the given time
+     *
+     * @param finishedAt the cutoff time
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ProductImportJob j WHERE j.finishedAt < :finishedAt")
+    void deleteByFinishedAtBefore(@Param("finishedAt") LocalDateTime finishedAt);
+}
@@ -75,25 +75,19 @@ public interface ProductRepository extends BaseRepository<Product, Long> {
             org.springframework.data.domain.Pageable pageable);
 
     /**
-     * Find all product IDs by type and status (no pagination).
+     * Find products by names and admin ID (for batch name conflict check)
      *
-     * @param type the product type
-     * @param status the product status
-     * @return the list of product IDs
+     * @param names the collection of product names
+     * @param adminId the admin ID
+     * @return the list of products matching the names
      */
-    @org.springframework.data.jpa.repository.Query(
-            "SELECT p.productId FROM Product p WHERE p.type = :type AND p.status = :status")
-    List<String> findProductIdsByTypeAndStatus(
-            @org.springframework.data.repository.query.Param("type") ProductType type,
-            @org.springframework.data.repository.query.Param("status")
-                    com.alibaba.himarket.support.enums.ProductStatus status);
+    List<Product> findByNameInAndAdminId(Collection<String> names, String adminId);
 
     /**
-     * Find products by names and admin ID (for batch name conflict check)
+     * Find products by names across all admins (product names are globally unique)
      *
      * @param names the collection of product names
-     * @param adminId the admin ID
      * @return the list of products matching the names
      */
-    List<Product> findByNameInAndAdminId(Collection<String> names, String adminId);
+    List<Product> findByNameIn(Collection<String> names);
 }
@@ -20,8 +20,14 @@
 package com.alibaba.himarket.repository;
 
 import com.alibaba.himarket.entity.SandboxInstance;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface SandboxInstanceRepository extends BaseRepository<SandboxInstance, Long> {
 
@@ -32,4 +38,23 @@ public interface SandboxInstanceRepository extends BaseRepository<SandboxInstanc
     long countByStatus(String status);
 
     List<SandboxInstance> findByStatus(String status);
+
+    /**
+     * Records the same health check result for sandbox instances in one statement.
+     *
+     * @param sandboxIds the sandbox IDs
+     * @param status the health status
+     * @param statusMessage the health status message, or null
+     * @param checkedAt the check time
+     */
+    @Modifying
+    @Transactional
+    @Query(
+            "UPDATE SandboxInstance s SET s.status = :status, s.statusMessage = :statusMessage,"
+                    + " s.lastCheckedAt = :checkedAt WHERE s.sandboxId IN :sandboxIds")
+    void updateHealthStatus(
+            @Param("sandboxIds") Collection<String> sandboxIds,
+            @Param("status") String status,
+            @Param("statusMessage") String statusMessage,
+            @Param("checkedAt") LocalDateTime checkedAt);
 }
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.alibaba.himarket.repository;
+
+import com.alibaba.himarket.entity.SchedulerLease;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface SchedulerLeaseRepository extends BaseRepository<SchedulerLease, Long> {
+
+    /**
+     * Check whether a lease row exists
+     *
+     * @param leaseName the lease name
+     * @return true if the lease row exists
+     */
+    boolean existsByLeaseName(String leaseName);
+
+    /**
+     * Take or renew a lease if the caller already owns it or it has expired
+     *
+     * @param leaseName the lease name
+     * @param owner the instance taking the lease
+     * @param now the current time
+     * @param leaseUntil the new expiry time
+     * @return the number of updated rows, 0 if another instance holds the lease
+     */
+    @Modifying
+    @Transactional
+    @Query(
+            "UPDATE SchedulerLease l SET l.owner = :owner, l.leaseUntil = :leaseUntil WHERE"
+                    + " l.leaseName = :leaseName AND (l.owner = :owner OR l.leaseUntil < :now)")
+    int tryAcquire(
+            @Param("leaseName") String leaseName,
+            @Param("owner") String owner,
+            @Param("now") LocalDateTime now,
+            @Param("leaseUntil") LocalDateTime leaseUntil);
+}
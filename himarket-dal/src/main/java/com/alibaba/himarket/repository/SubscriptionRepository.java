@@ -20,8 +20,14 @@
 package com.alibaba.himarket.repository;
 
 import com.alibaba.himarket.entity.ProductSubscription;
+import com.alibaba.himarket.support.consumer.ConsumerAuthConfig;
+import com.alibaba.himarket.support.enums.SubscriptionStatus;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface SubscriptionRepository extends BaseRepository<ProductSubscription, Long> {
 
@@ -89,4 +95,44 @@ public interface SubscriptionRepository extends BaseRepository<ProductSubscripti
      */
     List<ProductSubscription> findByConsumerIdAndProductIdIn(
             String consumerId, java.util.Collection<String> productIds);
+
+    /**
+     * Move a subscription from one status to another if it is still in the expected status
+     *
+     * @param subscriptionId the subscription ID
+     * @param expected the expected current status
+     * @param status the new status
+     * @return the number of updated rows, 0 if the subscription was changed or deleted first
+     */
+    @Modifying
+    @Transactional
+    @Query(
+            "UPDATE ProductSubscription s SET s.status = :status WHERE s.subscriptionId ="
+                    + " :subscriptionId AND s.status = :expected")
+    int compareAndSetStatus(
+            @Param("subscriptionId") String subscriptionId,
+            @Param("expected") SubscriptionStatus expected,
+            @Param("status") SubscriptionStatus status);
+
+    /**
+     * Move a subscription from one status to another together with its gateway authorization if
+     * it is still in the expected status
+     *
+     * @param subscriptionId the subscription ID
+     * @param expected the expected current status
+     * @param status the new status
+     * @param consumerAuthConfig the gateway authorization
+     * @return the number of updated rows, 0 if the subscription was changed or deleted first
+     */
+    @Modifying
+    @Transactional
+    @Query(
+            "UPDATE ProductSubscription s SET s.status = :status, s.consumerAuthConfig ="
+                    + " :consumerAuthConfig WHERE s.subscriptionId = :subscriptionId AND s.status"
+                    + " = :expected")
+    int compareAndSetStatus(
+            @Param("subscriptionId") String subscriptionId,
+            @Param("expected") SubscriptionStatus expected,
+            @Param("status") SubscriptionStatus status,
+            @Param("consumerAuthConfig") ConsumerAuthConfig consumerAuthConfig);
 }
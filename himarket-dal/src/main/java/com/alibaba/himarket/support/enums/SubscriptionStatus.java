@@ -29,5 +29,10 @@ public enum SubscriptionStatus {
      * Approved and active
      */
     APPROVED,
+
+    /**
+     * Approved, but the gateway authorization failed permanently
+     */
+    FAILED,
     ;
 }
@@ -1,6 +1,7 @@
 package com.alibaba.himarket.config;
 
 import com.alibaba.himarket.service.hicoding.sandbox.SandboxType;
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +25,11 @@ public class AcpProperties {
      */
     private String defaultRuntime = "remote";
 
+    /**
+     * Threads downloading skills during sandbox initialization, shared by all sessions.
+     */
+    private int skillDownloadThreads = 8;
+
     /**
      * CLI provider registry for ACP-compatible tools.
      */
@@ -34,6 +40,11 @@ public class AcpProperties {
      */
     private RemoteConfig remote = new RemoteConfig();
 
+    /**
+     * Outbound queue configuration of HiCoding frontend WebSocket sessions.
+     */
+    private OutboundConfig outbound = new OutboundConfig();
+
     public boolean isTerminalEnabled() {
         return terminalEnabled;
     }
@@ -58,6 +69,14 @@ public class AcpProperties {
         this.defaultRuntime = defaultRuntime;
     }
 
+    public int getSkillDownloadThreads() {
+        return skillDownloadThreads;
+    }
+
+    public void setSkillDownloadThreads(int skillDownloadThreads) {
+        this.skillDownloadThreads = skillDownloadThreads;
+    }
+
     public Map<String, CliProviderConfig> getProviders() {
         return providers;
     }
@@ -74,6 +93,14 @@ public class AcpProperties {
         this.remote = remote;
     }
 
+    public OutboundConfig getOutbound() {
+        return outbound;
+    }
+
+    public void setOutbound(OutboundConfig outbound) {
+        this.outbound = outbound;
+    }
+
     /**
      * Gets a provider configuration by key.
      */
@@ -200,6 +227,28 @@ public class AcpProperties {
          */
         private int port = 8080;
 
+        /**
+         * Netty event loop threads shared by all Sidecar WebSocket connections, 0 for the number of
+         * available processors.
+         */
+        private int ioThreads = 0;
+
+        /**
+         * Threads of the timer scheduler shared by all remote runtime adapters.
+         */
+        private int schedulerThreads = 1;
+
+        /**
+         * Maximum number of concurrent Sidecar WebSocket connections. Further connections wait for
+         * a free slot until the connect timeout.
+         */
+        private int maxConnections = 2000;
+
+        /**
+         * Timeout of the Sidecar WebSocket handshake.
+         */
+        private Duration responseTimeout = Duration.ofSeconds(30);
+
         public String getHost() {
             return host;
         }
@@ -216,6 +265,38 @@ public class AcpProperties {
             this.port = port;
         }
 
+        public int getIoThreads() {
+            return ioThreads;
+        }
+
+        public void setIoThreads(int ioThreads) {
+            this.ioThreads = ioThreads;
+        }
+
+        public int getSchedulerThreads() {
+            return schedulerThreads;
+        }
+
+        public void setSchedulerThreads(int schedulerThreads) {
+            this.schedulerThreads = schedulerThreads;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public Duration getResponseTimeout() {
+            return responseTimeout;
+        }
+
+        public void setResponseTimeout(Duration responseTimeout) {
+            this.responseTimeout = responseTimeout;
+        }
+
         /**
          * Checks whether a remote sandbox host is configured.
          */
@@ -223,4 +304,83 @@ public class AcpProperties {
             return host != null && !host.isBlank();
         }
     }
+
+    /**
+     * Outbound queue configuration of HiCoding frontend WebSocket sessions.
+     *
+     * <p>Messages to the frontend are queued per session and written by a shared writer pool, so a
+     * slow browser never blocks the thread forwarding CLI output.
+     */
+    public static class OutboundConfig {
+
+        /**
+         * Threads of the writer pool shared by all sessions.
+         */
+        private int writerThreads = 16;
+
+        /**
+         * Maximum size of the messages queued for one session, in characters.
+         */
+        private int maxQueuedChars = 4 * 1024 * 1024;
+
+        /**
+         * Maximum size of a frame made of merged CLI output messages, in characters.
+         */
+        private int maxMergedFrameChars = 256 * 1024;
+
+        /**
+         * What to do when the queue of a session is full.
+         */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.CLOSE;
+
+        public int getWriterThreads() {
+            return writerThreads;
+        }
+
+        public void setWriterThreads(int writerThreads) {
+            this.writerThreads = writerThreads;
+        }
+
+        public int getMaxQueuedChars() {
+            return maxQueuedChars;
+        }
+
+        public void setMaxQueuedChars(int maxQueuedChars) {
+            this.maxQueuedChars = maxQueuedChars;
+        }
+
+        public int getMaxMergedFrameChars() {
+            return maxMergedFrameChars;
+        }
+
+        public void setMaxMergedFrameChars(int maxMergedFrameChars) {
+            this.maxMergedFrameChars = maxMergedFrameChars;
+        }
+
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+    }
+
+    /**
+     * Handling of a slow frontend whose outbound queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Close the WebSocket session. The frontend reconnects and reattaches to the Sidecar
+         * session, which replays its buffered output.
+         */
+        CLOSE,
+
+        /**
+         * Keep the session and drop CLI notifications until the queue drains. JSON-RPC responses,
+         * requests such as {@code session/request_permission} and messages sent by HiMarket itself
+         * are always kept.
+         */
+        DROP
+    }
 }
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-gateway bulkhead and circuit breaker settings applied to gateway operator calls.
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.resilience")
+public class GatewayResilienceProperties {
+
+    /**
+     * Maximum concurrent calls to a single gateway.
+     */
+    private int maxConcurrentCalls = 20;
+
+    /**
+     * How long a call waits for a free slot before it is rejected.
+     */
+    private Duration maxWaitDuration = Duration.ZERO;
+
+    /**
+     * Failure rate in percent at which the circuit opens.
+     */
+    private float failureRateThreshold = 50;
+
+    /**
+     * Slow call rate in percent at which the circuit opens.
+     */
+    private float slowCallRateThreshold = 80;
+
+    /**
+     * Calls taking longer than this are counted as slow.
+     */
+    private Duration slowCallDurationThreshold = Duration.ofSeconds(5);
+
+    /**
+     * Number of recent calls used to compute the failure and slow call rates.
+     */
+    private int slidingWindowSize = 20;
+
+    /**
+     * Minimum number of calls before the rates are evaluated.
+     */
+    private int minimumNumberOfCalls = 10;
+
+    /**
+     * How long the circuit stays open before probe calls are let through.
+     */
+    private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+
+    /**
+     * Number of probe calls permitted while the circuit is half-open.
+     */
+    private int permittedCallsInHalfOpenState = 3;
+}
@@ -22,6 +22,8 @@ package com.alibaba.himarket.controller;
 import com.alibaba.himarket.core.annotation.AdminAuth;
 import com.alibaba.himarket.core.annotation.AdminOrDeveloperAuth;
 import com.alibaba.himarket.core.annotation.DeveloperAuth;
+import com.alibaba.himarket.dto.params.consumer.BatchApproveSubscriptionParam;
+import com.alibaba.himarket.dto.params.consumer.BatchCreateSubscriptionParam;
 import com.alibaba.himarket.dto.params.consumer.CreateConsumerParam;
 import com.alibaba.himarket.dto.params.consumer.CreateCredentialParam;
 import com.alibaba.himarket.dto.params.consumer.CreateSubscriptionParam;
@@ -31,6 +33,7 @@ import com.alibaba.himarket.dto.params.consumer.UpdateCredentialParam;
 import com.alibaba.himarket.dto.result.common.PageResult;
 import com.alibaba.himarket.dto.result.consumer.ConsumerCredentialResult;
 import com.alibaba.himarket.dto.result.consumer.ConsumerResult;
+import com.alibaba.himarket.dto.result.product.BatchSubscriptionResult;
 import com.alibaba.himarket.dto.result.product.SubscriptionResult;
 import com.alibaba.himarket.service.ConsumerService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -123,6 +126,15 @@ public class ConsumerController {
         return consumerService.subscribeProduct(consumerId, param);
     }
 
+    @Operation(summary = "Subscribe to products in batch")
+    @PostMapping("/{consumerId}/subscriptions/batch")
+    @DeveloperAuth
+    public BatchSubscriptionResult batchSubscribeProducts(
+            @PathVariable String consumerId,
+            @RequestBody @Valid BatchCreateSubscriptionParam param) {
+        return consumerService.batchSubscribeProducts(consumerId, param);
+    }
+
     @Operation(summary = "List consumer subscriptions")
     @GetMapping("/{consumerId}/subscriptions")
     @AdminOrDeveloperAuth
@@ -146,6 +158,15 @@ public class ConsumerController {
         return consumerService.approveSubscription(consumerId, subscriptionId);
     }
 
+    @Operation(summary = "Approve subscriptions in batch")
+    @PostMapping("/{consumerId}/subscriptions/batch-approve")
+    @AdminAuth
+    public BatchSubscriptionResult batchApproveSubscriptions(
+            @PathVariable String consumerId,
+            @RequestBody @Valid BatchApproveSubscriptionParam param) {
+        return consumerService.batchApproveSubscriptions(consumerId, param);
+    }
+
     @Operation(summary = "Set primary consumer")
     @PutMapping("/{consumerId}/primary")
     @DeveloperAuth
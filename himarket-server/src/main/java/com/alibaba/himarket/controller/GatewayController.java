@@ -32,6 +32,7 @@ import com.alibaba.himarket.dto.result.gateway.GatewayResult;
 import com.alibaba.himarket.dto.result.httpapi.APIResult;
 import com.alibaba.himarket.dto.result.mcp.GatewayMcpServerResult;
 import com.alibaba.himarket.dto.result.model.GatewayModelAPIResult;
+import com.alibaba.himarket.service.GatewayResourceService;
 import com.alibaba.himarket.service.GatewayService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -59,6 +60,8 @@ public class GatewayController {
 
     private final GatewayService gatewayService;
 
+    private final GatewayResourceService gatewayResourceService;
+
     @Operation(
             summary = "List APIG gateways",
             description = "Query available Alibaba Cloud APIG gateway instances")
@@ -119,13 +122,22 @@ public class GatewayController {
         gatewayService.deleteGateway(gatewayId);
     }
 
+    @Operation(
+            summary = "Sync gateway resources",
+            description = "Refresh the local resource inventory of an imported gateway now")
+    @PostMapping("/{gatewayId}/resources/sync")
+    public GatewayResult syncResources(@PathVariable String gatewayId) {
+        return gatewayResourceService.syncResources(gatewayId);
+    }
+
     @Operation(summary = "List REST APIs", description = "List REST APIs from an imported gateway")
     @GetMapping("/{gatewayId}/rest-apis")
     public PageResult<APIResult> fetchRESTAPIs(
             @PathVariable String gatewayId,
+            @RequestParam(required = false) String keyword,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "500") int size) {
-        return gatewayService.fetchRESTAPIs(gatewayId, page, size);
+        return gatewayService.fetchRESTAPIs(gatewayId, keyword, page, size);
     }
 
     @Operation(
@@ -134,9 +146,10 @@ public class GatewayController {
     @GetMapping("/{gatewayId}/mcp-servers")
     public PageResult<GatewayMcpServerResult> fetchMcpServers(
             @PathVariable String gatewayId,
+            @RequestParam(required = false) String keyword,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "500") int size) {
-        return gatewayService.fetchMcpServers(gatewayId, page, size);
+        return gatewayService.fetchMcpServers(gatewayId, keyword, page, size);
     }
 
     @Operation(
@@ -145,9 +158,10 @@ public class GatewayController {
     @GetMapping("/{gatewayId}/agent-apis")
     public PageResult<AgentAPIResult> fetchAgentAPIs(
             @PathVariable String gatewayId,
+            @RequestParam(required = false) String keyword,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "500") int size) {
-        return gatewayService.fetchAgentAPIs(gatewayId, page, size);
+        return gatewayService.fetchAgentAPIs(gatewayId, keyword, page, size);
     }
 
     @Operation(
@@ -156,8 +170,9 @@ public class GatewayController {
     @GetMapping("/{gatewayId}/model-apis")
     public PageResult<GatewayModelAPIResult> fetchModelAPIs(
             @PathVariable String gatewayId,
+            @RequestParam(required = false) String keyword,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "500") int size) {
-        return gatewayService.fetchModelAPIs(gatewayId, page, size);
+        return gatewayService.fetchModelAPIs(gatewayId, keyword, page, size);
     }
 }
@@ -21,6 +21,8 @@ package com.alibaba.himarket.controller;
 
 import com.alibaba.himarket.core.exception.BusinessException;
 import com.alibaba.himarket.core.exception.ErrorCode;
+import com.alibaba.himarket.core.security.ApiKeyRateLimiter;
+import com.alibaba.himarket.core.utils.ResponseSnapshotCache;
 import com.alibaba.himarket.dto.params.mcp.RegisterMcpParam;
 import com.alibaba.himarket.dto.result.common.PageResult;
 import com.alibaba.himarket.dto.result.mcp.McpMetaDetailResult;
@@ -30,6 +32,7 @@ import com.alibaba.himarket.service.McpServerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
@@ -42,11 +45,17 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Public MCP Server APIs for external systems using API Key authentication.
  *
  * <p>Authentication: the X-API-Key request header must match the open-api.api-key configuration.
+ * Requests are rate limited per API key and answered with 429 and Retry-After when exceeded.
+ *
+ * <p>Query responses carry an ETag and Last-Modified. They are served from a snapshot refreshed at
+ * most every {@value #SNAPSHOT_FRESH_SECONDS} seconds, so polling clients that send If-None-Match or
+ * If-Modified-Since get 304 without a database query while the content is unchanged.
  *
  * <p>Query APIs do not expose internal fields such as productId:
  * <ul>
@@ -60,8 +69,15 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class OpenApiMcpController {
 
+    private static final long SNAPSHOT_FRESH_SECONDS = 30;
+
     private final McpServerService mcpServerService;
 
+    private final ApiKeyRateLimiter apiKeyRateLimiter;
+
+    private final ResponseSnapshotCache snapshotCache =
+            new ResponseSnapshotCache(SNAPSHOT_FRESH_SECONDS);
+
     @Value("${open-api.api-key:}")
     private String apiKey;
 
@@ -73,6 +89,7 @@ public class OpenApiMcpController {
     @ModelAttribute
     private void authenticate(@RequestHeader(value = "X-API-Key", required = false) String key) {
         verifyApiKey(key);
+        apiKeyRateLimiter.acquire(key);
     }
 
     @Operation(
@@ -81,6 +98,7 @@ public class OpenApiMcpController {
     @PostMapping("/register")
     public McpMetaDetailResult register(@RequestBody @Valid RegisterMcpParam param) {
         McpMetaResult full = mcpServerService.registerMcp(param);
+        snapshotCache.invalidateAll();
         return McpMetaDetailResult.fromFull(full);
     }
 
@@ -90,14 +108,22 @@ public class OpenApiMcpController {
 
     @Operation(summary = "Get MCP server by mcpServerId")
     @GetMapping("/meta/{mcpServerId}")
-    public McpMetaDetailResult getMeta(@PathVariable String mcpServerId) {
-        return McpMetaDetailResult.fromFull(mcpServerService.getPublishedMeta(mcpServerId));
+    public McpMetaDetailResult getMeta(@PathVariable String mcpServerId, WebRequest webRequest) {
+        return conditional(
+                webRequest,
+                "meta:" + mcpServerId,
+                () -> McpMetaDetailResult.fromFull(mcpServerService.getPublishedMeta(mcpServerId)));
     }
 
     @Operation(summary = "Get MCP server by mcpName")
     @GetMapping("/meta/by-name/{mcpName}")
-    public McpMetaDetailResult getMetaByName(@PathVariable String mcpName) {
-        return McpMetaDetailResult.fromFull(mcpServerService.getPublishedMetaByName(mcpName));
+    public McpMetaDetailResult getMetaByName(@PathVariable String mcpName, WebRequest webRequest) {
+        return conditional(
+                webRequest,
+                "meta-by-name:" + mcpName,
+                () ->
+                        McpMetaDetailResult.fromFull(
+                                mcpServerService.getPublishedMetaByName(mcpName)));
     }
 
     @Operation(
@@ -106,26 +132,49 @@ public class OpenApiMcpController {
     @GetMapping("/meta/list")
     public PageResult<McpMetaSimpleResult> listMeta(
             @RequestParam(required = false, defaultValue = "OPEN_API") String origin,
-            Pageable pageable) {
-        PageResult<McpMetaResult> fullPage =
-                mcpServerService.listPublishedMetaByOrigin(origin, pageable);
-        return new PageResult<McpMetaSimpleResult>()
-                .mapFrom(fullPage, McpMetaSimpleResult::fromFull);
+            Pageable pageable,
+            WebRequest webRequest) {
+        return conditional(
+                webRequest,
+                "list:" + origin + ":" + pageable,
+                () ->
+                        new PageResult<McpMetaSimpleResult>()
+                                .mapFrom(
+                                        mcpServerService.listPublishedMetaByOrigin(
+                                                origin, pageable),
+                                        McpMetaSimpleResult::fromFull));
     }
 
     @Operation(
             summary = "List all published MCP servers",
             description = "Return all published MCP servers using a sanitized list schema")
     @GetMapping("/meta/list-all")
-    public PageResult<McpMetaSimpleResult> listAllMeta(Pageable pageable) {
-        PageResult<McpMetaResult> fullPage = mcpServerService.listAllPublishedMeta(pageable);
-        return new PageResult<McpMetaSimpleResult>()
-                .mapFrom(fullPage, McpMetaSimpleResult::fromFull);
+    public PageResult<McpMetaSimpleResult> listAllMeta(Pageable pageable, WebRequest webRequest) {
+        return conditional(
+                webRequest,
+                "list-all:" + pageable,
+                () ->
+                        new PageResult<McpMetaSimpleResult>()
+                                .mapFrom(
+                                        mcpServerService.listAllPublishedMeta(pageable),
+                                        McpMetaSimpleResult::fromFull));
     }
 
     // Delete APIs are not exposed yet.
     // @DeleteMapping("/meta/{mcpServerId}")
 
+    /**
+     * Serves a response snapshot, or 304 with no body when the client already has it. Returning
+     * null after a successful not-modified check makes Spring complete the response without a body.
+     */
+    private <T> T conditional(WebRequest webRequest, String key, Supplier<T> loader) {
+        ResponseSnapshotCache.Snapshot<T> snapshot = snapshotCache.get(key, loader);
+        if (webRequest.checkNotModified(snapshot.etag(), snapshot.lastModified())) {
+            return null;
+        }
+        return snapshot.body();
+    }
+
     private void verifyApiKey(String key) {
         // Open API is disabled when api-key is not configured
         if (apiKey == null || apiKey.isBlank()) {
@@ -34,12 +34,14 @@ import com.alibaba.himarket.dto.result.ProductCategoryResult;
 import com.alibaba.himarket.dto.result.common.PageResult;
 import com.alibaba.himarket.dto.result.mcp.McpToolListResult;
 import com.alibaba.himarket.dto.result.product.ImportProductsResult;
+import com.alibaba.himarket.dto.result.product.ProductImportJobResult;
 import com.alibaba.himarket.dto.result.product.ProductPublicationResult;
 import com.alibaba.himarket.dto.result.product.ProductRefResult;
 import com.alibaba.himarket.dto.result.product.ProductResult;
 import com.alibaba.himarket.dto.result.product.SubscriptionResult;
 import com.alibaba.himarket.service.ProductCategoryService;
 import com.alibaba.himarket.service.ProductService;
+import com.alibaba.himarket.service.importer.ProductImportJobManager;
 import com.alibaba.himarket.service.importer.ProductImporter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -77,6 +79,8 @@ public class ProductController {
 
     private final ProductImporter productImporter;
 
+    private final ProductImportJobManager productImportJobManager;
+
     @Operation(summary = "Create product")
     @PostMapping
     @AdminAuth
@@ -259,4 +263,30 @@ public class ProductController {
                     ImportProductsParam param) {
         return productImporter.importProducts(param);
     }
+
+    @Operation(
+            summary = "Start product import job",
+            description =
+                    "Import resources asynchronously, the job progress can be polled by its ID")
+    @PostMapping("/import-jobs")
+    @AdminAuth
+    public ProductImportJobResult submitImportJob(@RequestBody @Valid ImportProductsParam param) {
+        return productImportJobManager.submit(param);
+    }
+
+    @Operation(summary = "Get product import job")
+    @GetMapping("/import-jobs/{jobId}")
+    @AdminAuth
+    public ProductImportJobResult getImportJob(@PathVariable String jobId) {
+        return productImportJobManager.getJob(jobId);
+    }
+
+    @Operation(
+            summary = "Cancel product import job",
+            description = "Stop the job before its next write, imported products are kept")
+    @PostMapping("/import-jobs/{jobId}/cancel")
+    @AdminAuth
+    public ProductImportJobResult cancelImportJob(@PathVariable String jobId) {
+        return productImportJobManager.cancel(jobId);
+    }
 }
@@ -17,6 +17,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import java.io.IOException;
@@ -159,9 +160,10 @@ public class SkillController {
     public void downloadPackage(
             @PathVariable String productId,
             @RequestParam(required = false) String version,
+            HttpServletRequest request,
             HttpServletResponse response)
             throws IOException {
-        skillService.downloadPackage(productId, version, response);
+        skillService.downloadPackage(productId, version, request, response);
     }
 
     @Operation(summary = "Get Skill CLI download info")
@@ -177,7 +179,9 @@ public class SkillController {
     @PostMapping("/import")
     @AdminAuth
     public ImportResult importFromNacos(
-            @RequestParam String nacosId, @RequestParam(required = false) String namespace) {
-        return skillService.importFromNacos(nacosId, namespace);
+            @RequestParam String nacosId,
+            @RequestParam(required = false) String namespace,
+            @RequestParam(required = false) Integer startPage) {
+        return skillService.importFromNacos(nacosId, namespace, startPage);
     }
 }
@@ -17,6 +17,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import java.io.IOException;
@@ -138,9 +139,10 @@ public class WorkerController {
     public void downloadPackage(
             @PathVariable String productId,
             @RequestParam(required = false) String version,
+            HttpServletRequest request,
             HttpServletResponse response)
             throws IOException {
-        workerService.downloadPackage(productId, version, response);
+        workerService.downloadPackage(productId, version, request, response);
     }
 
     @Operation(summary = "Get Worker CLI download info")
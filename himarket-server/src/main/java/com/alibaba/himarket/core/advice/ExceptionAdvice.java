@@ -21,9 +21,11 @@ package com.alibaba.himarket.core.advice;
 
 import com.alibaba.himarket.core.exception.BusinessException;
 import com.alibaba.himarket.core.exception.ErrorCode;
+import com.alibaba.himarket.core.exception.RateLimitExceededException;
 import com.alibaba.himarket.core.response.Response;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -32,10 +34,11 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 /**
  * Global exception handler
  *
- * <p>Handles three types of exceptions:
+ * <p>Handles four types of exceptions:
  * 1. {@link BusinessException}: Business errors
- * 2. {@link MethodArgumentNotValidException}: Request validation errors
- * 3. {@link Exception}: Unexpected system errors
+ * 2. {@link RateLimitExceededException}: Rate limited business errors, with a Retry-After header
+ * 3. {@link MethodArgumentNotValidException}: Request validation errors
+ * 4. {@link Exception}: Unexpected system errors
  *
  * <p>All exceptions are converted to unified response:
  * { "code": "error_code", "message": "error_message", "data": null }
@@ -55,6 +58,19 @@ public class ExceptionAdvice {
                 .body(Response.fail(e.getCode(), e.getMessage()));
     }
 
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Response<Void>> handleRateLimitExceededException(
+            RateLimitExceededException e) {
+        log.warn(
+                "Request rate limited, code={}, retryAfterSeconds={}, message={}",
+                e.getCode(),
+                e.getRetryAfterSeconds(),
+                e.getMessage());
+        return ResponseEntity.status(e.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Response.fail(e.getCode(), e.getMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Response<Void>> handleParamVerifyException(
             MethodArgumentNotValidException e) {
@@ -55,6 +55,11 @@ public enum ErrorCode {
      */
     CONFLICT(HttpStatus.CONFLICT, "Resource conflict: {0}"),
 
+    /**
+     * Too many requests
+     */
+    TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "Too many requests: {0}"),
+
     // Server errors (500-599)
     /**
      * Internal error
@@ -66,6 +71,11 @@ public enum ErrorCode {
      */
     GATEWAY_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "Gateway error: {0}"),
 
+    /**
+     * Gateway unavailable
+     */
+    GATEWAY_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "Gateway is temporarily unavailable: {0}"),
+
     /**
      * Sandbox not ready
      */
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.core.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a caller exceeds its request rate. Responded with 429 and a Retry-After header.
+ */
+@Getter
+public class RateLimitExceededException extends BusinessException {
+
+    /**
+     * Seconds until the next request is allowed
+     */
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterSeconds, Object... args) {
+        super(ErrorCode.TOO_MANY_REQUESTS, args);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.core.security;
+
+import com.alibaba.himarket.core.exception.RateLimitExceededException;
+import com.alibaba.himarket.core.utils.CacheUtil;
+import com.alibaba.himarket.core.utils.HashUtils;
+import com.alibaba.himarket.core.utils.TokenBucket;
+import com.github.benmanes.caffeine.cache.Cache;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per API key request rate limiter for the Open API, using one token bucket per key.
+ *
+ * <p>Buckets are kept in memory by each instance, keyed by the hash of the API key, and dropped
+ * after an hour without requests.
+ */
+@Component
+public class ApiKeyRateLimiter {
+
+    private static final long BUCKET_IDLE_SECONDS = 60 * 60;
+
+    private final Cache<String, TokenBucket> buckets = CacheUtil.newLRUCache(BUCKET_IDLE_SECONDS);
+
+    @Value("${open-api.rate-limit.permits-per-second:10}")
+    private double permitsPerSecond;
+
+    @Value("${open-api.rate-limit.burst:20}")
+    private long burst;
+
+    /**
+     * Takes one request permit for the API key.
+     *
+     * @param apiKey the authenticated API key
+     * @throws RateLimitExceededException if the key has no permit left
+     */
+    public void acquire(String apiKey) {
+        TokenBucket bucket =
+                buckets.get(
+                        HashUtils.sha256Hex(apiKey),
+                        key -> new TokenBucket(permitsPerSecond, burst));
+        long waitNanos = bucket.tryAcquire();
+        if (waitNanos > 0) {
+            long retryAfterSeconds =
+                    (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+            throw new RateLimitExceededException(
+                    retryAfterSeconds,
+                    "rate limit of " + permitsPerSecond + " requests per second exceeded");
+        }
+    }
+}
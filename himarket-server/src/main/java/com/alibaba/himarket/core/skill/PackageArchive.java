@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.core.skill;
+
+import com.alibaba.himarket.core.exception.BusinessException;
+import com.alibaba.himarket.core.exception.ErrorCode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Enumeration;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Uploaded skill or worker package spooled to a temporary file.
+ *
+ * <p>The archive is validated by streaming every entry once from disk, so a package with too many
+ * entries, too much uncompressed content or a suspicious compression ratio is rejected without
+ * being held in memory. The bytes are only read into memory when a registry API needs them.
+ */
+@Slf4j
+public final class PackageArchive implements AutoCloseable {
+
+    /**
+     * Maximum number of entries in a package
+     */
+    static final int MAX_ENTRIES = 1000;
+
+    /**
+     * Maximum total uncompressed size of a package, in bytes
+     */
+    static final long MAX_UNCOMPRESSED_BYTES = 50L * 1024 * 1024;
+
+    /**
+     * Maximum compression ratio of an entry larger than {@link #RATIO_CHECK_MIN_BYTES}
+     */
+    static final int MAX_COMPRESSION_RATIO = 100;
+
+    /**
+     * Entries smaller than this are not subject to the compression ratio check
+     */
+    private static final long RATIO_CHECK_MIN_BYTES = 1024 * 1024;
+
+    @Getter private final Path path;
+
+    @Getter private final long size;
+
+    private PackageArchive(Path path, long size) {
+        this.path = path;
+        this.size = size;
+    }
+
+    /**
+     * Spools an uploaded ZIP package to a temporary file and validates it.
+     *
+     * @param file    uploaded ZIP file
+     * @param maxSize maximum size of the ZIP file, in bytes
+     * @return the spooled archive, to be closed once the upload is done
+     * @throws BusinessException if the file is empty, too large or not a valid package
+     */
+    public static PackageArchive spool(MultipartFile file, long maxSize) throws IOException {
+        if (file.isEmpty() || file.getSize() > maxSize) {
+            throw sizeError(maxSize);
+        }
+
+        Path path = Files.createTempFile("himarket-package-", ".zip");
+        try {
+            long size;
+            try (InputStream in = file.getInputStream()) {
+                size = Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (size == 0 || size > maxSize) {
+                throw sizeError(maxSize);
+            }
+            PackageArchive archive = new PackageArchive(path, size);
+            archive.validate();
+            return archive;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the whole package into memory, for registry APIs that only accept bytes.
+     *
+     * @return ZIP bytes
+     */
+    public byte[] readAllBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    /**
+     * Opens the package for random access to its entries.
+     *
+     * @return ZIP file, to be closed by the caller
+     */
+    public ZipFile openZip() throws IOException {
+        return new ZipFile(path.toFile());
+    }
+
+    @Override
+    public void close() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn(
+                    "Failed to delete spooled package, path={}, errorMessage={}",
+                    path,
+                    e.getMessage());
+        }
+    }
+
+    private static BusinessException sizeError(long maxSize) {
+        return new BusinessException(
+                ErrorCode.INVALID_PARAMETER,
+                String.format("ZIP file cannot be empty or exceed %dMB", maxSize / (1024 * 1024)));
+    }
+
+    private void validate() throws IOException {
+        int entries = 0;
+        long totalBytes = 0;
+        byte[] buffer = new byte[8192];
+
+        try (ZipFile zip = openZip()) {
+            Enumeration<? extends ZipEntry> iterator = zip.entries();
+            while (iterator.hasMoreElements()) {
+                ZipEntry entry = iterator.nextElement();
+                if (++entries > MAX_ENTRIES) {
+                    throw new BusinessException(
+                            ErrorCode.INVALID_PARAMETER,
+                            "ZIP file contains more than " + MAX_ENTRIES + " entries");
+                }
+                if (entry.isDirectory()) {
+                    continue;
+                }
+
+                // Count the bytes actually inflated, declared sizes can be forged
+                long entryBytes = 0;
+                try (InputStream in = zip.getInputStream(entry)) {
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        entryBytes += read;
+                        if (totalBytes + entryBytes > MAX_UNCOMPRESSED_BYTES) {
+                            throw new BusinessException(
+                                    ErrorCode.INVALID_PARAMETER,
+                                    "ZIP file content exceeds "
+                                            + MAX_UNCOMPRESSED_BYTES / (1024 * 1024)
+                                            + "MB when uncompressed");
+                        }
+                    }
+                }
+                totalBytes += entryBytes;
+
+                long compressed = Math.max(entry.getCompressedSize(), 1);
+                if (entryBytes > RATIO_CHECK_MIN_BYTES
+                        && entryBytes / compressed > MAX_COMPRESSION_RATIO) {
+                    throw new BusinessException(
+                            ErrorCode.INVALID_PARAMETER,
+                            "ZIP entry has a suspicious compression ratio: " + entry.getName());
+                }
+            }
+        } catch (ZipException e) {
+            throw new BusinessException(
+                    ErrorCode.INVALID_PARAMETER, "Invalid ZIP file: " + e.getMessage());
+        }
+
+        if (entries == 0) {
+            throw new BusinessException(ErrorCode.INVALID_PARAMETER, "ZIP file is empty");
+        }
+    }
+}
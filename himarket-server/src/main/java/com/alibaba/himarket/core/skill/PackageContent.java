@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.core.skill;
+
+import com.alibaba.himarket.dto.result.common.FileContentResult;
+import com.alibaba.himarket.dto.result.common.FileTreeNode;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Getter;
+
+/**
+ * Parsed contents of one version of a skill or worker package: the file tree shown in the
+ * portal and the content of every file in it, keyed by relative path.
+ */
+@Getter
+public final class PackageContent {
+
+    /**
+     * Fixed per-entry overhead counted on top of the file contents
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final List<FileTreeNode> fileTree;
+
+    private final Map<String, FileContentResult> files;
+
+    /**
+     * Approximate memory footprint in bytes, used to bound the content cache
+     */
+    private final int weight;
+
+    public PackageContent(List<FileTreeNode> fileTree, Map<String, FileContentResult> files) {
+        this.fileTree = Collections.unmodifiableList(fileTree);
+        this.files = Collections.unmodifiableMap(new LinkedHashMap<>(files));
+
+        long bytes = ENTRY_OVERHEAD_BYTES;
+        for (FileContentResult file : files.values()) {
+            bytes += ENTRY_OVERHEAD_BYTES + (file.getSize() == null ? 0 : file.getSize());
+        }
+        this.weight = (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Finds a file by its relative path.
+     *
+     * @param path relative file path
+     * @return file content, or empty if the package has no such file
+     */
+    public Optional<FileContentResult> getFile(String path) {
+        return Optional.ofNullable(files.get(path));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.core.skill;
+
+import com.alibaba.himarket.core.event.PackageChangedEvent;
+import com.alibaba.himarket.core.utils.CacheUtil;
+import com.alibaba.himarket.support.common.Strings;
+import com.github.benmanes.caffeine.cache.Cache;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Byte-bounded cache of parsed skill and worker packages, keyed by product, package source and
+ * version.
+ *
+ * <p>A version is immutable once it has been uploaded, so one remote fetch serves every file
+ * browsed in that version. Entries of a product are dropped whenever its drafts are re-uploaded,
+ * deleted or a new version is published. Requests without an explicit version follow the moving
+ * latest label and are never cached.
+ */
+@Component
+@Slf4j
+public class PackageContentCache {
+
+    /**
+     * Upper bound of cached package contents, in bytes
+     */
+    private static final long MAX_CACHE_BYTES = 64L * 1024 * 1024;
+
+    private final Cache<String, PackageContent> contentCache =
+            CacheUtil.newWeightedLRUCache(
+                    MAX_CACHE_BYTES, 30 * 60, (key, content) -> content.getWeight());
+
+    /**
+     * Gets the package content of a version, loading it on a cache miss.
+     *
+     * @param productId product ID
+     * @param source    identity of the package in its registry, e.g. nacosId/namespace/name
+     * @param version   package version, may be blank for the latest version
+     * @param loader    loader fetching and parsing the package from the registry
+     * @return package content
+     */
+    public PackageContent get(
+            String productId, String source, String version, Supplier<PackageContent> loader) {
+        if (Strings.isBlank(version)) {
+            return loader.get();
+        }
+        return contentCache.get(buildKey(productId, source, version), k -> loader.get());
+    }
+
+    /**
+     * Drops all cached versions of a product.
+     *
+     * @param productId product ID
+     */
+    public void invalidate(String productId) {
+        String prefix = productId + "|";
+        if (contentCache.asMap().keySet().removeIf(key -> key.startsWith(prefix))) {
+            log.debug("Invalidated cached package contents, productId={}", productId);
+        }
+    }
+
+    @EventListener
+    public void onPackageChanged(PackageChangedEvent event) {
+        invalidate(event.getProductId());
+    }
+
+    private String buildKey(String productId, String source, String version) {
+        return productId + "|" + source + "|" + version;
+    }
+}
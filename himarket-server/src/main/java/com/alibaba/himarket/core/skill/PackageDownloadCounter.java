@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.core.skill;
+
+import com.alibaba.himarket.entity.PackageDownloadStat;
+import com.alibaba.himarket.repository.PackageDownloadStatRepository;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts package downloads served from {@link PackageZipCache}.
+ *
+ * <p>Cache hits are counted in memory and added to the product's {@link PackageDownloadStat} on
+ * every flush, so a download costs no database write. Every instance flushes its own hits; the
+ * download count sync then reports registry downloads plus cache hits.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PackageDownloadCounter {
+
+    private final PackageDownloadStatRepository packageDownloadStatRepository;
+
+    /**
+     * Product ID -> cache hits not flushed yet
+     */
+    private final Map<String, AtomicLong> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Records a download served from the package cache.
+     *
+     * @param productId product ID
+     */
+    public void record(String productId) {
+        pending.computeIfAbsent(productId, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    @Scheduled(fixedDelay = 30 * 1000)
+    @PreDestroy
+    public void flush() {
+        pending.forEach(
+                (productId, hits) -> {
+                    long delta = hits.getAndSet(0);
+                    if (delta == 0) {
+                        return;
+                    }
+                    try {
+                        add(productId, delta);
+                    } catch (Exception e) {
+                        // Keep the hits for the next flush
+                        hits.addAndGet(delta);
+                        log.warn(
+                                "Failed to flush package cache hits, productId={}, delta={},"
+                                        + " errorMessage={}",
+                                productId,
+                                delta,
+                                e.getMessage());
+                    }
+                });
+    }
+
+    private void add(String productId, long delta) {
+        if (packageDownloadStatRepository.incrementCacheHitCount(productId, delta) > 0) {
+            return;
+        }
+        try {
+            packageDownloadStatRepository.saveAndFlush(
+                    PackageDownloadStat.builder()
+                            .productId(productId)
+                            .cacheHitCount(delta)
+                            .build());
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the row first
+            packageDownloadStatRepository.incrementCacheHitCount(productId, delta);
+        }
+    }
+}
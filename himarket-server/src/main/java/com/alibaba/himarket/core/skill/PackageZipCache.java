@@ -0,0 +1,551 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.core.skill;
+
+import com.alibaba.himarket.core.event.PackageChangedEvent;
+import com.alibaba.himarket.support.common.Strings;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local disk cache of skill and worker ZIP packages.
+ *
+ * <p>Each package version is stored once under the SHA-256 of its bytes, and the cache is
+ * trimmed least-recently-used first when the total size exceeds the configured limit. Cached
+ * packages are served from disk with Content-Length, ETag and single byte range support. A package
+ * that is not cached yet is streamed from its registry to the client and to disk at the same time,
+ * so it is never buffered in memory and the first byte is not held back until the whole package
+ * has arrived. Only a miss that asks for a range or carries an ETag is stored first and then
+ * served from disk, as both need the complete package.
+ *
+ * <p>Requests without an explicit version follow the moving latest label and are never cached.
+ */
+@Component
+@Slf4j
+public class PackageZipCache {
+
+    private static final String ZIP_SUFFIX = ".zip";
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Value("${package-download.cache-dir:${java.io.tmpdir}/himarket/package-zips}")
+    private String cacheDir;
+
+    @Value("${package-download.max-cache-bytes:1073741824}")
+    private long maxCacheBytes;
+
+    /**
+     * Package key -> SHA-256 of the cached ZIP
+     */
+    private final Map<String, String> index = new HashMap<>();
+
+    /**
+     * SHA-256 -> size of the cached ZIP, in access order for LRU eviction
+     */
+    private final LinkedHashMap<String, Long> files = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalBytes;
+
+    private Path cachePath;
+
+    /**
+     * Writes package bytes to an output stream.
+     */
+    @FunctionalInterface
+    public interface PackageWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        cachePath = Paths.get(cacheDir);
+        Files.createDirectories(cachePath);
+
+        // The index lives in memory, so files left by a previous run can never be served
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(cachePath)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(ZIP_SUFFIX) || name.endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        log.info(
+                "Initialized package ZIP cache, cacheDir={}, maxCacheBytes={}",
+                cachePath,
+                maxCacheBytes);
+    }
+
+    /**
+     * Builds the cache key of a package version.
+     *
+     * @param productId product ID
+     * @param source    identity of the package in its registry, e.g. nacosId/namespace/name
+     * @param version   package version
+     * @return cache key, or null if the version is blank and must not be cached
+     */
+    public String buildKey(String productId, String source, String version) {
+        if (Strings.isBlank(version)) {
+            return null;
+        }
+        return productId + "|" + source + "|" + version;
+    }
+
+    /**
+     * Serves a cached package.
+     *
+     * @param key      cache key, may be null
+     * @param fileName download file name
+     * @param request  HTTP request carrying conditional and range headers
+     * @param response HTTP response
+     * @return true if the package was cached and the response has been written
+     * @throws IOException if writing the response fails
+     */
+    public boolean serve(
+            String key, String fileName, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        String sha256 = lookup(key);
+        if (sha256 == null) {
+            return false;
+        }
+
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(resolveFile(sha256), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            remove(sha256);
+            return false;
+        }
+
+        // An open channel stays readable even if the file is evicted meanwhile
+        try (channel) {
+            writeCached(sha256, channel, fileName, request, response);
+        }
+        return true;
+    }
+
+    /**
+     * Stores a package in the cache while streaming it to the client. If the client goes away the
+     * package is still cached, so the next request is a cache hit.
+     *
+     * @param key      cache key; the package is only streamed when null
+     * @param fileName download file name
+     * @param request  HTTP request carrying conditional and range headers
+     * @param response HTTP response
+     * @param writer   writer producing the package bytes
+     * @throws IOException if producing the package or writing the response fails
+     */
+    public void store(
+            String key,
+            String fileName,
+            HttpServletRequest request,
+            HttpServletResponse response,
+            PackageWriter writer)
+            throws IOException {
+        if (key == null) {
+            writeHeaders(fileName, response);
+            writer.writeTo(response.getOutputStream());
+            return;
+        }
+
+        if (request.getHeader("Range") != null || request.getHeader("If-None-Match") != null) {
+            storeThenServe(key, fileName, request, response, writer);
+            return;
+        }
+
+        writeHeaders(fileName, response);
+        response.setHeader("Accept-Ranges", "bytes");
+        Path tempFile = cachePath.resolve(UUID.randomUUID() + TEMP_SUFFIX);
+        MessageDigest digest = newDigest();
+        try (TeeOutputStream out =
+                new TeeOutputStream(
+                        new DigestOutputStream(Files.newOutputStream(tempFile), digest),
+                        response.getOutputStream())) {
+            writer.writeTo(out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        try {
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            long size = Files.size(tempFile);
+            Files.move(tempFile, resolveFile(sha256), StandardCopyOption.REPLACE_EXISTING);
+            register(key, sha256, size);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private void storeThenServe(
+            String key,
+            String fileName,
+            HttpServletRequest request,
+            HttpServletResponse response,
+            PackageWriter writer)
+            throws IOException {
+        Path tempFile = cachePath.resolve(UUID.randomUUID() + TEMP_SUFFIX);
+        MessageDigest digest = newDigest();
+        try (OutputStream fileOut =
+                new DigestOutputStream(Files.newOutputStream(tempFile), digest)) {
+            writer.writeTo(fileOut);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        String sha256 = HexFormat.of().formatHex(digest.digest());
+        // Opened before the move, so the package stays readable even if it is evicted meanwhile
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.READ)) {
+            Files.move(tempFile, resolveFile(sha256), StandardCopyOption.REPLACE_EXISTING);
+            register(key, sha256, channel.size());
+            writeCached(sha256, channel, fileName, request, response);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Drops all cached versions of a product.
+     *
+     * @param productId product ID
+     */
+    public synchronized void invalidate(String productId) {
+        String prefix = productId + "|";
+        Iterator<Map.Entry<String, String>> iterator = index.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, String> entry = iterator.next();
+            if (entry.getKey().startsWith(prefix)) {
+                iterator.remove();
+                if (!index.containsValue(entry.getValue())) {
+                    deleteFile(entry.getValue());
+                }
+            }
+        }
+    }
+
+    @EventListener
+    public void onPackageChanged(PackageChangedEvent event) {
+        invalidate(event.getProductId());
+    }
+
+    private synchronized String lookup(String key) {
+        if (key == null) {
+            return null;
+        }
+        String sha256 = index.get(key);
+        if (sha256 != null) {
+            // Touch for LRU ordering
+            files.get(sha256);
+        }
+        return sha256;
+    }
+
+    private synchronized void register(String key, String sha256, long size) {
+        String previous = index.put(key, sha256);
+        if (files.put(sha256, size) == null) {
+            totalBytes += size;
+        }
+        if (previous != null && !previous.equals(sha256) && !index.containsValue(previous)) {
+            deleteFile(previous);
+        }
+
+        // Evict least recently used packages, always keeping the one just stored
+        Iterator<Map.Entry<String, Long>> iterator = files.entrySet().iterator();
+        while (totalBytes > maxCacheBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            if (entry.getKey().equals(sha256)) {
+                continue;
+            }
+            iterator.remove();
+            totalBytes -= entry.getValue();
+            index.values().removeIf(entry.getKey()::equals);
+            deleteQuietly(resolveFile(entry.getKey()));
+        }
+    }
+
+    private synchronized void remove(String sha256) {
+        index.values().removeIf(sha256::equals);
+        Long size = files.remove(sha256);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    private void deleteFile(String sha256) {
+        Long size = files.remove(sha256);
+        if (size != null) {
+            totalBytes -= size;
+        }
+        deleteQuietly(resolveFile(sha256));
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn(
+                    "Failed to delete cached package, file={}, errorMessage={}",
+                    file,
+                    e.getMessage());
+        }
+    }
+
+    private void writeCached(
+            String sha256,
+            FileChannel channel,
+            String fileName,
+            HttpServletRequest request,
+            HttpServletResponse response)
+            throws IOException {
+        long size = channel.size();
+        String etag = toETag(sha256);
+
+        response.setHeader("ETag", etag);
+        response.setHeader("Accept-Ranges", "bytes");
+        if (etagMatches(request.getHeader("If-None-Match"), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        writeHeaders(fileName, response);
+        long start = 0;
+        long end = size - 1;
+        String range = request.getHeader("Range");
+        if (range != null && ifRangeMatches(request, etag)) {
+            long[] bounds = parseRange(range, size);
+            if (bounds == null) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader("Content-Range", "bytes */" + size);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+        channel.position(start);
+        InputStream input = Channels.newInputStream(channel);
+        OutputStream output = response.getOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        while (length > 0) {
+            int read = input.read(buffer, 0, (int) Math.min(buffer.length, length));
+            if (read < 0) {
+                break;
+            }
+            output.write(buffer, 0, read);
+            length -= read;
+        }
+        output.flush();
+    }
+
+    /**
+     * Parses a single byte range.
+     *
+     * @return {start, end} for a satisfiable range, an empty array if the header is ignored and
+     *     the whole package is served, or null if the range cannot be satisfied
+     */
+    private long[] parseRange(String header, long size) {
+        if (!header.startsWith("bytes=") || header.contains(",")) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // Suffix range: the last N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, size - suffix);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            }
+            if (start >= size || start > end) {
+                return null;
+            }
+            return new long[] {start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    private boolean ifRangeMatches(HttpServletRequest request, String etag) {
+        String ifRange = request.getHeader("If-Range");
+        return ifRange == null || ifRange.trim().equals(etag);
+    }
+
+    private boolean etagMatches(String header, String etag) {
+        if (header == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(etag) || value.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeHeaders(String fileName, HttpServletResponse response) {
+        response.setContentType("application/zip");
+        String encodedName =
+                URLEncoder.encode(fileName, StandardCharsets.UTF_8).replace("+", "%20");
+        response.setHeader("Content-Disposition", "attachment; filename*=UTF-8''" + encodedName);
+    }
+
+    private String toETag(String sha256) {
+        return "\"" + sha256 + "\"";
+    }
+
+    private Path resolveFile(String sha256) {
+        return cachePath.resolve(sha256 + ZIP_SUFFIX);
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+
+    /**
+     * Copies package bytes to the cache file and the client. Once the client fails, the rest of
+     * the package only goes to the file.
+     */
+    private static final class TeeOutputStream extends OutputStream {
+
+        private final OutputStream file;
+
+        private final OutputStream client;
+
+        private boolean clientGone;
+
+        TeeOutputStream(OutputStream file, OutputStream client) {
+            this.file = file;
+            this.client = client;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            file.write(b);
+            if (!clientGone) {
+                try {
+                    client.write(b);
+                } catch (IOException e) {
+                    detachClient(e);
+                }
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            file.write(b, off, len);
+            if (!clientGone) {
+                try {
+                    client.write(b, off, len);
+                } catch (IOException e) {
+                    detachClient(e);
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            file.flush();
+            if (!clientGone) {
+                try {
+                    client.flush();
+                } catch (IOException e) {
+                    detachClient(e);
+                }
+            }
+        }
+
+        /**
+         * Closes the file only; the container owns the response stream.
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                file.close();
+            }
+        }
+
+        private void detachClient(IOException e) {
+            clientGone = true;
+            log.debug(
+                    "Client went away during package download, caching the rest, errorMessage={}",
+                    e.getMessage());
+        }
+    }
+}
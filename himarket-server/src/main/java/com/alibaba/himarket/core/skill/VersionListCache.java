@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.core.skill;
+
+import com.alibaba.himarket.core.event.PackageChangedEvent;
+import com.alibaba.himarket.core.utils.CacheUtil;
+import com.alibaba.himarket.dto.result.common.VersionResult;
+import com.github.benmanes.caffeine.cache.Cache;
+import java.util.List;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of the version lists of Nacos backed skill and worker products, keyed by product.
+ *
+ * <p>Entries are dropped as soon as a version is changed through HiMarket or a change is detected
+ * in Nacos, so idle reads do not reach the registry. The expiry only acts as a safety net for
+ * missed changes.
+ */
+@Component
+@Slf4j
+public class VersionListCache {
+
+    private final Cache<String, List<VersionResult>> versionCache = CacheUtil.newCache(10);
+
+    /**
+     * Gets the version list of a product, loading it on a cache miss.
+     *
+     * @param productId product ID
+     * @param loader    loader fetching the versions from the registry, a null result is not
+     *                  cached
+     * @return version list, or null if the loader could not fetch it
+     */
+    public List<VersionResult> get(String productId, Supplier<List<VersionResult>> loader) {
+        return versionCache.get(productId, k -> loader.get());
+    }
+
+    /**
+     * Drops the cached version list of a product.
+     *
+     * @param productId product ID
+     */
+    public void invalidate(String productId) {
+        versionCache.invalidate(productId);
+    }
+
+    @EventListener
+    public void onPackageChanged(PackageChangedEvent event) {
+        log.debug("Invalidated cached versions, productId={}", event.getProductId());
+        invalidate(event.getProductId());
+    }
+}
@@ -23,6 +23,7 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.github.benmanes.caffeine.cache.RemovalListener;
+import com.github.benmanes.caffeine.cache.Weigher;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -103,4 +104,44 @@ public class CacheUtil {
                 .removalListener(removalListener)
                 .build();
     }
+
+    /**
+     * Creates a size-bounded LRU cache with time-based eviction and a removal listener.
+     *
+     * @param maximumSize maximum number of entries
+     * @param expireAfterAccess expire after N seconds of no access
+     * @param removalListener listener to be invoked when an entry is removed
+     * @param <K> key type
+     * @param <V> value type
+     * @return cache instance
+     */
+    public static <K, V> Cache<K, V> newLRUCache(
+            long maximumSize, long expireAfterAccess, RemovalListener<K, V> removalListener) {
+        return Caffeine.newBuilder()
+                .initialCapacity(10)
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess, TimeUnit.SECONDS)
+                .removalListener(removalListener)
+                .build();
+    }
+
+    /**
+     * Creates an LRU cache bounded by the total weight of its entries, with time-based eviction.
+     *
+     * @param maximumWeight maximum total weight of all entries
+     * @param expireAfterAccess expire after N seconds of no access
+     * @param weigher function computing the weight of an entry
+     * @param <K> key type
+     * @param <V> value type
+     * @return cache instance
+     */
+    public static <K, V> Cache<K, V> newWeightedLRUCache(
+            long maximumWeight, long expireAfterAccess, Weigher<K, V> weigher) {
+        return Caffeine.newBuilder()
+                .initialCapacity(10)
+                .maximumWeight(maximumWeight)
+                .weigher(weigher)
+                .expireAfterAccess(expireAfterAccess, TimeUnit.SECONDS)
+                .build();
+    }
 }
@@ -22,12 +22,19 @@ package com.alibaba.himarket.core.utils;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.Namespace;
 import io.fabric8.kubernetes.client.Config;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -48,11 +55,30 @@ public class K8sClientUtils {
                                                     + " cause={}",
                                             key != null ? key.substring(0, 12) : "null",
                                             cause);
+                                    stopInformers(key, client);
                                     client.close();
                                 }
                             })
                     .build();
 
+    /**
+     * Shared informers keyed by client cache key and informer key. Informers belong to the cached
+     * client they were created from and are stopped when it is evicted.
+     */
+    private static final Map<String, SharedInformer> INFORMERS = new ConcurrentHashMap<>();
+
+    private static final Map<String, Object> INFORMER_LOCKS = new ConcurrentHashMap<>();
+
+    /**
+     * Resync period of shared informers, replaying the cached state to event handlers
+     */
+    private static final long INFORMER_RESYNC_MILLIS = 10 * 60 * 1000;
+
+    /**
+     * Maximum time to wait for the initial list of a new informer
+     */
+    private static final long INFORMER_SYNC_TIMEOUT_SECONDS = 30;
+
     @Value("${sandbox.ssl-verify:false}")
     private boolean sslVerify;
 
@@ -102,13 +128,100 @@ public class K8sClientUtils {
     }
 
     /**
-     * Evicts a cached client when KubeConfig changes or an instance is deleted.
+     * Evicts a cached client when KubeConfig changes or an instance is deleted. Informers created
+     * from the client are stopped with it.
      */
     public void evictClient(String kubeConfig) {
         String cacheKey = HashUtils.sha256Hex(kubeConfig);
         CLIENT_CACHE.invalidate(cacheKey);
     }
 
+    /**
+     * Gets a shared informer on the cluster of the KubeConfig, creating and starting it on first
+     * use.
+     *
+     * <p>One informer is kept per cluster and informer key, so all callers share one list and watch
+     * connection instead of polling the API server. The factory creates the informer from the
+     * client without starting it and registers the event handlers that must see every event.
+     *
+     * @param kubeConfig  KubeConfig of the cluster
+     * @param informerKey key of the watched resources, unique within a cluster
+     * @param factory     creates the informer with {@code runnableInformer}
+     * @return the started and synced informer
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends HasMetadata> SharedIndexInformer<T> getInformer(
+            String kubeConfig,
+            String informerKey,
+            BiFunction<KubernetesClient, Long, SharedIndexInformer<T>> factory) {
+        String cacheKey = HashUtils.sha256Hex(kubeConfig);
+        String key = cacheKey + "/" + informerKey;
+        // Keep the owning client alive while its informers are in use
+        KubernetesClient cached = CLIENT_CACHE.getIfPresent(cacheKey);
+        SharedInformer existing = INFORMERS.get(key);
+        if (existing != null && existing.isUsable(cached)) {
+            return (SharedIndexInformer<T>) existing.informer();
+        }
+
+        // Informers of different clusters start independently
+        synchronized (INFORMER_LOCKS.computeIfAbsent(key, k -> new Object())) {
+            KubernetesClient client = getClient(kubeConfig);
+            existing = INFORMERS.get(key);
+            if (existing != null && existing.isUsable(client)) {
+                return (SharedIndexInformer<T>) existing.informer();
+            }
+            if (existing != null) {
+                existing.informer().stop();
+            }
+            SharedIndexInformer<T> informer = factory.apply(client, INFORMER_RESYNC_MILLIS);
+            try {
+                informer.start().get(INFORMER_SYNC_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                informer.stop();
+                Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                throw new IllegalStateException(
+                        "Failed to start informer " + informerKey + ": " + cause.getMessage(),
+                        cause);
+            }
+            INFORMERS.put(key, new SharedInformer(client, informer));
+            log.info(
+                    "Started shared informer, cacheKeyPrefix={}, informerKey={}",
+                    cacheKey.substring(0, 12),
+                    informerKey);
+            return informer;
+        }
+    }
+
+    /**
+     * Gets the shared namespace informer of a cluster, whose watch state reflects the cluster
+     * connectivity.
+     */
+    public SharedIndexInformer<Namespace> getNamespaceInformer(String kubeConfig) {
+        return getInformer(
+                kubeConfig,
+                "namespaces",
+                (client, resyncMillis) -> client.namespaces().runnableInformer(resyncMillis));
+    }
+
+    /**
+     * Stops the informers created from a closed client. Informers already rebuilt on a newer client
+     * of the same cluster are kept.
+     */
+    private static void stopInformers(String cacheKey, KubernetesClient client) {
+        String prefix = cacheKey + "/";
+        INFORMERS
+                .entrySet()
+                .removeIf(
+                        entry -> {
+                            if (!entry.getKey().startsWith(prefix)
+                                    || entry.getValue().client() != client) {
+                                return false;
+                            }
+                            entry.getValue().informer().stop();
+                            return true;
+                        });
+    }
+
     /**
      * Gets the cluster ID from the kube-system namespace UID.
      */
@@ -146,4 +259,11 @@ public class K8sClientUtils {
                 .map(ns -> ns.getMetadata().getName())
                 .toList();
     }
+
+    private record SharedInformer(KubernetesClient client, SharedIndexInformer<?> informer) {
+
+        boolean isUsable(KubernetesClient currentClient) {
+            return client == currentClient && informer.isRunning();
+        }
+    }
 }
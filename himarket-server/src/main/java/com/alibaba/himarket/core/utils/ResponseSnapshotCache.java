@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.core.utils;
+
+import com.alibaba.himarket.utils.JsonUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of read API responses with a content ETag and a Last-Modified time, for
+ * answering conditional requests of polling clients.
+ *
+ * <p>A snapshot is served without calling the loader while it is fresh. Once stale it is reloaded,
+ * and the Last-Modified time only moves when the content actually changed.
+ */
+public class ResponseSnapshotCache {
+
+    private static final long SNAPSHOT_IDLE_SECONDS = 10 * 60;
+
+    private final Cache<String, Snapshot<?>> snapshots =
+            CacheUtil.newLRUCache(SNAPSHOT_IDLE_SECONDS);
+
+    private final long freshNanos;
+
+    private final LongSupplier nanoClock;
+
+    /**
+     * @param freshSeconds how long a snapshot is served without reloading it
+     */
+    public ResponseSnapshotCache(long freshSeconds) {
+        this(freshSeconds, System::nanoTime);
+    }
+
+    ResponseSnapshotCache(long freshSeconds, LongSupplier nanoClock) {
+        this.freshNanos = freshSeconds * 1_000_000_000L;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Gets the snapshot of a response, loading it when missing or stale.
+     *
+     * @param key    the response key, such as the request path and parameters
+     * @param loader loads the response body
+     * @return the snapshot
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Snapshot<T> get(String key, Supplier<T> loader) {
+        long now = nanoClock.getAsLong();
+        Snapshot<T> current = (Snapshot<T>) snapshots.getIfPresent(key);
+        if (current != null && now - current.loadedAtNanos() < freshNanos) {
+            return current;
+        }
+
+        T body = loader.get();
+        String etag = "\"" + HashUtils.sha256Hex(JsonUtil.toJson(body)) + "\"";
+        long lastModified =
+                current != null && current.etag().equals(etag)
+                        ? current.lastModified()
+                        : System.currentTimeMillis();
+        Snapshot<T> snapshot = new Snapshot<>(body, etag, lastModified, now);
+        snapshots.put(key, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Drops all snapshots, for callers that know the underlying data changed.
+     */
+    public void invalidateAll() {
+        snapshots.invalidateAll();
+    }
+
+    /**
+     * Cached response.
+     *
+     * @param body          the response body
+     * @param etag          strong ETag of the body content
+     * @param lastModified  epoch milliseconds when the content last changed
+     * @param loadedAtNanos when the snapshot was loaded
+     */
+    public record Snapshot<T>(T body, String etag, long lastModified, long loadedAtNanos) {}
+}
@@ -20,6 +20,7 @@
 package com.alibaba.himarket.dto.params.consumer;
 
 import com.alibaba.himarket.support.enums.SubscriptionStatus;
+import java.util.List;
 import lombok.Data;
 
 @Data
@@ -28,4 +29,7 @@ public class QuerySubscriptionParam {
     private SubscriptionStatus status;
 
     private String productName;
+
+    /** Restricts the result to these subscriptions, e.g. to poll the items of a batch */
+    private List<String> subscriptionIds;
 }
@@ -47,4 +47,9 @@ public class ImportResult {
      * Number of skipped resources.
      */
     private int skippedCount;
+
+    /**
+     * Page to resume from if the import stopped early, null once all pages are imported.
+     */
+    private Integer nextPage;
 }
@@ -51,6 +51,15 @@ public class GatewayResult implements OutputConverter<GatewayResult, Gateway> {
 
     private LocalDateTime createAt;
 
+    private LocalDateTime resourceSyncedAt;
+
+    private String resourceSyncMessage;
+
+    /**
+     * Circuit breaker state of gateway calls: CLOSED, OPEN or HALF_OPEN.
+     */
+    private String circuitState;
+
     @Override
     public GatewayResult convertFrom(Gateway source) {
         OutputConverter.super.convertFrom(source);
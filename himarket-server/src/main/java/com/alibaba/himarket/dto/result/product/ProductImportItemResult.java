@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.dto.result.product;
+
+import com.alibaba.himarket.support.enums.ProductImportStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+@Schema(description = "Import status of one resource")
+public class ProductImportItemResult {
+
+    @Schema(description = "Resource name", example = "Fetch web content")
+    private String resourceName;
+
+    @Schema(description = "Resource ID", example = "@modelcontextprotocol/fetch")
+    private String resourceId;
+
+    @Schema(description = "Item status", example = "SUCCEEDED")
+    private ProductImportStatus status;
+
+    @Schema(
+            description = "Failure reason",
+            example = "Product with name 'Fetch web content' already exists")
+    private String errorMessage;
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.dto.result.product;
+
+import com.alibaba.himarket.support.enums.ProductImportStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Data;
+
+@Data
+@Schema(description = "Asynchronous product import job")
+public class ProductImportJobResult {
+
+    @Schema(description = "Import job ID", example = "import-job-xxx")
+    private String jobId;
+
+    @Schema(description = "Job status", example = "RUNNING")
+    private ProductImportStatus status;
+
+    @Schema(description = "Number of resources to import", example = "100")
+    private int totalCount;
+
+    @Schema(description = "Number of successfully imported resources", example = "40")
+    private int successCount;
+
+    @Schema(description = "Number of failed resources", example = "2")
+    private int failedCount;
+
+    @Schema(description = "Status of every resource, in request order")
+    private List<ProductImportItemResult> items;
+
+    @Schema(description = "Job creation time")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Job finish time, empty while the job is running")
+    private LocalDateTime finishedAt;
+}
@@ -23,6 +23,8 @@ import com.alibaba.himarket.dto.result.airegistry.AiRegistrySkillResult;
 import com.alibaba.himarket.dto.result.common.PageResult;
 import com.alibaba.himarket.dto.result.common.VersionResult;
 import com.alibaba.nacos.api.ai.model.skills.Skill;
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -31,7 +33,7 @@ public interface AiRegistrySkillService {
     String uploadFromZip(
             String aiRegistryId,
             String namespaceId,
-            byte[] zipBytes,
+            Path zipFile,
             String fileName,
             boolean overwrite);
 
@@ -68,7 +70,12 @@ public interface AiRegistrySkillService {
 
     List<VersionResult> listVersions(String aiRegistryId, String namespaceId, String skillName);
 
-    byte[] downloadZip(String aiRegistryId, String namespaceId, String skillName, String version);
+    void downloadZip(
+            String aiRegistryId,
+            String namespaceId,
+            String skillName,
+            String version,
+            OutputStream out);
 
     PageResult<AiRegistrySkillResult> listSkills(
             String aiRegistryId, String namespaceId, int pageNo, int pageSize);
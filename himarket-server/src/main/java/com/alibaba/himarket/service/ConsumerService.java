@@ -19,6 +19,8 @@
 
 package com.alibaba.himarket.service;
 
+import com.alibaba.himarket.dto.params.consumer.BatchApproveSubscriptionParam;
+import com.alibaba.himarket.dto.params.consumer.BatchCreateSubscriptionParam;
 import com.alibaba.himarket.dto.params.consumer.CreateConsumerParam;
 import com.alibaba.himarket.dto.params.consumer.CreateCredentialParam;
 import com.alibaba.himarket.dto.params.consumer.CreateSubscriptionParam;
@@ -29,6 +31,7 @@ import com.alibaba.himarket.dto.result.common.PageResult;
 import com.alibaba.himarket.dto.result.consumer.ConsumerCredentialResult;
 import com.alibaba.himarket.dto.result.consumer.ConsumerResult;
 import com.alibaba.himarket.dto.result.consumer.CredentialContext;
+import com.alibaba.himarket.dto.result.product.BatchSubscriptionResult;
 import com.alibaba.himarket.dto.result.product.SubscriptionResult;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
@@ -115,6 +118,19 @@ public interface ConsumerService {
      */
     SubscriptionResult subscribeProduct(String consumerId, CreateSubscriptionParam param);
 
+    /**
+     * Subscribes a consumer to multiple products. Items are processed independently, so a failed
+     * item does not roll back the others. Like {@link #subscribeProduct}, auto-approved gateway
+     * products stay pending until the gateway authorization queued for them succeeds, callers poll
+     * {@link #listSubscriptions} by the returned subscription IDs for the APPROVED or FAILED status.
+     *
+     * @param consumerId consumer ID
+     * @param param batch subscription parameters
+     * @return per-item subscription results
+     */
+    BatchSubscriptionResult batchSubscribeProducts(
+            String consumerId, BatchCreateSubscriptionParam param);
+
     /**
      * Unsubscribes a consumer from a product.
      *
@@ -151,6 +167,19 @@ public interface ConsumerService {
      */
     SubscriptionResult approveSubscription(String consumerId, String subscriptionId);
 
+    /**
+     * Approves multiple pending subscriptions of a consumer. Items are processed independently, so
+     * a failed item does not roll back the others. Like {@link #approveSubscription}, each item
+     * queues a gateway authorization and is approved once it succeeds, callers poll {@link
+     * #listSubscriptions} by the subscription IDs for the APPROVED or FAILED status.
+     *
+     * @param consumerId consumer ID
+     * @param param batch approval parameters
+     * @return per-item approval results
+     */
+    BatchSubscriptionResult batchApproveSubscriptions(
+            String consumerId, BatchApproveSubscriptionParam param);
+
     /**
      * Get default credential authentication info for developer Returns empty maps if consumer or
      * credential not found
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service;
+
+import com.alibaba.himarket.entity.GatewayOutbox;
+import com.alibaba.himarket.support.enums.GatewayOutboxOperation;
+
+/**
+ * Executes gateway side effects recorded in the gateway outbox.
+ */
+public interface GatewayOutboxHandler {
+
+    /**
+     * Whether this handler executes the given operation.
+     *
+     * @param operation outbox operation
+     * @return true if supported
+     */
+    boolean supports(GatewayOutboxOperation operation);
+
+    /**
+     * Executes an outbox entry. Called outside any database transaction, possibly more than once
+     * for the same entry, so implementations must be idempotent. Throwing schedules a retry.
+     *
+     * @param outbox outbox entry
+     */
+    void handle(GatewayOutbox outbox);
+
+    /**
+     * Called once an entry has failed permanently and will not be retried.
+     *
+     * @param outbox outbox entry
+     */
+    default void onFailed(GatewayOutbox outbox) {}
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service;
+
+import com.alibaba.himarket.dto.result.common.PageResult;
+import com.alibaba.himarket.dto.result.gateway.GatewayResult;
+import com.alibaba.himarket.entity.Gateway;
+import com.alibaba.himarket.support.enums.GatewayResourceType;
+
+public interface GatewayResourceService {
+
+    /**
+     * Lists gateway resources from the local inventory. For a gateway that has never been synced,
+     * a sync is started in the background and the page is listed from the gateway until it
+     * completes.
+     *
+     * @param gateway imported gateway
+     * @param resourceType resource type
+     * @param keyword optional resource name keyword
+     * @param page page number
+     * @param size page size
+     * @param <T> result type stored for the resource type
+     * @return paged resource results
+     */
+    <T> PageResult<T> listResources(
+            Gateway gateway, GatewayResourceType resourceType, String keyword, int page, int size);
+
+    /**
+     * Syncs the resource inventory of a gateway from the remote gateway immediately.
+     *
+     * @param gatewayId gateway ID
+     * @return gateway details including the latest sync state
+     */
+    GatewayResult syncResources(String gatewayId);
+
+    /**
+     * Syncs the resource inventory of every imported gateway.
+     */
+    void syncAllResources();
+
+    /**
+     * Removes the resource inventory of a gateway.
+     *
+     * @param gatewayId gateway ID
+     */
+    void deleteResources(String gatewayId);
+}
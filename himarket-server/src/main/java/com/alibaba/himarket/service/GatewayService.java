@@ -130,21 +130,23 @@ public interface GatewayService {
      * Fetches HTTP APIs from a gateway.
      *
      * @param gatewayId gateway ID
+     * @param keyword optional HTTP API name keyword
      * @param page page number
      * @param size page size
      * @return paged HTTP API results
      */
-    PageResult<APIResult> fetchHTTPAPIs(String gatewayId, int page, int size);
+    PageResult<APIResult> fetchHTTPAPIs(String gatewayId, String keyword, int page, int size);
 
     /**
      * Fetches REST APIs from a gateway.
      *
      * @param gatewayId gateway ID
+     * @param keyword optional REST API name keyword
      * @param page page number
      * @param size page size
      * @return paged REST API results
      */
-    PageResult<APIResult> fetchRESTAPIs(String gatewayId, int page, int size);
+    PageResult<APIResult> fetchRESTAPIs(String gatewayId, String keyword, int page, int size);
 
     /**
      * Fetches gateway routes.
@@ -160,11 +162,13 @@ public interface GatewayService {
      * Fetches MCP servers from a gateway.
      *
      * @param gatewayId gateway ID
+     * @param keyword optional MCP server name keyword
      * @param page page number
      * @param size page size
      * @return paged MCP server results
      */
-    PageResult<GatewayMcpServerResult> fetchMcpServers(String gatewayId, int page, int size);
+    PageResult<GatewayMcpServerResult> fetchMcpServers(
+            String gatewayId, String keyword, int page, int size);
 
     /**
      * Gets an MCP server from a gateway.
@@ -179,21 +183,24 @@ public interface GatewayService {
      * Fetches Agent APIs from a gateway.
      *
      * @param gatewayId gateway ID
+     * @param keyword optional Agent API name keyword
      * @param page page number
      * @param size page size
      * @return paged Agent API results
      */
-    PageResult<AgentAPIResult> fetchAgentAPIs(String gatewayId, int page, int size);
+    PageResult<AgentAPIResult> fetchAgentAPIs(String gatewayId, String keyword, int page, int size);
 
     /**
      * Fetches model APIs from a gateway.
      *
      * @param gatewayId gateway ID
+     * @param keyword optional model API name keyword
      * @param page page number
      * @param size page size
      * @return paged model API results
      */
-    PageResult<GatewayModelAPIResult> fetchModelAPIs(String gatewayId, int page, int size);
+    PageResult<GatewayModelAPIResult> fetchModelAPIs(
+            String gatewayId, String keyword, int page, int size);
 
     /**
      * Fetches and normalizes the runtime configuration for an API product.
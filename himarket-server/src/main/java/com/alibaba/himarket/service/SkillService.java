@@ -6,6 +6,7 @@ import com.alibaba.himarket.dto.result.common.FileTreeNode;
 import com.alibaba.himarket.dto.result.common.ImportResult;
 import com.alibaba.himarket.dto.result.common.VersionResult;
 import com.alibaba.nacos.api.ai.model.skills.Skill;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.List;
@@ -117,10 +118,15 @@ public interface SkillService {
      *
      * @param productId the product identifier
      * @param version optional version; null for latest
+     * @param request the HTTP request carrying conditional and range headers
      * @param response the HTTP response to write the ZIP to
      * @throws IOException if an I/O error occurs
      */
-    void downloadPackage(String productId, String version, HttpServletResponse response)
+    void downloadPackage(
+            String productId,
+            String version,
+            HttpServletRequest request,
+            HttpServletResponse response)
             throws IOException;
 
     /**
@@ -162,11 +168,13 @@ public interface SkillService {
     CliDownloadInfo getCliDownloadInfo(String productId);
 
     /**
-     * Import skills from Nacos
+     * Import skills from Nacos page by page
      *
      * @param nacosId   Nacos instance ID
      * @param namespace Nacos namespace
-     * @return import result with success and skipped counts
+     * @param startPage page to start from, used to resume an import that stopped early
+     * @return import result with success and skipped counts, and the page to resume from if the
+     *     import stopped early
      */
-    ImportResult importFromNacos(String nacosId, String namespace);
+    ImportResult importFromNacos(String nacosId, String namespace, Integer startPage);
 }
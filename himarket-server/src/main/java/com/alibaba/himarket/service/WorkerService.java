@@ -5,6 +5,7 @@ import com.alibaba.himarket.dto.result.common.FileContentResult;
 import com.alibaba.himarket.dto.result.common.FileTreeNode;
 import com.alibaba.himarket.dto.result.common.ImportResult;
 import com.alibaba.himarket.dto.result.common.VersionResult;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.List;
@@ -90,10 +91,15 @@ public interface WorkerService {
      *
      * @param productId the product identifier
      * @param version optional version; null for latest
+     * @param request the HTTP request carrying conditional and range headers
      * @param response the HTTP response to write the ZIP to
      * @throws IOException if an I/O error occurs
      */
-    void downloadPackage(String productId, String version, HttpServletResponse response)
+    void downloadPackage(
+            String productId,
+            String version,
+            HttpServletRequest request,
+            HttpServletResponse response)
             throws IOException;
 
     /**
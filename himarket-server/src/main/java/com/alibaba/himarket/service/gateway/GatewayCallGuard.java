@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.gateway;
+
+import com.alibaba.himarket.config.GatewayResilienceProperties;
+import com.alibaba.himarket.core.exception.BusinessException;
+import com.alibaba.himarket.core.exception.ErrorCode;
+import com.alibaba.himarket.core.utils.HashUtils;
+import com.alibaba.himarket.support.common.Strings;
+import com.alibaba.himarket.support.gateway.GatewayConfig;
+import com.alibaba.himarket.utils.JsonUtil;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Isolates gateway operator calls per gateway with a bulkhead and a circuit breaker.
+ *
+ * <p>A hanging gateway can only occupy its own bulkhead slots, and once its failure or slow call
+ * rate crosses the threshold its circuit opens and calls fail fast until probe calls succeed
+ * again. Client errors such as unsupported operations do not count as failures. State and call
+ * metrics are exported through Micrometer as {@code resilience4j.circuitbreaker.*} and {@code
+ * resilience4j.bulkhead.*}, tagged by gateway.
+ */
+@Component
+@Slf4j
+public class GatewayCallGuard {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public GatewayCallGuard(GatewayResilienceProperties properties, MeterRegistry meterRegistry) {
+        CircuitBreakerConfig circuitBreakerConfig =
+                CircuitBreakerConfig.custom()
+                        .failureRateThreshold(properties.getFailureRateThreshold())
+                        .slowCallRateThreshold(properties.getSlowCallRateThreshold())
+                        .slowCallDurationThreshold(properties.getSlowCallDurationThreshold())
+                        .slidingWindowSize(properties.getSlidingWindowSize())
+                        .minimumNumberOfCalls(properties.getMinimumNumberOfCalls())
+                        .waitDurationInOpenState(properties.getWaitDurationInOpenState())
+                        .permittedNumberOfCallsInHalfOpenState(
+                                properties.getPermittedCallsInHalfOpenState())
+                        .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                        .ignoreException(GatewayCallGuard::isClientError)
+                        .build();
+        this.circuitBreakerRegistry = CircuitBreakerRegistry.of(circuitBreakerConfig);
+        this.circuitBreakerRegistry
+                .getEventPublisher()
+                .onEntryAdded(
+                        event ->
+                                event.getAddedEntry()
+                                        .getEventPublisher()
+                                        .onStateTransition(
+                                                transition ->
+                                                        log.warn(
+                                                                "Gateway circuit state changed,"
+                                                                        + " gateway={},"
+                                                                        + " transition={}",
+                                                                transition.getCircuitBreakerName(),
+                                                                transition.getStateTransition())));
+
+        this.bulkheadRegistry =
+                BulkheadRegistry.of(
+                        BulkheadConfig.custom()
+                                .maxConcurrentCalls(properties.getMaxConcurrentCalls())
+                                .maxWaitDuration(properties.getMaxWaitDuration())
+                                .build());
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry)
+                .bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+    }
+
+    /**
+     * Calls a gateway through its bulkhead and circuit breaker.
+     *
+     * @param gatewayKey gateway ID, or {@link #keyOf(GatewayConfig)} when only the config is known
+     * @param supplier the gateway call
+     * @return the call result
+     */
+    public <R> R call(String gatewayKey, Supplier<R> supplier) {
+        Supplier<R> guarded =
+                Bulkhead.decorateSupplier(
+                        bulkheadRegistry.bulkhead(gatewayKey),
+                        CircuitBreaker.decorateSupplier(
+                                circuitBreakerRegistry.circuitBreaker(gatewayKey), supplier));
+        try {
+            return guarded.get();
+        } catch (CallNotPermittedException e) {
+            throw new BusinessException(
+                    ErrorCode.GATEWAY_UNAVAILABLE, "circuit is open for gateway " + gatewayKey);
+        } catch (BulkheadFullException e) {
+            throw new BusinessException(
+                    ErrorCode.GATEWAY_UNAVAILABLE, "too many concurrent calls to " + gatewayKey);
+        }
+    }
+
+    /**
+     * Runs a gateway call through its bulkhead and circuit breaker.
+     *
+     * @param gatewayKey gateway ID, or {@link #keyOf(GatewayConfig)} when only the config is known
+     * @param runnable the gateway call
+     */
+    public void run(String gatewayKey, Runnable runnable) {
+        call(
+                gatewayKey,
+                () -> {
+                    runnable.run();
+                    return null;
+                });
+    }
+
+    /**
+     * Gets the circuit state of a gateway, CLOSED if it has not been called yet.
+     *
+     * @param gatewayKey gateway key
+     * @return CLOSED, OPEN, HALF_OPEN or another circuit breaker state name
+     */
+    public String getCircuitState(String gatewayKey) {
+        return circuitBreakerRegistry
+                .find(gatewayKey)
+                .map(circuitBreaker -> circuitBreaker.getState().name())
+                .orElse(CircuitBreaker.State.CLOSED.name());
+    }
+
+    /**
+     * Resolves the guard key for a gateway config. Configs without a gateway ID are keyed by a
+     * digest so that credentials never appear in metric tags or logs.
+     *
+     * @param config gateway config
+     * @return guard key
+     */
+    public static String keyOf(GatewayConfig config) {
+        if (Strings.isNotBlank(config.getGatewayId())) {
+            return config.getGatewayId();
+        }
+        return "config-" + HashUtils.sha256Hex(JsonUtil.toJson(config)).substring(0, 16);
+    }
+
+    private static boolean isClientError(Throwable e) {
+        return e instanceof UnsupportedOperationException
+                || (e instanceof BusinessException be && be.getStatus().is4xxClientError());
+    }
+}
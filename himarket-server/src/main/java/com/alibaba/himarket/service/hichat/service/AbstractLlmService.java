@@ -18,9 +18,12 @@
  */
 package com.alibaba.himarket.service.hichat.service;
 
+import com.alibaba.himarket.core.event.ProductConfigChangedEvent;
+import com.alibaba.himarket.core.event.ProductDeletingEvent;
 import com.alibaba.himarket.core.exception.ChatError;
 import com.alibaba.himarket.core.utils.CacheUtil;
 import com.alibaba.himarket.dto.result.chat.LlmInvokeResult;
+import com.alibaba.himarket.dto.result.common.DomainResult;
 import com.alibaba.himarket.dto.result.consumer.CredentialContext;
 import com.alibaba.himarket.dto.result.httpapi.HttpRouteResult;
 import com.alibaba.himarket.dto.result.model.ModelConfigResult;
@@ -33,17 +36,24 @@ import com.alibaba.himarket.service.hichat.support.ChatEvent;
 import com.alibaba.himarket.service.hichat.support.ChatFormatter;
 import com.alibaba.himarket.service.hichat.support.InvokeModelParam;
 import com.alibaba.himarket.service.hichat.support.LlmChatRequest;
+import com.alibaba.himarket.service.hichat.support.ModelEndpoint;
 import com.alibaba.himarket.support.common.Strings;
 import com.alibaba.himarket.support.product.ModelFeature;
 import com.github.benmanes.caffeine.cache.Cache;
 import io.agentscope.core.model.Model;
 import java.net.URI;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.util.CollectionUtils;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 
 @Slf4j
@@ -56,6 +66,19 @@ public abstract class AbstractLlmService implements LlmService {
 
     private final Cache<String, List<URI>> gatewayUriCache = CacheUtil.newCache(5 * 60);
 
+    /**
+     * Compiled route table of model products.
+     *
+     * <p>Structure:
+     * - Key: Product ID
+     * - Value: Compiled endpoints keyed by route keyword
+     *
+     * <p>Entries are dropped when the product configuration changes, the TTL keeps endpoints
+     * that fell back to gateway URIs in line with {@link #gatewayUriCache}.
+     */
+    private final Cache<String, Map<String, ModelEndpoint>> routeTableCache =
+            CacheUtil.newCache(5 * 60);
+
     @Override
     public Flux<ChatEvent> invokeLlm(
             InvokeModelParam param, Consumer<LlmInvokeResult> resultHandler) {
@@ -163,10 +186,6 @@ public abstract class AbstractLlmService implements LlmService {
 
     protected LlmChatRequest composeRequest(InvokeModelParam param) {
         ProductResult product = param.getProduct();
-
-        // Get gateway uris for model
-        List<URI> gatewayUris =
-                gatewayUriCache.get(param.getGatewayId(), gatewayService::fetchGatewayUris);
         CredentialContext credentialContext = param.getCredentialContext();
 
         return LlmChatRequest.builder()
@@ -179,7 +198,6 @@ public abstract class AbstractLlmService implements LlmService {
                 // Clone headers and query params
                 .headers(credentialContext.copyHeaders())
                 .queryParams(credentialContext.copyQueryParams())
-                .gatewayUris(gatewayUris)
                 .mcpConfigs(param.getMcpConfigs())
                 .build();
     }
@@ -211,17 +229,63 @@ public abstract class AbstractLlmService implements LlmService {
     }
 
     /**
-     * Build URI from model config with flexible path matching.
+     * Resolve the endpoint of a model product from the compiled route table. The endpoint is
+     * compiled on first use and reused until the product configuration changes.
      *
-     * @param modelConfig    model API configuration
-     * @param gatewayUris    fallback gateway URIs
+     * @param param          invoke parameters containing the product and gateway
      * @param routeKeyword   keyword for route matching (e.g., "/multimodal-generation", "/chat/completions")
      * @param pathProcessor  function to process the matched path (e.g., strip suffix, keep as-is)
-     * @return constructed URI, or null if failed
+     * @return compiled endpoint, or null if failed
+     */
+    protected ModelEndpoint resolveEndpoint(
+            InvokeModelParam param,
+            String routeKeyword,
+            BiFunction<String, String, String> pathProcessor) {
+        ProductResult product = param.getProduct();
+        if (product == null || product.getModelConfig() == null) {
+            return null;
+        }
+
+        if (Strings.isBlank(product.getProductId())) {
+            return compileEndpoint(
+                    product.getModelConfig(), param.getGatewayId(), routeKeyword, pathProcessor);
+        }
+
+        Map<String, ModelEndpoint> routeTable =
+                routeTableCache.get(product.getProductId(), k -> new ConcurrentHashMap<>());
+        // Failed compilations are not cached and will be retried on the next turn
+        return routeTable.computeIfAbsent(
+                routeKeyword,
+                keyword ->
+                        compileEndpoint(
+                                product.getModelConfig(),
+                                param.getGatewayId(),
+                                keyword,
+                                pathProcessor));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductConfigChanged(ProductConfigChangedEvent event) {
+        routeTableCache.invalidate(event.getProductId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductDeletion(ProductDeletingEvent event) {
+        routeTableCache.invalidate(event.getProductId());
+    }
+
+    /**
+     * Compile the endpoint from model config with flexible path matching.
+     *
+     * @param modelConfig    model API configuration
+     * @param gatewayId      gateway whose URIs are used when the route has no domain
+     * @param routeKeyword   keyword for route matching
+     * @param pathProcessor  function to process the matched path
+     * @return compiled endpoint, or null if failed
      */
-    protected URI buildUri(
+    private ModelEndpoint compileEndpoint(
             ModelConfigResult modelConfig,
-            List<URI> gatewayUris,
+            String gatewayId,
             String routeKeyword,
             BiFunction<String, String, String> pathProcessor) {
 
@@ -245,19 +309,22 @@ public abstract class AbstractLlmService implements LlmService {
             path = pathProcessor.apply(routeMatchPath.getValue(), routeMatchPath.getType());
         }
 
-        org.springframework.web.util.UriComponentsBuilder builder =
-                org.springframework.web.util.UriComponentsBuilder.newInstance();
+        UriComponentsBuilder builder = UriComponentsBuilder.newInstance();
 
         // Try to get public domain first, fallback to first domain
-        com.alibaba.himarket.dto.result.common.DomainResult domain =
-                route.getDomains().stream()
+        List<DomainResult> domains =
+                route.getDomains() != null ? route.getDomains() : Collections.emptyList();
+        DomainResult domain =
+                domains.stream()
                         .filter(d -> !Strings.equalsIgnoreCase(d.getNetworkType(), "intranet"))
                         .findFirst()
-                        .orElseGet(
-                                () ->
-                                        !CollectionUtils.isEmpty(route.getDomains())
-                                                ? route.getDomains().get(0)
-                                                : null);
+                        .orElseGet(() -> !domains.isEmpty() ? domains.get(0) : null);
+
+        // Gateway URIs are only needed when the route carries no domain
+        List<URI> gatewayUris =
+                domain == null && Strings.isNotBlank(gatewayId)
+                        ? gatewayUriCache.get(gatewayId, gatewayService::fetchGatewayUris)
+                        : null;
 
         if (domain != null) {
             String protocol =
@@ -281,8 +348,14 @@ public abstract class AbstractLlmService implements LlmService {
 
         builder.path(path);
         URI uri = builder.build().toUri();
-        log.debug("Built model invocation URI, uri={}", uri);
-        return uri;
+        String baseUrl =
+                uri.getScheme()
+                        + "://"
+                        + uri.getHost()
+                        + (uri.getPort() == -1 ? "" : ":" + uri.getPort())
+                        + uri.getPath();
+        log.debug("Compiled model endpoint, uri={}", uri);
+        return new ModelEndpoint(uri, baseUrl, uri.getPath(), uri.getScheme());
     }
 
     private boolean routeMatches(HttpRouteResult route, String routeKeyword) {
@@ -28,6 +28,7 @@ import com.alibaba.himarket.service.hichat.support.ChatContext;
 import com.alibaba.himarket.service.hichat.support.ChatEvent;
 import com.alibaba.himarket.service.hichat.support.InvokeModelParam;
 import com.alibaba.himarket.service.hichat.support.LlmChatRequest;
+import com.alibaba.himarket.service.hichat.support.ModelEndpoint;
 import com.alibaba.himarket.support.chat.ChatUsage;
 import com.alibaba.himarket.support.common.Strings;
 import com.alibaba.himarket.support.enums.AIProtocol;
@@ -40,7 +41,6 @@ import io.agentscope.core.message.URLSource;
 import io.agentscope.core.model.ChatResponse;
 import io.agentscope.core.model.GenerateOptions;
 import io.agentscope.core.model.Model;
-import java.net.URI;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -171,14 +171,11 @@ public class DashScopeImageLlmService extends AbstractLlmService {
 
         // Set base URL if configured
         if (product.getModelConfig() != null) {
-            URI uri =
-                    buildUri(
-                            product.getModelConfig(),
-                            request.getGatewayUris(),
-                            generationPath,
-                            (pathValue, pathType) -> pathValue);
+            ModelEndpoint endpoint =
+                    resolveEndpoint(param, generationPath, (pathValue, pathType) -> pathValue);
 
-            request.setUri(uri);
+            request.setEndpoint(endpoint);
+            request.setUri(endpoint != null ? endpoint.uri() : null);
         }
 
         Map<String, Object> bodyParams = request.getBodyParams();
@@ -48,7 +48,7 @@ public class DashScopeLlmService extends AbstractLlmService {
         ProductResult product = param.getProduct();
 
         if (product.getModelConfig() != null) {
-            URI uri = getUri(product.getModelConfig(), request.getGatewayUris());
+            URI uri = getUri(product.getModelConfig());
             request.setUri(uri);
         }
 
@@ -80,7 +80,7 @@ public class DashScopeLlmService extends AbstractLlmService {
                 .build();
     }
 
-    private URI getUri(ModelConfigResult modelConfig, List<URI> gatewayUris) {
+    private URI getUri(ModelConfigResult modelConfig) {
         return null;
     }
 
@@ -1,11 +1,14 @@
 package com.alibaba.himarket.service.hichat.service;
 
+import com.alibaba.himarket.core.exception.BusinessException;
+import com.alibaba.himarket.core.exception.ErrorCode;
 import com.alibaba.himarket.dto.result.product.ProductResult;
 import com.alibaba.himarket.service.GatewayService;
 import com.alibaba.himarket.service.gateway.ModelEndpointResolver;
 import com.alibaba.himarket.service.hichat.manager.ChatBotManager;
 import com.alibaba.himarket.service.hichat.support.InvokeModelParam;
 import com.alibaba.himarket.service.hichat.support.LlmChatRequest;
+import com.alibaba.himarket.service.hichat.support.ModelEndpoint;
 import com.alibaba.himarket.support.enums.AIProtocol;
 import com.alibaba.himarket.support.product.ModelFeature;
 import com.alibaba.himarket.utils.JsonUtil;
@@ -14,7 +17,6 @@ import io.agentscope.core.formatter.openai.OpenAIChatFormatter;
 import io.agentscope.core.model.GenerateOptions;
 import io.agentscope.core.model.Model;
 import io.agentscope.core.model.OpenAIChatModel;
-import java.net.URI;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -36,15 +38,15 @@ public class OpenAILlmService extends AbstractLlmService {
 
         // Request URI (without query params)
         List<String> aiProtocols = product.getModelConfig().getModelAPIConfig().getAiProtocols();
-        URI uri =
-                buildUri(
-                        product.getModelConfig(),
-                        request.getGatewayUris(),
+        ModelEndpoint endpoint =
+                resolveEndpoint(
+                        param,
                         "/chat/completions",
                         (pathValue, pathType) ->
                                 ModelEndpointResolver.resolveBaseUrlPath(
                                         pathValue, pathType, aiProtocols));
-        request.setUri(uri);
+        request.setEndpoint(endpoint);
+        request.setUri(endpoint != null ? endpoint.uri() : null);
 
         if (Boolean.TRUE.equals(param.getEnableWebSearch())) {
             Map<String, Object> webSearchOptions =
@@ -65,14 +67,12 @@ public class OpenAILlmService extends AbstractLlmService {
 
     @Override
     public Model newChatModel(LlmChatRequest request) {
-        URI uri = request.getUri();
-
-        String baseUrl =
-                uri.getScheme()
-                        + "://"
-                        + uri.getHost()
-                        + (uri.getPort() == -1 ? "" : ":" + uri.getPort())
-                        + uri.getPath();
+        ModelEndpoint endpoint = request.getEndpoint();
+        if (endpoint == null) {
+            throw new BusinessException(
+                    ErrorCode.INTERNAL_ERROR, "Failed to resolve model endpoint");
+        }
+        String baseUrl = endpoint.baseUrl();
 
         ModelFeature modelFeature = getOrDefaultModelFeature(request.getProduct());
         GenerateOptions options =
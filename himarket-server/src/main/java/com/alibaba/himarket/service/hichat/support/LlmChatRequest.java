@@ -45,6 +45,11 @@ public class LlmChatRequest {
      */
     private URI uri;
 
+    /**
+     * Compiled endpoint of the model product
+     */
+    private ModelEndpoint endpoint;
+
     /**
      * API key
      */
@@ -65,11 +70,6 @@ public class LlmChatRequest {
      */
     private Map<String, Object> bodyParams;
 
-    /**
-     * If not empty, use these URIs to resolve DNS
-     */
-    private List<URI> gatewayUris;
-
     /**
      * MCP servers with transport config
      */
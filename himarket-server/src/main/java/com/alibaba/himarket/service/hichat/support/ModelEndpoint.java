@@ -0,0 +1,32 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.hichat.support;
+
+import java.net.URI;
+
+/**
+ * Immutable model endpoint compiled from the route configuration of a model product.
+ *
+ * @param uri      full request URI
+ * @param baseUrl  URI without query and fragment, used as the base URL of chat model clients
+ * @param path     resolved request path
+ * @param protocol request scheme, such as http or https
+ */
+public record ModelEndpoint(URI uri, String baseUrl, String path, String protocol) {}
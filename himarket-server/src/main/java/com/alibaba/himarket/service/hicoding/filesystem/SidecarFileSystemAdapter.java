@@ -40,26 +40,48 @@ public class SidecarFileSystemAdapter implements FileSystemAdapter {
     /**
      * @param host Sidecar access address, such as Pod IP or Service IP
      * @param basePath workspace root directory; defaults to "/workspace"
+     * @param httpClient HTTP client shared with other adapters; a dedicated one is created if null
      */
-    public SidecarFileSystemAdapter(String host, String basePath) {
+    public SidecarFileSystemAdapter(String host, String basePath, HttpClient httpClient) {
         if (host == null || host.isBlank()) {
             throw new IllegalArgumentException("host must not be null or blank");
         }
         this.host = host;
         this.basePath = basePath != null ? basePath : DEFAULT_BASE_PATH;
-        this.httpClient =
-                HttpClient.newBuilder()
-                        .connectTimeout(HTTP_TIMEOUT)
-                        .version(HttpClient.Version.HTTP_1_1)
-                        .build();
+        this.httpClient = httpClient != null ? httpClient : newHttpClient();
         this.objectMapper = new ObjectMapper();
     }
 
+    /**
+     * @param host Sidecar access address, such as Pod IP or Service IP
+     * @param basePath workspace root directory; defaults to "/workspace"
+     */
+    public SidecarFileSystemAdapter(String host, String basePath) {
+        this(host, basePath, null);
+    }
+
     /**
      * Creates an adapter with the default base path.
      */
     public SidecarFileSystemAdapter(String host) {
-        this(host, DEFAULT_BASE_PATH);
+        this(host, DEFAULT_BASE_PATH, null);
+    }
+
+    /**
+     * Creates an adapter with the default base path on a shared HTTP client.
+     */
+    public SidecarFileSystemAdapter(String host, HttpClient httpClient) {
+        this(host, DEFAULT_BASE_PATH, httpClient);
+    }
+
+    /**
+     * Creates an HTTP client suitable for Sidecar file requests.
+     */
+    public static HttpClient newHttpClient() {
+        return HttpClient.newBuilder()
+                .connectTimeout(HTTP_TIMEOUT)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
     }
 
     @Override
@@ -9,10 +9,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -20,11 +17,11 @@ import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.reactive.socket.WebSocketMessage;
-import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
 
 /**
  * Remote Sidecar runtime adapter.
@@ -36,6 +33,9 @@ import reactor.core.publisher.Sinks;
  * <p>Supports detach/reconnect semantics: when WebSocket disconnects, the adapter enters DETACHED
  * state while the CLI process continues running on Sidecar and buffers output. reconnect() can
  * attach later.
+ *
+ * <p>The WebSocket client and the ping scheduler come from {@link RemoteRuntimeResources} and are
+ * shared by all adapters, so an adapter owns no threads of its own.
  */
 public class RemoteRuntimeAdapter implements RuntimeAdapter {
 
@@ -44,12 +44,18 @@ public class RemoteRuntimeAdapter implements RuntimeAdapter {
 
     static final long WS_PING_INTERVAL_SECONDS = 10;
 
+    /**
+     * Maximum number of messages waiting to be sent to the Sidecar. {@link #send(String)} fails
+     * once it is reached instead of buffering without limit.
+     */
+    static final int WS_SEND_BUFFER_SIZE = 1024;
+
     private final String host;
     private final int port;
 
     private final Sinks.Many<String> stdoutSink =
             Sinks.many().multicast().onBackpressureBuffer(256, false);
-    private Sinks.Many<String> wsSendSink = Sinks.many().unicast().onBackpressureBuffer();
+    private Sinks.Many<String> wsSendSink = newSendSink();
     private volatile RuntimeStatus status = RuntimeStatus.CREATING;
     private volatile String sidecarSessionId;
     private URI sidecarWsUri;
@@ -58,24 +64,18 @@ public class RemoteRuntimeAdapter implements RuntimeAdapter {
     private ScheduledFuture<?> wsPingFuture;
     private final AtomicReference<org.springframework.web.reactive.socket.WebSocketSession>
             wsSessionRef = new AtomicReference<>();
-    private final ScheduledExecutorService scheduler;
+    private final RemoteRuntimeResources resources;
 
     private Consumer<RuntimeFaultNotification> faultListener;
 
-    public RemoteRuntimeAdapter(String host, int port) {
+    public RemoteRuntimeAdapter(String host, int port, RemoteRuntimeResources resources) {
         if (host == null || host.isBlank()) {
             throw new IllegalArgumentException("host must not be null or blank");
         }
         this.host = host;
         this.port = port;
-        this.fileSystem = new SidecarFileSystemAdapter(host);
-        this.scheduler =
-                Executors.newSingleThreadScheduledExecutor(
-                        r -> {
-                            Thread t = new Thread(r, "remote-runtime-scheduler");
-                            t.setDaemon(true);
-                            return t;
-                        });
+        this.resources = resources;
+        this.fileSystem = new SidecarFileSystemAdapter(host, resources.sidecarHttpClient());
     }
 
     @Override
@@ -179,7 +179,7 @@ public class RemoteRuntimeAdapter implements RuntimeAdapter {
         logger.info("Reconnecting remote runtime adapter, wsUri={}", wsUri);
 
         this.sidecarWsUri = wsUri;
-        this.wsSendSink = Sinks.many().unicast().onBackpressureBuffer();
+        this.wsSendSink = newSendSink();
 
         try {
             connectWebSocket(wsUri);
@@ -251,7 +251,6 @@ public class RemoteRuntimeAdapter implements RuntimeAdapter {
         }
 
         stdoutSink.tryEmitComplete();
-        scheduler.shutdownNow();
         status = RuntimeStatus.STOPPED;
     }
 
@@ -270,16 +269,12 @@ public class RemoteRuntimeAdapter implements RuntimeAdapter {
 
     private void connectWebSocket(URI wsUri) {
         logger.info("Connecting to remote sidecar WebSocket, wsUri={}", wsUri);
-        ReactorNettyWebSocketClient wsClient =
-                new ReactorNettyWebSocketClient(
-                        reactor.netty.http.client.HttpClient.create()
-                                .responseTimeout(Duration.ofSeconds(30)));
-        wsClient.setHandlePing(true);
-        wsClient.setMaxFramePayloadLength(1024 * 1024);
         CountDownLatch connectedLatch = new CountDownLatch(1);
 
         wsConnection =
-                wsClient.execute(
+                resources
+                        .webSocketClient()
+                        .execute(
                                 wsUri,
                                 session -> {
                                     wsSessionRef.set(session);
@@ -478,40 +473,49 @@ public class RemoteRuntimeAdapter implements RuntimeAdapter {
 
     private void startWsPing() {
         wsPingFuture =
-                scheduler.scheduleAtFixedRate(
-                        () -> {
-                            try {
-                                var session = wsSessionRef.get();
-                                if (session == null || !session.isOpen()) {
-                                    return;
-                                }
-                                session.send(
-                                                Mono.just(
-                                                        session.pingMessage(
-                                                                factory ->
-                                                                        factory.wrap(
-                                                                                "ping"
-                                                                                        .getBytes(
-                                                                                                StandardCharsets
-                                                                                                        .UTF_8)))))
-                                        .subscribe(
-                                                unused -> {},
-                                                err ->
-                                                        logger.warn(
-                                                                "Remote WebSocket ping failed,"
-                                                                        + " errorMessage={}",
-                                                                err.getMessage(),
-                                                                err));
-                            } catch (Exception e) {
-                                logger.warn(
-                                        "Remote WebSocket ping error, errorMessage={}",
-                                        e.getMessage(),
-                                        e);
-                            }
-                        },
-                        WS_PING_INTERVAL_SECONDS,
-                        WS_PING_INTERVAL_SECONDS,
-                        TimeUnit.SECONDS);
+                resources
+                        .scheduler()
+                        .scheduleAtFixedRate(
+                                () -> {
+                                    try {
+                                        var session = wsSessionRef.get();
+                                        if (session == null || !session.isOpen()) {
+                                            return;
+                                        }
+                                        session.send(
+                                                        Mono.just(
+                                                                session.pingMessage(
+                                                                        factory ->
+                                                                                factory.wrap(
+                                                                                        "ping"
+                                                                                                .getBytes(
+                                                                                                        StandardCharsets
+                                                                                                                .UTF_8)))))
+                                                .subscribe(
+                                                        unused -> {},
+                                                        err ->
+                                                                logger.warn(
+                                                                        "Remote WebSocket ping"
+                                                                            + " failed,"
+                                                                            + " errorMessage={}",
+                                                                        err.getMessage(),
+                                                                        err));
+                                    } catch (Exception e) {
+                                        logger.warn(
+                                                "Remote WebSocket ping error, errorMessage={}",
+                                                e.getMessage(),
+                                                e);
+                                    }
+                                },
+                                WS_PING_INTERVAL_SECONDS,
+                                WS_PING_INTERVAL_SECONDS,
+                                TimeUnit.SECONDS);
+    }
+
+    private static Sinks.Many<String> newSendSink() {
+        return Sinks.many()
+                .unicast()
+                .onBackpressureBuffer(Queues.<String>get(WS_SEND_BUFFER_SIZE).get());
     }
 
     private void notifyFault(String faultType, String suggestedAction) {
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.hicoding.runtime;
+
+import com.alibaba.himarket.config.AcpProperties;
+import com.alibaba.himarket.service.hicoding.filesystem.SidecarFileSystemAdapter;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Netty, HTTP and timer resources shared by all {@link RemoteRuntimeAdapter} instances.
+ *
+ * <p>Every adapter connects through the same WebSocket client, event loop and connection limit,
+ * sends its Sidecar file requests through the same HTTP client, and schedules its timers on the
+ * same scheduler, so the number of threads stays flat however many HiCoding sessions are open.
+ * The sizes are configured under {@code acp.remote}.
+ */
+@Component
+public class RemoteRuntimeResources {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteRuntimeResources.class);
+
+    /**
+     * How long a new connection waits for a free slot when {@code max-connections} is reached.
+     */
+    private static final Duration PENDING_ACQUIRE_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final int MAX_FRAME_PAYLOAD_LENGTH = 1024 * 1024;
+
+    private final LoopResources loopResources;
+    private final ConnectionProvider connectionProvider;
+    private final ReactorNettyWebSocketClient webSocketClient;
+    private final java.net.http.HttpClient sidecarHttpClient;
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    public RemoteRuntimeResources(AcpProperties acpProperties) {
+        AcpProperties.RemoteConfig config = acpProperties.getRemote();
+        int ioThreads =
+                config.getIoThreads() > 0
+                        ? config.getIoThreads()
+                        : LoopResources.DEFAULT_IO_WORKER_COUNT;
+
+        this.loopResources = LoopResources.create("remote-runtime-io", ioThreads, true);
+        this.connectionProvider =
+                ConnectionProvider.builder("remote-runtime")
+                        .maxConnections(config.getMaxConnections())
+                        .pendingAcquireTimeout(PENDING_ACQUIRE_TIMEOUT)
+                        .build();
+        this.webSocketClient =
+                new ReactorNettyWebSocketClient(
+                        HttpClient.create(connectionProvider)
+                                .runOn(loopResources)
+                                .responseTimeout(config.getResponseTimeout()));
+        webSocketClient.setHandlePing(true);
+        webSocketClient.setMaxFramePayloadLength(MAX_FRAME_PAYLOAD_LENGTH);
+        this.sidecarHttpClient = SidecarFileSystemAdapter.newHttpClient();
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.scheduler =
+                new ScheduledThreadPoolExecutor(
+                        Math.max(1, config.getSchedulerThreads()),
+                        r -> {
+                            Thread t =
+                                    new Thread(
+                                            r,
+                                            "remote-runtime-scheduler-"
+                                                    + threadIndex.incrementAndGet());
+                            t.setDaemon(true);
+                            return t;
+                        });
+        // Adapters cancel their timers on detach and close, do not keep them queued.
+        scheduler.setRemoveOnCancelPolicy(true);
+
+        logger.info(
+                "Initialized remote runtime resources, ioThreads={}, schedulerThreads={},"
+                        + " maxConnections={}",
+                ioThreads,
+                scheduler.getCorePoolSize(),
+                config.getMaxConnections());
+    }
+
+    /**
+     * Returns the WebSocket client used to connect to Sidecars.
+     */
+    public ReactorNettyWebSocketClient webSocketClient() {
+        return webSocketClient;
+    }
+
+    /**
+     * Returns the HTTP client used for Sidecar file requests.
+     */
+    public java.net.http.HttpClient sidecarHttpClient() {
+        return sidecarHttpClient;
+    }
+
+    /**
+     * Returns the scheduler for adapter timers. Tasks must be short and non-blocking.
+     */
+    public ScheduledExecutorService scheduler() {
+        return scheduler;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        connectionProvider.disposeLater().block(Duration.ofSeconds(5));
+        loopResources.disposeLater().block(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.hicoding.sandbox;
+
+/**
+ * One file of a batch write to the sandbox.
+ *
+ * @param path file path, relative to the workspace or absolute
+ * @param content UTF-8 file content
+ * @param mode POSIX file permissions such as {@code 0600}, or null for the default
+ */
+public record FileWrite(String path, String content, Integer mode) {
+
+    public static FileWrite of(String path, String content) {
+        return new FileWrite(path, content, null);
+    }
+}
@@ -2,12 +2,15 @@ package com.alibaba.himarket.service.hicoding.sandbox;
 
 import com.alibaba.himarket.config.AcpProperties;
 import com.alibaba.himarket.service.hicoding.runtime.RemoteRuntimeAdapter;
+import com.alibaba.himarket.service.hicoding.runtime.RemoteRuntimeResources;
 import com.alibaba.himarket.service.hicoding.runtime.RuntimeAdapter;
 import com.alibaba.himarket.service.hicoding.runtime.RuntimeConfig;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,10 +37,15 @@ public class RemoteSandboxProvider implements SandboxProvider {
 
     private final SandboxHttpClient sandboxHttpClient;
     private final AcpProperties acpProperties;
+    private final RemoteRuntimeResources runtimeResources;
 
-    public RemoteSandboxProvider(SandboxHttpClient sandboxHttpClient, AcpProperties acpProperties) {
+    public RemoteSandboxProvider(
+            SandboxHttpClient sandboxHttpClient,
+            AcpProperties acpProperties,
+            RemoteRuntimeResources runtimeResources) {
         this.sandboxHttpClient = sandboxHttpClient;
         this.acpProperties = acpProperties;
+        this.runtimeResources = runtimeResources;
     }
 
     @Override
@@ -96,6 +104,47 @@ public class RemoteSandboxProvider implements SandboxProvider {
         sandboxHttpClient.writeFile(sidecarBaseUrl(info), info.sandboxId(), absolutePath, content);
     }
 
+    /**
+     * Writes files to the sandbox in one Sidecar request, converting each relative path to an
+     * absolute workspace path. Falls back to single writes when the Sidecar has no batch endpoint.
+     */
+    @Override
+    public List<FileWriteResult> writeFiles(
+            SandboxInfo info, List<FileWrite> files, boolean atomic) {
+        List<FileWrite> absolute = new ArrayList<>(files.size());
+        for (FileWrite file : files) {
+            absolute.add(
+                    new FileWrite(toAbsolutePath(info, file.path()), file.content(), file.mode()));
+        }
+        List<FileWriteResult> results;
+        try {
+            results =
+                    sandboxHttpClient.writeFiles(
+                            sidecarBaseUrl(info), info.sandboxId(), absolute, atomic);
+        } catch (IOException e) {
+            List<FileWriteResult> failed = new ArrayList<>(files.size());
+            for (FileWrite file : files) {
+                failed.add(new FileWriteResult(file.path(), false, e.getMessage()));
+            }
+            return failed;
+        }
+        if (results == null) {
+            logger.info(
+                    "Sidecar has no batch write endpoint, writing files one by one, sandboxId={}",
+                    info.sandboxId());
+            return SandboxProvider.super.writeFiles(info, files, atomic);
+        }
+
+        // Report the paths the caller sent, not the absolute ones.
+        List<FileWriteResult> mapped = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            FileWriteResult result = results.get(i);
+            String path = i < files.size() ? files.get(i).path() : result.path();
+            mapped.add(new FileWriteResult(path, result.success(), result.error()));
+        }
+        return mapped;
+    }
+
     /**
      * Reads a file from the sandbox after converting the relative path to an absolute workspace
      * path.
@@ -117,9 +166,39 @@ public class RemoteSandboxProvider implements SandboxProvider {
                 sidecarBaseUrl(info), info.sandboxId(), command, args, timeout);
     }
 
+    /**
+     * Downloads skills through the Sidecar package cache, falling back to running nacos-cli through
+     * exec on Sidecars without the skill fetch endpoint.
+     */
+    @Override
+    public ExecResult fetchSkills(
+            SandboxInfo info,
+            String configPath,
+            String outputDir,
+            List<SkillFetch> skills,
+            java.time.Duration timeout)
+            throws IOException {
+        ExecResult result =
+                sandboxHttpClient.fetchSkills(
+                        sidecarBaseUrl(info),
+                        info.sandboxId(),
+                        configPath,
+                        outputDir,
+                        skills,
+                        timeout);
+        if (result == null) {
+            logger.info(
+                    "Sidecar has no skill fetch endpoint, running nacos-cli, sandboxId={}",
+                    info.sandboxId());
+            return SandboxProvider.super.fetchSkills(info, configPath, outputDir, skills, timeout);
+        }
+        return result;
+    }
+
     @Override
     public RuntimeAdapter connectSidecar(SandboxInfo info, RuntimeConfig config) {
-        RemoteRuntimeAdapter adapter = new RemoteRuntimeAdapter(info.host(), info.sidecarPort());
+        RemoteRuntimeAdapter adapter =
+                new RemoteRuntimeAdapter(info.host(), info.sidecarPort(), runtimeResources);
 
         String command = config.getCommand();
         String args = config.getArgs() != null ? String.join(" ", config.getArgs()) : null;
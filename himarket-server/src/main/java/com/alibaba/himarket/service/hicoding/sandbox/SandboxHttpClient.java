@@ -7,6 +7,8 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -44,6 +46,7 @@ public class SandboxHttpClient {
     private static final Logger logger = LoggerFactory.getLogger(SandboxHttpClient.class);
     private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
     private static final Duration HEALTH_CHECK_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration BATCH_WRITE_TIMEOUT = Duration.ofSeconds(30);
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
 
@@ -80,6 +83,55 @@ public class SandboxHttpClient {
         }
     }
 
+    /**
+     * Writes several files to the sandbox in one request.
+     *
+     * <p>Calls Sidecar {@code POST /files/batch-write} with request body
+     * {@code {"files": [{"path", "content", "mode"}], "atomic": atomic}}. With {@code atomic}, the
+     * Sidecar stages every file first and leaves all targets untouched when any file fails.
+     *
+     * @param baseUrl Sidecar base URL
+     * @param sandboxId sandbox identifier for error messages
+     * @param files files to write
+     * @param atomic whether the batch is all-or-nothing
+     * @return per-file results in request order, or null when the Sidecar has no batch endpoint
+     * @throws IOException if the HTTP response is not 200 or the request fails
+     */
+    public List<FileWriteResult> writeFiles(
+            String baseUrl, String sandboxId, List<FileWrite> files, boolean atomic)
+            throws IOException {
+        String url = baseUrl + "/files/batch-write";
+        List<Map<String, Object>> entries = new ArrayList<>(files.size());
+        for (FileWrite file : files) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("path", file.path());
+            entry.put("content", file.content());
+            if (file.mode() != null) {
+                entry.put("mode", file.mode());
+            }
+            entries.add(entry);
+        }
+        String body = objectMapper.writeValueAsString(Map.of("files", entries, "atomic", atomic));
+        HttpResponse<String> response = doPost(url, body, BATCH_WRITE_TIMEOUT);
+        if (response.statusCode() == 404) {
+            return null;
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException(
+                    "Sidecar writeFiles failed (sandbox: " + sandboxId + "): " + response.body());
+        }
+
+        List<FileWriteResult> results = new ArrayList<>(files.size());
+        for (var result : objectMapper.readTree(response.body()).path("results")) {
+            results.add(
+                    new FileWriteResult(
+                            result.path("path").asText(),
+                            result.path("success").asBoolean(),
+                            result.hasNonNull("error") ? result.get("error").asText() : null));
+        }
+        return results;
+    }
+
     /**
      * Reads a file from the sandbox.
      *
@@ -195,6 +247,71 @@ public class SandboxHttpClient {
                 tree.get("stderr").asText());
     }
 
+    /**
+     * Downloads skills into the sandbox through the Sidecar package cache.
+     *
+     * <p>Calls Sidecar {@code POST /skills/fetch}. Skills pinned to a version are downloaded at
+     * exactly that version through the Nacos download API and cached on the Sidecar, the others
+     * are downloaded at their latest version with {@code nacos-cli skill-get}.
+     *
+     * @param baseUrl Sidecar base URL
+     * @param sandboxId sandbox identifier for error messages
+     * @param configPath absolute path of the nacos-env file
+     * @param outputDir absolute path of the skills directory
+     * @param skills skills to download
+     * @param timeout download timeout
+     * @return download result, or null if the Sidecar has no skill fetch endpoint
+     * @throws IOException if the HTTP response is not 200 or the request fails
+     */
+    public ExecResult fetchSkills(
+            String baseUrl,
+            String sandboxId,
+            String configPath,
+            String outputDir,
+            List<SkillFetch> skills,
+            Duration timeout)
+            throws IOException {
+        String url = baseUrl + "/skills/fetch";
+        List<Map<String, Object>> entries = new ArrayList<>(skills.size());
+        for (SkillFetch skill : skills) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", skill.name());
+            if (skill.namespace() != null) {
+                entry.put("namespace", skill.namespace());
+            }
+            if (skill.version() != null) {
+                entry.put("version", skill.version());
+            }
+            entries.add(entry);
+        }
+        String body =
+                objectMapper.writeValueAsString(
+                        Map.of(
+                                "config", configPath,
+                                "outputDir", outputDir,
+                                "skills", entries,
+                                "timeout", timeout.toMillis()));
+        // Leave the Sidecar time to report its own timeout.
+        HttpResponse<String> response = doPost(url, body, timeout.plus(DEFAULT_TIMEOUT));
+        if (response.statusCode() == 404) {
+            return null;
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException(
+                    "Sidecar fetchSkills failed (sandbox: "
+                            + sandboxId
+                            + ", status: "
+                            + response.statusCode()
+                            + "): "
+                            + response.body());
+        }
+        var tree = objectMapper.readTree(response.body());
+        return new ExecResult(
+                tree.path("exitCode").asInt(),
+                tree.path("stdout").asText(),
+                tree.path("stderr").asText());
+    }
+
     /**
      * Checks whether the specified session exists in the Sidecar.
      *
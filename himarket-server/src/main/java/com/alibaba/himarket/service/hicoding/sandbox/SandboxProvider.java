@@ -59,6 +59,31 @@ public interface SandboxProvider {
      */
     void writeFile(SandboxInfo info, String relativePath, String content) throws IOException;
 
+    /**
+     * Writes several files to the sandbox workspace.
+     *
+     * <p>The default implementation writes the files one by one and ignores {@code atomic};
+     * providers backed by the Sidecar send them in one batch request.
+     *
+     * @param info sandbox information
+     * @param files files to write, with paths relative to the workspace
+     * @param atomic whether the batch is all-or-nothing
+     * @return per-file results in request order
+     */
+    default java.util.List<FileWriteResult> writeFiles(
+            SandboxInfo info, java.util.List<FileWrite> files, boolean atomic) {
+        java.util.List<FileWriteResult> results = new java.util.ArrayList<>(files.size());
+        for (FileWrite file : files) {
+            try {
+                writeFile(info, file.path(), file.content());
+                results.add(new FileWriteResult(file.path(), true, null));
+            } catch (IOException | RuntimeException e) {
+                results.add(new FileWriteResult(file.path(), false, e.getMessage()));
+            }
+        }
+        return results;
+    }
+
     /**
      * Reads a file from the sandbox workspace through the Sidecar HTTP API.
      */
@@ -84,6 +109,39 @@ public interface SandboxProvider {
         throw new UnsupportedOperationException("exec not implemented");
     }
 
+    /**
+     * Downloads skills from Nacos into a sandbox directory with {@code nacos-cli skill-get}.
+     *
+     * <p>The default implementation runs nacos-cli through {@link #exec}, which always fetches the
+     * latest versions. Providers whose Sidecar keeps a package cache fetch pinned versions exactly
+     * and serve them from the cache instead.
+     *
+     * @param info sandbox information
+     * @param configPath absolute path of the nacos-env file read by nacos-cli
+     * @param outputDir absolute path of the skills directory
+     * @param skills skills to download, all from the same Nacos instance
+     * @param timeout download timeout
+     * @return command execution result
+     */
+    default ExecResult fetchSkills(
+            SandboxInfo info,
+            String configPath,
+            String outputDir,
+            java.util.List<SkillFetch> skills,
+            java.time.Duration timeout)
+            throws java.io.IOException {
+        java.util.List<String> args = new java.util.ArrayList<>();
+        args.add("skill-get");
+        for (SkillFetch skill : skills) {
+            args.add(skill.name());
+        }
+        args.add("--config");
+        args.add(configPath);
+        args.add("-o");
+        args.add(outputDir);
+        return exec(info, "nacos-cli", args, timeout);
+    }
+
     /**
      * Establishes a WebSocket connection to the Sidecar.
      */
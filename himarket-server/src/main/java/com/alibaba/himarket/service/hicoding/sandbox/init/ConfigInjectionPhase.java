@@ -2,9 +2,11 @@ package com.alibaba.himarket.service.hicoding.sandbox.init;
 
 import com.alibaba.himarket.service.hicoding.cli.ConfigFileBuilder;
 import com.alibaba.himarket.service.hicoding.sandbox.ConfigFile;
+import com.alibaba.himarket.service.hicoding.sandbox.FileWrite;
+import com.alibaba.himarket.service.hicoding.sandbox.FileWriteResult;
 import com.alibaba.himarket.service.hicoding.sandbox.SandboxInfo;
 import com.alibaba.himarket.service.hicoding.sandbox.SandboxProvider;
-import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,9 +14,10 @@ import org.slf4j.LoggerFactory;
 /**
  * Injects configuration files into the sandbox.
  *
- * <p>Injects configuration files one by one through writeFile. Skill files are downloaded inside
- * the sandbox by nacos-cli, so the remaining configuration files are small enough to avoid archive
- * packaging.
+ * <p>Writes all configuration files in one atomic batch through
+ * {@link SandboxProvider#writeFiles}, so a failed attempt leaves no partial configuration behind
+ * and can be retried. Skill files are downloaded inside the sandbox by nacos-cli, so the remaining
+ * configuration files are small enough to send as JSON.
  */
 public class ConfigInjectionPhase implements InitPhase {
 
@@ -46,6 +49,11 @@ public class ConfigInjectionPhase implements InitPhase {
         return 300;
     }
 
+    @Override
+    public Duration timeout() {
+        return Duration.ofSeconds(30);
+    }
+
     @Override
     public boolean shouldExecute(InitContext context) {
         return context.getSessionConfig() != null
@@ -78,35 +86,38 @@ public class ConfigInjectionPhase implements InitPhase {
         SandboxProvider provider = context.getProvider();
         SandboxInfo info = context.getSandboxInfo();
 
-        try {
-            for (ConfigFile config : pendingConfigs) {
-                provider.writeFile(info, config.relativePath(), config.content());
-            }
-            logger.info(
-                    "Configuration files written individually, fileCount={}",
-                    pendingConfigs.size());
-
-            // Count files by type for diagnostics.
-            long skillCount = pendingConfigs.stream().filter(c -> "skill".equals(c.type())).count();
-            long mcpCount = pendingConfigs.stream().filter(c -> "mcp".equals(c.type())).count();
-            long modelCount = pendingConfigs.stream().filter(c -> "model".equals(c.type())).count();
-            long otherCount = pendingConfigs.size() - skillCount - mcpCount - modelCount;
-
-            logger.info(
-                    "Configuration injection completed, totalFileCount={}, skillCount={},"
-                            + " mcpCount={}, modelCount={}, otherCount={}",
-                    pendingConfigs.size(),
-                    skillCount,
-                    mcpCount,
-                    modelCount,
-                    otherCount);
-        } catch (IOException e) {
+        List<FileWrite> files =
+                pendingConfigs.stream()
+                        .map(config -> FileWrite.of(config.relativePath(), config.content()))
+                        .toList();
+        List<FileWriteResult> results = provider.writeFiles(info, files, true);
+        List<String> failures =
+                results.stream()
+                        .filter(result -> !result.success())
+                        .map(result -> result.path() + ": " + result.error())
+                        .toList();
+        if (results.size() != files.size() || !failures.isEmpty()) {
             throw new InitPhaseException(
                     "config-injection",
-                    "Failed to inject configuration: " + e.getMessage(),
-                    e,
+                    "Failed to inject configuration: " + String.join("; ", failures),
                     true);
         }
+        logger.info("Configuration files written in one batch, fileCount={}", files.size());
+
+        // Count files by type for diagnostics.
+        long skillCount = pendingConfigs.stream().filter(c -> "skill".equals(c.type())).count();
+        long mcpCount = pendingConfigs.stream().filter(c -> "mcp".equals(c.type())).count();
+        long modelCount = pendingConfigs.stream().filter(c -> "model".equals(c.type())).count();
+        long otherCount = pendingConfigs.size() - skillCount - mcpCount - modelCount;
+
+        logger.info(
+                "Configuration injection completed, totalFileCount={}, skillCount={},"
+                        + " mcpCount={}, modelCount={}, otherCount={}",
+                pendingConfigs.size(),
+                skillCount,
+                mcpCount,
+                modelCount,
+                otherCount);
     }
 
     @Override
@@ -116,6 +127,6 @@ public class ConfigInjectionPhase implements InitPhase {
 
     @Override
     public RetryPolicy retryPolicy() {
-        return RetryPolicy.none();
+        return RetryPolicy.fileOperation();
     }
 }
@@ -2,6 +2,7 @@ package com.alibaba.himarket.service.hicoding.sandbox.init;
 
 import com.alibaba.himarket.service.hicoding.sandbox.SandboxInfo;
 import com.alibaba.himarket.service.hicoding.sandbox.SandboxProvider;
+import java.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,6 +28,11 @@ public class FileSystemReadyPhase implements InitPhase {
         return 200;
     }
 
+    @Override
+    public Duration timeout() {
+        return Duration.ofSeconds(15);
+    }
+
     @Override
     public boolean shouldExecute(InitContext context) {
         return true;
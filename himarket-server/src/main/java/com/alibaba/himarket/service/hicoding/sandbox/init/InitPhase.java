@@ -1,5 +1,7 @@
 package com.alibaba.himarket.service.hicoding.sandbox.init;
 
+import java.time.Duration;
+
 /**
  * Initialization phase interface.
  *
@@ -19,6 +21,17 @@ public interface InitPhase {
      */
     int order();
 
+    /**
+     * Maximum duration of one execution attempt; {@link Duration#ZERO} means no limit besides the
+     * pipeline total timeout.
+     *
+     * <p>An attempt that exceeds the timeout is interrupted and fails as retryable. The retry only
+     * starts once the interrupted attempt has returned.
+     */
+    default Duration timeout() {
+        return Duration.ZERO;
+    }
+
     /**
      * Returns whether the current phase should execute.
      *
@@ -7,14 +7,22 @@ import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Sandbox initialization pipeline.
  *
- * <p>Executes registered {@link InitPhase} instances in order. Each phase owns prerequisite
- * checks, execution logic, and readiness verification. The pipeline is shared by all sandbox types.
+ * <p>Executes registered {@link InitPhase} instances in order on the calling thread. Each phase
+ * owns prerequisite checks, execution logic, readiness verification, and its retry and timeout
+ * policies. The pipeline is shared by all sandbox types.
+ *
+ * <p>Phase timeouts are enforced by a watchdog on the given scheduler that interrupts the calling
+ * thread, so an attempt has returned before it is retried and phases never run concurrently on the
+ * same {@link InitContext}.
  */
 public class SandboxInitPipeline {
 
@@ -22,11 +30,23 @@ public class SandboxInitPipeline {
 
     private final List<InitPhase> phases;
     private final InitConfig initConfig;
+    private final ScheduledExecutorService timeoutScheduler;
 
+    /**
+     * Creates a pipeline that does not enforce phase timeouts.
+     */
     public SandboxInitPipeline(List<InitPhase> phases, InitConfig initConfig) {
+        this(phases, initConfig, null);
+    }
+
+    public SandboxInitPipeline(
+            List<InitPhase> phases,
+            InitConfig initConfig,
+            ScheduledExecutorService timeoutScheduler) {
         this.phases = new ArrayList<>(phases);
         this.phases.sort(Comparator.comparingInt(InitPhase::order));
         this.initConfig = initConfig;
+        this.timeoutScheduler = timeoutScheduler;
     }
 
     /**
@@ -68,12 +88,7 @@ public class SandboxInitPipeline {
                                 + "s");
                 context.recordEvent(
                         phase.name(), InitEvent.EventType.PHASE_FAIL, "Stopped by total timeout");
-                return InitResult.failure(
-                        phase.name(),
-                        context.getLastError(),
-                        Duration.between(start, Instant.now()),
-                        phaseDurations,
-                        context.getEvents());
+                return failure(context, phase.name(), start, phaseDurations);
             }
 
             // Check whether this phase should execute.
@@ -101,12 +116,7 @@ public class SandboxInitPipeline {
                         "Sandbox initialization phase failed, phase={}, errorMessage={}",
                         phase.name(),
                         context.getLastError());
-                return InitResult.failure(
-                        phase.name(),
-                        context.getLastError(),
-                        Duration.between(start, Instant.now()),
-                        phaseDurations,
-                        context.getEvents());
+                return failure(context, phase.name(), start, phaseDurations);
             }
 
             // Verify the phase result.
@@ -118,12 +128,7 @@ public class SandboxInitPipeline {
                 context.recordEvent(phase.name(), InitEvent.EventType.VERIFY_FAIL, error);
                 logger.error(
                         "Sandbox initialization phase verification failed, phase={}", phase.name());
-                return InitResult.failure(
-                        phase.name(),
-                        error,
-                        Duration.between(start, Instant.now()),
-                        phaseDurations,
-                        context.getEvents());
+                return failure(context, phase.name(), start, phaseDurations);
             }
 
             context.getPhaseStatuses().put(phase.name(), PhaseStatus.COMPLETED);
@@ -134,8 +139,12 @@ public class SandboxInitPipeline {
                     phaseDurations.get(phase.name()).toMillis());
         }
 
-        return InitResult.success(
-                Duration.between(start, Instant.now()), phaseDurations, context.getEvents());
+        Duration total = Duration.between(start, Instant.now());
+        logger.info(
+                "Sandbox initialization completed, totalMs={}, phaseDurationsMs={}",
+                total.toMillis(),
+                toMillis(phaseDurations));
+        return InitResult.success(total, phaseDurations, context.getEvents());
     }
 
     /**
@@ -147,7 +156,7 @@ public class SandboxInitPipeline {
 
         for (int attempt = 1; attempt <= maxAttempts; attempt++) {
             try {
-                phase.execute(context);
+                executeAttempt(phase, context);
                 return true;
             } catch (InitPhaseException e) {
                 context.setLastError(e.getMessage());
@@ -193,4 +202,112 @@ public class SandboxInitPipeline {
         }
         return false;
     }
+
+    /**
+     * Executes one attempt of a phase, within the phase timeout when it has one.
+     */
+    private void executeAttempt(InitPhase phase, InitContext context) throws InitPhaseException {
+        Duration timeout = phase.timeout();
+        if (timeoutScheduler == null
+                || timeout == null
+                || timeout.isZero()
+                || timeout.isNegative()) {
+            phase.execute(context);
+            return;
+        }
+
+        Watchdog watchdog = new Watchdog(Thread.currentThread());
+        ScheduledFuture<?> timer =
+                timeoutScheduler.schedule(
+                        watchdog::expire, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        try {
+            phase.execute(context);
+        } catch (RuntimeException e) {
+            if (!stop(timer, watchdog)) {
+                throw e;
+            }
+            throw timedOut(phase, timeout);
+        }
+        if (stop(timer, watchdog)) {
+            throw timedOut(phase, timeout);
+        }
+    }
+
+    /**
+     * Stops the watchdog of an attempt and clears its interrupt, since the calling thread itself is
+     * not being stopped.
+     *
+     * @return whether the attempt timed out
+     */
+    private static boolean stop(ScheduledFuture<?> timer, Watchdog watchdog) {
+        timer.cancel(false);
+        if (!watchdog.disarm()) {
+            return false;
+        }
+        Thread.interrupted();
+        return true;
+    }
+
+    private static InitPhaseException timedOut(InitPhase phase, Duration timeout) {
+        return new InitPhaseException(
+                phase.name(),
+                "Phase " + phase.name() + " timed out after " + timeout.toSeconds() + "s",
+                true);
+    }
+
+    private InitResult failure(
+            InitContext context,
+            String phase,
+            Instant start,
+            Map<String, Duration> phaseDurations) {
+        Duration total = Duration.between(start, Instant.now());
+        logger.info(
+                "Sandbox initialization failed, failedPhase={}, totalMs={}, phaseDurationsMs={}",
+                phase,
+                total.toMillis(),
+                toMillis(phaseDurations));
+        return InitResult.failure(
+                phase, context.getLastError(), total, phaseDurations, context.getEvents());
+    }
+
+    private static Map<String, Long> toMillis(Map<String, Duration> phaseDurations) {
+        Map<String, Long> millis = new LinkedHashMap<>();
+        phaseDurations.forEach((name, duration) -> millis.put(name, duration.toMillis()));
+        return millis;
+    }
+
+    /**
+     * Interrupts the thread running a phase attempt once the phase timeout expires, unless the
+     * attempt has returned first.
+     */
+    private static final class Watchdog {
+
+        private final Thread thread;
+
+        // Guarded by this.
+        private boolean running = true;
+        private boolean expired;
+
+        Watchdog(Thread thread) {
+            this.thread = thread;
+        }
+
+        synchronized void expire() {
+            if (running) {
+                running = false;
+                expired = true;
+                thread.interrupt();
+            }
+        }
+
+        /**
+         * Stops the watchdog.
+         *
+         * @return whether the timeout expired and the thread was interrupted
+         */
+        synchronized boolean disarm() {
+            running = false;
+            return expired;
+        }
+    }
 }
@@ -3,6 +3,7 @@ package com.alibaba.himarket.service.hicoding.sandbox.init;
 import com.alibaba.himarket.service.hicoding.sandbox.ExecResult;
 import com.alibaba.himarket.service.hicoding.sandbox.SandboxInfo;
 import com.alibaba.himarket.service.hicoding.sandbox.SandboxProvider;
+import com.alibaba.himarket.service.hicoding.sandbox.SkillFetch;
 import com.alibaba.himarket.service.hicoding.session.ResolvedSessionConfig;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -12,6 +13,12 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,7 +26,9 @@ import org.slf4j.LoggerFactory;
  * Skill download phase.
  *
  * <p>Runs after ConfigInjectionPhase (300) and before SidecarConnectPhase (400). Skills are grouped
- * by nacosId and downloaded in batches through the Sidecar exec API with
+ * by nacosId, and up to {@value #MAX_PARALLEL_GROUPS} groups are downloaded in parallel with
+ * {@link SandboxProvider#fetchSkills}. Providers with a Sidecar package cache download each skill
+ * at its pinned version and serve repeated downloads from the cache, the others fall back to
  * {@code nacos-cli skill-get}.
  */
 public class SkillDownloadPhase implements InitPhase {
@@ -28,6 +37,11 @@ public class SkillDownloadPhase implements InitPhase {
     private static final Duration EXEC_TIMEOUT = Duration.ofSeconds(60);
     private static final String NACOS_ENV_DIR = ".nacos";
 
+    /**
+     * Maximum number of Nacos instances one session downloads from at a time.
+     */
+    private static final int MAX_PARALLEL_GROUPS = 4;
+
     private static final Map<String, String> PROVIDER_SKILLS_DIR =
             Map.of(
                     "qodercli", ".qoder/skills/",
@@ -35,6 +49,16 @@ public class SkillDownloadPhase implements InitPhase {
                     "qwen-code", ".qwen/skills/",
                     "opencode", ".opencode/skills/");
 
+    private final Executor downloadExecutor;
+
+    /**
+     * @param downloadExecutor executor shared by all sessions, which bounds the load on the
+     *     Sidecars
+     */
+    public SkillDownloadPhase(Executor downloadExecutor) {
+        this.downloadExecutor = downloadExecutor;
+    }
+
     @Override
     public String name() {
         return "skill-download";
@@ -81,59 +105,104 @@ public class SkillDownloadPhase implements InitPhase {
                 providerKey,
                 skillsDir);
 
-        int successGroups = 0;
-        for (var entry : byNacosId.entrySet()) {
-            String nacosId = entry.getKey();
-            List<String> skillNames =
-                    entry.getValue().stream()
-                            .map(ResolvedSessionConfig.ResolvedSkillEntry::getSkillName)
-                            .toList();
+        // Each worker takes the next group until none is left.
+        Queue<Map.Entry<String, List<ResolvedSessionConfig.ResolvedSkillEntry>>> groups =
+                new ConcurrentLinkedQueue<>(byNacosId.entrySet());
+        AtomicInteger successGroups = new AtomicInteger();
+        Runnable worker =
+                () -> {
+                    Map.Entry<String, List<ResolvedSessionConfig.ResolvedSkillEntry>> group;
+                    while ((group = groups.poll()) != null) {
+                        if (downloadGroup(
+                                provider,
+                                info,
+                                group.getKey(),
+                                group.getValue(),
+                                workspacePath,
+                                skillsDir)) {
+                            successGroups.incrementAndGet();
+                        }
+                    }
+                };
+        int workers = Math.min(MAX_PARALLEL_GROUPS, byNacosId.size());
+        List<CompletableFuture<Void>> downloads = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            downloads.add(CompletableFuture.runAsync(worker, downloadExecutor));
+        }
+        try {
+            CompletableFuture.allOf(downloads.toArray(new CompletableFuture[0])).get();
+        } catch (InterruptedException e) {
+            // Stop the workers from taking further groups.
+            groups.clear();
+            Thread.currentThread().interrupt();
+            throw new InitPhaseException("skill-download", "Skill download interrupted", e, false);
+        } catch (ExecutionException e) {
+            // downloadGroup handles its own errors.
+            logger.warn("Unexpected skill download error, errorMessage={}", e.getMessage());
+        }
+
+        logger.info(
+                "Skill download completed, successGroupCount={}, totalGroupCount={}",
+                successGroups.get(),
+                byNacosId.size());
+    }
+
+    /**
+     * Downloads the skills of one Nacos instance.
+     *
+     * @return true if the download succeeded
+     */
+    private boolean downloadGroup(
+            SandboxProvider provider,
+            SandboxInfo info,
+            String nacosId,
+            List<ResolvedSessionConfig.ResolvedSkillEntry> group,
+            String workspacePath,
+            String skillsDir) {
+        List<String> skillNames =
+                group.stream().map(ResolvedSessionConfig.ResolvedSkillEntry::getSkillName).toList();
+        List<SkillFetch> fetches =
+                group.stream()
+                        .map(
+                                skill ->
+                                        new SkillFetch(
+                                                skill.getSkillName(),
+                                                skill.getNamespace(),
+                                                skill.getVersion()))
+                        .toList();
+
+        try {
             // Use absolute paths because exec cwd may not be the user's workspace.
             String nacosEnvPath =
                     toAbsolutePath(
                             workspacePath, NACOS_ENV_DIR + "/nacos-env-" + nacosId + ".yaml");
             String absoluteSkillsDir = toAbsolutePath(workspacePath, skillsDir);
 
-            // Build args: skill-get skill1 skill2 ... --config path -o dir.
-            List<String> args = new ArrayList<>();
-            args.add("skill-get");
-            args.addAll(skillNames);
-            args.add("--config");
-            args.add(nacosEnvPath);
-            args.add("-o");
-            args.add(absoluteSkillsDir);
-
-            try {
-                ExecResult result = provider.exec(info, "nacos-cli", args, EXEC_TIMEOUT);
-
-                if (result.exitCode() != 0) {
-                    logger.warn(
-                            "Skill download command failed, nacosId={}, skills={}, exitCode={},"
-                                    + " stderr={}",
-                            nacosId,
-                            skillNames,
-                            result.exitCode(),
-                            result.stderr());
-                } else {
-                    successGroups++;
-                    logger.info(
-                            "Skill download command succeeded, nacosId={}, skills={}",
-                            nacosId,
-                            skillNames);
-                }
-            } catch (Exception e) {
+            ExecResult result =
+                    provider.fetchSkills(
+                            info, nacosEnvPath, absoluteSkillsDir, fetches, EXEC_TIMEOUT);
+
+            if (result.exitCode() != 0) {
                 logger.warn(
-                        "Skill download command error, nacosId={}, skills={}, errorMessage={}",
+                        "Skill download command failed, nacosId={}, skills={}, exitCode={},"
+                                + " stderr={}",
                         nacosId,
                         skillNames,
-                        e.getMessage());
+                        result.exitCode(),
+                        result.stderr());
+                return false;
             }
+            logger.info(
+                    "Skill download command succeeded, nacosId={}, skills={}", nacosId, skillNames);
+            return true;
+        } catch (Exception e) {
+            logger.warn(
+                    "Skill download command error, nacosId={}, skills={}, errorMessage={}",
+                    nacosId,
+                    skillNames,
+                    e.getMessage());
+            return false;
         }
-
-        logger.info(
-                "Skill download completed, successGroupCount={}, totalGroupCount={}",
-                successGroups,
-                byNacosId.size());
     }
 
     @Override
@@ -65,6 +65,13 @@ public class ResolvedSessionConfig {
         private String namespace;
         private String skillName;
 
+        /**
+         * Version the download is pinned to, resolved from the latest version when the session
+         * starts. The sidecar downloads exactly this version and caches it under it; null downloads
+         * the latest version without the cache.
+         */
+        private String version;
+
         // Nacos credentials.
         private String serverAddr;
         private String username;
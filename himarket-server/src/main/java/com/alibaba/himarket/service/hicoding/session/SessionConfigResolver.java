@@ -1,9 +1,11 @@
 package com.alibaba.himarket.service.hicoding.session;
 
+import com.alibaba.himarket.dto.result.common.VersionResult;
 import com.alibaba.himarket.entity.NacosInstance;
 import com.alibaba.himarket.entity.Product;
 import com.alibaba.himarket.repository.ProductRepository;
 import com.alibaba.himarket.service.NacosService;
+import com.alibaba.himarket.service.SkillService;
 import com.alibaba.himarket.support.product.ProductFeature;
 import com.alibaba.himarket.support.product.SkillConfig;
 import java.util.ArrayList;
@@ -29,6 +31,7 @@ public class SessionConfigResolver {
     private final McpConfigResolver mcpConfigResolver;
     private final ProductRepository productRepository;
     private final NacosService nacosService;
+    private final SkillService skillService;
 
     public ResolvedSessionConfig resolve(CliSessionConfig sessionConfig, String userId) {
         ResolvedSessionConfig resolved = new ResolvedSessionConfig();
@@ -131,6 +134,7 @@ public class SessionConfigResolver {
                 resolvedSkill.setNacosId(skillConfig.getNacosId());
                 resolvedSkill.setNamespace(skillConfig.getNamespace());
                 resolvedSkill.setSkillName(skillConfig.getSkillName());
+                resolvedSkill.setVersion(resolveLatestVersion(skillEntry.getProductId()));
                 resolvedSkill.setServerAddr(nacos.getServerUrl());
                 resolvedSkill.setUsername(nacos.getUsername());
                 resolvedSkill.setPassword(nacos.getPassword());
@@ -149,4 +153,24 @@ public class SessionConfigResolver {
         }
         resolved.setSkills(resolvedSkills);
     }
+
+    /**
+     * Resolves the latest version of a skill product, which the session then pins. Failures are
+     * not fatal, the skill is then downloaded at its latest version without the sidecar cache.
+     */
+    private String resolveLatestVersion(String productId) {
+        try {
+            return skillService.listVersions(productId).stream()
+                    .filter(v -> Boolean.TRUE.equals(v.getIsLatest()))
+                    .map(VersionResult::getVersion)
+                    .findFirst()
+                    .orElse(null);
+        } catch (Exception e) {
+            logger.warn(
+                    "Failed to resolve latest skill version, productId={}, errorMessage={}",
+                    productId,
+                    e.getMessage());
+            return null;
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.alibaba.himarket.service.hicoding.session;
 
+import com.alibaba.himarket.config.AcpProperties;
 import com.alibaba.himarket.config.AcpProperties.CliProviderConfig;
 import com.alibaba.himarket.service.hicoding.cli.ConfigFileBuilder;
 import com.alibaba.himarket.service.hicoding.runtime.RuntimeAdapter;
@@ -19,9 +20,16 @@ import com.alibaba.himarket.service.hicoding.sandbox.init.SandboxAcquirePhase;
 import com.alibaba.himarket.service.hicoding.sandbox.init.SandboxInitPipeline;
 import com.alibaba.himarket.service.hicoding.sandbox.init.SidecarConnectPhase;
 import com.alibaba.himarket.service.hicoding.sandbox.init.SkillDownloadPhase;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -42,17 +50,68 @@ public class SessionInitializer {
 
     private static final Logger logger = LoggerFactory.getLogger(SessionInitializer.class);
 
+    private static final int SKILL_DOWNLOAD_QUEUE_CAPACITY = 256;
+
     private final SessionConfigResolver configResolver;
     private final ConfigFileBuilder configFileBuilder;
     private final SandboxProviderRegistry providerRegistry;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Runs the watchdogs that enforce phase timeouts. Its tasks only interrupt a thread.
+     */
+    private final ScheduledThreadPoolExecutor phaseTimeoutScheduler;
+
+    /**
+     * Downloads skills for all sessions. When it is saturated the initializing thread downloads
+     * itself.
+     */
+    private final ThreadPoolExecutor skillDownloadExecutor;
 
     public SessionInitializer(
             SessionConfigResolver configResolver,
             ConfigFileBuilder configFileBuilder,
-            SandboxProviderRegistry providerRegistry) {
+            SandboxProviderRegistry providerRegistry,
+            MeterRegistry meterRegistry,
+            AcpProperties acpProperties) {
         this.configResolver = configResolver;
         this.configFileBuilder = configFileBuilder;
         this.providerRegistry = providerRegistry;
+        this.meterRegistry = meterRegistry;
+        this.phaseTimeoutScheduler =
+                new ScheduledThreadPoolExecutor(
+                        1,
+                        r -> {
+                            Thread t = new Thread(r, "sandbox-init-timeout");
+                            t.setDaemon(true);
+                            return t;
+                        });
+        phaseTimeoutScheduler.setRemoveOnCancelPolicy(true);
+
+        int downloadThreads = Math.max(1, acpProperties.getSkillDownloadThreads());
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.skillDownloadExecutor =
+                new ThreadPoolExecutor(
+                        downloadThreads,
+                        downloadThreads,
+                        60,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(SKILL_DOWNLOAD_QUEUE_CAPACITY),
+                        r -> {
+                            Thread t =
+                                    new Thread(
+                                            r, "skill-download-" + threadIndex.incrementAndGet());
+                            t.setDaemon(true);
+                            return t;
+                        },
+                        new ThreadPoolExecutor.CallerRunsPolicy());
+        skillDownloadExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        phaseTimeoutScheduler.shutdownNow();
+        skillDownloadExecutor.shutdownNow();
     }
 
     /**
@@ -66,7 +125,8 @@ public class SessionInitializer {
             String errorMessage,
             String failedPhase,
             boolean retryable,
-            Duration totalDuration) {}
+            Duration totalDuration,
+            Map<String, Duration> phaseDurations) {}
 
     /**
      * Initializes a sandbox session.
@@ -131,12 +191,14 @@ public class SessionInitializer {
                                     new SandboxAcquirePhase(),
                                     new FileSystemReadyPhase(),
                                     new ConfigInjectionPhase(configFileBuilder),
-                                    new SkillDownloadPhase(),
+                                    new SkillDownloadPhase(skillDownloadExecutor),
                                     new SidecarConnectPhase()),
-                            InitConfig.defaults());
+                            InitConfig.defaults(),
+                            phaseTimeoutScheduler);
 
-            // 7. Execute the pipeline.
+            // 7. Execute the pipeline and record the per-phase timing breakdown.
             InitResult result = pipeline.execute(context);
+            recordPhaseDurations(result, sandboxType);
 
             // 8. Convert the pipeline result.
             return toInitializationResult(result, context);
@@ -155,7 +217,8 @@ public class SessionInitializer {
                     e.getMessage(),
                     null,
                     false,
-                    Duration.ZERO);
+                    Duration.ZERO,
+                    Map.of());
         }
     }
 
@@ -204,7 +267,8 @@ public class SessionInitializer {
                     null,
                     null,
                     false,
-                    result.totalDuration());
+                    result.totalDuration(),
+                    result.phaseDurations());
         }
 
         InitErrorCode errorCode = InitErrorCode.fromPhaseName(result.failedPhase());
@@ -217,6 +281,33 @@ public class SessionInitializer {
                 result.errorMessage(),
                 result.failedPhase(),
                 false,
-                result.totalDuration());
+                result.totalDuration(),
+                result.phaseDurations());
+    }
+
+    /**
+     * Records the duration of each executed phase and of the whole pipeline.
+     */
+    private void recordPhaseDurations(InitResult result, SandboxType sandboxType) {
+        String outcome = result.success() ? "success" : "failure";
+        result.phaseDurations()
+                .forEach(
+                        (phase, duration) ->
+                                meterRegistry
+                                        .timer(
+                                                "himarket.sandbox.init.phase.duration",
+                                                "phase",
+                                                phase,
+                                                "runtime",
+                                                sandboxType.getValue())
+                                        .record(duration));
+        meterRegistry
+                .timer(
+                        "himarket.sandbox.init.duration",
+                        "runtime",
+                        sandboxType.getValue(),
+                        "outcome",
+                        outcome)
+                .record(result.totalDuration());
     }
 }
@@ -12,6 +12,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
@@ -155,9 +156,15 @@ public class TerminalWebSocketHandler extends TextWebSocketHandler {
         subscriptionMap.put(session.getId(), subscription);
     }
 
+    @Override
+    protected void handlePongMessage(WebSocketSession session, PongMessage message) {
+        pingScheduler.recordActivity(session.getId());
+    }
+
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message)
             throws Exception {
+        pingScheduler.recordActivity(session.getId());
         TerminalBackend backend = backendMap.get(session.getId());
         if (backend == null) return;
 
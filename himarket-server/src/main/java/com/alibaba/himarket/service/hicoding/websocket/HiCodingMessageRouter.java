@@ -1,13 +1,20 @@
 package com.alibaba.himarket.service.hicoding.websocket;
 
+import com.alibaba.himarket.config.AcpProperties;
 import com.alibaba.himarket.service.hicoding.runtime.RuntimeAdapter;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
-import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import reactor.core.Disposable;
 
@@ -21,12 +28,48 @@ import reactor.core.Disposable;
  *   <li>forwarding frontend messages to the CLI process
  *   <li>replaying messages queued during initialization
  * </ul>
+ *
+ * <p>Messages to the frontend go through a bounded {@link WebSocketOutboundQueue} per session,
+ * written by a writer pool shared by all sessions.
  */
 @Component
 public class HiCodingMessageRouter {
 
     private static final Logger logger = LoggerFactory.getLogger(HiCodingMessageRouter.class);
 
+    private final AcpProperties.OutboundConfig outboundConfig;
+
+    private final ThreadPoolExecutor outboundWriter;
+
+    private final Map<String, WebSocketOutboundQueue> outboundQueues = new ConcurrentHashMap<>();
+
+    public HiCodingMessageRouter(AcpProperties acpProperties) {
+        this.outboundConfig = acpProperties.getOutbound();
+        int threads = Math.max(1, outboundConfig.getWriterThreads());
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.outboundWriter =
+                new ThreadPoolExecutor(
+                        threads,
+                        threads,
+                        60,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        r -> {
+                            Thread t =
+                                    new Thread(
+                                            r,
+                                            "ws-outbound-writer-" + threadIndex.incrementAndGet());
+                            t.setDaemon(true);
+                            return t;
+                        });
+        outboundWriter.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        outboundWriter.shutdownNow();
+    }
+
     /**
      * Subscribes to CLI stdout and forwards it to the frontend WebSocket.
      *
@@ -40,7 +83,11 @@ public class HiCodingMessageRouter {
     public Disposable subscribeAndForward(RuntimeAdapter adapter, WebSocketSession session) {
         return adapter.stdout()
                 .subscribe(
-                        line -> sendToFrontend(session, line),
+                        line -> {
+                            if (session.isOpen()) {
+                                outboundQueue(session).offer(line, true);
+                            }
+                        },
                         error ->
                                 logger.error(
                                         "Stdout stream error, sessionId={}, errorMessage={}",
@@ -49,18 +96,8 @@ public class HiCodingMessageRouter {
                                         error),
                         () -> {
                             logger.info("Stdout stream completed, sessionId={}", session.getId());
-                            try {
-                                if (session.isOpen()) {
-                                    session.close(CloseStatus.NORMAL);
-                                }
-                            } catch (IOException e) {
-                                logger.debug(
-                                        "Failed to close WebSocket after stdout completion,"
-                                                + " sessionId={}, errorMessage={}",
-                                        session.getId(),
-                                        e.getMessage(),
-                                        e);
-                            }
+                            // Deliver the remaining output before closing.
+                            outboundQueue(session).closeAfterFlush(CloseStatus.NORMAL, false);
                         });
     }
 
@@ -108,24 +145,51 @@ public class HiCodingMessageRouter {
     /**
      * Sends a message to the frontend WebSocket session.
      *
-     * <p>Uses synchronized to preserve message ordering for the same session.
+     * <p>The message is queued and written asynchronously, in order with the other messages of the
+     * session. It is never merged with CLI output or dropped because of a slow frontend.
      *
      * @param session frontend WebSocket session
      * @param message message content to send
      */
-    private void sendToFrontend(WebSocketSession session, String message) {
-        try {
-            if (session.isOpen()) {
-                synchronized (session) {
-                    session.sendMessage(new TextMessage(message));
-                }
-            }
-        } catch (IOException e) {
-            logger.error(
-                    "Failed to send message to WebSocket, sessionId={}, errorMessage={}",
-                    session.getId(),
-                    e.getMessage(),
-                    e);
+    public void sendToFrontend(WebSocketSession session, String message) {
+        if (session.isOpen()) {
+            outboundQueue(session).offer(message, false);
+        }
+    }
+
+    /**
+     * Closes the frontend WebSocket session once the messages queued before this call are written.
+     *
+     * @param session frontend WebSocket session
+     * @param status close status
+     */
+    public void closeAfterFlush(WebSocketSession session, CloseStatus status) {
+        if (session.isOpen()) {
+            outboundQueue(session).closeAfterFlush(status, false);
+        }
+    }
+
+    /**
+     * Discards the outbound queue of a closed session.
+     *
+     * @param sessionId WebSocket session ID
+     */
+    public void closeOutbound(String sessionId) {
+        WebSocketOutboundQueue queue = outboundQueues.remove(sessionId);
+        if (queue != null) {
+            queue.close();
+        }
+    }
+
+    private WebSocketOutboundQueue outboundQueue(WebSocketSession session) {
+        WebSocketOutboundQueue queue =
+                outboundQueues.computeIfAbsent(
+                        session.getId(),
+                        id -> new WebSocketOutboundQueue(session, outboundWriter, outboundConfig));
+        if (!session.isOpen()) {
+            // Closed meanwhile, the close callback may already have run.
+            closeOutbound(session.getId());
         }
+        return queue;
     }
 }
@@ -32,6 +32,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
@@ -167,9 +168,15 @@ public class HiCodingWebSocketHandler extends TextWebSocketHandler {
         pingScheduler.startPing(session);
     }
 
+    @Override
+    protected void handlePongMessage(WebSocketSession session, PongMessage message) {
+        pingScheduler.recordActivity(session.getId());
+    }
+
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message)
             throws Exception {
+        pingScheduler.recordActivity(session.getId());
         String payload = message.getPayload();
         if (payload.isBlank()) {
             logger.trace("Ignoring blank message from session, sessionId={}", session.getId());
@@ -271,6 +278,7 @@ public class HiCodingWebSocketHandler extends TextWebSocketHandler {
             throws Exception {
         logger.info("WebSocket closed, sessionId={}, status={}", session.getId(), status);
         pingScheduler.stopPing(session.getId());
+        messageRouter.closeOutbound(session.getId());
         connectionManager.cleanup(session.getId());
     }
 
@@ -283,6 +291,7 @@ public class HiCodingWebSocketHandler extends TextWebSocketHandler {
                 exception.getMessage(),
                 exception);
         pingScheduler.stopPing(session.getId());
+        messageRouter.closeOutbound(session.getId());
         connectionManager.cleanup(session.getId());
     }
 
@@ -431,18 +440,8 @@ public class HiCodingWebSocketHandler extends TextWebSocketHandler {
                     e);
             connectionManager.removePendingMessages(session.getId());
             sendSandboxStatus(session, "error", "Failed to create sandbox: " + e.getMessage());
-            try {
-                if (session.isOpen()) {
-                    session.close(CloseStatus.SERVER_ERROR);
-                }
-            } catch (IOException closeEx) {
-                logger.debug(
-                        "Failed to close WebSocket after sandbox init failure, sessionId={},"
-                                + " errorMessage={}",
-                        session.getId(),
-                        closeEx.getMessage(),
-                        closeEx);
-            }
+            // Close behind the queued error status so the frontend still receives the reason.
+            messageRouter.closeAfterFlush(session, CloseStatus.SERVER_ERROR);
         }
     }
 
@@ -565,8 +564,16 @@ public class HiCodingWebSocketHandler extends TextWebSocketHandler {
             // diagnostics
             ObjectNode diagnostics = objectMapper.createObjectNode();
             List<String> completedPhases = new ArrayList<>();
-            // InitializationResult does not hold phaseDurations directly; infer from failedPhase.
+            // InitializationResult does not track phase statuses; durations are reported below.
             diagnostics.set("completedPhases", objectMapper.valueToTree(completedPhases));
+            if (result.phaseDurations() != null) {
+                ObjectNode phaseDurations = objectMapper.createObjectNode();
+                result.phaseDurations()
+                        .forEach(
+                                (phase, duration) ->
+                                        phaseDurations.put(phase, duration.toMillis()));
+                diagnostics.set("phaseDurationsMs", phaseDurations);
+            }
             if (result.totalDuration() != null) {
                 diagnostics.put(
                         "totalDuration",
@@ -576,9 +583,7 @@ public class HiCodingWebSocketHandler extends TextWebSocketHandler {
             params.set("diagnostics", diagnostics);
 
             notification.set("params", params);
-            synchronized (session) {
-                session.sendMessage(new TextMessage(objectMapper.writeValueAsString(notification)));
-            }
+            messageRouter.sendToFrontend(session, objectMapper.writeValueAsString(notification));
             logger.error(
                     "Sent sandbox error notification, failedPhase={}, retryable={}, message={}",
                     result.failedPhase(),
@@ -644,9 +649,7 @@ public class HiCodingWebSocketHandler extends TextWebSocketHandler {
             params.put("totalPhases", totalPhases);
             params.put("completedPhases", completedPhases);
             notification.set("params", params);
-            synchronized (session) {
-                session.sendMessage(new TextMessage(objectMapper.writeValueAsString(notification)));
-            }
+            messageRouter.sendToFrontend(session, objectMapper.writeValueAsString(notification));
         } catch (Exception e) {
             logger.warn(
                     "Failed to send init progress notification, errorMessage={}",
@@ -676,9 +679,7 @@ public class HiCodingWebSocketHandler extends TextWebSocketHandler {
                 params.put("sandboxHost", sandboxHost);
             }
             notification.set("params", params);
-            synchronized (session) {
-                session.sendMessage(new TextMessage(objectMapper.writeValueAsString(notification)));
-            }
+            messageRouter.sendToFrontend(session, objectMapper.writeValueAsString(notification));
         } catch (Exception e) {
             logger.warn(
                     "Failed to send sandbox status notification, errorMessage={}",
@@ -699,9 +700,7 @@ public class HiCodingWebSocketHandler extends TextWebSocketHandler {
             ObjectNode params = objectMapper.createObjectNode();
             params.put("cwd", cwd);
             notification.set("params", params);
-            synchronized (session) {
-                session.sendMessage(new TextMessage(objectMapper.writeValueAsString(notification)));
-            }
+            messageRouter.sendToFrontend(session, objectMapper.writeValueAsString(notification));
         } catch (Exception e) {
             logger.warn(
                     "Failed to send workspace info notification, errorMessage={}",
@@ -725,9 +724,7 @@ public class HiCodingWebSocketHandler extends TextWebSocketHandler {
             params.put("sidecarSessionId", sidecarSessionId);
             params.put("reattached", true);
             notification.set("params", params);
-            synchronized (session) {
-                session.sendMessage(new TextMessage(objectMapper.writeValueAsString(notification)));
-            }
+            messageRouter.sendToFrontend(session, objectMapper.writeValueAsString(notification));
         } catch (Exception e) {
             logger.warn("Failed to send reattach notification, errorMessage={}", e.getMessage(), e);
         }
@@ -0,0 +1,357 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.hicoding.websocket;
+
+import com.alibaba.himarket.config.AcpProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.Session;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+/**
+ * Bounded outbound message queue of one frontend WebSocket session.
+ *
+ * <p>Producers only append to the queue and return. A drain task on the shared writer pool sends
+ * the queued messages in order, at most one task per session at a time. While the writer is busy,
+ * consecutive CLI output messages are merged into one newline separated frame, which the frontend
+ * splits again.
+ *
+ * <p>Frames are sent with the asynchronous remote endpoint of the container session, and the next
+ * frame is sent from the completion callback, so a slow frontend does not hold a writer thread.
+ * Sessions without a native endpoint are written synchronously, and the drain task hands its
+ * thread back after {@value #MAX_FRAMES_PER_TASK} frames.
+ *
+ * <p>When the queued messages exceed {@code max-queued-chars}, the session is closed or further
+ * CLI notifications are dropped according to {@link AcpProperties.OverflowPolicy}.
+ */
+final class WebSocketOutboundQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketOutboundQueue.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * Frames one drain task writes synchronously before it resubmits itself.
+     */
+    static final int MAX_FRAMES_PER_TASK = 16;
+
+    private final WebSocketSession session;
+    private final RemoteEndpoint.Async asyncRemote;
+    private final Executor writer;
+    private final AcpProperties.OutboundConfig config;
+
+    // Guarded by this.
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private long queuedChars;
+    private boolean draining;
+    private boolean closed;
+    private CloseStatus closeAfterFlush;
+    private long droppedMessages;
+
+    /**
+     * Queued frame. Only the tail frame is appended to, and a frame is removed from the queue before
+     * it is written.
+     */
+    private static final class Frame {
+        final StringBuilder payload;
+        final boolean mergeable;
+
+        Frame(String message, boolean mergeable) {
+            this.payload = new StringBuilder(message);
+            this.mergeable = mergeable;
+        }
+    }
+
+    WebSocketOutboundQueue(
+            WebSocketSession session, Executor writer, AcpProperties.OutboundConfig config) {
+        this.session = session;
+        this.asyncRemote = asyncRemote(session);
+        this.writer = writer;
+        this.config = config;
+    }
+
+    private static RemoteEndpoint.Async asyncRemote(WebSocketSession session) {
+        if (WebSocketSessionDecorator.unwrap(session)
+                instanceof NativeWebSocketSession nativeSession) {
+            Session containerSession = nativeSession.getNativeSession(Session.class);
+            if (containerSession != null) {
+                return containerSession.getAsyncRemote();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Queues a message for the frontend.
+     *
+     * @param message JSON message
+     * @param mergeable whether the message is CLI output that may be merged with its neighbours
+     * @return false if the message was dropped
+     */
+    boolean offer(String message, boolean mergeable) {
+        boolean overflow = false;
+        boolean schedule = false;
+        synchronized (this) {
+            if (closed || closeAfterFlush != null) {
+                return false;
+            }
+            // Messages generated by HiMarket are small and always kept.
+            if (mergeable && queuedChars + message.length() > config.getMaxQueuedChars()) {
+                if (config.getOverflowPolicy() == AcpProperties.OverflowPolicy.CLOSE) {
+                    overflow = true;
+                } else if (isNotification(message)) {
+                    if (droppedMessages++ == 0) {
+                        logger.warn(
+                                "Frontend is too slow, dropping CLI notifications, sessionId={},"
+                                        + " queuedChars={}",
+                                session.getId(),
+                                queuedChars);
+                    }
+                    return false;
+                } else {
+                    // The CLI or the frontend waits for responses and requests, never drop them.
+                    append(message, mergeable);
+                    schedule = !draining;
+                    draining = true;
+                }
+            } else {
+                append(message, mergeable);
+                schedule = !draining;
+                draining = true;
+            }
+        }
+
+        if (overflow) {
+            logger.warn(
+                    "Frontend is too slow, closing session, sessionId={}, maxQueuedChars={}",
+                    session.getId(),
+                    config.getMaxQueuedChars());
+            closeAfterFlush(CloseStatus.SESSION_NOT_RELIABLE, true);
+            return false;
+        }
+        if (schedule) {
+            scheduleDrain();
+        }
+        return true;
+    }
+
+    /**
+     * Closes the session once the queued messages are written.
+     *
+     * @param status close status
+     * @param discard whether to discard the queued messages instead of writing them
+     */
+    void closeAfterFlush(CloseStatus status, boolean discard) {
+        boolean schedule;
+        synchronized (this) {
+            if (closed || closeAfterFlush != null) {
+                return;
+            }
+            closeAfterFlush = status;
+            if (discard) {
+                frames.clear();
+                queuedChars = 0;
+            }
+            schedule = !draining;
+            draining = true;
+        }
+        if (schedule) {
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * Discards the queued messages. Called once the session is closed.
+     */
+    void close() {
+        synchronized (this) {
+            closed = true;
+            frames.clear();
+            queuedChars = 0;
+        }
+    }
+
+    /**
+     * Returns whether a CLI message is a JSON-RPC notification, the only kind that may be dropped.
+     * Output that is not JSON-RPC is treated as a notification.
+     */
+    static boolean isNotification(String message) {
+        try {
+            JsonNode node = OBJECT_MAPPER.readTree(message);
+            return node == null || !node.isObject() || !node.has("id");
+        } catch (Exception e) {
+            return true;
+        }
+    }
+
+    private void append(String message, boolean mergeable) {
+        Frame tail = frames.peekLast();
+        if (mergeable
+                && tail != null
+                && tail.mergeable
+                && tail.payload.length() + message.length() < config.getMaxMergedFrameChars()) {
+            tail.payload.append('\n').append(message);
+            queuedChars += message.length() + 1;
+            return;
+        }
+        frames.offerLast(new Frame(message, mergeable));
+        queuedChars += message.length();
+    }
+
+    private void scheduleDrain() {
+        try {
+            writer.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                draining = false;
+            }
+            close();
+        }
+    }
+
+    private void drain() {
+        for (int written = 0; written < MAX_FRAMES_PER_TASK; written++) {
+            Frame frame;
+            CloseStatus closeStatus = null;
+            synchronized (this) {
+                frame = closed ? null : frames.pollFirst();
+                if (frame == null) {
+                    draining = false;
+                    if (!closed && closeAfterFlush != null) {
+                        closed = true;
+                        closeStatus = closeAfterFlush;
+                    } else {
+                        if (droppedMessages > 0) {
+                            logger.info(
+                                    "Frontend caught up, droppedMessageCount={}, sessionId={}",
+                                    droppedMessages,
+                                    session.getId());
+                            droppedMessages = 0;
+                        }
+                        return;
+                    }
+                } else {
+                    queuedChars -= frame.payload.length();
+                }
+            }
+
+            if (closeStatus != null) {
+                closeSession(closeStatus);
+                return;
+            }
+            if (asyncRemote != null) {
+                writeAsync(frame);
+                return;
+            }
+            if (!write(frame)) {
+                abort();
+                return;
+            }
+        }
+        // Let the other sessions of the writer pool go first.
+        scheduleDrain();
+    }
+
+    /**
+     * Sends a frame without waiting for it. The drain continues once the frame is written.
+     */
+    private void writeAsync(Frame frame) {
+        if (!session.isOpen()) {
+            abort();
+            return;
+        }
+        try {
+            asyncRemote.sendText(
+                    frame.payload.toString(),
+                    result -> {
+                        if (result.isOK()) {
+                            scheduleDrain();
+                            return;
+                        }
+                        logger.warn(
+                                "Failed to send message to WebSocket, sessionId={},"
+                                        + " errorMessage={}",
+                                session.getId(),
+                                result.getException() != null
+                                        ? result.getException().getMessage()
+                                        : null);
+                        abort();
+                    });
+        } catch (Exception e) {
+            logger.warn(
+                    "Failed to send message to WebSocket, sessionId={}, errorMessage={}",
+                    session.getId(),
+                    e.getMessage());
+            abort();
+        }
+    }
+
+    private void abort() {
+        close();
+        synchronized (this) {
+            draining = false;
+        }
+    }
+
+    private boolean write(Frame frame) {
+        if (!session.isOpen()) {
+            return false;
+        }
+        try {
+            // Other senders such as the ping scheduler still lock the session.
+            synchronized (session) {
+                session.sendMessage(new TextMessage(frame.payload.toString()));
+            }
+            return true;
+        } catch (Exception e) {
+            logger.warn(
+                    "Failed to send message to WebSocket, sessionId={}, errorMessage={}",
+                    session.getId(),
+                    e.getMessage());
+            return false;
+        }
+    }
+
+    private void closeSession(CloseStatus status) {
+        try {
+            if (session.isOpen()) {
+                synchronized (session) {
+                    session.close(status);
+                }
+            }
+        } catch (Exception e) {
+            logger.debug(
+                    "Failed to close WebSocket, sessionId={}, errorMessage={}",
+                    session.getId(),
+                    e.getMessage());
+        }
+    }
+}
@@ -1,22 +1,44 @@
 package com.alibaba.himarket.service.hicoding.websocket;
 
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.PingMessage;
 import org.springframework.web.socket.WebSocketSession;
 
 /**
- * WebSocket protocol-level ping scheduler.
+ * WebSocket protocol-level keepalive.
  *
- * <p>Manages a shared ScheduledExecutorService and schedules periodic pings for each
- * WebSocketSession. Shared as a singleton bean by HiCodingWebSocketHandler and
- * TerminalWebSocketHandler.
+ * <p>Sessions are spread over the slots of a hashed wheel that one timer thread advances by one
+ * slot per tick, so each session is visited once per {@value PING_INTERVAL_SECONDS} seconds and
+ * the pings of many sessions are spread evenly over the interval instead of firing in bursts.
+ *
+ * <p>When its slot comes up, a session that received traffic during the last interval is skipped.
+ * Otherwise it is pinged, and if nothing, not even the pong, has been received by the next visit
+ * the peer is considered dead and the session is closed. Handlers report inbound traffic through
+ * {@link #recordActivity(String)}.
+ *
+ * <p>Pings and closes are sent on a small sender pool, because they wait for the session lock and
+ * the socket. The wheel thread never blocks, and a session whose previous ping is still waiting is
+ * skipped rather than queued again.
+ *
+ * <p>Shared as a singleton bean by HiCodingWebSocketHandler and TerminalWebSocketHandler.
  */
 @Component
 public class WebSocketPingScheduler {
@@ -25,64 +47,258 @@ public class WebSocketPingScheduler {
 
     static final long PING_INTERVAL_SECONDS = 30;
 
-    private final ScheduledExecutorService scheduler =
-            Executors.newScheduledThreadPool(
-                    2,
-                    r -> {
-                        Thread t = new Thread(r, "ws-ping-scheduler");
-                        t.setDaemon(true);
-                        return t;
-                    });
+    /**
+     * Number of wheel slots, one tick per second.
+     */
+    static final int WHEEL_SLOTS = 30;
+
+    private static final long TICK_MILLIS =
+            TimeUnit.SECONDS.toMillis(PING_INTERVAL_SECONDS) / WHEEL_SLOTS;
+
+    private static final int SENDER_THREADS = 2;
+
+    private final ScheduledExecutorService timer;
+
+    private final Executor sender;
+
+    /**
+     * Wall clock in milliseconds.
+     */
+    private final LongSupplier clock;
+
+    private final Map<String, PingEntry> entries = new ConcurrentHashMap<>();
+
+    private final Set<PingEntry>[] wheel;
+
+    /**
+     * Slot for the next registered session. Round robin keeps the slots evenly filled.
+     */
+    private final AtomicInteger nextSlot = new AtomicInteger();
 
-    private final ConcurrentHashMap<String, ScheduledFuture<?>> pingFutures =
-            new ConcurrentHashMap<>();
+    private int cursor;
+
+    static final class PingEntry {
+        final WebSocketSession session;
+        final int slot;
+
+        /**
+         * Last inbound message or pong, in milliseconds.
+         */
+        volatile long lastReceivedAt;
+
+        /**
+         * Last unanswered ping, in milliseconds, or 0 when none is outstanding.
+         */
+        volatile long pingSentAt;
+
+        /**
+         * Whether a ping of this session is queued or running on the sender pool.
+         */
+        final AtomicBoolean pinging = new AtomicBoolean();
+
+        PingEntry(WebSocketSession session, int slot, long now) {
+            this.session = session;
+            this.slot = slot;
+            this.lastReceivedAt = now;
+        }
+    }
+
+    public WebSocketPingScheduler() {
+        this(
+                System::currentTimeMillis,
+                newSenderPool(),
+                Executors.newSingleThreadScheduledExecutor(
+                        r -> {
+                            Thread t = new Thread(r, "ws-ping-wheel");
+                            t.setDaemon(true);
+                            return t;
+                        }));
+    }
 
     /**
-     * Starts the ping timer for the specified session.
+     * @param clock wall clock in milliseconds
+     * @param sender executor for pings and closes
+     * @param timer timer that advances the wheel, or null to advance it by calling {@link #tick()}
+     */
+    @SuppressWarnings("unchecked")
+    WebSocketPingScheduler(LongSupplier clock, Executor sender, ScheduledExecutorService timer) {
+        this.clock = clock;
+        this.sender = sender;
+        this.timer = timer;
+        wheel = new Set[WHEEL_SLOTS];
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+        if (timer != null) {
+            timer.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static ThreadPoolExecutor newSenderPool() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadPoolExecutor pool =
+                new ThreadPoolExecutor(
+                        SENDER_THREADS,
+                        SENDER_THREADS,
+                        60,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        r -> {
+                            Thread t =
+                                    new Thread(
+                                            r, "ws-ping-sender-" + threadIndex.incrementAndGet());
+                            t.setDaemon(true);
+                            return t;
+                        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+        if (sender instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Starts the keepalive for the specified session.
      *
-     * <p>Sends a WebSocket protocol-level PingMessage every {@value PING_INTERVAL_SECONDS}
-     * seconds. Repeated calls for the same sessionId stop the previous timer before registering a
-     * new one.
+     * <p>Repeated calls for the same sessionId replace the previous registration.
      */
     public void startPing(WebSocketSession session) {
         String sessionId = session.getId();
 
-        // Stop any previous timer before registering a new one.
+        // Drop any previous registration before adding a new one.
         stopPing(sessionId);
 
-        ScheduledFuture<?> future =
-                scheduler.scheduleAtFixedRate(
+        int slot = Math.floorMod(nextSlot.getAndIncrement(), WHEEL_SLOTS);
+        PingEntry entry = new PingEntry(session, slot, clock.getAsLong());
+        entries.put(sessionId, entry);
+        wheel[slot].add(entry);
+        logger.info("Started WebSocket keepalive, sessionId={}, slot={}", sessionId, slot);
+    }
+
+    /**
+     * Stops the keepalive for the specified session.
+     */
+    public void stopPing(String sessionId) {
+        PingEntry entry = entries.remove(sessionId);
+        if (entry != null) {
+            wheel[entry.slot].remove(entry);
+            logger.info("Stopped WebSocket keepalive, sessionId={}", sessionId);
+        }
+    }
+
+    /**
+     * Records inbound traffic, including pongs, proving that the peer of a session is alive.
+     */
+    public void recordActivity(String sessionId) {
+        PingEntry entry = entries.get(sessionId);
+        if (entry != null) {
+            entry.lastReceivedAt = clock.getAsLong();
+        }
+    }
+
+    /**
+     * Advances the wheel by one slot and visits its sessions.
+     */
+    void tick() {
+        Set<PingEntry> slot = wheel[cursor];
+        cursor = (cursor + 1) % WHEEL_SLOTS;
+        long now = clock.getAsLong();
+        for (PingEntry entry : slot) {
+            try {
+                visit(entry, now);
+            } catch (Exception e) {
+                logger.warn(
+                        "WebSocket keepalive error, sessionId={}, errorMessage={}",
+                        entry.session.getId(),
+                        e.getMessage());
+            }
+        }
+    }
+
+    private void visit(PingEntry entry, long now) {
+        WebSocketSession session = entry.session;
+        if (!session.isOpen()) {
+            stopPing(session.getId());
+            return;
+        }
+
+        long pingSentAt = entry.pingSentAt;
+        if (pingSentAt > 0 && entry.lastReceivedAt < pingSentAt) {
+            logger.warn(
+                    "WebSocket peer did not answer ping, closing session, sessionId={},"
+                            + " silentMillis={}",
+                    session.getId(),
+                    now - entry.lastReceivedAt);
+            stopPing(session.getId());
+            // Closed even when a ping is still pending, that ping is what got stuck.
+            send(session, () -> session.close(CloseStatus.SESSION_NOT_RELIABLE));
+            return;
+        }
+        entry.pingSentAt = 0;
+
+        if (now - entry.lastReceivedAt < TimeUnit.SECONDS.toMillis(PING_INTERVAL_SECONDS)) {
+            // Recent traffic already proves the peer is alive.
+            return;
+        }
+
+        if (!entry.pinging.compareAndSet(false, true)) {
+            logger.debug(
+                    "WebSocket session is still busy with the previous ping, sessionId={}",
+                    session.getId());
+            return;
+        }
+        boolean queued =
+                send(
+                        session,
                         () -> {
                             try {
-                                if (!session.isOpen()) {
-                                    return;
+                                // A ping not sent before the next visit counts as unanswered.
+                                entry.pingSentAt = clock.getAsLong();
+                                synchronized (session) {
+                                    session.sendMessage(new PingMessage());
                                 }
-                                session.sendMessage(new PingMessage());
-                            } catch (Exception e) {
-                                logger.warn(
-                                        "Failed to send WebSocket ping, sessionId={},"
-                                                + " errorMessage={}",
-                                        sessionId,
-                                        e.getMessage(),
-                                        e);
+                            } finally {
+                                entry.pinging.set(false);
                             }
-                        },
-                        PING_INTERVAL_SECONDS,
-                        PING_INTERVAL_SECONDS,
-                        TimeUnit.SECONDS);
-
-        pingFutures.put(sessionId, future);
-        logger.info("Started WebSocket ping scheduler, sessionId={}", sessionId);
+                        });
+        if (!queued) {
+            entry.pinging.set(false);
+        }
     }
 
     /**
-     * Stops the ping timer for the specified session.
+     * Runs a ping or close of the session on the sender pool.
+     *
+     * @return false if the sender pool is shut down
      */
-    public void stopPing(String sessionId) {
-        ScheduledFuture<?> future = pingFutures.remove(sessionId);
-        if (future != null) {
-            future.cancel(false);
-            logger.info("Stopped WebSocket ping scheduler, sessionId={}", sessionId);
+    private boolean send(WebSocketSession session, SessionAction action) {
+        try {
+            sender.execute(
+                    () -> {
+                        try {
+                            action.run();
+                        } catch (Exception e) {
+                            logger.warn(
+                                    "WebSocket keepalive error, sessionId={}, errorMessage={}",
+                                    session.getId(),
+                                    e.getMessage());
+                        }
+                    });
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
         }
     }
+
+    @FunctionalInterface
+    private interface SessionAction {
+        void run() throws Exception;
+    }
 }
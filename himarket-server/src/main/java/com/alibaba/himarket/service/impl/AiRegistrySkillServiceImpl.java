@@ -52,6 +52,9 @@ import com.aliyun.airegistry20260317.models.UploadSkillViaOssRequest;
 import com.aliyun.tea.TeaException;
 import com.aliyun.teaopenapi.models.Config;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -89,7 +92,7 @@ public class AiRegistrySkillServiceImpl implements AiRegistrySkillService {
     public String uploadFromZip(
             String aiRegistryId,
             String namespaceId,
-            byte[] zipBytes,
+            Path zipFile,
             String fileName,
             boolean overwrite) {
         AiRegistryInstance instance = findInstance(aiRegistryId);
@@ -102,8 +105,8 @@ public class AiRegistrySkillServiceImpl implements AiRegistrySkillService {
                                             .setContentType(DEFAULT_CONTENT_TYPE))
                             .getBody()
                             .getData();
-            validateUploadInfo(uploadInfo, zipBytes.length, aiRegistryId);
-            putZip(uploadInfo.getUploadUrl(), uploadInfo.getContentType(), zipBytes, aiRegistryId);
+            validateUploadInfo(uploadInfo, Files.size(zipFile), aiRegistryId);
+            putZip(uploadInfo.getUploadUrl(), uploadInfo.getContentType(), zipFile, aiRegistryId);
             return client.uploadSkillViaOss(
                             new UploadSkillViaOssRequest()
                                     .setNamespaceId(namespaceId)
@@ -303,8 +306,12 @@ public class AiRegistrySkillServiceImpl implements AiRegistrySkillService {
     }
 
     @Override
-    public byte[] downloadZip(
-            String aiRegistryId, String namespaceId, String skillName, String version) {
+    public void downloadZip(
+            String aiRegistryId,
+            String namespaceId,
+            String skillName,
+            String version,
+            OutputStream out) {
         AiRegistryInstance instance = findInstance(aiRegistryId);
         try {
             Client client = buildClient(instance);
@@ -330,7 +337,7 @@ public class AiRegistrySkillServiceImpl implements AiRegistrySkillService {
                     throw new BusinessException(
                             ErrorCode.INTERNAL_ERROR, "Failed to download AIRegistry Skill");
                 }
-                return response.body().bytes();
+                response.body().byteStream().transferTo(out);
             }
         } catch (BusinessException e) {
             throw e;
@@ -527,7 +534,7 @@ public class AiRegistrySkillServiceImpl implements AiRegistrySkillService {
 
     private void validateUploadInfo(
             GetSkillImportFileUrlResponseBody.GetSkillImportFileUrlResponseBodyData uploadInfo,
-            int fileSize,
+            long fileSize,
             String aiRegistryId) {
         if (uploadInfo == null
                 || Strings.isBlank(uploadInfo.getUploadUrl())
@@ -550,14 +557,16 @@ public class AiRegistrySkillServiceImpl implements AiRegistrySkillService {
         }
     }
 
-    private void putZip(String uploadUrl, String contentType, byte[] zipBytes, String aiRegistryId)
+    private void putZip(String uploadUrl, String contentType, Path zipFile, String aiRegistryId)
             throws IOException {
         String resolvedContentType =
                 Strings.isBlank(contentType) ? DEFAULT_CONTENT_TYPE : contentType;
         Request request =
                 new Request.Builder()
                         .url(uploadUrl)
-                        .put(RequestBody.create(zipBytes, MediaType.parse(resolvedContentType)))
+                        .put(
+                                RequestBody.create(
+                                        zipFile.toFile(), MediaType.parse(resolvedContentType)))
                         .header("Content-Type", resolvedContentType)
                         .build();
         try (Response response = httpClient.newCall(request).execute()) {
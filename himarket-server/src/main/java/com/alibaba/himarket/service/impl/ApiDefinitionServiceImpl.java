@@ -20,6 +20,7 @@
 package com.alibaba.himarket.service.impl;
 
 import com.alibaba.himarket.core.constant.Resources;
+import com.alibaba.himarket.core.event.ProductConfigChangedEvent;
 import com.alibaba.himarket.core.exception.BusinessException;
 import com.alibaba.himarket.core.exception.ErrorCode;
 import com.alibaba.himarket.core.utils.IdGenerator;
@@ -47,6 +48,7 @@ import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -65,6 +67,8 @@ public class ApiDefinitionServiceImpl implements ApiDefinitionService {
 
     private final ProductRefRepository productRefRepository;
 
+    private final ApplicationEventPublisher eventPublisher;
+
     @Override
     public ApiDefinitionResult createApiDefinition(CreateApiDefinitionParam param) {
         ApiDefinition definition = param.convertTo();
@@ -115,6 +119,8 @@ public class ApiDefinitionServiceImpl implements ApiDefinitionService {
                         ref -> {
                             syncProductRefConfig(ref, definition);
                             productRefRepository.save(ref);
+                            eventPublisher.publishEvent(
+                                    new ProductConfigChangedEvent(ref.getProductId()));
                         });
     }
 
@@ -214,6 +220,7 @@ public class ApiDefinitionServiceImpl implements ApiDefinitionService {
 
         syncProductRefConfig(productRef, definition);
         productRefRepository.save(productRef);
+        eventPublisher.publishEvent(new ProductConfigChangedEvent(product.getProductId()));
 
         if (product.getStatus() != ProductStatus.PUBLISHED) {
             product.setStatus(ProductStatus.READY);
@@ -25,7 +25,10 @@ import com.alibaba.himarket.core.event.ProductDeletingEvent;
 import com.alibaba.himarket.core.exception.BusinessException;
 import com.alibaba.himarket.core.exception.ErrorCode;
 import com.alibaba.himarket.core.security.ContextHolder;
+import com.alibaba.himarket.core.utils.CacheUtil;
 import com.alibaba.himarket.core.utils.IdGenerator;
+import com.alibaba.himarket.dto.params.consumer.BatchApproveSubscriptionParam;
+import com.alibaba.himarket.dto.params.consumer.BatchCreateSubscriptionParam;
 import com.alibaba.himarket.dto.params.consumer.CreateConsumerParam;
 import com.alibaba.himarket.dto.params.consumer.CreateCredentialParam;
 import com.alibaba.himarket.dto.params.consumer.CreateSubscriptionParam;
@@ -37,12 +40,15 @@ import com.alibaba.himarket.dto.result.consumer.ConsumerCredentialResult;
 import com.alibaba.himarket.dto.result.consumer.ConsumerResult;
 import com.alibaba.himarket.dto.result.consumer.CredentialContext;
 import com.alibaba.himarket.dto.result.portal.PortalResult;
+import com.alibaba.himarket.dto.result.product.BatchSubscriptionResult;
 import com.alibaba.himarket.dto.result.product.ProductRefResult;
 import com.alibaba.himarket.dto.result.product.ProductResult;
+import com.alibaba.himarket.dto.result.product.SubscriptionItemResult;
 import com.alibaba.himarket.dto.result.product.SubscriptionResult;
 import com.alibaba.himarket.entity.Consumer;
 import com.alibaba.himarket.entity.ConsumerCredential;
 import com.alibaba.himarket.entity.ConsumerRef;
+import com.alibaba.himarket.entity.GatewayOutbox;
 import com.alibaba.himarket.entity.Product;
 import com.alibaba.himarket.entity.ProductSubscription;
 import com.alibaba.himarket.repository.ConsumerCredentialRepository;
@@ -50,6 +56,8 @@ import com.alibaba.himarket.repository.ConsumerRefRepository;
 import com.alibaba.himarket.repository.ConsumerRepository;
 import com.alibaba.himarket.repository.SubscriptionRepository;
 import com.alibaba.himarket.service.ConsumerService;
+import com.alibaba.himarket.service.GatewayOutboxHandler;
+import com.alibaba.himarket.service.GatewayOutboxService;
 import com.alibaba.himarket.service.GatewayService;
 import com.alibaba.himarket.service.PortalService;
 import com.alibaba.himarket.service.ProductService;
@@ -58,6 +66,7 @@ import com.alibaba.himarket.support.consumer.ApiKeyConfig;
 import com.alibaba.himarket.support.consumer.ConsumerAuthConfig;
 import com.alibaba.himarket.support.consumer.HmacConfig;
 import com.alibaba.himarket.support.enums.CredentialMode;
+import com.alibaba.himarket.support.enums.GatewayOutboxOperation;
 import com.alibaba.himarket.support.enums.GatewayType;
 import com.alibaba.himarket.support.enums.SourceType;
 import com.alibaba.himarket.support.enums.SubscriptionStatus;
@@ -65,14 +74,18 @@ import com.alibaba.himarket.support.gateway.APIGConfig;
 import com.alibaba.himarket.support.gateway.GatewayConfig;
 import com.alibaba.himarket.support.gateway.HigressConfig;
 import com.alibaba.himarket.utils.JsonUtil;
+import com.github.benmanes.caffeine.cache.Cache;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import jakarta.persistence.criteria.Subquery;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
@@ -82,13 +95,15 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 @Slf4j
-public class ConsumerServiceImpl implements ConsumerService {
+public class ConsumerServiceImpl implements ConsumerService, GatewayOutboxHandler {
 
     private final PortalService portalService;
 
@@ -106,6 +121,12 @@ public class ConsumerServiceImpl implements ConsumerService {
 
     private final ConsumerRefRepository consumerRefRepository;
 
+    private final GatewayOutboxService gatewayOutboxService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Cache<String, Object> gatewayConsumerLocks = CacheUtil.newLRUCache(600);
+
     @Override
     public ConsumerResult createConsumer(CreateConsumerParam param) {
         // Get current user from SecurityContext
@@ -167,21 +188,7 @@ public class ConsumerServiceImpl implements ConsumerService {
         for (ProductSubscription subscription : subscriptions) {
             try {
                 // If there is an authorization configuration, we need to cancel the authorization
-                if (subscription.getConsumerAuthConfig() != null) {
-                    ProductRefResult productRef =
-                            productService.getProductRef(subscription.getProductId());
-                    if (productRef != null) {
-                        GatewayConfig gatewayConfig =
-                                gatewayService.getGatewayConfig(productRef.getGatewayId());
-                        ConsumerRef consumerRef = matchConsumerRef(consumerId, gatewayConfig);
-                        if (consumerRef != null) {
-                            gatewayService.revokeConsumerAuthorization(
-                                    productRef.getGatewayId(),
-                                    consumerRef.getGwConsumerId(),
-                                    subscription.getConsumerAuthConfig());
-                        }
-                    }
-                }
+                enqueueRevocation(subscription);
             } catch (Exception e) {
                 log.error(
                         "Failed to revoke consumer authorization, consumerId={}, productId={},"
@@ -202,16 +209,18 @@ public class ConsumerServiceImpl implements ConsumerService {
         // 4. Delete gateway consumer
         List<ConsumerRef> consumerRefs = consumerRefRepository.findAllByConsumerId(consumerId);
         for (ConsumerRef consumerRef : consumerRefs) {
-            try {
-                gatewayService.deleteConsumer(
-                        consumerRef.getGwConsumerId(), consumerRef.getGatewayConfig());
-            } catch (Exception e) {
-                log.error(
-                        "Failed to delete gateway consumer, gwConsumerId={}, errorMessage={}",
-                        consumerRef.getGwConsumerId(),
-                        e.getMessage(),
-                        e);
-            }
+            gatewayOutboxService.enqueue(
+                    GatewayOutbox.builder()
+                            .idempotencyKey(
+                                    outboxKey(
+                                            GatewayOutboxOperation.DELETE_CONSUMER,
+                                            consumerId,
+                                            consumerRef.getGwConsumerId()))
+                            .operation(GatewayOutboxOperation.DELETE_CONSUMER)
+                            .consumerId(consumerId)
+                            .gwConsumerId(consumerRef.getGwConsumerId())
+                            .gatewayConfig(consumerRef.getGatewayConfig())
+                            .build());
         }
 
         // 5. Delete consumer reference
@@ -308,7 +317,8 @@ public class ConsumerServiceImpl implements ConsumerService {
         ProductResult product = productService.getProduct(param.getProductId());
         ProductRefResult productRef = productService.getProductRef(param.getProductId());
 
-        ConsumerCredential credential = findCredential(consumerId);
+        // Credential is required to create the gateway consumer
+        findCredential(consumerId);
 
         ProductSubscription subscription = param.convertTo();
         subscription.setSubscriptionId(IdGenerator.genSubscriptionId());
@@ -317,23 +327,19 @@ public class ConsumerServiceImpl implements ConsumerService {
         // Resolve whether this subscription can be approved automatically.
         boolean autoApprove = resolveAutoApprove(product, consumer);
 
-        // Gateway products need synchronized gateway-side authorization.
-        if (productRef != null && productRef.getSourceType() == SourceType.GATEWAY) {
-            if (autoApprove) {
-                ConsumerAuthConfig consumerAuthConfig =
-                        authorizeConsumer(consumer, credential, productRef);
-                subscription.setConsumerAuthConfig(consumerAuthConfig);
-                subscription.setStatus(SubscriptionStatus.APPROVED);
-            } else {
-                subscription.setStatus(SubscriptionStatus.PENDING);
-            }
-        } else {
-            // Non-gateway source: respect product's autoApprove setting
-            subscription.setStatus(
-                    autoApprove ? SubscriptionStatus.APPROVED : SubscriptionStatus.PENDING);
-        }
+        // Gateway products need gateway-side authorization, which is executed after commit and
+        // approves the subscription once it succeeds.
+        boolean gatewayProduct =
+                productRef != null && productRef.getSourceType() == SourceType.GATEWAY;
+        subscription.setStatus(
+                autoApprove && !gatewayProduct
+                        ? SubscriptionStatus.APPROVED
+                        : SubscriptionStatus.PENDING);
 
         subscriptionRepository.save(subscription);
+        if (autoApprove && gatewayProduct) {
+            enqueueAuthorization(subscription, productRef.getGatewayId());
+        }
 
         SubscriptionResult r = new SubscriptionResult().convertFrom(subscription);
         r.setProductName(product.getName());
@@ -342,6 +348,65 @@ public class ConsumerServiceImpl implements ConsumerService {
         return r;
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchSubscriptionResult batchSubscribeProducts(
+            String consumerId, BatchCreateSubscriptionParam param) {
+        Consumer consumer =
+                contextHolder.isDeveloper()
+                        ? findDevConsumer(consumerId)
+                        : findConsumer(consumerId);
+        // Credential is required to create the gateway consumer
+        findCredential(consumerId);
+
+        Set<String> subscribedProductIds =
+                subscriptionRepository.findAllByConsumerId(consumerId).stream()
+                        .map(ProductSubscription::getProductId)
+                        .collect(Collectors.toSet());
+
+        List<SubscriptionItemResult> items = new ArrayList<>();
+        for (String productId : new LinkedHashSet<>(param.getProductIds())) {
+            SubscriptionItemResult item = new SubscriptionItemResult();
+            item.setProductId(productId);
+            items.add(item);
+            try {
+                if (subscribedProductIds.contains(productId)) {
+                    throw new BusinessException(
+                            ErrorCode.INVALID_REQUEST, "Duplicate subscription");
+                }
+
+                ProductResult product = productService.getProduct(productId);
+                ProductRefResult productRef = productService.getProductRef(productId);
+
+                ProductSubscription subscription =
+                        ProductSubscription.builder()
+                                .subscriptionId(IdGenerator.genSubscriptionId())
+                                .productId(productId)
+                                .consumerId(consumerId)
+                                .build();
+
+                boolean autoApprove = resolveAutoApprove(product, consumer);
+                boolean gatewayProduct =
+                        productRef != null && productRef.getSourceType() == SourceType.GATEWAY;
+                if (autoApprove && gatewayProduct) {
+                    checkGateway(productRef);
+                }
+                subscription.setStatus(
+                        autoApprove && !gatewayProduct
+                                ? SubscriptionStatus.APPROVED
+                                : SubscriptionStatus.PENDING);
+                completeSubscription(
+                        item,
+                        product,
+                        subscription,
+                        autoApprove && gatewayProduct ? productRef.getGatewayId() : null);
+            } catch (Exception e) {
+                markFailed(item, e);
+            }
+        }
+        return toBatchResult(items);
+    }
+
     @Override
     public void unsubscribeProduct(String consumerId, String subscriptionId) {
         existsConsumer(consumerId);
@@ -352,21 +417,8 @@ public class ConsumerServiceImpl implements ConsumerService {
             return;
         }
 
-        if (subscription.getConsumerAuthConfig() != null) {
-            ProductRefResult productRef = productService.getProductRef(subscription.getProductId());
-            if (productRef != null) {
-                GatewayConfig gatewayConfig =
-                        gatewayService.getGatewayConfig(productRef.getGatewayId());
-                // Revoke the consumer's authorization configuration from the gateway
-                ConsumerRef consumerRef = matchConsumerRef(consumerId, gatewayConfig);
-                if (consumerRef != null) {
-                    gatewayService.revokeConsumerAuthorization(
-                            productRef.getGatewayId(),
-                            consumerRef.getGwConsumerId(),
-                            subscription.getConsumerAuthConfig());
-                }
-            }
-        }
+        // Revoke the consumer's authorization configuration from the gateway
+        enqueueRevocation(subscription);
 
         subscriptionRepository.deleteByConsumerIdAndProductId(
                 consumerId, subscription.getProductId());
@@ -431,16 +483,12 @@ public class ConsumerServiceImpl implements ConsumerService {
                     ErrorCode.NOT_FOUND, Resources.SUBSCRIPTION, subscriptionId);
         }
 
-        if (subscription.getStatus() != SubscriptionStatus.PENDING) {
+        if (subscription.getStatus() == SubscriptionStatus.APPROVED) {
             throw new BusinessException(ErrorCode.INVALID_REQUEST, "Subscription already approved");
         }
 
-        // Get consumer and credential information
-        Consumer consumer =
-                contextHolder.isDeveloper()
-                        ? findDevConsumer(consumerId)
-                        : findConsumer(consumerId);
-        ConsumerCredential credential = findCredential(consumerId);
+        // Credential is required to create the gateway consumer
+        findCredential(consumerId);
 
         // Obtain product reference
         ProductRefResult productRef = productService.getProductRef(subscription.getProductId());
@@ -449,12 +497,13 @@ public class ConsumerServiceImpl implements ConsumerService {
                     ErrorCode.INTERNAL_ERROR, "API product is not associated with any API");
         }
 
-        // Authorize consumer in the gateway
-        ConsumerAuthConfig consumerAuthConfig = authorizeConsumer(consumer, credential, productRef);
-
-        subscription.setConsumerAuthConfig(consumerAuthConfig);
-        subscription.setStatus(SubscriptionStatus.APPROVED);
-        subscriptionRepository.saveAndFlush(subscription);
+        // Authorize consumer in the gateway after commit, the subscription is approved once the
+        // gateway accepts it
+        if (subscription.getStatus() == SubscriptionStatus.FAILED) {
+            subscription.setStatus(SubscriptionStatus.PENDING);
+            subscriptionRepository.save(subscription);
+        }
+        enqueueAuthorization(subscription, productRef.getGatewayId());
 
         ProductResult product = productService.getProduct(subscription.getProductId());
         SubscriptionResult result = new SubscriptionResult().convertFrom(subscription);
@@ -465,6 +514,248 @@ public class ConsumerServiceImpl implements ConsumerService {
         return result;
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchSubscriptionResult batchApproveSubscriptions(
+            String consumerId, BatchApproveSubscriptionParam param) {
+        if (contextHolder.isDeveloper()) {
+            findDevConsumer(consumerId);
+        } else {
+            findConsumer(consumerId);
+        }
+        // Credential is required to create the gateway consumer
+        findCredential(consumerId);
+
+        List<SubscriptionItemResult> items = new ArrayList<>();
+        for (String subscriptionId : new LinkedHashSet<>(param.getSubscriptionIds())) {
+            SubscriptionItemResult item = new SubscriptionItemResult();
+            item.setSubscriptionId(subscriptionId);
+            items.add(item);
+            try {
+                ProductSubscription subscription =
+                        findBySubscriptionIdOrProductId(consumerId, subscriptionId);
+                if (subscription == null
+                        || !Strings.equals(subscription.getConsumerId(), consumerId)) {
+                    throw new BusinessException(
+                            ErrorCode.NOT_FOUND, Resources.SUBSCRIPTION, subscriptionId);
+                }
+                item.setProductId(subscription.getProductId());
+
+                if (subscription.getStatus() == SubscriptionStatus.APPROVED) {
+                    throw new BusinessException(
+                            ErrorCode.INVALID_REQUEST, "Subscription already approved");
+                }
+
+                ProductRefResult productRef =
+                        productService.getProductRef(subscription.getProductId());
+                if (productRef == null) {
+                    throw new BusinessException(
+                            ErrorCode.INTERNAL_ERROR, "API product is not associated with any API");
+                }
+                checkGateway(productRef);
+
+                ProductResult product = productService.getProduct(subscription.getProductId());
+                subscription.setStatus(SubscriptionStatus.PENDING);
+                completeSubscription(item, product, subscription, productRef.getGatewayId());
+            } catch (Exception e) {
+                markFailed(item, e);
+            }
+        }
+        return toBatchResult(items);
+    }
+
+    private void checkGateway(ProductRefResult productRef) {
+        if (productRef.getGatewayId() == null) {
+            throw new BusinessException(
+                    ErrorCode.INVALID_REQUEST, "API product is not associated with any gateway");
+        }
+    }
+
+    /**
+     * Saves a batch item in its own transaction, together with its gateway authorization if one is
+     * needed, so a failed item does not roll back the others. The item reports the subscription as
+     * pending until the queued authorization succeeds, callers poll its status by subscription ID.
+     *
+     * @param authorizeGatewayId gateway to authorize the subscription on, or null if none is needed
+     */
+    private void completeSubscription(
+            SubscriptionItemResult item,
+            ProductResult product,
+            ProductSubscription subscription,
+            String authorizeGatewayId) {
+        transactionTemplate.executeWithoutResult(
+                status -> {
+                    subscriptionRepository.save(subscription);
+                    if (authorizeGatewayId != null) {
+                        enqueueAuthorization(subscription, authorizeGatewayId);
+                    }
+                });
+
+        SubscriptionResult r = new SubscriptionResult().convertFrom(subscription);
+        if (product != null) {
+            r.setProductName(product.getName());
+            r.setProductType(product.getType());
+        }
+        item.setSubscriptionId(subscription.getSubscriptionId());
+        item.setSubscription(r);
+        item.setSuccess(true);
+    }
+
+    private void markFailed(SubscriptionItemResult item, Exception e) {
+        log.warn(
+                "Failed to process subscription item, productId={}, subscriptionId={},"
+                        + " errorMessage={}",
+                item.getProductId(),
+                item.getSubscriptionId(),
+                e.getMessage());
+        item.setSuccess(false);
+        item.setSubscription(null);
+        item.setErrorMessage(e.getMessage());
+    }
+
+    private BatchSubscriptionResult toBatchResult(List<SubscriptionItemResult> items) {
+        int successCount = (int) items.stream().filter(SubscriptionItemResult::isSuccess).count();
+
+        BatchSubscriptionResult result = new BatchSubscriptionResult();
+        result.setItems(items);
+        result.setSuccessCount(successCount);
+        result.setFailureCount(items.size() - successCount);
+        return result;
+    }
+
+    @Override
+    public boolean supports(GatewayOutboxOperation operation) {
+        return operation == GatewayOutboxOperation.AUTHORIZE_CONSUMER
+                || operation == GatewayOutboxOperation.REVOKE_AUTHORIZATION
+                || operation == GatewayOutboxOperation.DELETE_CONSUMER;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void handle(GatewayOutbox outbox) {
+        switch (outbox.getOperation()) {
+            case AUTHORIZE_CONSUMER -> handleAuthorization(outbox);
+            case REVOKE_AUTHORIZATION ->
+                    gatewayService.revokeConsumerAuthorization(
+                            outbox.getGatewayId(),
+                            outbox.getGwConsumerId(),
+                            outbox.getConsumerAuthConfig());
+            case DELETE_CONSUMER ->
+                    gatewayService.deleteConsumer(
+                            outbox.getGwConsumerId(), outbox.getGatewayConfig());
+            default ->
+                    throw new BusinessException(
+                            ErrorCode.INTERNAL_ERROR,
+                            "Unsupported gateway outbox operation: " + outbox.getOperation());
+        }
+    }
+
+    private void handleAuthorization(GatewayOutbox outbox) {
+        ProductSubscription subscription =
+                subscriptionRepository
+                        .findBySubscriptionId(outbox.getSubscriptionId())
+                        .orElse(null);
+        if (subscription == null || subscription.getStatus() == SubscriptionStatus.APPROVED) {
+            // Unsubscribed in the meantime, or approved by an earlier attempt
+            return;
+        }
+
+        Consumer consumer = findConsumer(subscription.getConsumerId());
+        ConsumerCredential credential = findCredential(subscription.getConsumerId());
+        ProductRefResult productRef = productService.getProductRef(subscription.getProductId());
+        if (productRef == null) {
+            throw new BusinessException(
+                    ErrorCode.INTERNAL_ERROR, "API product is not associated with any API");
+        }
+
+        GatewayConfig gatewayConfig = gatewayService.getGatewayConfig(productRef.getGatewayId());
+        // Authorizations of one consumer run concurrently, only one of them creates its gateway
+        // consumer
+        String gwConsumerId;
+        synchronized (
+                gatewayConsumerLocks.get(
+                        consumer.getConsumerId() + ":" + productRef.getGatewayId(),
+                        k -> new Object())) {
+            gwConsumerId = ensureGatewayConsumer(consumer, credential, gatewayConfig);
+        }
+        ConsumerAuthConfig consumerAuthConfig =
+                gatewayService.authorizeConsumer(
+                        productRef.getGatewayId(), gwConsumerId, productRef);
+
+        // Approve only if the subscription is still pending, a concurrent unsubscribe either
+        // sees the approval and revokes it, or makes this update miss
+        if (subscriptionRepository.compareAndSetStatus(
+                                subscription.getSubscriptionId(),
+                                SubscriptionStatus.PENDING,
+                                SubscriptionStatus.APPROVED,
+                                consumerAuthConfig)
+                        == 0
+                && subscriptionRepository
+                        .findBySubscriptionId(subscription.getSubscriptionId())
+                        .isEmpty()) {
+            // Unsubscribed while the gateway call was in flight
+            gatewayService.revokeConsumerAuthorization(
+                    productRef.getGatewayId(), gwConsumerId, consumerAuthConfig);
+        }
+    }
+
+    @Override
+    public void onFailed(GatewayOutbox outbox) {
+        if (outbox.getOperation() != GatewayOutboxOperation.AUTHORIZE_CONSUMER) {
+            return;
+        }
+        // Surface the failure, the subscription can be approved again to retry
+        subscriptionRepository.compareAndSetStatus(
+                outbox.getSubscriptionId(), SubscriptionStatus.PENDING, SubscriptionStatus.FAILED);
+    }
+
+    private void enqueueAuthorization(ProductSubscription subscription, String gatewayId) {
+        gatewayOutboxService.enqueue(
+                GatewayOutbox.builder()
+                        .idempotencyKey(
+                                outboxKey(
+                                        GatewayOutboxOperation.AUTHORIZE_CONSUMER,
+                                        subscription.getSubscriptionId()))
+                        .operation(GatewayOutboxOperation.AUTHORIZE_CONSUMER)
+                        .consumerId(subscription.getConsumerId())
+                        .subscriptionId(subscription.getSubscriptionId())
+                        .gatewayId(gatewayId)
+                        .build());
+    }
+
+    private void enqueueRevocation(ProductSubscription subscription) {
+        if (subscription.getConsumerAuthConfig() == null) {
+            return;
+        }
+        ProductRefResult productRef = productService.getProductRef(subscription.getProductId());
+        if (productRef == null) {
+            return;
+        }
+        GatewayConfig gatewayConfig = gatewayService.getGatewayConfig(productRef.getGatewayId());
+        ConsumerRef consumerRef = matchConsumerRef(subscription.getConsumerId(), gatewayConfig);
+        if (consumerRef == null) {
+            return;
+        }
+
+        gatewayOutboxService.enqueue(
+                GatewayOutbox.builder()
+                        .idempotencyKey(
+                                outboxKey(
+                                        GatewayOutboxOperation.REVOKE_AUTHORIZATION,
+                                        subscription.getSubscriptionId()))
+                        .operation(GatewayOutboxOperation.REVOKE_AUTHORIZATION)
+                        .consumerId(subscription.getConsumerId())
+                        .subscriptionId(subscription.getSubscriptionId())
+                        .gatewayId(productRef.getGatewayId())
+                        .gwConsumerId(consumerRef.getGwConsumerId())
+                        .consumerAuthConfig(subscription.getConsumerAuthConfig())
+                        .build());
+    }
+
+    private String outboxKey(GatewayOutboxOperation operation, String... parts) {
+        return operation.name() + ":" + String.join(":", parts);
+    }
+
     private Consumer findConsumer(String consumerId) {
         return consumerRepository
                 .findByConsumerId(consumerId)
@@ -538,6 +829,9 @@ public class ConsumerServiceImpl implements ConsumerService {
             if (param.getStatus() != null) {
                 predicates.add(cb.equal(root.get("status"), param.getStatus()));
             }
+            if (param.getSubscriptionIds() != null && !param.getSubscriptionIds().isEmpty()) {
+                predicates.add(root.get("subscriptionId").in(param.getSubscriptionIds()));
+            }
             if (Strings.isNotBlank(param.getProductName())) {
                 Subquery<String> productSubquery = query.subquery(String.class);
                 Root<Product> productRoot = productSubquery.from(Product.class);
@@ -600,10 +894,8 @@ public class ConsumerServiceImpl implements ConsumerService {
         throw new BusinessException(ErrorCode.CONFLICT, "Unable to generate unique API Key");
     }
 
-    private ConsumerAuthConfig authorizeConsumer(
-            Consumer consumer, ConsumerCredential credential, ProductRefResult productRef) {
-        GatewayConfig gatewayConfig = gatewayService.getGatewayConfig(productRef.getGatewayId());
-
+    private String ensureGatewayConsumer(
+            Consumer consumer, ConsumerCredential credential, GatewayConfig gatewayConfig) {
         // Check if consumer exists in gateway
         ConsumerRef existingConsumerRef = matchConsumerRef(consumer.getConsumerId(), gatewayConfig);
         String gwConsumerId;
@@ -642,10 +934,7 @@ public class ConsumerServiceImpl implements ConsumerService {
                             .gatewayConfig(gatewayConfig)
                             .build());
         }
-
-        // Authorize consumer
-        return gatewayService.authorizeConsumer(
-                productRef.getGatewayId(), gwConsumerId, productRef);
+        return gwConsumerId;
     }
 
     private boolean isConsumerExistsInGateway(String gwConsumerId, GatewayConfig gatewayConfig) {
@@ -0,0 +1,299 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.impl;
+
+import com.alibaba.himarket.core.event.GatewayOutboxEnqueuedEvent;
+import com.alibaba.himarket.core.exception.BusinessException;
+import com.alibaba.himarket.core.exception.ErrorCode;
+import com.alibaba.himarket.entity.GatewayOutbox;
+import com.alibaba.himarket.repository.GatewayOutboxRepository;
+import com.alibaba.himarket.service.GatewayOutboxHandler;
+import com.alibaba.himarket.service.GatewayOutboxService;
+import com.alibaba.himarket.support.enums.GatewayOutboxOperation;
+import com.alibaba.himarket.support.enums.GatewayOutboxStatus;
+import jakarta.annotation.Resource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class GatewayOutboxServiceImpl implements GatewayOutboxService {
+
+    private static final int DISPATCH_BATCH_SIZE = 100;
+
+    private static final int MAX_ATTEMPTS = 10;
+
+    private static final int MAX_PARALLEL_PER_GATEWAY = 4;
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(5);
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+
+    /**
+     * Entries processing for longer than this are assumed abandoned by a stopped instance.
+     */
+    private static final Duration PROCESSING_TIMEOUT = Duration.ofMinutes(10);
+
+    private static final int MAX_ERROR_LENGTH = 512;
+
+    private final GatewayOutboxRepository outboxRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Lazy @Resource private List<GatewayOutboxHandler> handlers;
+
+    @Resource(name = "taskExecutor")
+    private Executor taskExecutor;
+
+    @Resource(name = "gatewayOutboxExecutor")
+    private Executor dispatchExecutor;
+
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+
+    private final AtomicBoolean dispatchRequested = new AtomicBoolean();
+
+    @Override
+    @Transactional
+    public void enqueue(GatewayOutbox outbox) {
+        GatewayOutbox existing =
+                outboxRepository.findByIdempotencyKey(outbox.getIdempotencyKey()).orElse(null);
+        if (existing != null) {
+            if (existing.getStatus() == GatewayOutboxStatus.PENDING
+                    || existing.getStatus() == GatewayOutboxStatus.PROCESSING) {
+                log.info(
+                        "Gateway outbox entry already queued, idempotencyKey={}",
+                        outbox.getIdempotencyKey());
+                return;
+            }
+            outbox.setId(existing.getId());
+            outbox.setCreateAt(existing.getCreateAt());
+        }
+
+        outbox.setStatus(GatewayOutboxStatus.PENDING);
+        outbox.setAttempts(0);
+        outbox.setNextAttemptAt(LocalDateTime.now());
+        outbox.setLastError(null);
+        outboxRepository.save(outbox);
+
+        eventPublisher.publishEvent(new GatewayOutboxEnqueuedEvent(outbox.getIdempotencyKey()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEnqueued(GatewayOutboxEnqueuedEvent event) {
+        taskExecutor.execute(this::dispatchPending);
+    }
+
+    @Override
+    public void dispatchPending() {
+        dispatchRequested.set(true);
+        if (!dispatching.compareAndSet(false, true)) {
+            // The running dispatcher sees the request and makes another pass
+            return;
+        }
+
+        try {
+            while (dispatchRequested.getAndSet(false)) {
+                outboxRepository.resetStaleStatus(
+                        GatewayOutboxStatus.PROCESSING,
+                        GatewayOutboxStatus.PENDING,
+                        LocalDateTime.now().minus(PROCESSING_TIMEOUT));
+
+                List<GatewayOutbox> due =
+                        outboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                                GatewayOutboxStatus.PENDING,
+                                LocalDateTime.now(),
+                                PageRequest.of(0, DISPATCH_BATCH_SIZE));
+                dispatchBySubscription(
+                        due.stream().filter(o -> o.getSubscriptionId() != null).toList());
+                // Consumer-level entries run after the subscription entries queued before them
+                join(
+                        startWorkers(
+                                due.stream()
+                                        .filter(o -> o.getSubscriptionId() == null)
+                                        .map(List::of)
+                                        .toList(),
+                                DISPATCH_BATCH_SIZE));
+
+                if (due.size() == DISPATCH_BATCH_SIZE) {
+                    dispatchRequested.set(true);
+                }
+            }
+        } finally {
+            dispatching.set(false);
+        }
+    }
+
+    /**
+     * Dispatches subscription entries grouped by gateway. Gateways proceed independently and each
+     * one is called by at most {@link #MAX_PARALLEL_PER_GATEWAY} workers at a time, so one consumer
+     * authorizing many products no longer waits for them one by one. Entries of one subscription
+     * still run in order.
+     */
+    private void dispatchBySubscription(List<GatewayOutbox> entries) {
+        Map<String, Map<String, List<GatewayOutbox>>> byGateway =
+                entries.stream()
+                        .collect(
+                                Collectors.groupingBy(
+                                        o -> Objects.toString(o.getGatewayId(), ""),
+                                        LinkedHashMap::new,
+                                        Collectors.groupingBy(
+                                                GatewayOutbox::getSubscriptionId,
+                                                LinkedHashMap::new,
+                                                Collectors.toList())));
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        byGateway
+                .values()
+                .forEach(
+                        lanes ->
+                                workers.addAll(
+                                        startWorkers(
+                                                new ArrayList<>(lanes.values()),
+                                                MAX_PARALLEL_PER_GATEWAY)));
+        join(workers);
+    }
+
+    /**
+     * Starts at most the given number of workers that take lanes from a shared queue, the entries
+     * of a lane run in order. Workers never wait on each other, so they cannot exhaust the pool.
+     */
+    private List<CompletableFuture<Void>> startWorkers(
+            List<List<GatewayOutbox>> lanes, int maxWorkers) {
+        Queue<List<GatewayOutbox>> queue = new ConcurrentLinkedQueue<>(lanes);
+        Runnable worker =
+                () -> {
+                    List<GatewayOutbox> lane;
+                    while ((lane = queue.poll()) != null) {
+                        lane.forEach(this::dispatch);
+                    }
+                };
+        return IntStream.range(0, Math.min(maxWorkers, lanes.size()))
+                .mapToObj(i -> CompletableFuture.runAsync(worker, dispatchExecutor))
+                .toList();
+    }
+
+    private void join(List<CompletableFuture<Void>> workers) {
+        CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void dispatch(GatewayOutbox outbox) {
+        // Claim the entry so that other instances skip it
+        if (outboxRepository.compareAndSetStatus(
+                        outbox.getId(), GatewayOutboxStatus.PENDING, GatewayOutboxStatus.PROCESSING)
+                == 0) {
+            return;
+        }
+
+        int attempts = outbox.getAttempts() + 1;
+        outbox.setAttempts(attempts);
+        try {
+            findHandler(outbox.getOperation()).handle(outbox);
+
+            outbox.setStatus(GatewayOutboxStatus.SUCCEEDED);
+            outbox.setLastError(null);
+            log.info(
+                    "Gateway outbox entry succeeded, idempotencyKey={}, attempts={}",
+                    outbox.getIdempotencyKey(),
+                    attempts);
+        } catch (Exception e) {
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            if (error.length() > MAX_ERROR_LENGTH) {
+                error = error.substring(0, MAX_ERROR_LENGTH);
+            }
+            outbox.setLastError(error);
+
+            if (attempts >= MAX_ATTEMPTS) {
+                outbox.setStatus(GatewayOutboxStatus.FAILED);
+                log.error(
+                        "Gateway outbox entry failed permanently, idempotencyKey={}, attempts={},"
+                                + " errorMessage={}",
+                        outbox.getIdempotencyKey(),
+                        attempts,
+                        e.getMessage(),
+                        e);
+            } else {
+                outbox.setStatus(GatewayOutboxStatus.PENDING);
+                outbox.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+                log.warn(
+                        "Gateway outbox entry failed and will be retried, idempotencyKey={},"
+                                + " attempts={}, nextAttemptAt={}, errorMessage={}",
+                        outbox.getIdempotencyKey(),
+                        attempts,
+                        outbox.getNextAttemptAt(),
+                        e.getMessage());
+            }
+        }
+        outboxRepository.save(outbox);
+
+        if (outbox.getStatus() == GatewayOutboxStatus.FAILED) {
+            notifyFailed(outbox);
+        }
+    }
+
+    private void notifyFailed(GatewayOutbox outbox) {
+        try {
+            findHandler(outbox.getOperation()).onFailed(outbox);
+        } catch (Exception e) {
+            log.error(
+                    "Failed to handle permanently failed gateway outbox entry, idempotencyKey={},"
+                            + " errorMessage={}",
+                    outbox.getIdempotencyKey(),
+                    e.getMessage(),
+                    e);
+        }
+    }
+
+    private GatewayOutboxHandler findHandler(GatewayOutboxOperation operation) {
+        return handlers.stream()
+                .filter(handler -> handler.supports(operation))
+                .findFirst()
+                .orElseThrow(
+                        () ->
+                                new BusinessException(
+                                        ErrorCode.INTERNAL_ERROR,
+                                        "No handler for gateway outbox operation: " + operation));
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = INITIAL_BACKOFF.multipliedBy(1L << Math.min(attempts - 1, 16));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+}
@@ -0,0 +1,461 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.impl;
+
+import com.alibaba.himarket.core.constant.Resources;
+import com.alibaba.himarket.core.exception.BusinessException;
+import com.alibaba.himarket.core.exception.ErrorCode;
+import com.alibaba.himarket.core.utils.HashUtils;
+import com.alibaba.himarket.dto.result.agent.AgentAPIResult;
+import com.alibaba.himarket.dto.result.common.PageResult;
+import com.alibaba.himarket.dto.result.gateway.GatewayResult;
+import com.alibaba.himarket.dto.result.httpapi.APIResult;
+import com.alibaba.himarket.dto.result.mcp.GatewayMcpServerResult;
+import com.alibaba.himarket.dto.result.model.AIGWModelAPIResult;
+import com.alibaba.himarket.dto.result.model.GatewayModelAPIResult;
+import com.alibaba.himarket.dto.result.model.HigressModelResult;
+import com.alibaba.himarket.entity.Gateway;
+import com.alibaba.himarket.entity.GatewayResource;
+import com.alibaba.himarket.repository.GatewayRepository;
+import com.alibaba.himarket.repository.GatewayResourceRepository;
+import com.alibaba.himarket.service.GatewayResourceService;
+import com.alibaba.himarket.service.gateway.GatewayCallGuard;
+import com.alibaba.himarket.service.gateway.GatewayOperator;
+import com.alibaba.himarket.support.common.Strings;
+import com.alibaba.himarket.support.enums.GatewayResourceType;
+import com.alibaba.himarket.support.enums.GatewayType;
+import com.alibaba.himarket.utils.JsonUtil;
+import jakarta.annotation.Resource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class GatewayResourceServiceImpl implements GatewayResourceService, ApplicationContextAware {
+
+    private static final int SYNC_PAGE_SIZE = 100;
+
+    /**
+     * Upper bound of remote pages fetched per resource type, guarding against gateways that
+     * never report an end of listing.
+     */
+    private static final int MAX_SYNC_PAGES = 1000;
+
+    private static final int MAX_KEY_LENGTH = 256;
+
+    private static final int MAX_MESSAGE_LENGTH = 512;
+
+    private static final Map<GatewayResourceType, Class<?>> RESULT_TYPES =
+            Map.of(
+                    GatewayResourceType.HTTP_API, APIResult.class,
+                    GatewayResourceType.REST_API, APIResult.class,
+                    GatewayResourceType.MCP_SERVER, GatewayMcpServerResult.class,
+                    GatewayResourceType.AGENT_API, AgentAPIResult.class,
+                    GatewayResourceType.MODEL_API, GatewayModelAPIResult.class);
+
+    private final GatewayRepository gatewayRepository;
+
+    private final GatewayResourceRepository gatewayResourceRepository;
+
+    private final GatewayCallGuard callGuard;
+
+    @Resource(name = "taskExecutor")
+    private Executor taskExecutor;
+
+    /**
+     * Gateways whose inventory is being synced on this node, so a manual refresh and the
+     * scheduled sync never page the same gateway concurrently.
+     */
+    private final Set<String> syncingGateways = ConcurrentHashMap.newKeySet();
+
+    private Map<GatewayType, GatewayOperator> gatewayOperators;
+
+    @Override
+    public <T> PageResult<T> listResources(
+            Gateway gateway, GatewayResourceType resourceType, String keyword, int page, int size) {
+        if (gateway.getResourceSyncedAt() == null) {
+            // Sync in the background and serve this page from the gateway until the inventory
+            // is ready
+            String gatewayId = gateway.getGatewayId();
+            if (!syncingGateways.contains(gatewayId)) {
+                taskExecutor.execute(() -> syncInBackground(gatewayId));
+            }
+            return listLiveResources(gateway, resourceType, keyword, page, size);
+        }
+
+        Pageable pageable =
+                PageRequest.of(Math.max(page - 1, 0), Math.max(size, 1), Sort.by("resourceName"));
+        Page<GatewayResource> resources =
+                Strings.isBlank(keyword)
+                        ? gatewayResourceRepository.findByGatewayIdAndResourceType(
+                                gateway.getGatewayId(), resourceType, pageable)
+                        : gatewayResourceRepository
+                                .findByGatewayIdAndResourceTypeAndResourceNameContainingIgnoreCase(
+                                        gateway.getGatewayId(),
+                                        resourceType,
+                                        keyword.trim(),
+                                        pageable);
+
+        return new PageResult<T>().convertFrom(resources, resource -> (T) restore(resource));
+    }
+
+    @Override
+    public GatewayResult syncResources(String gatewayId) {
+        syncResources(findGateway(gatewayId));
+        return new GatewayResult().convertFrom(findGateway(gatewayId));
+    }
+
+    @Override
+    public void syncAllResources() {
+        List<Gateway> gateways = gatewayRepository.findAll();
+        for (Gateway gateway : gateways) {
+            try {
+                syncResources(gateway);
+            } catch (Exception e) {
+                log.warn(
+                        "Failed to sync gateway resources, gatewayId={}, errorMessage={}",
+                        gateway.getGatewayId(),
+                        e.getMessage(),
+                        e);
+            }
+        }
+    }
+
+    @Override
+    public void deleteResources(String gatewayId) {
+        gatewayResourceRepository.deleteByGatewayId(gatewayId);
+    }
+
+    private void syncInBackground(String gatewayId) {
+        try {
+            syncResources(findGateway(gatewayId));
+        } catch (Exception e) {
+            log.warn(
+                    "Failed to sync gateway resources, gatewayId={}, errorMessage={}",
+                    gatewayId,
+                    e.getMessage(),
+                    e);
+        }
+    }
+
+    /**
+     * Lists one page directly from the gateway. The keyword only narrows the items of that page.
+     */
+    private <T> PageResult<T> listLiveResources(
+            Gateway gateway, GatewayResourceType resourceType, String keyword, int page, int size) {
+        GatewayOperator operator = gatewayOperators.get(gateway.getGatewayType());
+        if (operator == null) {
+            throw new BusinessException(
+                    ErrorCode.INTERNAL_ERROR,
+                    String.format(
+                            "No gateway operator found for gateway type: %s",
+                            gateway.getGatewayType()));
+        }
+
+        PageResult<T> result =
+                (PageResult<T>) fetchPage(gateway, operator, resourceType, page, Math.max(size, 1));
+        if (result == null) {
+            return PageResult.empty(page, size);
+        }
+        if (Strings.isNotBlank(keyword) && result.getContent() != null) {
+            String lowerKeyword = keyword.trim().toLowerCase();
+            result.setContent(
+                    result.getContent().stream()
+                            .filter(
+                                    item -> {
+                                        String name = resolveResourceName(item);
+                                        return name != null
+                                                && name.toLowerCase().contains(lowerKeyword);
+                                    })
+                            .toList());
+        }
+        return result;
+    }
+
+    private void syncResources(Gateway gateway) {
+        String gatewayId = gateway.getGatewayId();
+        if (!syncingGateways.add(gatewayId)) {
+            log.info("Gateway resource sync already running, gatewayId={}", gatewayId);
+            return;
+        }
+
+        try {
+            GatewayOperator operator = gatewayOperators.get(gateway.getGatewayType());
+            if (operator == null) {
+                throw new BusinessException(
+                        ErrorCode.INTERNAL_ERROR,
+                        String.format(
+                                "No gateway operator found for gateway type: %s",
+                                gateway.getGatewayType()));
+            }
+
+            List<String> failures = new ArrayList<>();
+            int succeeded = 0;
+            for (GatewayResourceType resourceType : GatewayResourceType.values()) {
+                try {
+                    syncResourceType(gateway, operator, resourceType);
+                    succeeded++;
+                } catch (UnsupportedOperationException e) {
+                    // The gateway type does not expose this resource type.
+                } catch (Exception e) {
+                    failures.add(resourceType + ": " + e.getMessage());
+                    log.warn(
+                            "Failed to sync gateway resources, gatewayId={}, resourceType={},"
+                                    + " errorMessage={}",
+                            gatewayId,
+                            resourceType,
+                            e.getMessage(),
+                            e);
+                }
+            }
+
+            String message = failures.isEmpty() ? null : String.join("; ", failures);
+            if (message != null && message.length() > MAX_MESSAGE_LENGTH) {
+                message = message.substring(0, MAX_MESSAGE_LENGTH);
+            }
+            // Keep the last successful sync time when no resource type could be synced
+            LocalDateTime syncedAt =
+                    succeeded > 0 || failures.isEmpty()
+                            ? LocalDateTime.now()
+                            : gateway.getResourceSyncedAt();
+            gatewayRepository.updateResourceSyncState(gatewayId, syncedAt, message);
+            gateway.setResourceSyncedAt(syncedAt);
+            gateway.setResourceSyncMessage(message);
+        } finally {
+            syncingGateways.remove(gatewayId);
+        }
+    }
+
+    private void syncResourceType(
+            Gateway gateway, GatewayOperator operator, GatewayResourceType resourceType) {
+        List<Object> items = fetchAllResources(gateway, operator, resourceType);
+
+        Map<String, GatewayResource> existing =
+                gatewayResourceRepository
+                        .findByGatewayIdAndResourceType(gateway.getGatewayId(), resourceType)
+                        .stream()
+                        .collect(
+                                Collectors.toMap(
+                                        GatewayResource::getResourceKey,
+                                        Function.identity(),
+                                        (first, second) -> first,
+                                        HashMap::new));
+
+        Set<String> seenKeys = new HashSet<>();
+        List<GatewayResource> changed = new ArrayList<>();
+        int created = 0;
+        for (Object item : items) {
+            String content = JsonUtil.toJson(item);
+            String contentHash = HashUtils.sha256Hex(content);
+            String resourceKey = resolveResourceKey(item);
+            if (Strings.isBlank(resourceKey) || resourceKey.length() > MAX_KEY_LENGTH) {
+                resourceKey = contentHash;
+            }
+            if (!seenKeys.add(resourceKey)) {
+                continue;
+            }
+
+            GatewayResource resource = existing.get(resourceKey);
+            if (resource == null) {
+                resource =
+                        GatewayResource.builder()
+                                .gatewayId(gateway.getGatewayId())
+                                .resourceType(resourceType)
+                                .resourceKey(resourceKey)
+                                .build();
+                created++;
+            } else if (contentHash.equals(resource.getContentHash())) {
+                continue;
+            }
+
+            resource.setResourceName(resolveResourceName(item));
+            resource.setResultClass(item.getClass().getName());
+            resource.setContent(content);
+            resource.setContentHash(contentHash);
+            changed.add(resource);
+        }
+
+        List<GatewayResource> removed = new ArrayList<>();
+        for (GatewayResource resource : existing.values()) {
+            if (!seenKeys.contains(resource.getResourceKey())) {
+                removed.add(resource);
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            gatewayResourceRepository.saveAll(changed);
+        }
+        if (!removed.isEmpty()) {
+            gatewayResourceRepository.deleteAllInBatch(removed);
+        }
+
+        if (!changed.isEmpty() || !removed.isEmpty()) {
+            log.info(
+                    "Synced gateway resources, gatewayId={}, resourceType={}, total={},"
+                            + " created={}, updated={}, removed={}",
+                    gateway.getGatewayId(),
+                    resourceType,
+                    seenKeys.size(),
+                    created,
+                    changed.size() - created,
+                    removed.size());
+        }
+    }
+
+    private List<Object> fetchAllResources(
+            Gateway gateway, GatewayOperator operator, GatewayResourceType resourceType) {
+        List<Object> items = new ArrayList<>();
+        for (int page = 1; page <= MAX_SYNC_PAGES; page++) {
+            PageResult<?> result = fetchPage(gateway, operator, resourceType, page, SYNC_PAGE_SIZE);
+            if (result == null || CollectionUtils.isEmpty(result.getContent())) {
+                break;
+            }
+
+            items.addAll(result.getContent());
+            if (result.getContent().size() < SYNC_PAGE_SIZE
+                    || (result.getTotalElements() > 0
+                            && items.size() >= result.getTotalElements())) {
+                break;
+            }
+        }
+        return items;
+    }
+
+    private PageResult<?> fetchPage(
+            Gateway gateway,
+            GatewayOperator operator,
+            GatewayResourceType resourceType,
+            int page,
+            int size) {
+        return callGuard.call(
+                gateway.getGatewayId(),
+                () ->
+                        switch (resourceType) {
+                            case HTTP_API -> operator.fetchHTTPAPIs(gateway, page, size);
+                            case REST_API -> operator.fetchRESTAPIs(gateway, page, size);
+                            case MCP_SERVER -> operator.fetchMcpServers(gateway, page, size);
+                            case AGENT_API -> operator.fetchAgentAPIs(gateway, page, size);
+                            case MODEL_API -> operator.fetchModelAPIs(gateway, page, size);
+                        });
+    }
+
+    private String resolveResourceKey(Object item) {
+        if (item instanceof APIResult api) {
+            return api.getApiId();
+        }
+        if (item instanceof GatewayMcpServerResult mcpServer) {
+            return mcpServer.getMcpServerName();
+        }
+        if (item instanceof AgentAPIResult agentApi) {
+            return agentApi.getAgentApiId();
+        }
+        if (item instanceof AIGWModelAPIResult modelApi) {
+            return modelApi.getModelApiId();
+        }
+        if (item instanceof HigressModelResult modelRoute) {
+            return modelRoute.getModelRouteName();
+        }
+        return null;
+    }
+
+    private String resolveResourceName(Object item) {
+        if (item instanceof APIResult api) {
+            return api.getApiName();
+        }
+        if (item instanceof GatewayMcpServerResult mcpServer) {
+            return mcpServer.getMcpServerName();
+        }
+        if (item instanceof AgentAPIResult agentApi) {
+            return agentApi.getAgentApiName();
+        }
+        if (item instanceof AIGWModelAPIResult modelApi) {
+            return modelApi.getModelApiName();
+        }
+        if (item instanceof HigressModelResult modelRoute) {
+            return modelRoute.getModelRouteName();
+        }
+        return null;
+    }
+
+    private Object restore(GatewayResource resource) {
+        Class<?> baseType = RESULT_TYPES.get(resource.getResourceType());
+        try {
+            Class<?> resultType = Class.forName(resource.getResultClass());
+            if (!baseType.isAssignableFrom(resultType)) {
+                throw new IllegalStateException(
+                        "Unexpected result class: " + resource.getResultClass());
+            }
+            return JsonUtil.parse(resource.getContent(), resultType);
+        } catch (ClassNotFoundException | IllegalStateException e) {
+            log.warn(
+                    "Failed to restore gateway resource, gatewayId={}, resourceKey={},"
+                            + " errorMessage={}",
+                    resource.getGatewayId(),
+                    resource.getResourceKey(),
+                    e.getMessage());
+            return JsonUtil.parse(resource.getContent(), baseType);
+        }
+    }
+
+    private Gateway findGateway(String gatewayId) {
+        return gatewayRepository
+                .findByGatewayId(gatewayId)
+                .orElseThrow(
+                        () ->
+                                new BusinessException(
+                                        ErrorCode.NOT_FOUND, Resources.GATEWAY, gatewayId));
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        Map<String, GatewayOperator> operators =
+                applicationContext.getBeansOfType(GatewayOperator.class);
+
+        gatewayOperators =
+                operators.values().stream()
+                        .collect(
+                                Collectors.toMap(
+                                        operator -> operator.getGatewayType(),
+                                        operator -> operator,
+                                        (existing, replacement) -> existing));
+    }
+}
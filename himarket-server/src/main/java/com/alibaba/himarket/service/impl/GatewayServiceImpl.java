@@ -44,11 +44,14 @@ import com.alibaba.himarket.entity.Gateway;
 import com.alibaba.himarket.entity.ProductRef;
 import com.alibaba.himarket.repository.GatewayRepository;
 import com.alibaba.himarket.repository.ProductRefRepository;
+import com.alibaba.himarket.service.GatewayResourceService;
 import com.alibaba.himarket.service.GatewayService;
+import com.alibaba.himarket.service.gateway.GatewayCallGuard;
 import com.alibaba.himarket.service.gateway.GatewayOperator;
 import com.alibaba.himarket.support.common.Strings;
 import com.alibaba.himarket.support.consumer.ConsumerAuthConfig;
 import com.alibaba.himarket.support.enums.APIGAPIType;
+import com.alibaba.himarket.support.enums.GatewayResourceType;
 import com.alibaba.himarket.support.enums.GatewayType;
 import com.alibaba.himarket.support.enums.ProductType;
 import com.alibaba.himarket.support.gateway.GatewayConfig;
@@ -77,6 +80,8 @@ public class GatewayServiceImpl implements GatewayService, ApplicationContextAwa
 
     private final GatewayRepository gatewayRepository;
     private final ProductRefRepository productRefRepository;
+    private final GatewayResourceService gatewayResourceService;
+    private final GatewayCallGuard callGuard;
 
     private Map<GatewayType, GatewayOperator> gatewayOperators;
 
@@ -147,6 +152,8 @@ public class GatewayServiceImpl implements GatewayService, ApplicationContextAwa
         }
 
         param.update(gateway);
+        // Connection settings may have changed, so resync the inventory on the next listing.
+        gateway.setResourceSyncedAt(null);
         gatewayRepository.saveAndFlush(gateway);
     }
 
@@ -154,7 +161,9 @@ public class GatewayServiceImpl implements GatewayService, ApplicationContextAwa
     public GatewayResult getGateway(String gatewayId) {
         Gateway gateway = findGateway(gatewayId);
 
-        return new GatewayResult().convertFrom(gateway);
+        GatewayResult result = new GatewayResult().convertFrom(gateway);
+        result.setCircuitState(callGuard.getCircuitState(gatewayId));
+        return result;
     }
 
     @Override
@@ -162,7 +171,14 @@ public class GatewayServiceImpl implements GatewayService, ApplicationContextAwa
         Page<Gateway> gateways = gatewayRepository.findAll(buildGatewaySpec(param), pageable);
 
         return new PageResult<GatewayResult>()
-                .convertFrom(gateways, gateway -> new GatewayResult().convertFrom(gateway));
+                .convertFrom(
+                        gateways,
+                        gateway -> {
+                            GatewayResult result = new GatewayResult().convertFrom(gateway);
+                            result.setCircuitState(
+                                    callGuard.getCircuitState(gateway.getGatewayId()));
+                            return result;
+                        });
     }
 
     @Override
@@ -175,6 +191,7 @@ public class GatewayServiceImpl implements GatewayService, ApplicationContextAwa
         }
 
         gatewayRepository.delete(gateway);
+        gatewayResourceService.deleteResources(gatewayId);
     }
 
     @Override
@@ -185,10 +202,10 @@ public class GatewayServiceImpl implements GatewayService, ApplicationContextAwa
         if (gatewayType.isAPIG()) {
             APIGAPIType type = parseAPIGAPIType(apiType);
             if (type == APIGAPIType.REST) {
-                return fetchRESTAPIs(gatewayId, page, size);
+                return fetchRESTAPIs(gatewayId, null, page, size);
             }
             if (type == APIGAPIType.HTTP) {
-                return fetchHTTPAPIs(gatewayId, page, size);
+                return fetchHTTPAPIs(gatewayId, null, page, size);
             }
         }
 
@@ -203,15 +220,19 @@ public class GatewayServiceImpl implements GatewayService, ApplicationContextAwa
     }
 
     @Override
-    public PageResult<APIResult> fetchHTTPAPIs(String gatewayId, int page, int size) {
+    public PageResult<APIResult> fetchHTTPAPIs(
+            String gatewayId, String keyword, int page, int size) {
         Gateway gateway = findGateway(gatewayId);
-        return getOperator(gateway).fetchHTTPAPIs(gateway, page, size);
+        return gatewayResourceService.listResources(
+                gateway, GatewayResourceType.HTTP_API, keyword, page, size);
     }
 
     @Override
-    public PageResult<APIResult> fetchRESTAPIs(String gatewayId, int page, int size) {
+    public PageResult<APIResult> fetchRESTAPIs(
+            String gatewayId, String keyword, int page, int size) {
         Gateway gateway = findGateway(gatewayId);
-        return getOperator(gateway).fetchRESTAPIs(gateway, page, size);
+        return gatewayResourceService.listResources(
+                gateway, GatewayResourceType.REST_API, keyword, page, size);
     }
 
     @Override
@@ -221,84 +242,113 @@ public class GatewayServiceImpl implements GatewayService, ApplicationContextAwa
 
     @Override
     public PageResult<GatewayMcpServerResult> fetchMcpServers(
-            String gatewayId, int page, int size) {
+            String gatewayId, String keyword, int page, int size) {
         Gateway gateway = findGateway(gatewayId);
-        return getOperator(gateway).fetchMcpServers(gateway, page, size);
+        return gatewayResourceService.listResources(
+                gateway, GatewayResourceType.MCP_SERVER, keyword, page, size);
     }
 
     @Override
     public GatewayMcpServerResult fetchMcpServer(String gatewayId, String mcpServerId) {
         Gateway gateway = findGateway(gatewayId);
-        return getOperator(gateway).fetchMcpServer(gateway, mcpServerId);
+        return callGuard.call(
+                gateway.getGatewayId(),
+                () -> getOperator(gateway).fetchMcpServer(gateway, mcpServerId));
     }
 
     @Override
-    public PageResult<AgentAPIResult> fetchAgentAPIs(String gatewayId, int page, int size) {
+    public PageResult<AgentAPIResult> fetchAgentAPIs(
+            String gatewayId, String keyword, int page, int size) {
         Gateway gateway = findGateway(gatewayId);
-        return getOperator(gateway).fetchAgentAPIs(gateway, page, size);
+        return gatewayResourceService.listResources(
+                gateway, GatewayResourceType.AGENT_API, keyword, page, size);
     }
 
     @Override
-    public PageResult<GatewayModelAPIResult> fetchModelAPIs(String gatewayId, int page, int size) {
+    public PageResult<GatewayModelAPIResult> fetchModelAPIs(
+            String gatewayId, String keyword, int page, int size) {
         Gateway gateway = findGateway(gatewayId);
-        return getOperator(gateway).fetchModelAPIs(gateway, page, size);
+        return gatewayResourceService.listResources(
+                gateway, GatewayResourceType.MODEL_API, keyword, page, size);
     }
 
     @Override
     public String fetchAPIConfig(String gatewayId, Object config) {
         Gateway gateway = findGateway(gatewayId);
-        return getOperator(gateway).fetchAPIConfig(gateway, config);
+        return callGuard.call(
+                gateway.getGatewayId(), () -> getOperator(gateway).fetchAPIConfig(gateway, config));
     }
 
     @Override
     public String fetchMcpConfig(String gatewayId, Object conf) {
         Gateway gateway = findGateway(gatewayId);
-        return getOperator(gateway).fetchMcpConfig(gateway, conf);
+        return callGuard.call(
+                gateway.getGatewayId(), () -> getOperator(gateway).fetchMcpConfig(gateway, conf));
     }
 
     @Override
     public CredentialContext fetchApiCredential(
             String gatewayId, ProductType productType, ProductRef productRef) {
         Gateway gateway = findGateway(gatewayId);
-        return getOperator(gateway).fetchApiCredential(gateway, productType, productRef);
+        return callGuard.call(
+                gateway.getGatewayId(),
+                () -> getOperator(gateway).fetchApiCredential(gateway, productType, productRef));
     }
 
     @Override
     public String fetchAgentConfig(String gatewayId, Object conf) {
         Gateway gateway = findGateway(gatewayId);
-        return getOperator(gateway).fetchAgentConfig(gateway, conf);
+        return callGuard.call(
+                gateway.getGatewayId(), () -> getOperator(gateway).fetchAgentConfig(gateway, conf));
     }
 
     @Override
     public String fetchModelConfig(String gatewayId, Object conf) {
         Gateway gateway = findGateway(gatewayId);
-        return getOperator(gateway).fetchModelConfig(gateway, conf);
+        return callGuard.call(
+                gateway.getGatewayId(), () -> getOperator(gateway).fetchModelConfig(gateway, conf));
     }
 
     @Override
     public String createConsumer(
             Consumer consumer, ConsumerCredential credential, GatewayConfig config) {
-        return gatewayOperators
-                .get(config.getGatewayType())
-                .createConsumer(consumer, credential, config);
+        return callGuard.call(
+                GatewayCallGuard.keyOf(config),
+                () ->
+                        gatewayOperators
+                                .get(config.getGatewayType())
+                                .createConsumer(consumer, credential, config));
     }
 
     @Override
     public void updateConsumer(
             String gwConsumerId, ConsumerCredential credential, GatewayConfig config) {
-        gatewayOperators
-                .get(config.getGatewayType())
-                .updateConsumer(gwConsumerId, credential, config);
+        callGuard.run(
+                GatewayCallGuard.keyOf(config),
+                () ->
+                        gatewayOperators
+                                .get(config.getGatewayType())
+                                .updateConsumer(gwConsumerId, credential, config));
     }
 
     @Override
     public void deleteConsumer(String gwConsumerId, GatewayConfig config) {
-        gatewayOperators.get(config.getGatewayType()).deleteConsumer(gwConsumerId, config);
+        callGuard.run(
+                GatewayCallGuard.keyOf(config),
+                () ->
+                        gatewayOperators
+                                .get(config.getGatewayType())
+                                .deleteConsumer(gwConsumerId, config));
     }
 
     @Override
     public boolean isConsumerExists(String gwConsumerId, GatewayConfig config) {
-        return gatewayOperators.get(config.getGatewayType()).isConsumerExists(gwConsumerId, config);
+        return callGuard.call(
+                GatewayCallGuard.keyOf(config),
+                () ->
+                        gatewayOperators
+                                .get(config.getGatewayType())
+                                .isConsumerExists(gwConsumerId, config));
     }
 
     @Override
@@ -315,7 +365,9 @@ public class GatewayServiceImpl implements GatewayService, ApplicationContextAwa
         } else {
             refConfig = productRef.getApigRefConfig();
         }
-        return getOperator(gateway).authorizeConsumer(gateway, gwConsumerId, refConfig);
+        return callGuard.call(
+                gateway.getGatewayId(),
+                () -> getOperator(gateway).authorizeConsumer(gateway, gwConsumerId, refConfig));
     }
 
     @Override
@@ -323,7 +375,11 @@ public class GatewayServiceImpl implements GatewayService, ApplicationContextAwa
             String gatewayId, String gwConsumerId, ConsumerAuthConfig config) {
         Gateway gateway = findGateway(gatewayId);
 
-        getOperator(gateway).revokeConsumerAuthorization(gateway, gwConsumerId, config);
+        callGuard.run(
+                gatewayId,
+                () ->
+                        getOperator(gateway)
+                                .revokeConsumerAuthorization(gateway, gwConsumerId, config));
     }
 
     @Override
@@ -378,7 +434,10 @@ public class GatewayServiceImpl implements GatewayService, ApplicationContextAwa
     @Override
     public List<URI> fetchGatewayUris(String gatewayId) {
         Gateway gateway = findGateway(gatewayId);
-        List<URI> gatewayUris = new ArrayList<URI>(getOperator(gateway).fetchGatewayUris(gateway));
+        List<URI> gatewayUris =
+                new ArrayList<URI>(
+                        callGuard.call(
+                                gatewayId, () -> getOperator(gateway).fetchGatewayUris(gateway)));
 
         // Shuffle the list
         Collections.shuffle(gatewayUris);
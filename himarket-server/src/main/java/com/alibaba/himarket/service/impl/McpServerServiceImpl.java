@@ -320,32 +320,32 @@ public class McpServerServiceImpl implements McpServerService {
     @Override
     public PageResult<McpMetaResult> listPublishedMetaByOrigin(String origin, Pageable pageable) {
         return listPublishedMetaInternal(
-                pageable, ids -> metaRepository.findByProductIdInAndOrigin(ids, origin, pageable));
+                metaRepository.findByProductTypeAndStatusAndOrigin(
+                        com.alibaba.himarket.support.enums.ProductType.MCP_SERVER,
+                        ProductStatus.PUBLISHED,
+                        origin,
+                        pageable));
     }
 
     @Override
     public PageResult<McpMetaResult> listAllPublishedMeta(Pageable pageable) {
         return listPublishedMetaInternal(
-                pageable, ids -> metaRepository.findByProductIdIn(ids, pageable));
-    }
-
-    private PageResult<McpMetaResult> listPublishedMetaInternal(
-            Pageable pageable,
-            java.util.function.Function<List<String>, Page<McpServerMeta>> queryFn) {
-        List<String> publishedProductIds =
-                productRepository.findProductIdsByTypeAndStatus(
+                metaRepository.findByProductTypeAndStatus(
                         com.alibaba.himarket.support.enums.ProductType.MCP_SERVER,
-                        ProductStatus.PUBLISHED);
-        if (publishedProductIds.isEmpty()) {
-            return PageResult.of(
-                    List.of(), pageable.getPageNumber() + 1, pageable.getPageSize(), 0);
-        }
+                        ProductStatus.PUBLISHED,
+                        pageable));
+    }
 
-        Page<McpServerMeta> metaPage = queryFn.apply(publishedProductIds);
+    private PageResult<McpMetaResult> listPublishedMetaInternal(Page<McpServerMeta> metaPage) {
         if (metaPage.isEmpty()) {
-            return PageResult.of(List.of(), metaPage.getNumber() + 1, metaPage.getSize(), 0);
+            return PageResult.of(
+                    List.of(),
+                    metaPage.getNumber() + 1,
+                    metaPage.getSize(),
+                    metaPage.getTotalElements());
         }
 
+        // Only the products of the current page are loaded
         List<String> pageProductIds =
                 metaPage.getContent().stream().map(McpServerMeta::getProductId).distinct().toList();
         Map<String, Product> productMap =
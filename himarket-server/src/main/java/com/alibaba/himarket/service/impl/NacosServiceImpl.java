@@ -41,6 +41,7 @@ import com.alibaba.himarket.dto.result.nacos.NacosSkillResult;
 import com.alibaba.himarket.entity.NacosInstance;
 import com.alibaba.himarket.repository.NacosInstanceRepository;
 import com.alibaba.himarket.service.NacosService;
+import com.alibaba.himarket.service.nacos.AiMaintainerClientPool;
 import com.alibaba.himarket.support.common.Strings;
 import com.alibaba.himarket.support.enums.SourceType;
 import com.alibaba.himarket.support.product.NacosRefConfig;
@@ -71,7 +72,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
-import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -93,8 +93,7 @@ public class NacosServiceImpl implements NacosService {
 
     private final NacosAgentConverter nacosAgentConverter;
 
-    // Cache AiMaintainerService instances by connection properties.
-    private final Map<String, AiMaintainerService> aiServiceCache = new ConcurrentHashMap<>();
+    private final AiMaintainerClientPool aiMaintainerClientPool;
 
     @PostConstruct
     void initNacosClientTimeout() {
@@ -177,8 +176,13 @@ public class NacosServiceImpl implements NacosService {
                             });
         }
 
+        String fingerprint = buildConfigFingerprint(instance);
         param.update(instance);
         nacosInstanceRepository.saveAndFlush(instance);
+        // Close the pooled client right away when its connection config changed.
+        if (!fingerprint.equals(buildConfigFingerprint(instance))) {
+            aiMaintainerClientPool.invalidate(nacosId);
+        }
     }
 
     @Override
@@ -189,9 +193,8 @@ public class NacosServiceImpl implements NacosService {
                     ErrorCode.INVALID_PARAMETER,
                     "Default Nacos instance cannot be deleted. Switch the default instance first.");
         }
-        // Evict cached services for the deleted instance.
-        String cacheKey = buildCacheKey(nacosInstance);
-        aiServiceCache.remove(cacheKey);
+        // Close the pooled client of the deleted instance.
+        aiMaintainerClientPool.invalidate(nacosId);
         nacosInstanceRepository.delete(nacosInstance);
     }
 
@@ -547,18 +550,17 @@ public class NacosServiceImpl implements NacosService {
     }
 
     private AiMaintainerService buildDynamicAiService(NacosInstance nacosInstance) {
-        String cacheKey = buildCacheKey(nacosInstance);
-        AiMaintainerService cachedService = aiServiceCache.get(cacheKey);
-        if (cachedService != null) {
-            return cachedService;
-        }
+        return aiMaintainerClientPool.acquire(
+                nacosInstance.getNacosId(),
+                buildConfigFingerprint(nacosInstance),
+                () -> createAiService(nacosInstance));
+    }
 
+    private AiMaintainerService createAiService(NacosInstance nacosInstance) {
         Properties properties = buildMaintainerProperties(nacosInstance);
 
         try {
-            AiMaintainerService service = AiMaintainerFactory.createAiMaintainerService(properties);
-            aiServiceCache.put(cacheKey, service);
-            return service;
+            return AiMaintainerFactory.createAiMaintainerService(properties);
         } catch (Exception e) {
             log.error(
                     "Failed to initialize Nacos AI maintainer service, dependency=Nacos,"
@@ -593,12 +595,12 @@ public class NacosServiceImpl implements NacosService {
     }
 
     /**
-     * Builds a cache key from the connection-sensitive Nacos instance properties.
+     * Builds a fingerprint of the connection-sensitive Nacos instance properties.
      *
      * @param nacosInstance Nacos instance
-     * @return cache key
+     * @return config fingerprint
      */
-    private String buildCacheKey(NacosInstance nacosInstance) {
+    private String buildConfigFingerprint(NacosInstance nacosInstance) {
         StringBuilder keyBuilder = new StringBuilder();
         keyBuilder.append(nacosInstance.getServerUrl());
 
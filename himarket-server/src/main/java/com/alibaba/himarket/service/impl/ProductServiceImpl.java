@@ -21,6 +21,7 @@ package com.alibaba.himarket.service.impl;
 
 import com.alibaba.himarket.core.constant.Resources;
 import com.alibaba.himarket.core.event.PortalDeletingEvent;
+import com.alibaba.himarket.core.event.ProductConfigChangedEvent;
 import com.alibaba.himarket.core.event.ProductConfigReloadEvent;
 import com.alibaba.himarket.core.event.ProductDeletingEvent;
 import com.alibaba.himarket.core.exception.BusinessException;
@@ -584,6 +585,7 @@ public class ProductServiceImpl implements ProductService {
         productRefRepository.delete(productRef);
         productRepository.save(product);
         productSyncCache.invalidate(productId);
+        eventPublisher.publishEvent(new ProductConfigChangedEvent(productId));
     }
 
     @EventListener
@@ -873,6 +875,8 @@ public class ProductServiceImpl implements ProductService {
                                     product.getType()));
             }
         }
+
+        eventPublisher.publishEvent(new ProductConfigChangedEvent(product.getProductId()));
     }
 
     private void syncMcpTools(Product product, ProductRef productRef) {
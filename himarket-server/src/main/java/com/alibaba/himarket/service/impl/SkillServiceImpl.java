@@ -5,7 +5,13 @@ import com.alibaba.himarket.core.exception.BusinessException;
 import com.alibaba.himarket.core.exception.ErrorCode;
 import com.alibaba.himarket.core.security.ContextHolder;
 import com.alibaba.himarket.core.skill.FileTreeBuilder;
+import com.alibaba.himarket.core.skill.PackageArchive;
+import com.alibaba.himarket.core.skill.PackageContent;
+import com.alibaba.himarket.core.skill.PackageContentCache;
+import com.alibaba.himarket.core.skill.PackageDownloadCounter;
+import com.alibaba.himarket.core.skill.PackageZipCache;
 import com.alibaba.himarket.core.skill.SkillMdBuilder;
+import com.alibaba.himarket.core.skill.VersionListCache;
 import com.alibaba.himarket.core.utils.IdGenerator;
 import com.alibaba.himarket.dto.converter.OutputConverter;
 import com.alibaba.himarket.dto.result.cli.CliDownloadInfo;
@@ -34,16 +40,21 @@ import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.model.Page;
 import com.alibaba.nacos.maintainer.client.ai.AiMaintainerService;
 import com.alibaba.nacos.maintainer.client.ai.SkillMaintainerService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import lombok.AllArgsConstructor;
@@ -51,8 +62,11 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -64,23 +78,32 @@ public class SkillServiceImpl implements SkillService {
 
     private static final long MAX_ZIP_SIZE = 10 * 1024 * 1024;
 
+    private static final int IMPORT_PAGE_SIZE = 100;
+
     private final NacosService nacosService;
 
     private final ProductRepository productRepository;
     private final ContextHolder contextHolder;
     private final AiRegistrySkillService aiRegistrySkillService;
+    private final PackageContentCache packageContentCache;
+    private final PackageZipCache packageZipCache;
+    private final PackageDownloadCounter packageDownloadCounter;
+    private final VersionListCache versionListCache;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public void uploadPackage(String productId, MultipartFile file) throws IOException {
-        if (file.isEmpty() || file.getSize() > MAX_ZIP_SIZE) {
-            throw new BusinessException(
-                    ErrorCode.INVALID_PARAMETER, "ZIP file cannot be empty or exceed 10MB");
-        }
-
         Product product = findProduct(productId);
-        byte[] zipBytes = file.getBytes();
-
         SkillConfig config = resolveSkillConfig(product);
+        try (PackageArchive archive = PackageArchive.spool(file, MAX_ZIP_SIZE)) {
+            uploadPackage(product, config, archive, file.getOriginalFilename());
+        }
+    }
+
+    private void uploadPackage(
+            Product product, SkillConfig config, PackageArchive archive, String fileName)
+            throws IOException {
+        String productId = product.getProductId();
         if (config.getRegistryType() == SkillRegistryType.AIREGISTRY) {
             if (Strings.isBlank(config.getAiRegistryId())
                     || Strings.isBlank(config.getNamespace())) {
@@ -91,9 +114,10 @@ public class SkillServiceImpl implements SkillService {
                     aiRegistrySkillService.uploadFromZip(
                             config.getAiRegistryId(),
                             config.getNamespace(),
-                            zipBytes,
-                            file.getOriginalFilename(),
+                            archive.getPath(),
+                            fileName,
                             true);
+            invalidatePackageCaches(productId);
             if (Strings.isBlank(config.getSkillName())) {
                 config.setSkillName(skillName);
             }
@@ -102,6 +126,8 @@ public class SkillServiceImpl implements SkillService {
         }
 
         SkillRef ref = getSkillRef(productId, true);
+        // The Nacos SDK only accepts the package as bytes
+        byte[] zipBytes = archive.readAllBytes();
 
         if (Strings.isBlank(ref.getSkillName())) {
             // First upload: use overwrite mode in case Nacos already has a skill with the same name
@@ -118,6 +144,7 @@ public class SkillServiceImpl implements SkillService {
                     s -> s.uploadSkillFromZip(ref.getNamespace(), zipBytes, true));
             log.info("Uploaded Skill draft with overwrite, skillName={}", ref.getSkillName());
         }
+        invalidatePackageCaches(productId);
 
         productRepository.save(product);
     }
@@ -138,6 +165,7 @@ public class SkillServiceImpl implements SkillService {
             if (Strings.isNotBlank(config.getSkillName())) {
                 aiRegistrySkillService.deleteSkill(
                         config.getAiRegistryId(), config.getNamespace(), config.getSkillName());
+                invalidatePackageCaches(productId);
                 config.setSkillName(null);
                 productRepository.save(product);
             }
@@ -155,6 +183,7 @@ public class SkillServiceImpl implements SkillService {
                     s.deleteSkill(ref.getNamespace(), ref.getSkillName());
                     return null;
                 });
+        invalidatePackageCaches(productId);
 
         config.setSkillName(null);
 
@@ -170,13 +199,7 @@ public class SkillServiceImpl implements SkillService {
                 return Collections.emptyList();
             }
             version = validateAndResolveVersion(productId, version);
-            Skill skill =
-                    aiRegistrySkillService.getSkillVersion(
-                            config.getAiRegistryId(),
-                            config.getNamespace(),
-                            config.getSkillName(),
-                            version);
-            return FileTreeBuilder.build(skill);
+            return loadSkillContent(productId, config, version).getFileTree();
         }
 
         SkillRef ref = getSkillRef(productId, false);
@@ -187,8 +210,7 @@ public class SkillServiceImpl implements SkillService {
         version = validateAndResolveVersion(productId, version);
 
         try {
-            Skill skill = fetchSkill(ref, version);
-            return FileTreeBuilder.build(skill);
+            return loadSkillContent(productId, ref, version).getFileTree();
         } catch (Exception e) {
             log.warn(
                     "Failed to fetch file tree for Skill, skillName={}, errorMessage={}",
@@ -205,32 +227,81 @@ public class SkillServiceImpl implements SkillService {
 
         Product product = findProduct(productId);
         SkillConfig config = product.getFeature().getSkillConfig();
-        if (config != null && config.getRegistryType() == SkillRegistryType.AIREGISTRY) {
-            Skill skill =
-                    aiRegistrySkillService.getSkillVersion(
-                            config.getAiRegistryId(),
-                            config.getNamespace(),
-                            config.getSkillName(),
-                            version);
-            return getFileContentFromSkill(skill, path);
-        }
+        PackageContent content =
+                config != null && config.getRegistryType() == SkillRegistryType.AIREGISTRY
+                        ? loadSkillContent(productId, config, version)
+                        : loadSkillContent(productId, getSkillRef(productId, true), version);
+        return content.getFile(path)
+                .orElseThrow(
+                        () -> new BusinessException(ErrorCode.NOT_FOUND, Resources.SKILL, path));
+    }
 
-        SkillRef ref = getSkillRef(productId, true);
-        Skill skill = fetchSkill(ref, version);
-        return getFileContentFromSkill(skill, path);
+    private PackageContent loadSkillContent(String productId, SkillConfig config, String version) {
+        return packageContentCache.get(
+                productId,
+                buildSource(config),
+                version,
+                () ->
+                        toPackageContent(
+                                aiRegistrySkillService.getSkillVersion(
+                                        config.getAiRegistryId(),
+                                        config.getNamespace(),
+                                        config.getSkillName(),
+                                        version)));
+    }
+
+    private PackageContent loadSkillContent(String productId, SkillRef ref, String version) {
+        return packageContentCache.get(
+                productId,
+                buildSource(ref),
+                version,
+                () -> toPackageContent(fetchSkill(ref, version)));
+    }
+
+    /**
+     * Identity of an AIRegistry skill, used in package cache keys.
+     */
+    private String buildSource(SkillConfig config) {
+        return String.join(
+                "/",
+                SkillRegistryType.AIREGISTRY.name(),
+                config.getAiRegistryId(),
+                config.getNamespace(),
+                config.getSkillName());
+    }
+
+    /**
+     * Identity of a Nacos skill, used in package cache keys.
+     */
+    private String buildSource(SkillRef ref) {
+        return String.join("/", ref.getNacosId(), ref.getNamespace(), ref.getSkillName());
     }
 
-    private FileContentResult getFileContentFromSkill(Skill skill, String path) {
+    /**
+     * Drops cached file trees, ZIP packages and versions once the drafts of a product change.
+     */
+    private void invalidatePackageCaches(String productId) {
+        packageContentCache.invalidate(productId);
+        packageZipCache.invalidate(productId);
+        versionListCache.invalidate(productId);
+    }
+
+    /**
+     * Parses a Skill into its file tree and the content of every file in it.
+     */
+    private PackageContent toPackageContent(Skill skill) {
+        Map<String, FileContentResult> files = new HashMap<>();
+
         // Virtual SKILL.md generated from Skill metadata
-        if ("SKILL.md".equals(path)) {
-            String skillMd = SkillMdBuilder.build(skill);
-            return FileContentResult.builder()
-                    .path("SKILL.md")
-                    .content(skillMd)
-                    .encoding("text")
-                    .size(skillMd.getBytes(StandardCharsets.UTF_8).length)
-                    .build();
-        }
+        String skillMd = SkillMdBuilder.build(skill);
+        files.put(
+                "SKILL.md",
+                FileContentResult.builder()
+                        .path("SKILL.md")
+                        .content(skillMd)
+                        .encoding("text")
+                        .size(skillMd.getBytes(StandardCharsets.UTF_8).length)
+                        .build());
 
         // Strip skill name prefix from resource paths for consistent matching
         String skillNamePrefix = Strings.isNotBlank(skill.getName()) ? skill.getName() + "/" : "";
@@ -243,24 +314,25 @@ public class SkillServiceImpl implements SkillService {
                     resourcePath = resourcePath.substring(skillNamePrefix.length());
                 }
 
-                if (path.equals(resourcePath)) {
-                    Map<String, Object> meta = resource.getMetadata();
-                    String encoding =
-                            meta != null && "base64".equals(meta.get("encoding"))
-                                    ? "base64"
-                                    : "text";
-                    String content = resource.getContent() == null ? "" : resource.getContent();
-
-                    return FileContentResult.builder()
-                            .path(resourcePath)
-                            .content(content)
-                            .encoding(encoding)
-                            .size(content.getBytes(StandardCharsets.UTF_8).length)
-                            .build();
+                if (files.containsKey(resourcePath)) {
+                    continue;
                 }
+                Map<String, Object> meta = resource.getMetadata();
+                String encoding =
+                        meta != null && "base64".equals(meta.get("encoding")) ? "base64" : "text";
+                String content = resource.getContent() == null ? "" : resource.getContent();
+
+                files.put(
+                        resourcePath,
+                        FileContentResult.builder()
+                                .path(resourcePath)
+                                .content(content)
+                                .encoding(encoding)
+                                .size(content.getBytes(StandardCharsets.UTF_8).length)
+                                .build());
             }
         }
-        throw new BusinessException(ErrorCode.NOT_FOUND, Resources.SKILL, path);
+        return new PackageContent(FileTreeBuilder.build(skill), files);
     }
 
     @Override
@@ -287,6 +359,26 @@ public class SkillServiceImpl implements SkillService {
             return Collections.emptyList();
         }
 
+        List<VersionResult> results =
+                versionListCache.get(productId, () -> fetchVersions(product, ref));
+        if (results == null) {
+            return Collections.emptyList();
+        }
+
+        // Non-admin users can only see online versions
+        if (!contextHolder.isAdministrator()) {
+            results = results.stream().filter(v -> "online".equals(v.getStatus())).toList();
+        }
+
+        return results;
+    }
+
+    /**
+     * Fetches the versions of a Nacos skill and syncs the product status with them.
+     *
+     * @return versions sorted by creation time descending, or null if Nacos could not be reached
+     */
+    private List<VersionResult> fetchVersions(Product product, SkillRef ref) {
         SkillMeta meta;
         try {
             meta =
@@ -297,7 +389,7 @@ public class SkillServiceImpl implements SkillService {
             log.warn(
                     "Skill not found in Nacos, returning empty versions, skillName={}",
                     ref.getSkillName());
-            return Collections.emptyList();
+            return null;
         }
 
         if (meta == null || CollectionUtils.isEmpty(meta.getVersions())) {
@@ -351,11 +443,6 @@ public class SkillServiceImpl implements SkillService {
             productRepository.save(product);
         }
 
-        // Non-admin users can only see online versions
-        if (!contextHolder.isAdministrator()) {
-            results = results.stream().filter(v -> "online".equals(v.getStatus())).toList();
-        }
-
         return results;
     }
 
@@ -402,6 +489,7 @@ public class SkillServiceImpl implements SkillService {
                         ref.getNacosId(),
                         s -> s.submit(ref.getNamespace(), ref.getSkillName(), version));
         log.info("Submitted Skill, skillName={}, version={}", ref.getSkillName(), submittedVersion);
+        versionListCache.invalidate(productId);
     }
 
     @Override
@@ -542,6 +630,7 @@ public class SkillServiceImpl implements SkillService {
      * <p>Wrapped in try-catch so failures don't break the main operation.
      */
     private void syncProductStatusAfterVersionChange(Product product, SkillRef ref) {
+        versionListCache.invalidate(product.getProductId());
         try {
             SkillMeta meta =
                     execute(
@@ -611,6 +700,7 @@ public class SkillServiceImpl implements SkillService {
                     ref.getSkillName());
         }
         log.info("Deleted Skill draft, skillName={}", ref.getSkillName());
+        invalidatePackageCaches(productId);
 
         // Clear skillName if no versions remain after deletion
         try {
@@ -677,6 +767,7 @@ public class SkillServiceImpl implements SkillService {
                         s.updateLabels(
                                 ref.getNamespace(), ref.getSkillName(), JsonUtil.toJson(labels)));
         log.info("Set latest Skill version, skillName={}, version={}", ref.getSkillName(), version);
+        versionListCache.invalidate(productId);
     }
 
     private boolean ensurePublished(SkillRef ref, String version) {
@@ -708,29 +799,46 @@ public class SkillServiceImpl implements SkillService {
     }
 
     @Override
-    public void downloadPackage(String productId, String version, HttpServletResponse response)
+    public void downloadPackage(
+            String productId,
+            String version,
+            HttpServletRequest request,
+            HttpServletResponse response)
             throws IOException {
         Product product = findProduct(productId);
         SkillConfig config = product.getFeature().getSkillConfig();
         if (config != null && config.getRegistryType() == SkillRegistryType.AIREGISTRY) {
-            byte[] zipBytes =
-                    aiRegistrySkillService.downloadZip(
-                            config.getAiRegistryId(),
-                            config.getNamespace(),
-                            config.getSkillName(),
-                            version);
-            response.setContentType("application/zip");
-            response.setHeader(
-                    "Content-Disposition",
-                    "attachment; filename=\"" + config.getSkillName() + ".zip\"");
-            response.getOutputStream().write(zipBytes);
+            String key = packageZipCache.buildKey(productId, buildSource(config), version);
+            String fileName = config.getSkillName() + ".zip";
+            if (packageZipCache.serve(key, fileName, request, response)) {
+                packageDownloadCounter.record(productId);
+                return;
+            }
+            packageZipCache.store(
+                    key,
+                    fileName,
+                    request,
+                    response,
+                    out ->
+                            aiRegistrySkillService.downloadZip(
+                                    config.getAiRegistryId(),
+                                    config.getNamespace(),
+                                    config.getSkillName(),
+                                    version,
+                                    out));
             return;
         }
 
         SkillRef ref = getSkillRef(productId, true);
+        String key = packageZipCache.buildKey(productId, buildSource(ref), version);
+        if (packageZipCache.serve(key, ref.getSkillName() + ".zip", request, response)) {
+            packageDownloadCounter.record(productId);
+            return;
+        }
 
-        // Download through the Nacos HTTP API first so Nacos can update its download count.
-        downloadFromNacos(ref, version, response);
+        // Cache misses download through the Nacos HTTP API so Nacos can update its download count;
+        // cache hits are counted locally and added on top by the download count sync.
+        downloadFromNacos(ref, version, key, request, response);
     }
 
     /**
@@ -738,7 +846,12 @@ public class SkillServiceImpl implements SkillService {
      * count.
      * API: GET /v3/console/ai/skills/version/download?namespaceId=xxx&skillName=xxx&version=xxx
      */
-    private void downloadFromNacos(SkillRef ref, String version, HttpServletResponse response)
+    private void downloadFromNacos(
+            SkillRef ref,
+            String version,
+            String key,
+            HttpServletRequest request,
+            HttpServletResponse response)
             throws IOException {
         try {
             NacosInstance nacosInstance = nacosService.findNacosInstanceById(ref.getNacosId());
@@ -806,19 +919,10 @@ public class SkillServiceImpl implements SkillService {
 
             int responseCode = conn.getResponseCode();
             if (responseCode == java.net.HttpURLConnection.HTTP_OK) {
-                // Set response headers.
-                response.setContentType("application/zip");
-                String encodedName =
-                        java.net.URLEncoder.encode(
-                                        ref.getSkillName() + ".zip", StandardCharsets.UTF_8)
-                                .replace("+", "%20");
-                response.setHeader(
-                        "Content-Disposition", "attachment; filename*=UTF-8''" + encodedName);
-
-                // Stream the ZIP file.
-                try (var input = conn.getInputStream();
-                        var output = response.getOutputStream()) {
-                    input.transferTo(output);
+                // Stream the ZIP file into the cache and serve it from there.
+                try (var input = conn.getInputStream()) {
+                    packageZipCache.store(
+                            key, ref.getSkillName() + ".zip", request, response, input::transferTo);
                 }
                 log.info(
                         "Downloaded skill ZIP from Nacos, dependency=Nacos,"
@@ -838,7 +942,7 @@ public class SkillServiceImpl implements SkillService {
                         ref.getSkillName(),
                         responseCode);
                 // Fall back to local ZIP generation.
-                fallbackToLocalDownload(ref, version, response);
+                fallbackToLocalDownload(ref, version, key, request, response);
             }
         } catch (Exception e) {
             log.warn(
@@ -852,47 +956,50 @@ public class SkillServiceImpl implements SkillService {
                     e.getMessage(),
                     e);
             // Fall back to local ZIP generation.
-            fallbackToLocalDownload(ref, version, response);
+            fallbackToLocalDownload(ref, version, key, request, response);
         }
     }
 
     /**
      * Fallback path: generates the ZIP package locally without increasing the Nacos download count.
      */
-    private void fallbackToLocalDownload(SkillRef ref, String version, HttpServletResponse response)
+    private void fallbackToLocalDownload(
+            SkillRef ref,
+            String version,
+            String key,
+            HttpServletRequest request,
+            HttpServletResponse response)
             throws IOException {
         Skill skill = fetchSkill(ref, version);
+        packageZipCache.store(
+                key, skill.getName() + ".zip", request, response, out -> writeSkillZip(skill, out));
+    }
 
-        response.setContentType("application/zip");
-        String encodedName =
-                java.net.URLEncoder.encode(skill.getName() + ".zip", StandardCharsets.UTF_8)
-                        .replace("+", "%20");
-        response.setHeader("Content-Disposition", "attachment; filename*=UTF-8''" + encodedName);
-
-        try (ZipOutputStream zos = new ZipOutputStream(response.getOutputStream())) {
-            String rootDir = skill.getName() + "/";
+    private void writeSkillZip(Skill skill, OutputStream out) throws IOException {
+        ZipOutputStream zos = new ZipOutputStream(out);
+        String rootDir = skill.getName() + "/";
 
-            // Write virtual SKILL.md
-            String skillMd = SkillMdBuilder.build(skill);
-            writeZipEntry(zos, rootDir + "SKILL.md", skillMd.getBytes(StandardCharsets.UTF_8));
+        // Write virtual SKILL.md
+        String skillMd = SkillMdBuilder.build(skill);
+        writeZipEntry(zos, rootDir + "SKILL.md", skillMd.getBytes(StandardCharsets.UTF_8));
 
-            // Write each resource
-            if (skill.getResource() != null) {
-                for (SkillResource resource : skill.getResource().values()) {
-                    if (resource.getContent() == null) {
-                        continue;
-                    }
-                    String path = buildResourcePath(resource);
-                    Map<String, Object> meta = resource.getMetadata();
-                    boolean isBinary = meta != null && "base64".equals(meta.get("encoding"));
-                    byte[] data =
-                            isBinary
-                                    ? Base64.getDecoder().decode(resource.getContent())
-                                    : resource.getContent().getBytes(StandardCharsets.UTF_8);
-                    writeZipEntry(zos, rootDir + path, data);
+        // Write each resource
+        if (skill.getResource() != null) {
+            for (SkillResource resource : skill.getResource().values()) {
+                if (resource.getContent() == null) {
+                    continue;
                 }
+                String path = buildResourcePath(resource);
+                Map<String, Object> meta = resource.getMetadata();
+                boolean isBinary = meta != null && "base64".equals(meta.get("encoding"));
+                byte[] data =
+                        isBinary
+                                ? Base64.getDecoder().decode(resource.getContent())
+                                : resource.getContent().getBytes(StandardCharsets.UTF_8);
+                writeZipEntry(zos, rootDir + path, data);
             }
         }
+        zos.finish();
     }
 
     @Override
@@ -1148,71 +1255,77 @@ public class SkillServiceImpl implements SkillService {
     }
 
     @Override
-    public ImportResult importFromNacos(String nacosId, String namespace) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportResult importFromNacos(String nacosId, String namespace, Integer startPage) {
         int successCount = 0;
         int skippedCount = 0;
+        int pageNo = startPage == null || startPage < 1 ? 1 : startPage;
+        String adminId = contextHolder.getUser();
+
+        AiMaintainerService aiService = nacosService.getAiMaintainerService(nacosId);
+
+        // Each page is committed on its own, so a failed import can resume from the failed page
+        while (true) {
+            try {
+                Page<SkillSummary> page =
+                        aiService
+                                .skill()
+                                .listSkills(namespace, null, null, pageNo, IMPORT_PAGE_SIZE);
+                if (page == null || CollectionUtils.isEmpty(page.getPageItems())) {
+                    break;
+                }
 
-        try {
-            AiMaintainerService aiService = nacosService.getAiMaintainerService(nacosId);
-
-            Page<SkillSummary> page =
-                    aiService.skill().listSkills(namespace, null, null, 1, Integer.MAX_VALUE);
+                List<SkillSummary> items = page.getPageItems();
+                // Product names are unique across admins
+                Set<String> existingNames =
+                        productRepository
+                                .findByNameIn(items.stream().map(SkillSummary::getName).toList())
+                                .stream()
+                                .map(Product::getName)
+                                .collect(Collectors.toSet());
+
+                List<Product> products = new ArrayList<>();
+                for (SkillSummary info : items) {
+                    // Skip if product already exists, or the name repeats within the page
+                    if (!existingNames.add(info.getName())) {
+                        skippedCount++;
+                        continue;
+                    }
+                    products.add(buildImportedProduct(info, nacosId, namespace, adminId));
+                }
+                int saved = saveProducts(products);
+                successCount += saved;
+                skippedCount += products.size() - saved;
 
-            if (page == null || page.getPageItems() == null) {
+                log.info(
+                        "Imported skill page from Nacos, page={}, successCount={},"
+                                + " skippedCount={}",
+                        pageNo,
+                        successCount,
+                        skippedCount);
+
+                if (items.size() < IMPORT_PAGE_SIZE) {
+                    break;
+                }
+                pageNo++;
+            } catch (Exception e) {
+                log.error(
+                        "Failed to import skills from Nacos, page={}, errorMessage={}",
+                        pageNo,
+                        e.getMessage(),
+                        e);
+                if (successCount == 0 && skippedCount == 0) {
+                    throw new BusinessException(
+                            ErrorCode.INTERNAL_ERROR,
+                            String.format("Failed to import skills: %s", e.getMessage()));
+                }
                 return ImportResult.builder()
                         .resourceType("skill")
-                        .successCount(0)
-                        .skippedCount(0)
+                        .successCount(successCount)
+                        .skippedCount(skippedCount)
+                        .nextPage(pageNo)
                         .build();
             }
-
-            for (SkillSummary info : page.getPageItems()) {
-                String name = info.getName();
-
-                // Skip if product already exists
-                if (productRepository
-                        .findByNameAndAdminId(name, contextHolder.getUser())
-                        .isPresent()) {
-                    log.info("Skill product already exists, skipping import, name={}", name);
-                    skippedCount++;
-                    continue;
-                }
-
-                // Create product
-                Product product =
-                        Product.builder()
-                                .productId(IdGenerator.genApiProductId())
-                                .name(name)
-                                .description(info.getDescription())
-                                .type(ProductType.AGENT_SKILL)
-                                .adminId(contextHolder.getUser())
-                                .status(
-                                        info.getOnlineCnt() != null && info.getOnlineCnt() > 0
-                                                ? ProductStatus.READY
-                                                : ProductStatus.PENDING)
-                                .build();
-
-                // Set skill config
-                SkillConfig skillConfig =
-                        SkillConfig.builder()
-                                .nacosId(nacosId)
-                                .namespace(namespace)
-                                .skillName(name)
-                                .downloadCount(info.getDownloadCount())
-                                .build();
-
-                ProductFeature feature = ProductFeature.builder().skillConfig(skillConfig).build();
-                product.setFeature(feature);
-
-                productRepository.save(product);
-                successCount++;
-                log.info("Imported skill product from Nacos, name={}", name);
-            }
-        } catch (Exception e) {
-            log.error("Failed to import skills from Nacos, errorMessage={}", e.getMessage(), e);
-            throw new BusinessException(
-                    ErrorCode.INTERNAL_ERROR,
-                    String.format("Failed to import skills: %s", e.getMessage()));
         }
 
         log.info(
@@ -1226,4 +1339,62 @@ public class SkillServiceImpl implements SkillService {
                 .skippedCount(skippedCount)
                 .build();
     }
+
+    private Product buildImportedProduct(
+            SkillSummary info, String nacosId, String namespace, String adminId) {
+        SkillConfig skillConfig =
+                SkillConfig.builder()
+                        .nacosId(nacosId)
+                        .namespace(namespace)
+                        .skillName(info.getName())
+                        .downloadCount(info.getDownloadCount())
+                        .build();
+
+        return Product.builder()
+                .productId(IdGenerator.genApiProductId())
+                .name(info.getName())
+                .description(info.getDescription())
+                .type(ProductType.AGENT_SKILL)
+                .adminId(adminId)
+                .status(
+                        info.getOnlineCnt() != null && info.getOnlineCnt() > 0
+                                ? ProductStatus.READY
+                                : ProductStatus.PENDING)
+                .feature(ProductFeature.builder().skillConfig(skillConfig).build())
+                .build();
+    }
+
+    /**
+     * Saves a page of imported products in one transaction. If a name was taken after it was
+     * checked, the page is saved again row by row and the colliding rows are skipped.
+     *
+     * @return number of saved products
+     */
+    private int saveProducts(List<Product> products) {
+        if (products.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> productRepository.saveAll(products));
+            return products.size();
+        } catch (DataIntegrityViolationException e) {
+            log.warn(
+                    "Imported skill page collided with existing products, saving row by row,"
+                            + " errorMessage={}",
+                    e.getMessage());
+        }
+
+        int saved = 0;
+        for (Product product : products) {
+            // Drop the key assigned by the rolled back insert
+            product.setId(null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> productRepository.save(product));
+                saved++;
+            } catch (DataIntegrityViolationException e) {
+                log.info("Skipped imported skill, product name exists, name={}", product.getName());
+            }
+        }
+        return saved;
+    }
 }
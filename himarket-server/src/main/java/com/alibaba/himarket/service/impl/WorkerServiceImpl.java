@@ -4,6 +4,12 @@ import com.alibaba.himarket.core.constant.Resources;
 import com.alibaba.himarket.core.exception.BusinessException;
 import com.alibaba.himarket.core.exception.ErrorCode;
 import com.alibaba.himarket.core.security.ContextHolder;
+import com.alibaba.himarket.core.skill.PackageArchive;
+import com.alibaba.himarket.core.skill.PackageContent;
+import com.alibaba.himarket.core.skill.PackageContentCache;
+import com.alibaba.himarket.core.skill.PackageDownloadCounter;
+import com.alibaba.himarket.core.skill.PackageZipCache;
+import com.alibaba.himarket.core.skill.VersionListCache;
 import com.alibaba.himarket.core.utils.IdGenerator;
 import com.alibaba.himarket.dto.converter.OutputConverter;
 import com.alibaba.himarket.dto.result.cli.CliDownloadInfo;
@@ -30,8 +36,10 @@ import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.model.Page;
 import com.alibaba.nacos.maintainer.client.ai.AgentSpecMaintainerService;
 import com.alibaba.nacos.maintainer.client.ai.AiMaintainerService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
@@ -65,18 +73,21 @@ public class WorkerServiceImpl implements WorkerService {
 
     private final ProductRepository productRepository;
     private final ContextHolder contextHolder;
+    private final PackageContentCache packageContentCache;
+    private final PackageZipCache packageZipCache;
+    private final PackageDownloadCounter packageDownloadCounter;
+    private final VersionListCache versionListCache;
 
     @Override
     public void uploadPackage(String productId, MultipartFile file) throws IOException {
-        if (file.isEmpty() || file.getSize() > MAX_ZIP_SIZE) {
-            throw new BusinessException(
-                    ErrorCode.INVALID_PARAMETER, "ZIP file cannot be empty or exceed 10MB");
-        }
-
         Product product = findProduct(productId);
         AgentSpecRef ref = getAgentSpecRef(productId, true);
 
-        byte[] zipBytes = file.getBytes();
+        // Validate the package from disk, the Nacos SDK only accepts it as bytes
+        byte[] zipBytes;
+        try (PackageArchive archive = PackageArchive.spool(file, MAX_ZIP_SIZE)) {
+            zipBytes = archive.readAllBytes();
+        }
 
         WorkerConfig config = product.getFeature().getWorkerConfig();
 
@@ -98,6 +109,7 @@ public class WorkerServiceImpl implements WorkerService {
                     "Uploaded AgentSpec draft with overwrite, agentSpecName={}",
                     ref.getAgentSpecName());
         }
+        invalidatePackageCaches(productId);
 
         productRepository.save(product);
     }
@@ -115,6 +127,7 @@ public class WorkerServiceImpl implements WorkerService {
                     s.deleteAgentSpec(ref.getNamespace(), ref.getAgentSpecName());
                     return null;
                 });
+        invalidatePackageCaches(productId);
         WorkerConfig config = product.getFeature().getWorkerConfig();
         config.setAgentSpecName(null);
         productRepository.save(product);
@@ -130,8 +143,7 @@ public class WorkerServiceImpl implements WorkerService {
         version = validateAndResolveVersion(productId, version);
 
         try {
-            AgentSpec agentSpec = fetchAgentSpec(ref, version);
-            return buildFileTree(agentSpec);
+            return loadAgentSpecContent(productId, ref, version).getFileTree();
         } catch (Exception e) {
             log.warn(
                     "Failed to fetch file tree for AgentSpec, agentSpecName={}",
@@ -146,7 +158,10 @@ public class WorkerServiceImpl implements WorkerService {
 
         AgentSpecRef ref = getAgentSpecRef(productId, true);
 
-        return getFileContent(ref, path, version);
+        return loadAgentSpecContent(productId, ref, version)
+                .getFile(path)
+                .orElseThrow(
+                        () -> new BusinessException(ErrorCode.NOT_FOUND, "AgentSpec file", path));
     }
 
     @Override
@@ -158,6 +173,26 @@ public class WorkerServiceImpl implements WorkerService {
             return Collections.emptyList();
         }
 
+        List<VersionResult> results =
+                versionListCache.get(productId, () -> fetchVersions(product, ref));
+        if (results == null) {
+            return Collections.emptyList();
+        }
+
+        // Non-admin users can only see online versions
+        if (!contextHolder.isAdministrator()) {
+            results = results.stream().filter(v -> "online".equals(v.getStatus())).toList();
+        }
+
+        return results;
+    }
+
+    /**
+     * Fetches the versions of an AgentSpec and syncs the product status with them.
+     *
+     * @return versions sorted by creation time descending, or null if Nacos could not be reached
+     */
+    private List<VersionResult> fetchVersions(Product product, AgentSpecRef ref) {
         AgentSpecMeta meta;
         try {
             meta =
@@ -170,7 +205,7 @@ public class WorkerServiceImpl implements WorkerService {
             log.warn(
                     "AgentSpec not found in Nacos, returning empty versions, agentSpecName={}",
                     ref.getAgentSpecName());
-            return Collections.emptyList();
+            return null;
         }
 
         if (meta == null || CollectionUtils.isEmpty(meta.getVersions())) {
@@ -224,11 +259,6 @@ public class WorkerServiceImpl implements WorkerService {
             productRepository.save(product);
         }
 
-        // Non-admin users can only see online versions
-        if (!contextHolder.isAdministrator()) {
-            results = results.stream().filter(v -> "online".equals(v.getStatus())).toList();
-        }
-
         return results;
     }
 
@@ -248,15 +278,26 @@ public class WorkerServiceImpl implements WorkerService {
                 "Submitted AgentSpec, agentSpecName={}, version={}",
                 ref.getAgentSpecName(),
                 submittedVersion);
+        versionListCache.invalidate(productId);
     }
 
     @Override
-    public void downloadPackage(String productId, String version, HttpServletResponse response)
+    public void downloadPackage(
+            String productId,
+            String version,
+            HttpServletRequest request,
+            HttpServletResponse response)
             throws IOException {
         AgentSpecRef ref = getAgentSpecRef(productId, true);
+        String key = packageZipCache.buildKey(productId, buildSource(ref), version);
+        if (packageZipCache.serve(key, ref.getAgentSpecName() + ".zip", request, response)) {
+            packageDownloadCounter.record(productId);
+            return;
+        }
 
-        // Download through the Nacos HTTP API first so Nacos can update its download count.
-        downloadFromNacos(ref, version, response);
+        // Cache misses download through the Nacos HTTP API so Nacos can update its download count;
+        // cache hits are counted locally and added on top by the download count sync.
+        downloadFromNacos(ref, version, key, request, response);
     }
 
     /**
@@ -264,7 +305,12 @@ public class WorkerServiceImpl implements WorkerService {
      * count.
      * API: GET /v3/console/ai/agentspecs/version/download?namespaceId=xxx&agentSpecName=xxx&version=xxx
      */
-    private void downloadFromNacos(AgentSpecRef ref, String version, HttpServletResponse response)
+    private void downloadFromNacos(
+            AgentSpecRef ref,
+            String version,
+            String key,
+            HttpServletRequest request,
+            HttpServletResponse response)
             throws IOException {
         try {
             NacosInstance nacosInstance = nacosService.findNacosInstanceById(ref.getNacosId());
@@ -330,19 +376,14 @@ public class WorkerServiceImpl implements WorkerService {
 
             int responseCode = conn.getResponseCode();
             if (responseCode == java.net.HttpURLConnection.HTTP_OK) {
-                // Set response headers.
-                response.setContentType("application/zip");
-                String encodedName =
-                        java.net.URLEncoder.encode(
-                                        ref.getAgentSpecName() + ".zip", StandardCharsets.UTF_8)
-                                .replace("+", "%20");
-                response.setHeader(
-                        "Content-Disposition", "attachment; filename*=UTF-8''" + encodedName);
-
-                // Stream the ZIP file.
-                try (var input = conn.getInputStream();
-                        var output = response.getOutputStream()) {
-                    input.transferTo(output);
+                // Stream the ZIP file into the cache and serve it from there.
+                try (var input = conn.getInputStream()) {
+                    packageZipCache.store(
+                            key,
+                            ref.getAgentSpecName() + ".zip",
+                            request,
+                            response,
+                            input::transferTo);
                 }
                 log.info(
                         "Downloaded worker ZIP from Nacos, dependency=Nacos,"
@@ -362,7 +403,7 @@ public class WorkerServiceImpl implements WorkerService {
                         ref.getAgentSpecName(),
                         responseCode);
                 // Fall back to local ZIP generation.
-                fallbackToLocalDownload(ref, version, response);
+                fallbackToLocalDownload(ref, version, key, request, response);
             }
         } catch (Exception e) {
             log.warn(
@@ -376,7 +417,7 @@ public class WorkerServiceImpl implements WorkerService {
                     e.getMessage(),
                     e);
             // Fall back to local ZIP generation.
-            fallbackToLocalDownload(ref, version, response);
+            fallbackToLocalDownload(ref, version, key, request, response);
         }
     }
 
@@ -384,46 +425,53 @@ public class WorkerServiceImpl implements WorkerService {
      * Fallback path: generates the ZIP package locally without increasing the Nacos download count.
      */
     private void fallbackToLocalDownload(
-            AgentSpecRef ref, String version, HttpServletResponse response) throws IOException {
+            AgentSpecRef ref,
+            String version,
+            String key,
+            HttpServletRequest request,
+            HttpServletResponse response)
+            throws IOException {
         AgentSpec spec = fetchAgentSpec(ref, version);
+        packageZipCache.store(
+                key,
+                spec.getName() + ".zip",
+                request,
+                response,
+                out -> writeAgentSpecZip(spec, out));
+    }
 
-        response.setContentType("application/zip");
-        String encodedName =
-                java.net.URLEncoder.encode(spec.getName() + ".zip", StandardCharsets.UTF_8)
-                        .replace("+", "%20");
-        response.setHeader("Content-Disposition", "attachment; filename*=UTF-8''" + encodedName);
-
-        try (ZipOutputStream zos = new ZipOutputStream(response.getOutputStream())) {
-            String rootDir = spec.getName() + "/";
-
-            // Write manifest.json from AgentSpec content
-            if (spec.getContent() != null) {
-                writeZipEntry(
-                        zos,
-                        rootDir + "manifest.json",
-                        spec.getContent().getBytes(StandardCharsets.UTF_8));
-            }
+    private void writeAgentSpecZip(AgentSpec spec, OutputStream out) throws IOException {
+        ZipOutputStream zos = new ZipOutputStream(out);
+        String rootDir = spec.getName() + "/";
 
-            // Write each resource directly from AgentSpec
-            if (spec.getResource() != null) {
-                for (AgentSpecResource resource : spec.getResource().values()) {
-                    if (resource.getContent() == null) {
-                        continue;
-                    }
-                    String path =
-                            Strings.isNotBlank(resource.getType())
-                                    ? resource.getType() + "/" + resource.getName()
-                                    : resource.getName();
-                    Map<String, Object> meta = resource.getMetadata();
-                    boolean isBinary = meta != null && "base64".equals(meta.get("encoding"));
-                    byte[] data =
-                            isBinary
-                                    ? Base64.getDecoder().decode(resource.getContent())
-                                    : resource.getContent().getBytes(StandardCharsets.UTF_8);
-                    writeZipEntry(zos, rootDir + path, data);
+        // Write manifest.json from AgentSpec content
+        if (spec.getContent() != null) {
+            writeZipEntry(
+                    zos,
+                    rootDir + "manifest.json",
+                    spec.getContent().getBytes(StandardCharsets.UTF_8));
+        }
+
+        // Write each resource directly from AgentSpec
+        if (spec.getResource() != null) {
+            for (AgentSpecResource resource : spec.getResource().values()) {
+                if (resource.getContent() == null) {
+                    continue;
                 }
+                String path =
+                        Strings.isNotBlank(resource.getType())
+                                ? resource.getType() + "/" + resource.getName()
+                                : resource.getName();
+                Map<String, Object> meta = resource.getMetadata();
+                boolean isBinary = meta != null && "base64".equals(meta.get("encoding"));
+                byte[] data =
+                        isBinary
+                                ? Base64.getDecoder().decode(resource.getContent())
+                                : resource.getContent().getBytes(StandardCharsets.UTF_8);
+                writeZipEntry(zos, rootDir + path, data);
             }
         }
+        zos.finish();
     }
 
     @Override
@@ -495,6 +543,7 @@ public class WorkerServiceImpl implements WorkerService {
      * <p>Wrapped in try-catch so failures don't break the main operation.
      */
     void syncProductStatusAfterVersionChange(Product product, AgentSpecRef ref) {
+        versionListCache.invalidate(product.getProductId());
         try {
             AgentSpecMeta meta =
                     execute(
@@ -561,6 +610,7 @@ public class WorkerServiceImpl implements WorkerService {
                     ref.getAgentSpecName());
         }
         log.info("Deleted AgentSpec draft, agentSpecName={}", ref.getAgentSpecName());
+        invalidatePackageCaches(productId);
 
         // Clear agentSpecName if no versions remain after deletion
         try {
@@ -632,6 +682,7 @@ public class WorkerServiceImpl implements WorkerService {
                 "Set latest AgentSpec version, agentSpecName={}, version={}",
                 ref.getAgentSpecName(),
                 version);
+        versionListCache.invalidate(productId);
     }
 
     private void ensurePublished(AgentSpecRef ref, String version) {
@@ -683,18 +734,46 @@ public class WorkerServiceImpl implements WorkerService {
                                         ref.getNamespace(), ref.getAgentSpecName(), version));
     }
 
-    private FileContentResult getFileContent(AgentSpecRef ref, String path, String version) {
-        AgentSpec spec = fetchAgentSpec(ref, version);
+    private PackageContent loadAgentSpecContent(
+            String productId, AgentSpecRef ref, String version) {
+        return packageContentCache.get(
+                productId,
+                buildSource(ref),
+                version,
+                () -> toPackageContent(fetchAgentSpec(ref, version)));
+    }
 
-        if ("manifest.json".equals(path)) {
-            String content = spec.getContent() == null ? "" : spec.getContent();
-            return FileContentResult.builder()
-                    .path("manifest.json")
-                    .content(content)
-                    .encoding("text")
-                    .size(content.getBytes(StandardCharsets.UTF_8).length)
-                    .build();
-        }
+    /**
+     * Identity of an AgentSpec in Nacos, used in package cache keys.
+     */
+    private String buildSource(AgentSpecRef ref) {
+        return String.join("/", ref.getNacosId(), ref.getNamespace(), ref.getAgentSpecName());
+    }
+
+    /**
+     * Drops cached file trees, ZIP packages and versions once the drafts of a product change.
+     */
+    private void invalidatePackageCaches(String productId) {
+        packageContentCache.invalidate(productId);
+        packageZipCache.invalidate(productId);
+        versionListCache.invalidate(productId);
+    }
+
+    /**
+     * Parses an AgentSpec into its file tree and the content of every file in it.
+     */
+    private PackageContent toPackageContent(AgentSpec spec) {
+        Map<String, FileContentResult> files = new HashMap<>();
+
+        String manifest = spec.getContent() == null ? "" : spec.getContent();
+        files.put(
+                "manifest.json",
+                FileContentResult.builder()
+                        .path("manifest.json")
+                        .content(manifest)
+                        .encoding("text")
+                        .size(manifest.getBytes(StandardCharsets.UTF_8).length)
+                        .build());
 
         String specNamePrefix = Strings.isNotBlank(spec.getName()) ? spec.getName() + "/" : "";
 
@@ -710,24 +789,27 @@ public class WorkerServiceImpl implements WorkerService {
                     resourcePath = resourcePath.substring(specNamePrefix.length());
                 }
 
-                if (path.equals(resourcePath)) {
-                    Map<String, Object> meta = resource.getMetadata();
-                    String encoding =
-                            meta != null && meta.containsKey("encoding")
-                                    ? java.lang.String.valueOf(meta.get("encoding"))
-                                    : "text";
-                    String content = resource.getContent() == null ? "" : resource.getContent();
-                    return FileContentResult.builder()
-                            .path(resourcePath)
-                            .content(content)
-                            .encoding(encoding)
-                            .size(content.getBytes(StandardCharsets.UTF_8).length)
-                            .build();
+                if (files.containsKey(resourcePath)) {
+                    continue;
                 }
+                Map<String, Object> meta = resource.getMetadata();
+                String encoding =
+                        meta != null && meta.containsKey("encoding")
+                                ? java.lang.String.valueOf(meta.get("encoding"))
+                                : "text";
+                String content = resource.getContent() == null ? "" : resource.getContent();
+                files.put(
+                        resourcePath,
+                        FileContentResult.builder()
+                                .path(resourcePath)
+                                .content(content)
+                                .encoding(encoding)
+                                .size(content.getBytes(StandardCharsets.UTF_8).length)
+                                .build());
             }
         }
 
-        throw new BusinessException(ErrorCode.NOT_FOUND, "AgentSpec file", path);
+        return new PackageContent(buildFileTree(spec), files);
     }
 
     private List<FileTreeNode> buildFileTree(AgentSpec spec) {
@@ -0,0 +1,373 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.importer;
+
+import com.alibaba.himarket.core.exception.BusinessException;
+import com.alibaba.himarket.core.exception.ErrorCode;
+import com.alibaba.himarket.core.security.ContextHolder;
+import com.alibaba.himarket.core.utils.IdGenerator;
+import com.alibaba.himarket.dto.params.product.ImportProductsParam;
+import com.alibaba.himarket.dto.params.product.ProductImportItemParam;
+import com.alibaba.himarket.dto.result.product.ProductImportItemResult;
+import com.alibaba.himarket.dto.result.product.ProductImportJobResult;
+import com.alibaba.himarket.entity.Product;
+import com.alibaba.himarket.entity.ProductImportJob;
+import com.alibaba.himarket.repository.ProductImportJobRepository;
+import com.alibaba.himarket.repository.ProductRepository;
+import com.alibaba.himarket.service.importer.ProductImporter.PreparedImport;
+import com.alibaba.himarket.support.enums.ProductImportStatus;
+import com.alibaba.himarket.support.product.ProductImportItem;
+import com.alibaba.himarket.utils.JsonUtil;
+import jakarta.annotation.Resource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs product imports as asynchronous jobs.
+ *
+ * <p>Items are processed in batches. The items of a batch are resolved from their source in
+ * parallel on a bounded pool, then written one by one after a single name lookup for the whole
+ * batch. Jobs and the status of their items are stored, so progress can be polled and a job
+ * cancelled through any instance. The running instance saves progress after every batch and
+ * picks up a cancellation at that point, a cancellation on the running instance itself stops the
+ * job before its next write. Finished jobs are deleted after a week.
+ */
+@Component
+@Slf4j
+public class ProductImportJobManager {
+
+    /**
+     * Number of items resolved before they are written
+     */
+    static final int BATCH_SIZE = 20;
+
+    /**
+     * Unfinished jobs whose progress was not saved for this long are reported as failed, the
+     * instance running them has most likely stopped
+     */
+    private static final Duration STALE_TIMEOUT = Duration.ofMinutes(30);
+
+    private static final Duration JOB_RETENTION = Duration.ofDays(7);
+
+    private final ProductImporter productImporter;
+
+    private final ProductRepository productRepository;
+
+    private final ProductImportJobRepository productImportJobRepository;
+
+    private final ContextHolder contextHolder;
+
+    /**
+     * Jobs running on this instance
+     */
+    private final Map<String, RunningImportJob> runningJobs = new ConcurrentHashMap<>();
+
+    @Resource(name = "productImportJobExecutor")
+    private Executor jobExecutor;
+
+    @Resource(name = "productImportResolveExecutor")
+    private Executor resolveExecutor;
+
+    public ProductImportJobManager(
+            ProductImporter productImporter,
+            ProductRepository productRepository,
+            ProductImportJobRepository productImportJobRepository,
+            ContextHolder contextHolder) {
+        this.productImporter = productImporter;
+        this.productRepository = productRepository;
+        this.productImportJobRepository = productImportJobRepository;
+        this.contextHolder = contextHolder;
+    }
+
+    /**
+     * Starts an import job.
+     *
+     * @param param the import parameters
+     * @return the job, still pending or running
+     */
+    public ProductImportJobResult submit(ImportProductsParam param) {
+        productImportJobRepository.deleteByFinishedAtBefore(
+                LocalDateTime.now().minus(JOB_RETENTION));
+
+        RunningImportJob job =
+                new RunningImportJob(
+                        IdGenerator.genIdWithPrefix("import-job-"),
+                        contextHolder.getUser(),
+                        param.getItems());
+        ProductImportJob entity =
+                ProductImportJob.builder().jobId(job.getJobId()).adminId(job.getAdminId()).build();
+        job.copyTo(entity);
+        entity = productImportJobRepository.save(entity);
+        log.info(
+                "Submitting product import job, jobId={}, productType={}, items={},"
+                        + " sourceConfig={}",
+                job.getJobId(),
+                param.getProductType(),
+                param.getItems().size(),
+                JsonUtil.toJson(param.getSourceConfig()));
+
+        runningJobs.put(job.getJobId(), job);
+        try {
+            // Product creation relies on the security context of the admin who started the job
+            new DelegatingSecurityContextExecutor(jobExecutor).execute(() -> run(job, param));
+        } catch (RejectedExecutionException e) {
+            runningJobs.remove(job.getJobId());
+            job.finish(ProductImportStatus.FAILED);
+            save(job);
+            throw new BusinessException(
+                    ErrorCode.TOO_MANY_REQUESTS, "Too many product import jobs are queued");
+        }
+        return toResult(entity);
+    }
+
+    /**
+     * Gets the progress of an import job.
+     *
+     * @param jobId the job ID
+     * @return the job with per-item status
+     */
+    public ProductImportJobResult getJob(String jobId) {
+        return toResult(findJob(jobId));
+    }
+
+    /**
+     * Cancels an import job. Items already written are kept, the remaining ones are skipped.
+     *
+     * @param jobId the job ID
+     * @return the job
+     */
+    public ProductImportJobResult cancel(String jobId) {
+        ProductImportJob entity = findJob(jobId);
+        if (productImportJobRepository.requestCancel(jobId) > 0) {
+            entity.setCancelRequested(true);
+        }
+        RunningImportJob job = runningJobs.get(jobId);
+        if (job != null) {
+            job.requestCancel();
+        }
+        log.info("Product import job cancellation requested, jobId={}", jobId);
+        return toResult(entity);
+    }
+
+    private ProductImportJob findJob(String jobId) {
+        return productImportJobRepository
+                .findByJobId(jobId)
+                .filter(job -> job.getAdminId().equals(contextHolder.getUser()))
+                .orElseThrow(
+                        () ->
+                                new BusinessException(
+                                        ErrorCode.NOT_FOUND, "Product import job", jobId));
+    }
+
+    void run(RunningImportJob job, ImportProductsParam param) {
+        long start = System.currentTimeMillis();
+        job.start();
+        save(job);
+        try {
+            List<ProductImportItemParam> items = param.getItems();
+            for (int from = 0;
+                    from < items.size() && !job.isCancelRequested();
+                    from += BATCH_SIZE) {
+                List<PreparedImport> prepared =
+                        resolveBatch(job, param, from, Math.min(from + BATCH_SIZE, items.size()));
+                writeBatch(job, from, prepared);
+                save(job);
+            }
+            job.finish(
+                    job.isCancelRequested()
+                            ? ProductImportStatus.CANCELLED
+                            : ProductImportStatus.SUCCEEDED);
+        } catch (Exception e) {
+            log.error(
+                    "Unexpected error during product import job, jobId={}, errorMessage={}",
+                    job.getJobId(),
+                    e.getMessage(),
+                    e);
+            job.finish(ProductImportStatus.FAILED);
+        } finally {
+            save(job);
+            runningJobs.remove(job.getJobId());
+        }
+        ProductImportJob entity = new ProductImportJob();
+        job.copyTo(entity);
+        ProductImportJobResult result = toResult(entity);
+        log.info(
+                "Product import job finished, jobId={}, status={}, succeeded={}, failed={},"
+                        + " elapsedMillis={}",
+                job.getJobId(),
+                result.getStatus(),
+                result.getSuccessCount(),
+                result.getFailedCount(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Saves the progress of a job and picks up a cancellation requested on another instance.
+     */
+    private void save(RunningImportJob job) {
+        try {
+            ProductImportJob entity =
+                    productImportJobRepository.findByJobId(job.getJobId()).orElse(null);
+            if (entity == null) {
+                return;
+            }
+            if (entity.isCancelRequested()) {
+                job.requestCancel();
+            }
+            job.copyTo(entity);
+            productImportJobRepository.save(entity);
+        } catch (Exception e) {
+            log.warn(
+                    "Failed to save product import job progress, jobId={}, errorMessage={}",
+                    job.getJobId(),
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Resolves the items of a batch in parallel.
+     *
+     * @return the resolved items in batch order, null for items that failed or were skipped
+     */
+    private List<PreparedImport> resolveBatch(
+            RunningImportJob job, ImportProductsParam param, int from, int to) {
+        Executor executor = new DelegatingSecurityContextExecutor(resolveExecutor);
+        List<CompletableFuture<PreparedImport>> futures = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            int index = i;
+            ProductImportItemParam item = param.getItems().get(index);
+            futures.add(
+                    CompletableFuture.supplyAsync(
+                            () -> {
+                                if (job.isCancelRequested()) {
+                                    return null;
+                                }
+                                job.markRunning(index);
+                                return productImporter.prepare(param, item);
+                            },
+                            executor));
+        }
+
+        List<PreparedImport> prepared = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                prepared.add(futures.get(i).join());
+            } catch (CompletionException e) {
+                fail(job, from + i, e.getCause());
+                prepared.add(null);
+            }
+        }
+        return prepared;
+    }
+
+    private void writeBatch(RunningImportJob job, int from, List<PreparedImport> prepared) {
+        // One lookup for the whole batch instead of one per product.
+        Set<String> names =
+                prepared.stream()
+                        .filter(Objects::nonNull)
+                        .map(PreparedImport::productName)
+                        .collect(Collectors.toSet());
+        Set<String> existingNames =
+                names.isEmpty()
+                        ? Set.of()
+                        : productRepository.findByNameInAndAdminId(names, job.getAdminId()).stream()
+                                .map(Product::getName)
+                                .collect(Collectors.toSet());
+
+        for (int i = 0; i < prepared.size() && !job.isCancelRequested(); i++) {
+            PreparedImport item = prepared.get(i);
+            if (item == null) {
+                continue;
+            }
+            if (existingNames.contains(item.productName())) {
+                job.markFailed(
+                        from + i,
+                        String.format("Product with name '%s' already exists", item.productName()));
+                continue;
+            }
+            try {
+                item.writer().run();
+                job.markSucceeded(from + i);
+            } catch (Exception e) {
+                fail(job, from + i, e);
+            }
+        }
+    }
+
+    private void fail(RunningImportJob job, int index, Throwable e) {
+        log.warn(
+                "Failed to import product item, jobId={}, index={}, errorMessage={}",
+                job.getJobId(),
+                index,
+                e.getMessage());
+        job.markFailed(index, e.getMessage());
+    }
+
+    private ProductImportJobResult toResult(ProductImportJob entity) {
+        boolean stale =
+                entity.getFinishedAt() == null
+                        && entity.getUpdatedAt() != null
+                        && entity.getUpdatedAt().isBefore(LocalDateTime.now().minus(STALE_TIMEOUT))
+                        && !runningJobs.containsKey(entity.getJobId());
+
+        ProductImportJobResult result = new ProductImportJobResult();
+        result.setJobId(entity.getJobId());
+        result.setStatus(stale ? ProductImportStatus.FAILED : entity.getStatus());
+        List<ProductImportItem> items = entity.getItems() == null ? List.of() : entity.getItems();
+        result.setTotalCount(items.size());
+        List<ProductImportItemResult> itemResults = new ArrayList<>(items.size());
+        for (ProductImportItem item : items) {
+            ProductImportItemResult itemResult = new ProductImportItemResult();
+            itemResult.setResourceName(item.getResourceName());
+            itemResult.setResourceId(item.getResourceId());
+            itemResult.setStatus(
+                    stale
+                                    && (item.getStatus() == ProductImportStatus.PENDING
+                                            || item.getStatus() == ProductImportStatus.RUNNING)
+                            ? ProductImportStatus.CANCELLED
+                            : item.getStatus());
+            itemResult.setErrorMessage(item.getErrorMessage());
+            itemResults.add(itemResult);
+            if (item.getStatus() == ProductImportStatus.SUCCEEDED) {
+                result.setSuccessCount(result.getSuccessCount() + 1);
+            } else if (item.getStatus() == ProductImportStatus.FAILED) {
+                result.setFailedCount(result.getFailedCount() + 1);
+            }
+        }
+        result.setItems(itemResults);
+        result.setCreatedAt(entity.getCreateAt());
+        result.setFinishedAt(entity.getFinishedAt());
+        return result;
+    }
+}
@@ -104,12 +104,7 @@ public class ProductImporter {
                 JsonUtil.toJson(sourceConfig));
         for (ProductImportItemParam item : param.getItems()) {
             try {
-                switch (param.getSource()) {
-                    case GATEWAY -> importFromGateway(productType, sourceConfig, item);
-                    case NACOS -> importFromNacos(productType, sourceConfig, item);
-                    case AIREGISTRY -> importFromAiRegistry(productType, sourceConfig, item);
-                    case EXTERNAL -> importFromExternal(productType, sourceConfig, item);
-                }
+                prepare(param, item).writer().run();
                 result.setSuccessCount(result.getSuccessCount() + 1);
             } catch (Exception e) {
                 log.warn(
@@ -128,31 +123,56 @@ public class ProductImporter {
     }
 
     /**
-     * Import a gateway-backed product and link it to the selected gateway resource.
+     * Resolve an import item from its source without writing anything.
+     *
+     * <p>Calls to gateways, registries and vendors happen here, so that items can be resolved in
+     * parallel while the returned writer creates the product and its references.
+     *
+     * @param param the import parameters
+     * @param item the resource item selected for import
+     * @return the resolved item
+     */
+    public PreparedImport prepare(ImportProductsParam param, ProductImportItemParam item) {
+        ProductType productType = param.getProductType();
+        ProductImportSourceConfigParam sourceConfig = param.getSourceConfig();
+        return switch (param.getSource()) {
+            case GATEWAY -> prepareGatewayImport(productType, sourceConfig, item);
+            case NACOS -> prepareNacosImport(productType, sourceConfig, item);
+            case AIREGISTRY -> prepareAiRegistryImport(productType, sourceConfig, item);
+            case EXTERNAL -> prepareExternalImport(productType, sourceConfig, item);
+        };
+    }
+
+    /**
+     * Prepare a gateway-backed product linked to the selected gateway resource.
      *
      * @param productType the product type to import
      * @param sourceConfig the gateway import source configuration
      * @param item the resource item selected for import
+     * @return the resolved item
      */
-    private void importFromGateway(
+    private PreparedImport prepareGatewayImport(
             ProductType productType,
             ProductImportSourceConfigParam sourceConfig,
             ProductImportItemParam item) {
         CreateProductParam createProductParam = buildCreateProductParam(productType, item);
-        ProductResult product = productService.createProduct(createProductParam);
-        try {
-            AddProductRefParam addProductRefParam =
-                    buildGatewayRefParam(
-                            productType, (GatewayImportConfigParam) sourceConfig, item);
-            productService.addProductRef(product.getProductId(), addProductRefParam);
-        } catch (Exception e) {
-            log.warn(
-                    "Failed to add gateway reference for product, productId={}",
-                    product.getProductId(),
-                    e);
-            productService.deleteProduct(product.getProductId());
-            throw e;
-        }
+        AddProductRefParam addProductRefParam =
+                buildGatewayRefParam(productType, (GatewayImportConfigParam) sourceConfig, item);
+        return new PreparedImport(
+                createProductParam.getName(),
+                () -> {
+                    ProductResult product = productService.createProduct(createProductParam);
+                    try {
+                        productService.addProductRef(product.getProductId(), addProductRefParam);
+                    } catch (Exception e) {
+                        log.warn(
+                                "Failed to add gateway reference for product, productId={}",
+                                product.getProductId(),
+                                e);
+                        productService.deleteProduct(product.getProductId());
+                        throw e;
+                    }
+                });
     }
 
     /**
@@ -269,19 +289,20 @@ public class ProductImporter {
     }
 
     /**
-     * Import a Nacos-backed product and link it to the selected Nacos resource.
+     * Prepare a Nacos-backed product linked to the selected Nacos resource.
      *
      * @param productType the product type to import
      * @param sourceConfig the Nacos import source configuration
      * @param item the resource item selected for import
+     * @return the resolved item
      */
-    private void importFromNacos(
+    private PreparedImport prepareNacosImport(
             ProductType productType,
             ProductImportSourceConfigParam sourceConfig,
             ProductImportItemParam item) {
+        NacosImportConfigParam nacosSourceConfig = (NacosImportConfigParam) sourceConfig;
         if (productType == ProductType.AGENT_SKILL) {
-            NacosImportConfigParam nacosSourceConfig = (NacosImportConfigParam) sourceConfig;
-            productService.createProduct(
+            CreateProductParam skillProductParam =
                     buildSkillProductParam(
                             productType,
                             item,
@@ -290,33 +311,34 @@ public class ProductImporter {
                                     .nacosId(nacosSourceConfig.getInstanceId())
                                     .namespace(nacosSourceConfig.getNamespace())
                                     .skillName(item.getResourceName())
-                                    .build()));
-            return;
+                                    .build());
+            return new PreparedImport(
+                    skillProductParam.getName(),
+                    () -> productService.createProduct(skillProductParam));
         }
 
         CreateProductParam createProductParam = buildCreateProductParam(productType, item);
-        ProductResult product = productService.createProduct(createProductParam);
-        try {
-            NacosImportConfigParam nacosSourceConfig = (NacosImportConfigParam) sourceConfig;
-            NacosRefConfig nacosRefConfig =
-                    buildNacosRefConfig(productType, item, nacosSourceConfig);
-
-            AddProductRefParam addProductRefParam =
-                    AddProductRefParam.builder()
-                            .sourceType(SourceType.NACOS)
-                            .nacosId(nacosSourceConfig.getInstanceId())
-                            .nacosRefConfig(nacosRefConfig)
-                            .build();
-
-            productService.addProductRef(product.getProductId(), addProductRefParam);
-        } catch (Exception e) {
-            log.warn(
-                    "Failed to add Nacos reference for product, productId={}",
-                    product.getProductId(),
-                    e);
-            productService.deleteProduct(product.getProductId());
-            throw e;
-        }
+        AddProductRefParam addProductRefParam =
+                AddProductRefParam.builder()
+                        .sourceType(SourceType.NACOS)
+                        .nacosId(nacosSourceConfig.getInstanceId())
+                        .nacosRefConfig(buildNacosRefConfig(productType, item, nacosSourceConfig))
+                        .build();
+        return new PreparedImport(
+                createProductParam.getName(),
+                () -> {
+                    ProductResult product = productService.createProduct(createProductParam);
+                    try {
+                        productService.addProductRef(product.getProductId(), addProductRefParam);
+                    } catch (Exception e) {
+                        log.warn(
+                                "Failed to add Nacos reference for product, productId={}",
+                                product.getProductId(),
+                                e);
+                        productService.deleteProduct(product.getProductId());
+                        throw e;
+                    }
+                });
     }
 
     /**
@@ -345,7 +367,7 @@ public class ProductImporter {
         return nacosRefConfig;
     }
 
-    private void importFromAiRegistry(
+    private PreparedImport prepareAiRegistryImport(
             ProductType productType,
             ProductImportSourceConfigParam sourceConfig,
             ProductImportItemParam item) {
@@ -357,7 +379,7 @@ public class ProductImporter {
 
         AiRegistryImportConfigParam aiRegistryConfig = (AiRegistryImportConfigParam) sourceConfig;
         aiRegistryService.getAiRegistryInstance(aiRegistryConfig.getInstanceId());
-        productService.createProduct(
+        CreateProductParam skillProductParam =
                 buildSkillProductParam(
                         productType,
                         item,
@@ -366,17 +388,20 @@ public class ProductImporter {
                                 .aiRegistryId(aiRegistryConfig.getInstanceId())
                                 .namespace(aiRegistryConfig.getNamespace())
                                 .skillName(item.getResourceName())
-                                .build()));
+                                .build());
+        return new PreparedImport(
+                skillProductParam.getName(), () -> productService.createProduct(skillProductParam));
     }
 
     /**
-     * Import an external MCP server and create the matching API definition.
+     * Prepare an external MCP server and the matching API definition.
      *
      * @param productType the product type to import
      * @param sourceConfig the external import source configuration
      * @param item the resource item selected for import
+     * @return the resolved item
      */
-    private void importFromExternal(
+    private PreparedImport prepareExternalImport(
             ProductType productType,
             ProductImportSourceConfigParam sourceConfig,
             ProductImportItemParam item) {
@@ -399,14 +424,20 @@ public class ProductImporter {
         McpVendorAdapter adapter = vendorAdapterRegistry.getAdapter(mcpVendorType);
         RemoteMcpItem remoteItem = adapter.getMcpServer(item.getResourceId());
 
-        ProductResult product = productService.createProduct(buildMcpProductParam(remoteItem));
-        try {
-            apiDefinitionService.createApiDefinition(
-                    buildMcpApiDefinitionParam(remoteItem, mcpVendorType, product.getProductId()));
-        } catch (Exception e) {
-            productService.deleteProduct(product.getProductId());
-            throw e;
-        }
+        CreateProductParam createProductParam = buildMcpProductParam(remoteItem);
+        return new PreparedImport(
+                createProductParam.getName(),
+                () -> {
+                    ProductResult product = productService.createProduct(createProductParam);
+                    try {
+                        apiDefinitionService.createApiDefinition(
+                                buildMcpApiDefinitionParam(
+                                        remoteItem, mcpVendorType, product.getProductId()));
+                    } catch (Exception e) {
+                        productService.deleteProduct(product.getProductId());
+                        throw e;
+                    }
+                });
     }
 
     /**
@@ -525,4 +556,12 @@ public class ProductImporter {
             return null;
         }
     }
+
+    /**
+     * Import item resolved from its source and ready to be written.
+     *
+     * @param productName the name of the product to create
+     * @param writer creates the product and its references
+     */
+    public record PreparedImport(String productName, Runnable writer) {}
 }
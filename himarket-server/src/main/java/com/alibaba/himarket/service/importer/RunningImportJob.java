@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.importer;
+
+import com.alibaba.himarket.dto.params.product.ProductImportItemParam;
+import com.alibaba.himarket.entity.ProductImportJob;
+import com.alibaba.himarket.support.enums.ProductImportStatus;
+import com.alibaba.himarket.support.product.ProductImportItem;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * State of a product import job on the instance running it. Workers update it concurrently and
+ * snapshots of it are saved as the job progresses, so every access is synchronized.
+ */
+class RunningImportJob {
+
+    @Getter private final String jobId;
+
+    @Getter private final String adminId;
+
+    private final List<ProductImportItem> items = new ArrayList<>();
+
+    private ProductImportStatus status = ProductImportStatus.PENDING;
+
+    private LocalDateTime finishedAt;
+
+    private volatile boolean cancelRequested;
+
+    RunningImportJob(String jobId, String adminId, List<ProductImportItemParam> params) {
+        this.jobId = jobId;
+        this.adminId = adminId;
+        for (ProductImportItemParam param : params) {
+            items.add(
+                    ProductImportItem.builder()
+                            .resourceName(param.getResourceName())
+                            .resourceId(param.getResourceId())
+                            .status(ProductImportStatus.PENDING)
+                            .build());
+        }
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    synchronized void requestCancel() {
+        if (!isFinished()) {
+            cancelRequested = true;
+        }
+    }
+
+    synchronized void start() {
+        status = ProductImportStatus.RUNNING;
+    }
+
+    synchronized void markRunning(int index) {
+        items.get(index).setStatus(ProductImportStatus.RUNNING);
+    }
+
+    synchronized void markSucceeded(int index) {
+        items.get(index).setStatus(ProductImportStatus.SUCCEEDED);
+    }
+
+    synchronized void markFailed(int index, String errorMessage) {
+        ProductImportItem item = items.get(index);
+        item.setStatus(ProductImportStatus.FAILED);
+        item.setErrorMessage(errorMessage);
+    }
+
+    /**
+     * Finishes the job. Items that were never written are marked cancelled.
+     *
+     * @param finalStatus the job status
+     */
+    synchronized void finish(ProductImportStatus finalStatus) {
+        for (ProductImportItem item : items) {
+            if (item.getStatus() == ProductImportStatus.PENDING
+                    || item.getStatus() == ProductImportStatus.RUNNING) {
+                item.setStatus(ProductImportStatus.CANCELLED);
+            }
+        }
+        status = finalStatus;
+        finishedAt = LocalDateTime.now();
+    }
+
+    synchronized boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    /**
+     * Copies the current progress to the stored job.
+     *
+     * @param entity the stored job
+     */
+    synchronized void copyTo(ProductImportJob entity) {
+        List<ProductImportItem> snapshot = new ArrayList<>(items.size());
+        for (ProductImportItem item : items) {
+            snapshot.add(
+                    ProductImportItem.builder()
+                            .resourceName(item.getResourceName())
+                            .resourceId(item.getResourceId())
+                            .status(item.getStatus())
+                            .errorMessage(item.getErrorMessage())
+                            .build());
+        }
+        entity.setItems(snapshot);
+        entity.setStatus(status);
+        entity.setFinishedAt(finishedAt);
+    }
+}
@@ -21,6 +21,7 @@ package com.alibaba.himarket.service.mcp;
 
 import com.alibaba.himarket.core.exception.BusinessException;
 import com.alibaba.himarket.core.exception.ErrorCode;
+import com.alibaba.himarket.core.utils.HashUtils;
 import com.alibaba.himarket.core.utils.K8sClientUtils;
 import com.alibaba.himarket.entity.SandboxInstance;
 import com.alibaba.himarket.support.common.Strings;
@@ -30,6 +31,8 @@ import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.SecretBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -37,8 +40,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -77,12 +79,10 @@ public class AgentRuntimeDeployStrategy implements McpSandboxDeployStrategy {
                     .build();
 
     /**
-     * Maximum Endpoint polling wait time, in milliseconds.
+     * Maximum Endpoint wait time, in milliseconds.
      */
     private static final long POLL_TIMEOUT_MS = 60_000;
 
-    private static final long POLL_INTERVAL_MS = 3_000;
-
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     private final K8sClientUtils k8sClientUtils;
@@ -92,21 +92,16 @@ public class AgentRuntimeDeployStrategy implements McpSandboxDeployStrategy {
     }
 
     /**
-     * Scheduler for non-blocking polling. Daemon threads do not block JVM shutdown.
+     * Deploys waiting for an Endpoint URL, keyed by cluster, namespace and Endpoint name.
      */
-    private final ScheduledExecutorService pollScheduler =
-            Executors.newScheduledThreadPool(
-                    2,
-                    r -> {
-                        Thread t = new Thread(r, "sandbox-poll");
-                        t.setDaemon(true);
-                        return t;
-                    });
-
-    @jakarta.annotation.PreDestroy
-    void shutdown() {
-        pollScheduler.shutdownNow();
-    }
+    private final Map<String, CompletableFuture<String>> endpointReadyWaiters =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Undeploys waiting for an Endpoint to be removed, keyed like {@link #endpointReadyWaiters}.
+     */
+    private final Map<String, CompletableFuture<Void>> endpointDeletedWaiters =
+            new ConcurrentHashMap<>();
 
     @org.springframework.beans.factory.annotation.Value("${sandbox.ssl-verify:true}")
     private boolean sslVerify;
@@ -318,7 +313,7 @@ public class AgentRuntimeDeployStrategy implements McpSandboxDeployStrategy {
                 templateFile);
 
         String endpointName = resourceName + "-primary";
-        String endpointUrl = pollEndpointUrl(client, ns, endpointName);
+        String endpointUrl = waitEndpointUrl(sandbox.getKubeConfig(), client, ns, endpointName);
 
         // When SSL verification is disabled, downgrade HTTPS to HTTP
         if (!sslVerify && endpointUrl != null && endpointUrl.startsWith("https://")) {
@@ -419,69 +414,48 @@ public class AgentRuntimeDeployStrategy implements McpSandboxDeployStrategy {
             return;
         }
 
-        waitEndpointDeleted(client, ns, endpointName);
+        waitEndpointDeleted(sandbox.getKubeConfig(), ns, endpointName);
     }
 
     /**
      * Waits for the Endpoint CRD to be asynchronously cleaned up by the sandbox.
      *
-     * <p>CompletableFuture and ScheduledExecutorService avoid blocking Tomcat request threads. A
-     * timeout only emits a warning and does not block a later rebuild.
+     * <p>Completes on the delete event of the shared Endpoint informer. A timeout only emits a
+     * warning and does not block a later rebuild.
      */
-    private void waitEndpointDeleted(
-            KubernetesClient client, String namespace, String endpointName) {
-        CompletableFuture<Void> future = new CompletableFuture<>();
-        long deadline = System.currentTimeMillis() + POLL_TIMEOUT_MS;
-
-        Runnable pollTask =
-                new Runnable() {
-                    @Override
-                    public void run() {
-                        if (System.currentTimeMillis() > deadline) {
-                            future.complete(null);
-                            return;
-                        }
-                        try {
-                            GenericKubernetesResource endpoint =
-                                    client.genericKubernetesResources(ENDPOINT_CONTEXT)
-                                            .inNamespace(namespace)
-                                            .withName(endpointName)
-                                            .get();
-                            if (endpoint == null) {
-                                log.info(
-                                        "Agent runtime endpoint cleaned, namespace={},"
-                                                + " endpointName={}",
-                                        namespace,
-                                        endpointName);
-                                future.complete(null);
-                                return;
-                            }
-                        } catch (Exception e) {
-                            log.info(
-                                    "Agent runtime endpoint treated as cleaned after query failure,"
-                                            + " namespace={}, endpointName={}",
-                                    namespace,
-                                    endpointName);
-                            future.complete(null);
-                            return;
-                        }
-                        log.debug(
-                                "Agent runtime endpoint is not cleaned yet, endpointName={}",
-                                endpointName);
-                        pollScheduler.schedule(this, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
-                    }
-                };
-
-        pollScheduler.schedule(pollTask, 0, TimeUnit.MILLISECONDS);
-
+    private void waitEndpointDeleted(String kubeConfig, String namespace, String endpointName) {
+        String key = endpointKey(HashUtils.sha256Hex(kubeConfig), namespace, endpointName);
+        CompletableFuture<Void> future =
+                endpointDeletedWaiters.computeIfAbsent(key, k -> new CompletableFuture<>());
         try {
-            future.get(POLL_TIMEOUT_MS + 5_000, TimeUnit.MILLISECONDS);
-        } catch (Exception e) {
+            SharedIndexInformer<GenericKubernetesResource> informer =
+                    getEndpointInformer(kubeConfig, namespace);
+            // The Endpoint may be gone before the waiter was registered
+            if (informer.getStore().getByKey(namespace + "/" + endpointName) == null) {
+                future.complete(null);
+            }
+            future.get(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            log.info(
+                    "Agent runtime endpoint cleaned, namespace={}, endpointName={}",
+                    namespace,
+                    endpointName);
+        } catch (java.util.concurrent.TimeoutException e) {
             log.warn(
-                    "Agent runtime endpoint cleanup wait failed or timed out, timeoutSeconds={},"
+                    "Agent runtime endpoint cleanup wait timed out, timeoutSeconds={},"
                             + " endpointName={}",
                     POLL_TIMEOUT_MS / 1000,
                     endpointName);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.info(
+                    "Agent runtime endpoint treated as cleaned after watch failure,"
+                            + " namespace={}, endpointName={}, errorMessage={}",
+                    namespace,
+                    endpointName,
+                    e.getMessage());
+        } finally {
+            endpointDeletedWaiters.remove(key, future);
         }
     }
 
@@ -903,60 +877,39 @@ public class AgentRuntimeDeployStrategy implements McpSandboxDeployStrategy {
     }
 
     /**
-     * Polls the Endpoint CRD for status.url.
+     * Waits for status.url of the Endpoint CRD.
      *
-     * <p>CompletableFuture and ScheduledExecutorService avoid blocking Tomcat request threads. The
-     * Endpoint name is {toolserver-name}-primary.
+     * <p>Completes on the add or update event of the shared Endpoint informer that carries the URL,
+     * instead of polling the API server. The Endpoint is read directly once more before giving up,
+     * in case the watch missed it. The Endpoint name is {toolserver-name}-primary.
      */
-    private String pollEndpointUrl(KubernetesClient client, String namespace, String endpointName) {
-        CompletableFuture<String> future = new CompletableFuture<>();
-        long deadline = System.currentTimeMillis() + POLL_TIMEOUT_MS;
-
-        Runnable pollTask =
-                new Runnable() {
-                    @Override
-                    public void run() {
-                        if (System.currentTimeMillis() > deadline) {
-                            future.completeExceptionally(
-                                    new BusinessException(
-                                            ErrorCode.INVALID_REQUEST,
-                                            String.format(
-                                                    "Timed out waiting for Endpoint readiness"
-                                                            + " after %s seconds: %s",
-                                                    POLL_TIMEOUT_MS / 1000, endpointName)));
-                            return;
-                        }
-                        try {
-                            String url = tryGetEndpointUrl(client, namespace, endpointName);
-                            if (url != null) {
-                                future.complete(url);
-                                return;
-                            }
-                        } catch (Exception e) {
-                            log.debug(
-                                    "Agent runtime endpoint polling failed before creation,"
-                                            + " errorMessage={}",
-                                    e.getMessage());
-                        }
-                        pollScheduler.schedule(this, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
-                    }
-                };
-
-        pollScheduler.schedule(pollTask, 0, TimeUnit.MILLISECONDS);
-
+    private String waitEndpointUrl(
+            String kubeConfig, KubernetesClient client, String namespace, String endpointName) {
+        String key = endpointKey(HashUtils.sha256Hex(kubeConfig), namespace, endpointName);
+        CompletableFuture<String> future =
+                endpointReadyWaiters.computeIfAbsent(key, k -> new CompletableFuture<>());
         try {
-            return future.get(POLL_TIMEOUT_MS + 5_000, TimeUnit.MILLISECONDS);
+            SharedIndexInformer<GenericKubernetesResource> informer =
+                    getEndpointInformer(kubeConfig, namespace);
+            // The Endpoint may be ready before the waiter was registered
+            String url =
+                    extractEndpointUrl(
+                            informer.getStore().getByKey(namespace + "/" + endpointName));
+            if (url != null) {
+                future.complete(url);
+            }
+            return future.get(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
         } catch (java.util.concurrent.ExecutionException e) {
             Throwable cause = e.getCause();
-            if (cause instanceof BusinessException) {
-                throw (BusinessException) cause;
-            }
             throw new BusinessException(
                     ErrorCode.INVALID_REQUEST,
                     cause,
-                    String.format("Endpoint polling failed: %s", cause.getMessage()));
+                    String.format("Endpoint watch failed: %s", cause.getMessage()));
         } catch (java.util.concurrent.TimeoutException e) {
-            future.cancel(true);
+            String url = tryGetEndpointUrl(client, namespace, endpointName);
+            if (url != null) {
+                return url;
+            }
             throw new BusinessException(
                     ErrorCode.INVALID_REQUEST,
                     String.format(
@@ -966,21 +919,115 @@ public class AgentRuntimeDeployStrategy implements McpSandboxDeployStrategy {
             Thread.currentThread().interrupt();
             throw new BusinessException(
                     ErrorCode.INVALID_REQUEST, "Endpoint polling was interrupted");
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BusinessException(
+                    ErrorCode.INVALID_REQUEST,
+                    e,
+                    String.format("Endpoint watch failed: %s", e.getMessage()));
+        } finally {
+            endpointReadyWaiters.remove(key, future);
+        }
+    }
+
+    /**
+     * Gets the shared Endpoint informer of a namespace. Its handler completes the deploys and
+     * undeploys waiting for Endpoints of the namespace.
+     */
+    private SharedIndexInformer<GenericKubernetesResource> getEndpointInformer(
+            String kubeConfig, String namespace) {
+        return k8sClientUtils.getInformer(
+                kubeConfig,
+                "agentruntime-endpoints/" + namespace,
+                (client, resyncMillis) -> {
+                    SharedIndexInformer<GenericKubernetesResource> informer =
+                            client.genericKubernetesResources(ENDPOINT_CONTEXT)
+                                    .inNamespace(namespace)
+                                    .runnableInformer(resyncMillis);
+                    informer.addEventHandler(new EndpointEventHandler(kubeConfig));
+                    return informer;
+                });
+    }
+
+    private static String endpointKey(String clusterKey, String namespace, String endpointName) {
+        return clusterKey + "/" + namespace + "/" + endpointName;
+    }
+
+    /**
+     * Completes Endpoint waiters from informer events.
+     */
+    private class EndpointEventHandler implements ResourceEventHandler<GenericKubernetesResource> {
+
+        private final String clusterKey;
+
+        EndpointEventHandler(String kubeConfig) {
+            this.clusterKey = HashUtils.sha256Hex(kubeConfig);
+        }
+
+        @Override
+        public void onAdd(GenericKubernetesResource endpoint) {
+            onReady(endpoint);
+        }
+
+        @Override
+        public void onUpdate(
+                GenericKubernetesResource oldEndpoint, GenericKubernetesResource newEndpoint) {
+            onReady(newEndpoint);
+        }
+
+        @Override
+        public void onDelete(GenericKubernetesResource endpoint, boolean deletedFinalStateUnknown) {
+            CompletableFuture<Void> waiter = endpointDeletedWaiters.get(key(endpoint));
+            if (waiter != null) {
+                waiter.complete(null);
+            }
+        }
+
+        private void onReady(GenericKubernetesResource endpoint) {
+            CompletableFuture<String> waiter = endpointReadyWaiters.get(key(endpoint));
+            if (waiter == null) {
+                return;
+            }
+            String url = extractEndpointUrl(endpoint);
+            if (url != null) {
+                waiter.complete(url);
+            }
+        }
+
+        private String key(GenericKubernetesResource endpoint) {
+            return endpointKey(
+                    clusterKey,
+                    endpoint.getMetadata().getNamespace(),
+                    endpoint.getMetadata().getName());
         }
     }
 
     /**
      * Tries to get the URL from the Endpoint CRD, returning null when unavailable.
      */
-    @SuppressWarnings("unchecked")
     private String tryGetEndpointUrl(
             KubernetesClient client, String namespace, String endpointName) {
-        GenericKubernetesResource endpoint =
-                client.genericKubernetesResources(ENDPOINT_CONTEXT)
-                        .inNamespace(namespace)
-                        .withName(endpointName)
-                        .get();
+        try {
+            return extractEndpointUrl(
+                    client.genericKubernetesResources(ENDPOINT_CONTEXT)
+                            .inNamespace(namespace)
+                            .withName(endpointName)
+                            .get());
+        } catch (Exception e) {
+            log.debug(
+                    "Failed to read agent runtime endpoint, endpointName={}, errorMessage={}",
+                    endpointName,
+                    e.getMessage());
+            return null;
+        }
+    }
 
+    /**
+     * Gets status.url from an Endpoint CRD, returning null when not ready yet.
+     */
+    @SuppressWarnings("unchecked")
+    private String extractEndpointUrl(GenericKubernetesResource endpoint) {
         if (endpoint == null) {
             return null;
         }
@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.nacos;
+
+import com.alibaba.himarket.core.utils.CacheUtil;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.common.lifecycle.Closeable;
+import com.alibaba.nacos.maintainer.client.ai.AiMaintainerService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded pool of Nacos AI maintainer clients, one per Nacos instance.
+ *
+ * <p>Each pooled client is tagged with a fingerprint of the connection config it was built from,
+ * so a changed instance gets a fresh client on its next use. Clients idle for longer than {@link
+ * #IDLE_EXPIRE_SECONDS} or beyond {@link #MAX_CLIENTS} are evicted. An evicted or replaced
+ * client is retired and shut down once the calls still running on it have finished. Calls through
+ * a pooled client are watched, and after {@link #FAILURE_THRESHOLD} consecutive connection
+ * failures the client is dropped and rebuilt on next use. Pool size and rebuilds are exported as
+ * {@code himarket.nacos.client.pool.size} and {@code himarket.nacos.client.pool.rebuilds}.
+ */
+@Component
+@Slf4j
+public class AiMaintainerClientPool {
+
+    /**
+     * Maximum number of pooled clients
+     */
+    static final int MAX_CLIENTS = 100;
+
+    /**
+     * Seconds after which an unused client is evicted
+     */
+    static final long IDLE_EXPIRE_SECONDS = 30 * 60;
+
+    /**
+     * Consecutive failed calls after which a client is rebuilt
+     */
+    static final int FAILURE_THRESHOLD = 3;
+
+    /**
+     * Error codes that indicate a broken connection rather than a rejected request
+     */
+    private static final Set<Integer> CONNECTION_ERROR_CODES =
+            Set.of(
+                    NacosException.BAD_GATEWAY,
+                    NacosException.OVER_THRESHOLD,
+                    NacosException.CLIENT_DISCONNECT,
+                    NacosException.CLIENT_ERROR);
+
+    private static final String SDK_PACKAGE = AiMaintainerService.class.getPackageName();
+
+    private final Cache<String, PooledClient> clients;
+
+    private final MeterRegistry meterRegistry;
+
+    public AiMaintainerClientPool(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.clients =
+                CacheUtil.newLRUCache(
+                        MAX_CLIENTS,
+                        IDLE_EXPIRE_SECONDS,
+                        (String nacosId, PooledClient pooled, RemovalCause cause) -> {
+                            if (pooled != null) {
+                                pooled.retire(cause);
+                            }
+                        });
+        Gauge.builder("himarket.nacos.client.pool.size", clients, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Gets the pooled client of a Nacos instance, building one if there is none or the connection
+     * config has changed.
+     *
+     * @param nacosId Nacos instance ID
+     * @param fingerprint fingerprint of the connection config
+     * @param factory builds a new client
+     * @return the pooled client
+     */
+    public AiMaintainerService acquire(
+            String nacosId, String fingerprint, Supplier<AiMaintainerService> factory) {
+        PooledClient pooled = clients.getIfPresent(nacosId);
+        if (pooled != null && pooled.fingerprint.equals(fingerprint)) {
+            return pooled.proxy;
+        }
+
+        return clients.asMap()
+                .compute(
+                        nacosId,
+                        (id, current) -> {
+                            if (current != null && current.fingerprint.equals(fingerprint)) {
+                                return current;
+                            }
+                            if (current != null) {
+                                recordRebuild("config_changed");
+                                log.info(
+                                        "Rebuilding Nacos AI client after config change,"
+                                                + " nacosId={}",
+                                        id);
+                            }
+                            return new PooledClient(id, fingerprint, factory.get());
+                        })
+                .proxy;
+    }
+
+    /**
+     * Drops the pooled client of a Nacos instance. It is shut down once its running calls finish.
+     *
+     * @param nacosId Nacos instance ID
+     */
+    public void invalidate(String nacosId) {
+        clients.invalidate(nacosId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        clients.invalidateAll();
+        clients.cleanUp();
+    }
+
+    private void recordFailure(PooledClient pooled, Throwable error) {
+        if (!isConnectionFailure(error)) {
+            return;
+        }
+        int failures = pooled.failures.incrementAndGet();
+        if (failures >= FAILURE_THRESHOLD && clients.asMap().remove(pooled.nacosId, pooled)) {
+            recordRebuild("failure");
+            log.warn(
+                    "Dropping unhealthy Nacos AI client, nacosId={}, failures={}, errorMessage={}",
+                    pooled.nacosId,
+                    failures,
+                    error.getMessage());
+        }
+    }
+
+    private void recordRebuild(String reason) {
+        meterRegistry.counter("himarket.nacos.client.pool.rebuilds", "reason", reason).increment();
+    }
+
+    private static boolean isConnectionFailure(Throwable error) {
+        return error instanceof NacosException e && CONNECTION_ERROR_CODES.contains(e.getErrCode());
+    }
+
+    /**
+     * Shuts down the resources of a retired client, see {@link AiMaintainerClientResources}.
+     * Clients whose resources could not be resolved are left to the garbage collector.
+     */
+    private static void close(String nacosId, Closeable resources, RemovalCause cause) {
+        if (resources == null) {
+            log.debug("Released Nacos AI client, nacosId={}, cause={}", nacosId, cause);
+            return;
+        }
+        try {
+            resources.shutdown();
+            log.info("Closed Nacos AI client, nacosId={}, cause={}", nacosId, cause);
+        } catch (Exception e) {
+            log.warn(
+                    "Failed to close Nacos AI client, nacosId={}, errorMessage={}",
+                    nacosId,
+                    e.getMessage());
+        }
+    }
+
+    private final class PooledClient {
+
+        private final String nacosId;
+
+        private final String fingerprint;
+
+        /**
+         * What has to be shut down when the client is retired, null if unknown
+         */
+        private final Closeable resources;
+
+        private final AiMaintainerService proxy;
+
+        private final AtomicInteger failures = new AtomicInteger();
+
+        /**
+         * Calls currently running on the client
+         */
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private volatile RemovalCause retiredCause;
+
+        private PooledClient(String nacosId, String fingerprint, AiMaintainerService client) {
+            this.nacosId = nacosId;
+            this.fingerprint = fingerprint;
+            this.resources = AiMaintainerClientResources.of(client);
+            this.proxy = watch(client, AiMaintainerService.class);
+        }
+
+        /**
+         * Marks the client as removed from the pool. It is closed now if idle, otherwise by the
+         * last running call.
+         */
+        private void retire(RemovalCause cause) {
+            retiredCause = cause;
+            if (inFlight.get() == 0) {
+                closeOnce();
+            }
+        }
+
+        private void closeOnce() {
+            if (closed.compareAndSet(false, true)) {
+                close(nacosId, resources, retiredCause);
+            }
+        }
+
+        /**
+         * Wraps an SDK service so that call outcomes update the health of this client. Sub
+         * services such as {@code skill()} are wrapped the same way.
+         */
+        private <T> T watch(Object target, Class<T> type) {
+            InvocationHandler handler =
+                    (proxy, method, args) -> {
+                        if (method.getDeclaringClass() == Object.class) {
+                            return switch (method.getName()) {
+                                case "equals" -> proxy == args[0];
+                                case "hashCode" -> System.identityHashCode(proxy);
+                                default -> method.invoke(target, args);
+                            };
+                        }
+                        Object result;
+                        inFlight.incrementAndGet();
+                        try {
+                            result = method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            recordFailure(this, e.getCause());
+                            throw e.getCause();
+                        } finally {
+                            if (inFlight.decrementAndGet() == 0 && retiredCause != null) {
+                                closeOnce();
+                            }
+                        }
+                        if (isSubService(method, result)) {
+                            return watch(result, method.getReturnType());
+                        }
+                        failures.set(0);
+                        return result;
+                    };
+            return type.cast(
+                    Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+        }
+
+        private boolean isSubService(Method method, Object result) {
+            Class<?> returnType = method.getReturnType();
+            return result != null
+                    && returnType.isInterface()
+                    && returnType.getPackageName().equals(SDK_PACKAGE);
+        }
+    }
+}
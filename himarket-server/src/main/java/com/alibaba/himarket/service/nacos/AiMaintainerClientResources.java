@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.nacos;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.common.lifecycle.Closeable;
+import com.alibaba.nacos.maintainer.client.ai.AiMaintainerService;
+import com.alibaba.nacos.maintainer.client.remote.ClientHttpProxy;
+import java.lang.reflect.Field;
+import java.util.concurrent.ExecutorService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-client resources of a Nacos AI maintainer client.
+ *
+ * <p>The client built by {@code AiMaintainerFactory} is not {@link Closeable}. Its sub services
+ * share one {@link ClientHttpProxy}, which owns a relogin executor, a server list manager and the
+ * auth plugins. {@link ClientHttpProxy#shutdown()} also shuts down the process-wide {@code
+ * HttpClientManager} that every other client sends through, so only the resources owned by the
+ * proxy are released here.
+ */
+@Slf4j
+final class AiMaintainerClientResources implements Closeable {
+
+    private final ExecutorService executor;
+
+    private final Closeable serverListManager;
+
+    private final Closeable authPluginManager;
+
+    private AiMaintainerClientResources(ClientHttpProxy httpProxy)
+            throws ReflectiveOperationException {
+        this.executor = (ExecutorService) readField(httpProxy, "executor");
+        this.serverListManager = (Closeable) readField(httpProxy, "serverListManager");
+        this.authPluginManager = (Closeable) readField(httpProxy, "clientAuthPluginManager");
+    }
+
+    /**
+     * Resolves what has to be shut down when a client is retired.
+     *
+     * @param client the SDK client
+     * @return the client itself if it is closeable, the resources of its HTTP proxy, or null if
+     *     they cannot be found and the client is left to the garbage collector
+     */
+    static Closeable of(AiMaintainerService client) {
+        if (client instanceof Closeable closeable) {
+            return closeable;
+        }
+        try {
+            ClientHttpProxy httpProxy = findHttpProxy(client);
+            return httpProxy == null ? null : new AiMaintainerClientResources(httpProxy);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn(
+                    "Failed to resolve Nacos AI client resources, clientType={}, errorMessage={}",
+                    client.getClass().getName(),
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void shutdown() throws NacosException {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (serverListManager != null) {
+            serverListManager.shutdown();
+        }
+        if (authPluginManager != null) {
+            authPluginManager.shutdown();
+        }
+    }
+
+    /**
+     * Finds the HTTP proxy in the context of the first sub service, all of them share it.
+     */
+    private static ClientHttpProxy findHttpProxy(AiMaintainerService client)
+            throws ReflectiveOperationException {
+        for (Field field : client.getClass().getDeclaredFields()) {
+            field.setAccessible(true);
+            Object subService = field.get(client);
+            if (subService == null) {
+                continue;
+            }
+            Object context = readField(subService, "context");
+            if (context != null
+                    && readField(context, "clientHttpProxy") instanceof ClientHttpProxy proxy) {
+                return proxy;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads a field declared by the class of the target or one of its superclasses.
+     *
+     * @return the field value, or null if there is no such field
+     */
+    private static Object readField(Object target, String name)
+            throws ReflectiveOperationException {
+        for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(name);
+                field.setAccessible(true);
+                return field.get(target);
+            } catch (NoSuchFieldException e) {
+                // Declared by a superclass
+            }
+        }
+        return null;
+    }
+}
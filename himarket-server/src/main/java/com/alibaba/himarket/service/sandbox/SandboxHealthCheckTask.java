@@ -22,9 +22,22 @@ package com.alibaba.himarket.service.sandbox;
 import com.alibaba.himarket.core.utils.K8sClientUtils;
 import com.alibaba.himarket.entity.SandboxInstance;
 import com.alibaba.himarket.repository.SandboxInstanceRepository;
-import io.fabric8.kubernetes.client.KubernetesClient;
+import com.alibaba.himarket.service.task.SchedulerLeaseManager;
+import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -33,45 +46,180 @@ import org.springframework.stereotype.Component;
 /**
  * Scheduled sandbox cluster health check task.
  *
- * <p>Every 10 minutes, checks K8s connectivity for all sandbox instances and updates their status.
+ * <p>Each sandbox cluster keeps a shared namespace informer from {@link K8sClientUtils}. Its watch
+ * connection is reconnected by the client and tells whether the cluster is reachable, so the
+ * periodic check only reads the informer state and does not call the API server once the informer
+ * is running.
+ *
+ * <p>Only the instance holding the scheduler lease runs the periodic check. Clusters are checked
+ * in parallel, each within its own deadline, so an unreachable cluster does not delay the others.
+ * Sandboxes whose status changed are written with one statement per resulting status. The check
+ * time of unchanged sandboxes is only refreshed once it is older than {@link
+ * #CHECKED_AT_REFRESH_INTERVAL}.
  */
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class SandboxHealthCheckTask {
 
+    /**
+     * Maximum number of clusters checked at the same time
+     */
+    private static final int CHECK_CONCURRENCY = 8;
+
+    /**
+     * Maximum time of one cluster check, counted from when the check starts. Longer than the
+     * informer sync timeout, so the first check of a cluster reports the informer's own failure.
+     */
+    static final long CHECK_TIMEOUT_SECONDS = 35;
+
+    /**
+     * Age after which the check time of a sandbox with an unchanged status is written again
+     */
+    static final Duration CHECKED_AT_REFRESH_INTERVAL = Duration.ofMinutes(10);
+
+    private static final String LEASE_NAME = "sandbox-health-check";
+
+    private static final Duration LEASE_DURATION = Duration.ofMinutes(3);
+
     private final SandboxInstanceRepository sandboxInstanceRepository;
 
+    private final SchedulerLeaseManager schedulerLeaseManager;
+
     private final K8sClientUtils k8sClientUtils;
 
-    @Scheduled(fixedDelay = 10 * 60 * 1000, initialDelay = 30 * 1000)
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Executor for cluster checks. Daemon threads do not block JVM shutdown.
+     */
+    private final ExecutorService checkExecutor =
+            Executors.newFixedThreadPool(
+                    CHECK_CONCURRENCY,
+                    r -> {
+                        Thread t = new Thread(r, "sandbox-health-check");
+                        t.setDaemon(true);
+                        return t;
+                    });
+
+    @PreDestroy
+    void shutdown() {
+        checkExecutor.shutdownNow();
+    }
+
+    @Scheduled(fixedDelay = 60 * 1000, initialDelay = 30 * 1000)
     public void checkAll() {
-        List<SandboxInstance> sandboxes = sandboxInstanceRepository.findAll();
-        if (sandboxes.isEmpty()) {
+        if (!schedulerLeaseManager.tryAcquire(LEASE_NAME, LEASE_DURATION)) {
+            log.debug("Skip sandbox health check, lease held by another instance");
             return;
         }
-        log.info("Checking sandbox instances, count={}", sandboxes.size());
-        for (SandboxInstance sandbox : sandboxes) {
-            checkOne(sandbox);
+
+        long start = System.nanoTime();
+        try {
+            List<SandboxInstance> sandboxes = sandboxInstanceRepository.findAll();
+            if (sandboxes.isEmpty()) {
+                return;
+            }
+
+            List<CompletableFuture<HealthStatus>> futures = new ArrayList<>(sandboxes.size());
+            for (SandboxInstance sandbox : sandboxes) {
+                futures.add(submit(sandbox));
+            }
+
+            LocalDateTime checkedAt = LocalDateTime.now();
+            LocalDateTime refreshBefore = checkedAt.minus(CHECKED_AT_REFRESH_INTERVAL);
+            Map<HealthStatus, List<String>> updates = new LinkedHashMap<>();
+            int changed = 0;
+            int failed = 0;
+            for (int i = 0; i < sandboxes.size(); i++) {
+                SandboxInstance sandbox = sandboxes.get(i);
+                HealthStatus health = futures.get(i).join();
+                if (!"RUNNING".equals(health.status())) {
+                    failed++;
+                }
+                if (Objects.equals(health.status(), sandbox.getStatus())
+                        && Objects.equals(health.message(), sandbox.getStatusMessage())) {
+                    if (sandbox.getLastCheckedAt() != null
+                            && sandbox.getLastCheckedAt().isAfter(refreshBefore)) {
+                        continue;
+                    }
+                } else {
+                    logChange(sandbox, health);
+                    changed++;
+                }
+                updates.computeIfAbsent(health, key -> new ArrayList<>())
+                        .add(sandbox.getSandboxId());
+            }
+
+            updates.forEach(
+                    (health, sandboxIds) ->
+                            sandboxInstanceRepository.updateHealthStatus(
+                                    sandboxIds, health.status(), health.message(), checkedAt));
+            meterRegistry.counter("himarket.sandbox.health.check.failed").increment(failed);
+            log.debug(
+                    "Completed sandbox health check, count={}, changed={}, failed={},"
+                            + " elapsedMillis={}",
+                    sandboxes.size(),
+                    changed,
+                    failed,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            log.error(
+                    "Unexpected error during sandbox health check, errorMessage={}",
+                    e.getMessage(),
+                    e);
+        } finally {
+            meterRegistry
+                    .timer("himarket.sandbox.health.check.duration")
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
-        log.info("Completed sandbox health check, count={}", sandboxes.size());
     }
 
     /**
      * Checks one sandbox instance for cluster connectivity and updates its status.
+     *
+     * <p>The first check of a cluster starts its informer, which lists the namespaces and opens
+     * the watch. Later checks read whether the watch is still connected.
      */
     public void checkOne(SandboxInstance sandbox) {
+        HealthStatus health = probe(sandbox);
+        logChange(sandbox, health);
+        sandbox.setStatus(health.status());
+        sandbox.setStatusMessage(health.message());
+        sandbox.setLastCheckedAt(LocalDateTime.now());
+        sandboxInstanceRepository.save(sandbox);
+    }
+
+    private CompletableFuture<HealthStatus> submit(SandboxInstance sandbox) {
+        CompletableFuture<HealthStatus> result = new CompletableFuture<>();
+        checkExecutor.execute(
+                () -> {
+                    // The deadline starts with the check, not while it waits for a thread
+                    result.completeOnTimeout(
+                            new HealthStatus(
+                                    "ERROR",
+                                    "Health check timed out after "
+                                            + CHECK_TIMEOUT_SECONDS
+                                            + " seconds"),
+                            CHECK_TIMEOUT_SECONDS,
+                            TimeUnit.SECONDS);
+                    result.complete(probe(sandbox));
+                });
+        return result;
+    }
+
+    private HealthStatus probe(SandboxInstance sandbox) {
         String kubeConfig = sandbox.getKubeConfig();
         if (kubeConfig == null || kubeConfig.isBlank()) {
-            updateStatus(sandbox, "ERROR", "KubeConfig is empty");
-            return;
+            return new HealthStatus("ERROR", "KubeConfig is empty");
         }
         try {
-            KubernetesClient client = k8sClientUtils.getClient(kubeConfig);
-            // List namespaces to verify connectivity.
-            client.namespaces().list();
-
-            updateStatus(sandbox, "RUNNING", null);
+            SharedIndexInformer<Namespace> informer =
+                    k8sClientUtils.getNamespaceInformer(kubeConfig);
+            if (informer.isWatching()) {
+                return new HealthStatus("RUNNING", null);
+            }
+            return new HealthStatus("ERROR", "Watch connection to the cluster is lost");
         } catch (Exception e) {
             String msg = e.getMessage();
             if (msg == null || msg.isBlank()) {
@@ -83,24 +231,22 @@ public class SandboxHealthCheckTask {
             }
             // Evict failed clients so the next check creates a fresh connection.
             k8sClientUtils.evictClient(kubeConfig);
-            updateStatus(sandbox, "ERROR", msg);
+            return new HealthStatus("ERROR", msg);
         }
     }
 
-    private void updateStatus(SandboxInstance sandbox, String status, String message) {
+    private void logChange(SandboxInstance sandbox, HealthStatus health) {
         String oldStatus = sandbox.getStatus();
-        sandbox.setStatus(status);
-        sandbox.setStatusMessage(message);
-        sandbox.setLastCheckedAt(LocalDateTime.now());
-        sandboxInstanceRepository.save(sandbox);
-        if (!status.equals(oldStatus)) {
+        if (!health.status().equals(oldStatus)) {
             log.warn(
                     "Sandbox health status changed, sandboxName={}, oldStatus={}, newStatus={},"
                             + " message={}",
                     sandbox.getSandboxName(),
                     oldStatus,
-                    status,
-                    message);
+                    health.status(),
+                    health.message());
         }
     }
+
+    private record HealthStatus(String status, String message) {}
 }
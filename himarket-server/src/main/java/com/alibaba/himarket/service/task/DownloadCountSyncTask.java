@@ -1,22 +1,32 @@
 package com.alibaba.himarket.service.task;
 
+import com.alibaba.himarket.entity.PackageDownloadStat;
 import com.alibaba.himarket.entity.Product;
+import com.alibaba.himarket.repository.PackageDownloadStatRepository;
 import com.alibaba.himarket.repository.ProductRepository;
 import com.alibaba.himarket.service.AiRegistrySkillService;
 import com.alibaba.himarket.service.NacosService;
 import com.alibaba.himarket.support.enums.ProductType;
 import com.alibaba.himarket.support.enums.SkillRegistryType;
+import com.alibaba.himarket.support.product.ProductFeature;
 import com.alibaba.himarket.support.product.SkillConfig;
 import com.alibaba.himarket.support.product.WorkerConfig;
 import com.alibaba.nacos.api.ai.model.agentspecs.AgentSpecSummary;
 import com.alibaba.nacos.api.ai.model.skills.SkillSummary;
 import com.alibaba.nacos.api.model.Page;
 import com.alibaba.nacos.maintainer.client.ai.AiMaintainerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Resource;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -24,6 +34,13 @@ import org.springframework.stereotype.Component;
 
 /**
  * Scheduled task to sync download counts for Skill and Worker products from Nacos.
+ *
+ * <p>The synced count is the registry's count plus the downloads served from the local package
+ * cache, which never reach the registry.
+ *
+ * <p>Only the instance holding the scheduler lease runs the sync. Registry groups are fetched
+ * concurrently on the registry sync executor, and only products whose count changed are saved,
+ * in chunks of {@link #BATCH_SIZE} that Hibernate flushes as JDBC batches.
  */
 @Component
 @Slf4j
@@ -32,24 +49,62 @@ public class DownloadCountSyncTask {
 
     private static final int PAGE_SIZE = 100;
 
+    private static final int BATCH_SIZE = 500;
+
+    private static final String LEASE_NAME = "download-count-sync";
+
+    private static final Duration LEASE_DURATION = Duration.ofMinutes(10);
+
     private final ProductRepository productRepository;
     private final NacosService nacosService;
     private final AiRegistrySkillService aiRegistrySkillService;
+    private final SchedulerLeaseManager schedulerLeaseManager;
+    private final PackageDownloadStatRepository packageDownloadStatRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Resource(name = "registrySyncExecutor")
+    private Executor fetchExecutor;
 
     @Scheduled(fixedRate = 300_000)
     public void syncDownloadCounts() {
+        if (!schedulerLeaseManager.tryAcquire(LEASE_NAME, LEASE_DURATION)) {
+            log.debug("Skip download count sync, lease held by another instance");
+            return;
+        }
+
+        long start = System.nanoTime();
         try {
-            syncSkillDownloadCounts();
-            syncWorkerDownloadCounts();
+            List<CompletableFuture<List<CountUpdate>>> futures = new ArrayList<>();
+            Map<String, Long> cacheHits = loadCacheHits();
+            submitSkillGroups(futures, cacheHits);
+            submitWorkerGroups(futures, cacheHits);
+
+            List<CountUpdate> updates = new ArrayList<>();
+            for (CompletableFuture<List<CountUpdate>> future : futures) {
+                updates.addAll(future.join());
+            }
+
+            int changed = applyUpdates(updates);
+            meterRegistry.counter("himarket.download.count.sync.changed").increment(changed);
+            log.info(
+                    "Download count sync finished, groups={}, changed={}, elapsedMillis={}",
+                    futures.size(),
+                    changed,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
         } catch (Exception e) {
             log.error(
                     "Unexpected error during download count sync, errorMessage={}",
                     e.getMessage(),
                     e);
+        } finally {
+            meterRegistry
+                    .timer("himarket.download.count.sync.duration")
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 
-    private void syncSkillDownloadCounts() {
+    private void submitSkillGroups(
+            List<CompletableFuture<List<CountUpdate>>> futures, Map<String, Long> cacheHits) {
         List<Product> skillProducts = productRepository.findAllByType(ProductType.AGENT_SKILL);
         List<Product> nacosProducts =
                 skillProducts.stream()
@@ -71,7 +126,14 @@ public class DownloadCountSyncTask {
 
             for (List<Product> group : productsByNacos.values()) {
                 SkillConfig config = group.get(0).getFeature().getSkillConfig();
-                syncSkillGroup(config.getNacosId(), config.getNamespace(), group);
+                futures.add(
+                        submit(
+                                () ->
+                                        syncSkillGroup(
+                                                config.getNacosId(),
+                                                config.getNamespace(),
+                                                group,
+                                                cacheHits)));
             }
         }
 
@@ -92,7 +154,14 @@ public class DownloadCountSyncTask {
 
         for (List<Product> group : productsByAiRegistry.values()) {
             SkillConfig config = group.get(0).getFeature().getSkillConfig();
-            syncAiRegistrySkillGroup(config.getAiRegistryId(), config.getNamespace(), group);
+            futures.add(
+                    submit(
+                            () ->
+                                    syncAiRegistrySkillGroup(
+                                            config.getAiRegistryId(),
+                                            config.getNamespace(),
+                                            group,
+                                            cacheHits)));
         }
     }
 
@@ -107,7 +176,8 @@ public class DownloadCountSyncTask {
                 && config.getAiRegistryId() != null;
     }
 
-    private void syncWorkerDownloadCounts() {
+    private void submitWorkerGroups(
+            List<CompletableFuture<List<CountUpdate>>> futures, Map<String, Long> cacheHits) {
         List<Product> products =
                 productRepository.findAllByType(ProductType.WORKER).stream()
                         .filter(
@@ -131,11 +201,23 @@ public class DownloadCountSyncTask {
 
         for (List<Product> group : productsByNacos.values()) {
             WorkerConfig config = group.get(0).getFeature().getWorkerConfig();
-            syncWorkerGroup(config.getNacosId(), config.getNamespace(), group);
+            futures.add(
+                    submit(
+                            () ->
+                                    syncWorkerGroup(
+                                            config.getNacosId(),
+                                            config.getNamespace(),
+                                            group,
+                                            cacheHits)));
         }
     }
 
-    private void syncSkillGroup(String nacosId, String namespace, List<Product> products) {
+    private CompletableFuture<List<CountUpdate>> submit(Supplier<List<CountUpdate>> groupSync) {
+        return CompletableFuture.supplyAsync(groupSync, fetchExecutor);
+    }
+
+    private List<CountUpdate> syncSkillGroup(
+            String nacosId, String namespace, List<Product> products, Map<String, Long> cacheHits) {
         try {
             AiMaintainerService aiService = nacosService.getAiMaintainerService(nacosId);
 
@@ -156,31 +238,16 @@ public class DownloadCountSyncTask {
                 pageNo++;
             }
 
-            if (downloadCountMap.isEmpty()) {
-                return;
-            }
-
+            List<CountUpdate> updates = new ArrayList<>();
             for (Product product : products) {
-                try {
-                    SkillConfig config = product.getFeature().getSkillConfig();
-                    Long count = downloadCountMap.get(config.getSkillName());
-
-                    if (count != null && !Objects.equals(config.getDownloadCount(), count)) {
-                        config.setDownloadCount(count);
-                        productRepository.save(product);
-                        log.info(
-                                "Synced download count for skill product, productId={},"
-                                        + " downloadCount={}",
-                                product.getProductId(),
-                                count);
-                    }
-                } catch (Exception e) {
-                    log.warn(
-                            "Failed to sync download count for skill product, productId={}",
-                            product.getProductId(),
-                            e);
+                SkillConfig config = product.getFeature().getSkillConfig();
+                Long count =
+                        totalCount(downloadCountMap.get(config.getSkillName()), product, cacheHits);
+                if (count != null && !Objects.equals(config.getDownloadCount(), count)) {
+                    updates.add(new CountUpdate(product, count));
                 }
             }
+            return updates;
         } catch (Exception e) {
             log.warn(
                     "Failed to sync download counts for skill products from Nacos, nacosId={},"
@@ -188,39 +255,29 @@ public class DownloadCountSyncTask {
                     nacosId,
                     e.getMessage(),
                     e);
+            return List.of();
         }
     }
 
-    private void syncAiRegistrySkillGroup(
-            String aiRegistryId, String namespace, List<Product> products) {
+    private List<CountUpdate> syncAiRegistrySkillGroup(
+            String aiRegistryId,
+            String namespace,
+            List<Product> products,
+            Map<String, Long> cacheHits) {
         try {
             Map<String, Long> downloadCountMap =
                     aiRegistrySkillService.listSkillDownloadCounts(aiRegistryId, namespace);
-            if (downloadCountMap.isEmpty()) {
-                return;
-            }
+
+            List<CountUpdate> updates = new ArrayList<>();
             for (Product product : products) {
-                try {
-                    SkillConfig config = product.getFeature().getSkillConfig();
-                    Long count = downloadCountMap.get(config.getSkillName());
-
-                    if (count != null && !Objects.equals(config.getDownloadCount(), count)) {
-                        config.setDownloadCount(count);
-                        productRepository.save(product);
-                        log.info(
-                                "Synced download count for AIRegistry skill product, productId={},"
-                                        + " downloadCount={}",
-                                product.getProductId(),
-                                count);
-                    }
-                } catch (Exception e) {
-                    log.warn(
-                            "Failed to sync download count for AIRegistry skill product,"
-                                    + " productId={}",
-                            product.getProductId(),
-                            e);
+                SkillConfig config = product.getFeature().getSkillConfig();
+                Long count =
+                        totalCount(downloadCountMap.get(config.getSkillName()), product, cacheHits);
+                if (count != null && !Objects.equals(config.getDownloadCount(), count)) {
+                    updates.add(new CountUpdate(product, count));
                 }
             }
+            return updates;
         } catch (Exception e) {
             log.warn(
                     "Failed to sync download counts for skill products from AIRegistry,"
@@ -228,10 +285,12 @@ public class DownloadCountSyncTask {
                     aiRegistryId,
                     e.getMessage(),
                     e);
+            return List.of();
         }
     }
 
-    private void syncWorkerGroup(String nacosId, String namespace, List<Product> products) {
+    private List<CountUpdate> syncWorkerGroup(
+            String nacosId, String namespace, List<Product> products, Map<String, Long> cacheHits) {
         try {
             AiMaintainerService aiService = nacosService.getAiMaintainerService(nacosId);
 
@@ -254,31 +313,19 @@ public class DownloadCountSyncTask {
                 pageNo++;
             }
 
-            if (downloadCountMap.isEmpty()) {
-                return;
-            }
-
+            List<CountUpdate> updates = new ArrayList<>();
             for (Product product : products) {
-                try {
-                    WorkerConfig config = product.getFeature().getWorkerConfig();
-                    Long count = downloadCountMap.get(config.getAgentSpecName());
-
-                    if (count != null && !Objects.equals(config.getDownloadCount(), count)) {
-                        config.setDownloadCount(count);
-                        productRepository.save(product);
-                        log.info(
-                                "Synced download count for worker product, productId={},"
-                                        + " downloadCount={}",
-                                product.getProductId(),
-                                count);
-                    }
-                } catch (Exception e) {
-                    log.warn(
-                            "Failed to sync download count for worker product, productId={}",
-                            product.getProductId(),
-                            e);
+                WorkerConfig config = product.getFeature().getWorkerConfig();
+                Long count =
+                        totalCount(
+                                downloadCountMap.get(config.getAgentSpecName()),
+                                product,
+                                cacheHits);
+                if (count != null && config.getDownloadCount() != count) {
+                    updates.add(new CountUpdate(product, count));
                 }
             }
+            return updates;
         } catch (Exception e) {
             log.warn(
                     "Failed to sync download counts for worker products from Nacos, nacosId={},"
@@ -286,6 +333,56 @@ public class DownloadCountSyncTask {
                     nacosId,
                     e.getMessage(),
                     e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Loads the package cache hits per product, which the registries never see.
+     */
+    private Map<String, Long> loadCacheHits() {
+        Map<String, Long> cacheHits = new HashMap<>();
+        for (PackageDownloadStat stat : packageDownloadStatRepository.findAll()) {
+            cacheHits.put(stat.getProductId(), stat.getCacheHitCount());
+        }
+        return cacheHits;
+    }
+
+    private Long totalCount(Long registryCount, Product product, Map<String, Long> cacheHits) {
+        if (registryCount == null) {
+            return null;
+        }
+        return registryCount + cacheHits.getOrDefault(product.getProductId(), 0L);
+    }
+
+    private int applyUpdates(List<CountUpdate> updates) {
+        int changed = 0;
+        for (int from = 0; from < updates.size(); from += BATCH_SIZE) {
+            List<CountUpdate> chunk =
+                    updates.subList(from, Math.min(from + BATCH_SIZE, updates.size()));
+            List<Product> products = new ArrayList<>(chunk.size());
+            for (CountUpdate update : chunk) {
+                ProductFeature feature = update.product().getFeature();
+                if (feature.getSkillConfig() != null) {
+                    feature.getSkillConfig().setDownloadCount(update.downloadCount());
+                } else {
+                    feature.getWorkerConfig().setDownloadCount(update.downloadCount());
+                }
+                products.add(update.product());
+            }
+            try {
+                productRepository.saveAll(products);
+                changed += chunk.size();
+            } catch (Exception e) {
+                log.warn(
+                        "Failed to apply download count updates, size={}, errorMessage={}",
+                        chunk.size(),
+                        e.getMessage(),
+                        e);
+            }
         }
+        return changed;
     }
+
+    private record CountUpdate(Product product, long downloadCount) {}
 }
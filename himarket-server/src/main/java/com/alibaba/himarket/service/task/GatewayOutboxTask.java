@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.task;
+
+import com.alibaba.himarket.service.GatewayOutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task to retry gateway outbox entries and pick up entries left by other instances.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class GatewayOutboxTask {
+
+    private final GatewayOutboxService gatewayOutboxService;
+
+    @Scheduled(fixedDelay = 30 * 1000, initialDelay = 30 * 1000)
+    public void dispatchGatewayOutbox() {
+        try {
+            gatewayOutboxService.dispatchPending();
+        } catch (Exception e) {
+            log.error(
+                    "Unexpected error during gateway outbox dispatch, errorMessage={}",
+                    e.getMessage(),
+                    e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.task;
+
+import com.alibaba.himarket.service.GatewayResourceService;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task to refresh the local resource inventory of imported gateways.
+ *
+ * <p>The inventory is shared through the database, so only the instance holding the scheduler
+ * lease syncs it.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class GatewayResourceSyncTask {
+
+    private static final String LEASE_NAME = "gateway-resource-sync";
+
+    private static final Duration LEASE_DURATION = Duration.ofMinutes(30);
+
+    private final GatewayResourceService gatewayResourceService;
+    private final SchedulerLeaseManager schedulerLeaseManager;
+
+    @Scheduled(fixedDelay = 10 * 60 * 1000, initialDelay = 60 * 1000)
+    public void syncGatewayResources() {
+        if (!schedulerLeaseManager.tryAcquire(LEASE_NAME, LEASE_DURATION)) {
+            log.debug("Skip gateway resource sync, lease held by another instance");
+            return;
+        }
+
+        try {
+            gatewayResourceService.syncAllResources();
+        } catch (Exception e) {
+            log.error(
+                    "Unexpected error during gateway resource sync, errorMessage={}",
+                    e.getMessage(),
+                    e);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.task;
+
+import com.alibaba.himarket.core.event.PackageChangedEvent;
+import com.alibaba.himarket.entity.Product;
+import com.alibaba.himarket.repository.ProductRepository;
+import com.alibaba.himarket.service.NacosService;
+import com.alibaba.himarket.support.common.Strings;
+import com.alibaba.himarket.support.enums.ProductType;
+import com.alibaba.himarket.support.enums.SkillRegistryType;
+import com.alibaba.himarket.support.product.SkillConfig;
+import com.alibaba.himarket.support.product.WorkerConfig;
+import com.alibaba.nacos.api.ai.model.agentspecs.AgentSpecSummary;
+import com.alibaba.nacos.api.ai.model.skills.SkillSummary;
+import com.alibaba.nacos.api.model.Page;
+import com.alibaba.nacos.maintainer.client.ai.AiMaintainerService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task to detect skill and worker changes in Nacos and invalidate local caches.
+ *
+ * <p>Each run lists the summaries of every namespace that imported products live in and compares
+ * a fingerprint of each package with the previous run. Only products whose package changed, or
+ * disappeared, get a {@link PackageChangedEvent}, so cached versions and packages stay valid
+ * until Nacos actually changes.
+ *
+ * <p>Only the instance holding the scheduler lease watches, so the registry is listed once per
+ * interval instead of once per instance. Other instances are not notified and pick up changes
+ * when their version lists expire, cached packages are keyed by explicit version and do not go
+ * stale.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class NacosPackageWatchTask {
+
+    private static final int PAGE_SIZE = 100;
+
+    private static final String LEASE_NAME = "nacos-package-watch";
+
+    private static final Duration LEASE_DURATION = Duration.ofMinutes(3);
+
+    private final ProductRepository productRepository;
+    private final NacosService nacosService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SchedulerLeaseManager schedulerLeaseManager;
+
+    /**
+     * Package fingerprints seen in the previous run, by watch group and package name
+     */
+    private final Map<String, Map<String, String>> fingerprints = new ConcurrentHashMap<>();
+
+    @Scheduled(fixedDelay = 60 * 1000, initialDelay = 60 * 1000)
+    public void watchPackages() {
+        if (!schedulerLeaseManager.tryAcquire(LEASE_NAME, LEASE_DURATION)) {
+            log.debug("Skip Nacos package watch, lease held by another instance");
+            // Fingerprints from an earlier lease would report every change made meanwhile
+            fingerprints.clear();
+            return;
+        }
+
+        try {
+            watchSkills();
+            watchWorkers();
+        } catch (Exception e) {
+            log.error(
+                    "Unexpected error during Nacos package watch, errorMessage={}",
+                    e.getMessage(),
+                    e);
+        }
+    }
+
+    private void watchSkills() {
+        Map<WatchGroup, Map<String, List<String>>> groups = new HashMap<>();
+        for (Product product : productRepository.findAllByType(ProductType.AGENT_SKILL)) {
+            SkillConfig config =
+                    product.getFeature() == null ? null : product.getFeature().getSkillConfig();
+            if (config == null
+                    || config.getNacosId() == null
+                    || Strings.isBlank(config.getSkillName())
+                    || (config.getRegistryType() != null
+                            && config.getRegistryType() != SkillRegistryType.NACOS)) {
+                continue;
+            }
+            groups.computeIfAbsent(
+                            new WatchGroup("skill", config.getNacosId(), config.getNamespace()),
+                            key -> new HashMap<>())
+                    .computeIfAbsent(config.getSkillName(), key -> new ArrayList<>())
+                    .add(product.getProductId());
+        }
+
+        groups.forEach(
+                (group, productsByName) -> {
+                    try {
+                        AiMaintainerService aiService =
+                                nacosService.getAiMaintainerService(group.nacosId());
+                        Map<String, String> current = new HashMap<>();
+                        int pageNo = 1;
+                        while (true) {
+                            Page<SkillSummary> page =
+                                    aiService
+                                            .skill()
+                                            .listSkills(
+                                                    group.namespace(),
+                                                    null,
+                                                    null,
+                                                    pageNo,
+                                                    PAGE_SIZE);
+                            if (page == null || page.getPageItems() == null) {
+                                break;
+                            }
+                            for (SkillSummary summary : page.getPageItems()) {
+                                current.putIfAbsent(
+                                        summary.getName(),
+                                        fingerprint(
+                                                summary.getUpdateTime(),
+                                                summary.getEditingVersion(),
+                                                summary.getReviewingVersion(),
+                                                summary.getOnlineCnt(),
+                                                summary.isEnable(),
+                                                summary.getLabels()));
+                            }
+                            if (page.getPageItems().size() < PAGE_SIZE) {
+                                break;
+                            }
+                            pageNo++;
+                        }
+                        publishChanges(group, productsByName, current);
+                    } catch (Exception e) {
+                        log.warn(
+                                "Failed to watch skills in Nacos, nacosId={}, errorMessage={}",
+                                group.nacosId(),
+                                e.getMessage());
+                    }
+                });
+        prune("skill", groups);
+    }
+
+    private void watchWorkers() {
+        Map<WatchGroup, Map<String, List<String>>> groups = new HashMap<>();
+        for (Product product : productRepository.findAllByType(ProductType.WORKER)) {
+            WorkerConfig config =
+                    product.getFeature() == null ? null : product.getFeature().getWorkerConfig();
+            if (config == null
+                    || config.getNacosId() == null
+                    || Strings.isBlank(config.getAgentSpecName())) {
+                continue;
+            }
+            groups.computeIfAbsent(
+                            new WatchGroup("worker", config.getNacosId(), config.getNamespace()),
+                            key -> new HashMap<>())
+                    .computeIfAbsent(config.getAgentSpecName(), key -> new ArrayList<>())
+                    .add(product.getProductId());
+        }
+
+        groups.forEach(
+                (group, productsByName) -> {
+                    try {
+                        AiMaintainerService aiService =
+                                nacosService.getAiMaintainerService(group.nacosId());
+                        Map<String, String> current = new HashMap<>();
+                        int pageNo = 1;
+                        while (true) {
+                            Page<AgentSpecSummary> page =
+                                    aiService
+                                            .agentSpec()
+                                            .listAgentSpecAdminItems(
+                                                    group.namespace(),
+                                                    null,
+                                                    null,
+                                                    pageNo,
+                                                    PAGE_SIZE);
+                            if (page == null || page.getPageItems() == null) {
+                                break;
+                            }
+                            for (AgentSpecSummary summary : page.getPageItems()) {
+                                current.putIfAbsent(
+                                        summary.getName(),
+                                        fingerprint(
+                                                summary.getUpdateTime(),
+                                                summary.getEditingVersion(),
+                                                summary.getReviewingVersion(),
+                                                summary.getOnlineCnt(),
+                                                summary.isEnable(),
+                                                summary.getLabels()));
+                            }
+                            if (page.getPageItems().size() < PAGE_SIZE) {
+                                break;
+                            }
+                            pageNo++;
+                        }
+                        publishChanges(group, productsByName, current);
+                    } catch (Exception e) {
+                        log.warn(
+                                "Failed to watch workers in Nacos, nacosId={}, errorMessage={}",
+                                group.nacosId(),
+                                e.getMessage());
+                    }
+                });
+        prune("worker", groups);
+    }
+
+    /**
+     * Compares the fingerprints of a group with the previous run. The first run of a group only
+     * records fingerprints, since nothing of it has been cached by this watch yet.
+     */
+    private void publishChanges(
+            WatchGroup group,
+            Map<String, List<String>> productsByName,
+            Map<String, String> current) {
+        Map<String, String> previous = fingerprints.put(group.key(), current);
+        if (previous == null) {
+            return;
+        }
+        productsByName.forEach(
+                (name, productIds) -> {
+                    String before = previous.get(name);
+                    String after = current.get(name);
+                    if (before == null && after == null || Objects.equals(before, after)) {
+                        return;
+                    }
+                    log.info(
+                            "Detected package change in Nacos, type={}, nacosId={}, name={}",
+                            group.type(),
+                            group.nacosId(),
+                            name);
+                    productIds.forEach(
+                            productId ->
+                                    eventPublisher.publishEvent(
+                                            new PackageChangedEvent(productId)));
+                });
+    }
+
+    /**
+     * Forgets groups that no longer have any imported product.
+     */
+    private void prune(String type, Map<WatchGroup, ?> groups) {
+        String prefix = type + "|";
+        fingerprints
+                .keySet()
+                .removeIf(
+                        key ->
+                                key.startsWith(prefix)
+                                        && groups.keySet().stream()
+                                                .noneMatch(group -> group.key().equals(key)));
+    }
+
+    private String fingerprint(
+            Long updateTime,
+            String editingVersion,
+            String reviewingVersion,
+            Integer onlineCnt,
+            boolean enable,
+            Map<String, String> labels) {
+        return String.join(
+                "|",
+                String.valueOf(updateTime),
+                String.valueOf(editingVersion),
+                String.valueOf(reviewingVersion),
+                String.valueOf(onlineCnt),
+                String.valueOf(enable),
+                String.valueOf(labels == null ? null : new TreeMap<>(labels)));
+    }
+
+    private record WatchGroup(String type, String nacosId, String namespace) {
+
+        String key() {
+            return type + "|" + nacosId + "|" + namespace;
+        }
+    }
+}
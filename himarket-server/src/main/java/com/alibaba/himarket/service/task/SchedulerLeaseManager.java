@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.alibaba.himarket.service.task;
+
+import com.alibaba.himarket.entity.SchedulerLease;
+import com.alibaba.himarket.repository.SchedulerLeaseRepository;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Elects a single instance to run a cluster-wide scheduled task through a database lease.
+ *
+ * <p>The instance holding a lease keeps it as long as it renews before expiry, so leadership only
+ * moves when the leader stops running the task.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SchedulerLeaseManager {
+
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+
+    private final String instanceId = resolveInstanceId();
+
+    /**
+     * Takes or renews a lease for this instance.
+     *
+     * @param leaseName task name
+     * @param leaseDuration how long the lease is held without renewal
+     * @return true if this instance holds the lease and should run the task
+     */
+    public boolean tryAcquire(String leaseName, Duration leaseDuration) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plus(leaseDuration);
+        try {
+            if (schedulerLeaseRepository.tryAcquire(leaseName, instanceId, now, leaseUntil) > 0) {
+                return true;
+            }
+            if (schedulerLeaseRepository.existsByLeaseName(leaseName)) {
+                return false;
+            }
+            schedulerLeaseRepository.saveAndFlush(
+                    SchedulerLease.builder()
+                            .leaseName(leaseName)
+                            .owner(instanceId)
+                            .leaseUntil(leaseUntil)
+                            .build());
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the lease first
+            return false;
+        } catch (Exception e) {
+            log.warn(
+                    "Failed to acquire scheduler lease, leaseName={}, errorMessage={}",
+                    leaseName,
+                    e.getMessage());
+            return false;
+        }
+    }
+
+    private static String resolveInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.task;
+
+import com.alibaba.himarket.dto.vendor.RemoteMcpItem;
+import com.alibaba.himarket.service.vendor.McpVendorAdapter;
+import com.alibaba.himarket.service.vendor.McpVendorMirror;
+import com.alibaba.himarket.service.vendor.VendorAdapterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task to refresh the local mirror of external vendor MCP catalogs.
+ *
+ * <p>Only the instance holding the scheduler lease refreshes. A catalog fetch that hits a failed
+ * vendor page throws and keeps the current mirror. A fetched catalog that still shrank to less
+ * than half of the mirrored one is skipped as well, in case the vendor itself returned a partial
+ * catalog.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class VendorMirrorRefreshTask {
+
+    private static final int MAX_CATALOG_ITEMS = 10_000;
+
+    private static final String LEASE_NAME = "vendor-mcp-mirror";
+
+    private static final Duration LEASE_DURATION = Duration.ofMinutes(50);
+
+    private final VendorAdapterRegistry vendorAdapterRegistry;
+    private final McpVendorMirror mcpVendorMirror;
+    private final SchedulerLeaseManager schedulerLeaseManager;
+    private final MeterRegistry meterRegistry;
+
+    @Scheduled(fixedDelay = 60 * 60 * 1000, initialDelay = 60 * 1000)
+    public void refreshMirrors() {
+        if (!schedulerLeaseManager.tryAcquire(LEASE_NAME, LEASE_DURATION)) {
+            log.debug("Skip vendor mirror refresh, lease held by another instance");
+            return;
+        }
+
+        for (McpVendorAdapter adapter : vendorAdapterRegistry.getAdapters()) {
+            String result = "failed";
+            try {
+                result = refresh(adapter);
+            } catch (Exception e) {
+                log.error(
+                        "Unexpected error during vendor mirror refresh, vendor={},"
+                                + " errorMessage={}",
+                        adapter.getType(),
+                        e.getMessage(),
+                        e);
+            } finally {
+                meterRegistry
+                        .counter(
+                                "himarket.vendor.mirror.refresh",
+                                "vendor",
+                                adapter.getType().name(),
+                                "result",
+                                result)
+                        .increment();
+            }
+        }
+    }
+
+    private String refresh(McpVendorAdapter adapter) {
+        long start = System.currentTimeMillis();
+        List<RemoteMcpItem> items = adapter.fetchCatalog(MAX_CATALOG_ITEMS);
+
+        int mirrored = mcpVendorMirror.countItems(adapter.getType());
+        if (items.isEmpty() || items.size() * 2 < mirrored) {
+            log.warn(
+                    "Skip vendor mirror refresh on a shrunken catalog, vendor={}, fetched={},"
+                            + " mirrored={}",
+                    adapter.getType(),
+                    items.size(),
+                    mirrored);
+            return "skipped";
+        }
+
+        int count = mcpVendorMirror.replace(adapter.getType(), items, LocalDateTime.now());
+        log.info(
+                "Vendor mirror refreshed, vendor={}, items={}, elapsedMillis={}",
+                adapter.getType(),
+                count,
+                System.currentTimeMillis() - start);
+        return "success";
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.core.skill;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.alibaba.himarket.core.exception.BusinessException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.multipart.MultipartFile;
+
+class PackageArchiveTest {
+
+    private static final long MAX_ZIP_SIZE = 10 * 1024 * 1024;
+
+    @Test
+    void validPackageIsSpooledAndDeletedOnClose() throws Exception {
+        byte[] zip = zip(2, "hello".getBytes());
+
+        Path path;
+        try (PackageArchive archive = PackageArchive.spool(upload(zip), MAX_ZIP_SIZE)) {
+            path = archive.getPath();
+            assertTrue(Files.exists(path));
+            assertEquals(zip.length, archive.getSize());
+        }
+        assertFalse(Files.exists(path));
+    }
+
+    @Test
+    void highlyCompressedEntryIsRejected() throws Exception {
+        byte[] zip = zip(1, new byte[8 * 1024 * 1024]);
+
+        assertThrows(
+                BusinessException.class, () -> PackageArchive.spool(upload(zip), MAX_ZIP_SIZE));
+    }
+
+    @Test
+    void tooManyEntriesAreRejected() throws Exception {
+        byte[] zip = zip(PackageArchive.MAX_ENTRIES + 1, "x".getBytes());
+
+        assertThrows(
+                BusinessException.class, () -> PackageArchive.spool(upload(zip), MAX_ZIP_SIZE));
+    }
+
+    private MultipartFile upload(byte[] zip) throws Exception {
+        MultipartFile file = mock(MultipartFile.class);
+        when(file.isEmpty()).thenReturn(false);
+        when(file.getSize()).thenReturn((long) zip.length);
+        when(file.getInputStream()).thenReturn(new ByteArrayInputStream(zip));
+        return file;
+    }
+
+    private byte[] zip(int entries, byte[] content) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(out)) {
+            for (int i = 0; i < entries; i++) {
+                zos.putNextEntry(new ZipEntry("file-" + i + ".txt"));
+                zos.write(content);
+                zos.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+}
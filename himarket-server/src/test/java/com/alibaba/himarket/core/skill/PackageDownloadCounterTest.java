@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.core.skill;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.alibaba.himarket.entity.PackageDownloadStat;
+import com.alibaba.himarket.repository.PackageDownloadStatRepository;
+import org.junit.jupiter.api.Test;
+
+class PackageDownloadCounterTest {
+
+    @Test
+    void cacheHitsAreAddedToTheStatOnFlush() {
+        PackageDownloadStatRepository repository = mock(PackageDownloadStatRepository.class);
+        when(repository.incrementCacheHitCount("product-a", 2)).thenReturn(1);
+        PackageDownloadCounter counter = new PackageDownloadCounter(repository);
+
+        counter.record("product-a");
+        counter.record("product-a");
+        counter.flush();
+        counter.flush();
+
+        verify(repository).incrementCacheHitCount("product-a", 2);
+        verify(repository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void missingStatIsCreatedAndFailedFlushIsRetried() {
+        PackageDownloadStatRepository repository = mock(PackageDownloadStatRepository.class);
+        when(repository.incrementCacheHitCount("product-a", 1))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(0);
+        PackageDownloadCounter counter = new PackageDownloadCounter(repository);
+
+        counter.record("product-a");
+        counter.flush();
+        counter.flush();
+
+        verify(repository)
+                .saveAndFlush(
+                        PackageDownloadStat.builder()
+                                .productId("product-a")
+                                .cacheHitCount(1L)
+                                .build());
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.core.skill;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class PackageZipCacheTest {
+
+    @TempDir Path cacheDir;
+
+    @Test
+    void firstDownloadIsCachedAndAllRequestsAreServedFromDisk() throws Exception {
+        PackageZipCache cache = newCache(1024);
+        byte[] zip = "0123456789".getBytes(StandardCharsets.UTF_8);
+        String key = cache.buildKey("product-a", "nacos/public/web-search", "1.0.0");
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        cache.store(
+                key, "web-search.zip", new MockHttpServletRequest(), first, out -> out.write(zip));
+        assertArrayEquals(zip, first.getContentAsByteArray());
+
+        MockHttpServletResponse full = new MockHttpServletResponse();
+        assertTrue(cache.serve(key, "web-search.zip", new MockHttpServletRequest(), full));
+        assertEquals(10, full.getContentLength());
+        String etag = full.getHeader("ETag");
+        assertNotNull(etag);
+        assertArrayEquals(zip, full.getContentAsByteArray());
+
+        MockHttpServletRequest rangeRequest = new MockHttpServletRequest();
+        rangeRequest.addHeader("Range", "bytes=2-5");
+        MockHttpServletResponse partial = new MockHttpServletResponse();
+        assertTrue(cache.serve(key, "web-search.zip", rangeRequest, partial));
+        assertEquals(206, partial.getStatus());
+        assertEquals("bytes 2-5/10", partial.getHeader("Content-Range"));
+        assertEquals("2345", partial.getContentAsString());
+
+        MockHttpServletRequest conditional = new MockHttpServletRequest();
+        conditional.addHeader("If-None-Match", etag);
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+        assertTrue(cache.serve(key, "web-search.zip", conditional, notModified));
+        assertEquals(304, notModified.getStatus());
+
+        cache.invalidate("product-a");
+        assertFalse(
+                cache.serve(
+                        key,
+                        "web-search.zip",
+                        new MockHttpServletRequest(),
+                        new MockHttpServletResponse()));
+    }
+
+    @Test
+    void firstDownloadStreamsToClientBeforeThePackageIsComplete() throws Exception {
+        PackageZipCache cache = newCache(1024);
+        String key = cache.buildKey("product-a", "source", "1.0.0");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        cache.store(
+                key,
+                "a.zip",
+                new MockHttpServletRequest(),
+                response,
+                out -> {
+                    out.write(bytes('a'));
+                    out.flush();
+                    assertEquals(10, response.getContentAsByteArray().length);
+                    out.write(bytes('b'));
+                });
+
+        assertEquals(20, response.getContentAsByteArray().length);
+        MockHttpServletResponse cached = new MockHttpServletResponse();
+        assertTrue(cache.serve(key, "a.zip", new MockHttpServletRequest(), cached));
+        assertEquals(20, cached.getContentLength());
+    }
+
+    @Test
+    void packageIsStillCachedWhenTheClientGoesAway() throws Exception {
+        PackageZipCache cache = newCache(1024);
+        String key = cache.buildKey("product-a", "source", "1.0.0");
+        MockHttpServletResponse gone = new MockHttpServletResponse();
+        HttpServletResponse failing =
+                new HttpServletResponseWrapper(gone) {
+                    @Override
+                    public ServletOutputStream getOutputStream() {
+                        return new ServletOutputStream() {
+                            @Override
+                            public boolean isReady() {
+                                return true;
+                            }
+
+                            @Override
+                            public void setWriteListener(WriteListener writeListener) {}
+
+                            @Override
+                            public void write(int b) throws IOException {
+                                throw new IOException("Broken pipe");
+                            }
+                        };
+                    }
+                };
+
+        cache.store(
+                key, "a.zip", new MockHttpServletRequest(), failing, out -> out.write(bytes('a')));
+
+        MockHttpServletResponse cached = new MockHttpServletResponse();
+        assertTrue(cache.serve(key, "a.zip", new MockHttpServletRequest(), cached));
+        assertArrayEquals(bytes('a'), cached.getContentAsByteArray());
+    }
+
+    @Test
+    void leastRecentlyUsedPackagesAreEvictedWhenOverSize() throws Exception {
+        PackageZipCache cache = newCache(15);
+        String first = cache.buildKey("product-a", "source", "1.0.0");
+        String second = cache.buildKey("product-b", "source", "1.0.0");
+
+        cache.store(
+                first,
+                "a.zip",
+                new MockHttpServletRequest(),
+                new MockHttpServletResponse(),
+                out -> out.write(bytes('a')));
+        cache.store(
+                second,
+                "b.zip",
+                new MockHttpServletRequest(),
+                new MockHttpServletResponse(),
+                out -> out.write(bytes('b')));
+
+        assertFalse(
+                cache.serve(
+                        first,
+                        "a.zip",
+                        new MockHttpServletRequest(),
+                        new MockHttpServletResponse()));
+        assertTrue(
+                cache.serve(
+                        second,
+                        "b.zip",
+                        new MockHttpServletRequest(),
+                        new MockHttpServletResponse()));
+        assertNull(cache.buildKey("product-a", "source", ""));
+    }
+
+    private PackageZipCache newCache(long maxCacheBytes) throws Exception {
+        PackageZipCache cache = new PackageZipCache();
+        ReflectionTestUtils.setField(cache, "cacheDir", cacheDir.toString());
+        ReflectionTestUtils.setField(cache, "maxCacheBytes", maxCacheBytes);
+        cache.init();
+        return cache;
+    }
+
+    private byte[] bytes(char c) {
+        return String.valueOf(c).repeat(10).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.core.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class ResponseSnapshotCacheTest {
+
+    @Test
+    void servesFreshSnapshotWithoutLoadingAndKeepsLastModifiedForSameContent() {
+        AtomicLong clock = new AtomicLong();
+        ResponseSnapshotCache cache = new ResponseSnapshotCache(30, clock::get);
+        AtomicInteger loads = new AtomicInteger();
+        AtomicReference<List<String>> content = new AtomicReference<>(List.of("fetch"));
+
+        ResponseSnapshotCache.Snapshot<List<String>> first =
+                cache.get("list", () -> load(loads, content));
+        ResponseSnapshotCache.Snapshot<List<String>> cached =
+                cache.get("list", () -> load(loads, content));
+        assertSame(first, cached);
+        assertEquals(1, loads.get());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        ResponseSnapshotCache.Snapshot<List<String>> reloaded =
+                cache.get("list", () -> load(loads, content));
+        assertEquals(2, loads.get());
+        assertEquals(first.etag(), reloaded.etag());
+        assertEquals(first.lastModified(), reloaded.lastModified());
+
+        content.set(List.of("fetch", "time"));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        ResponseSnapshotCache.Snapshot<List<String>> changed =
+                cache.get("list", () -> load(loads, content));
+        assertNotEquals(first.etag(), changed.etag());
+    }
+
+    private List<String> load(AtomicInteger loads, AtomicReference<List<String>> content) {
+        loads.incrementAndGet();
+        return content.get();
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.hichat.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.alibaba.himarket.core.event.ProductConfigChangedEvent;
+import com.alibaba.himarket.core.event.ProductDeletingEvent;
+import com.alibaba.himarket.dto.result.common.DomainResult;
+import com.alibaba.himarket.dto.result.httpapi.HttpRouteResult;
+import com.alibaba.himarket.dto.result.model.ModelConfigResult;
+import com.alibaba.himarket.dto.result.product.ProductResult;
+import com.alibaba.himarket.service.GatewayService;
+import com.alibaba.himarket.service.hichat.manager.ChatBotManager;
+import com.alibaba.himarket.service.hichat.support.InvokeModelParam;
+import com.alibaba.himarket.service.hichat.support.LlmChatRequest;
+import com.alibaba.himarket.service.hichat.support.ModelEndpoint;
+import com.alibaba.himarket.support.enums.AIProtocol;
+import io.agentscope.core.model.Model;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.Test;
+
+class AbstractLlmServiceTest {
+
+    private static final String CHAT_KEYWORD = "/chat/completions";
+
+    private static final BiFunction<String, String, String> KEEP_PATH = (path, type) -> path;
+
+    private final GatewayService gatewayService = mock(GatewayService.class);
+
+    private final AbstractLlmService service =
+            new AbstractLlmService(gatewayService, mock(ChatBotManager.class)) {
+                @Override
+                Model newChatModel(LlmChatRequest request) {
+                    return null;
+                }
+
+                @Override
+                public List<AIProtocol> getProtocols() {
+                    return List.of();
+                }
+            };
+
+    @Test
+    void compilesEndpointOfTheRouteMatchingTheKeyword() {
+        HttpRouteResult embeddings = route("/v1/embeddings", domain("a.example.com", null, null));
+        HttpRouteResult chat =
+                route("/v1/chat/completions", domain("b.example.com", 8443, "HTTPS"));
+        InvokeModelParam param = param("p1", null, embeddings, chat);
+
+        ModelEndpoint endpoint = service.resolveEndpoint(param, CHAT_KEYWORD, KEEP_PATH);
+
+        assertEquals(URI.create("https://b.example.com:8443/v1/chat/completions"), endpoint.uri());
+        assertEquals("https://b.example.com:8443/v1/chat/completions", endpoint.baseUrl());
+        assertEquals("/v1/chat/completions", endpoint.path());
+        assertEquals("https", endpoint.protocol());
+    }
+
+    @Test
+    void fallsBackToTheFirstRouteWithoutKeywordMatch() {
+        InvokeModelParam param =
+                param("p1", null, route("/v1/embeddings", domain("a.example.com", null, null)));
+
+        ModelEndpoint endpoint = service.resolveEndpoint(param, CHAT_KEYWORD, KEEP_PATH);
+
+        assertEquals(URI.create("http://a.example.com/v1/embeddings"), endpoint.uri());
+    }
+
+    @Test
+    void reusesCompiledEndpointAndGatewayUris() {
+        when(gatewayService.fetchGatewayUris("gw-1"))
+                .thenReturn(List.of(URI.create("http://10.0.0.1:8080")));
+        InvokeModelParam param = param("p1", "gw-1", route("/v1/chat/completions"));
+
+        ModelEndpoint first = service.resolveEndpoint(param, CHAT_KEYWORD, KEEP_PATH);
+        ModelEndpoint second = service.resolveEndpoint(param, CHAT_KEYWORD, KEEP_PATH);
+
+        assertEquals(URI.create("http://10.0.0.1:8080/v1/chat/completions"), first.uri());
+        assertEquals(first, second);
+        verify(gatewayService, times(1)).fetchGatewayUris("gw-1");
+    }
+
+    @Test
+    void recompilesAfterProductConfigChange() {
+        HttpRouteResult chat = route("/v1/chat/completions", domain("old.example.com", null, null));
+        InvokeModelParam param = param("p1", null, chat);
+        service.resolveEndpoint(param, CHAT_KEYWORD, KEEP_PATH);
+
+        chat.setDomains(List.of(domain("new.example.com", null, null)));
+        assertEquals(
+                "old.example.com",
+                service.resolveEndpoint(param, CHAT_KEYWORD, KEEP_PATH).uri().getHost());
+
+        service.onProductConfigChanged(new ProductConfigChangedEvent("p1"));
+        assertEquals(
+                "new.example.com",
+                service.resolveEndpoint(param, CHAT_KEYWORD, KEEP_PATH).uri().getHost());
+    }
+
+    @Test
+    void recompilesAfterProductDeletion() {
+        HttpRouteResult chat = route("/v1/chat/completions", domain("old.example.com", null, null));
+        InvokeModelParam param = param("p1", null, chat);
+        service.resolveEndpoint(param, CHAT_KEYWORD, KEEP_PATH);
+
+        chat.setDomains(List.of(domain("new.example.com", null, null)));
+        service.onProductDeletion(new ProductDeletingEvent("p1"));
+
+        assertEquals(
+                "new.example.com",
+                service.resolveEndpoint(param, CHAT_KEYWORD, KEEP_PATH).uri().getHost());
+    }
+
+    private static InvokeModelParam param(
+            String productId, String gatewayId, HttpRouteResult... routes) {
+        ModelConfigResult.ModelAPIConfig apiConfig = new ModelConfigResult.ModelAPIConfig();
+        apiConfig.setRoutes(new ArrayList<>(List.of(routes)));
+        ModelConfigResult modelConfig = new ModelConfigResult();
+        modelConfig.setModelAPIConfig(apiConfig);
+        ProductResult product = new ProductResult();
+        product.setProductId(productId);
+        product.setModelConfig(modelConfig);
+        return InvokeModelParam.builder().product(product).gatewayId(gatewayId).build();
+    }
+
+    private static HttpRouteResult route(String path, DomainResult... domains) {
+        HttpRouteResult route = new HttpRouteResult();
+        route.setMatch(
+                HttpRouteResult.RouteMatchResult.builder()
+                        .path(
+                                HttpRouteResult.RouteMatchPath.builder()
+                                        .value(path)
+                                        .type("Prefix")
+                                        .build())
+                        .build());
+        route.setDomains(List.of(domains));
+        return route;
+    }
+
+    private static DomainResult domain(String host, Integer port, String protocol) {
+        return DomainResult.builder().domain(host).port(port).protocol(protocol).build();
+    }
+}
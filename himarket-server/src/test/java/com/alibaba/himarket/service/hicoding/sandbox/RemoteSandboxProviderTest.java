@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.hicoding.sandbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.alibaba.himarket.config.AcpProperties;
+import com.alibaba.himarket.service.hicoding.runtime.RemoteRuntimeResources;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class RemoteSandboxProviderTest {
+
+    private final SandboxHttpClient httpClient = mock(SandboxHttpClient.class);
+
+    private final RemoteSandboxProvider provider =
+            new RemoteSandboxProvider(
+                    httpClient, new AcpProperties(), mock(RemoteRuntimeResources.class));
+
+    private final SandboxInfo info =
+            new SandboxInfo(
+                    SandboxType.REMOTE,
+                    "sandbox-remote",
+                    "sidecar",
+                    8080,
+                    "/workspace/user-1",
+                    true,
+                    Map.of());
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void writesFilesInOneBatchWithWorkspacePaths() throws Exception {
+        when(httpClient.writeFiles(
+                        eq("http://sidecar:8080"), eq("sandbox-remote"), anyList(), eq(true)))
+                .thenReturn(
+                        List.of(
+                                new FileWriteResult(
+                                        "/workspace/user-1/.qwen/settings.json", true, null),
+                                new FileWriteResult(
+                                        "/workspace/user-1/.nacos/a.yaml", false, "EACCES")));
+
+        List<FileWriteResult> results =
+                provider.writeFiles(
+                        info,
+                        List.of(
+                                FileWrite.of(".qwen/settings.json", "{}"),
+                                FileWrite.of(".nacos/a.yaml", "a: 1")),
+                        true);
+
+        ArgumentCaptor<List<FileWrite>> sent = ArgumentCaptor.forClass((Class) List.class);
+        verify(httpClient)
+                .writeFiles(
+                        eq("http://sidecar:8080"), eq("sandbox-remote"), sent.capture(), eq(true));
+        assertEquals("/workspace/user-1/.qwen/settings.json", sent.getValue().get(0).path());
+        assertEquals(".qwen/settings.json", results.get(0).path());
+        assertTrue(results.get(0).success());
+        assertEquals(".nacos/a.yaml", results.get(1).path());
+        assertEquals("EACCES", results.get(1).error());
+    }
+
+    @Test
+    void fallsBackToSingleWritesWithoutBatchEndpoint() throws Exception {
+        when(httpClient.writeFiles(
+                        eq("http://sidecar:8080"), eq("sandbox-remote"), anyList(), eq(true)))
+                .thenReturn(null);
+
+        List<FileWriteResult> results =
+                provider.writeFiles(info, List.of(FileWrite.of("a.txt", "a")), true);
+
+        verify(httpClient)
+                .writeFile("http://sidecar:8080", "sandbox-remote", "/workspace/user-1/a.txt", "a");
+        assertTrue(results.get(0).success());
+    }
+
+    @Test
+    void fetchesSkillsWithNacosCliWithoutSkillFetchEndpoint() throws Exception {
+        List<SkillFetch> skills = List.of(new SkillFetch("pdf", "public", "1.0.0"));
+        when(httpClient.fetchSkills(
+                        "http://sidecar:8080",
+                        "sandbox-remote",
+                        "/workspace/user-1/.nacos/nacos-env-n1.yaml",
+                        "/workspace/user-1/.qwen/skills",
+                        skills,
+                        Duration.ofSeconds(60)))
+                .thenReturn(null);
+        when(httpClient.exec(
+                        eq("http://sidecar:8080"),
+                        eq("sandbox-remote"),
+                        eq("nacos-cli"),
+                        anyList(),
+                        eq(Duration.ofSeconds(60))))
+                .thenReturn(new ExecResult(0, "", ""));
+
+        ExecResult result =
+                provider.fetchSkills(
+                        info,
+                        "/workspace/user-1/.nacos/nacos-env-n1.yaml",
+                        "/workspace/user-1/.qwen/skills",
+                        skills,
+                        Duration.ofSeconds(60));
+
+        assertEquals(0, result.exitCode());
+        verify(httpClient)
+                .exec(
+                        "http://sidecar:8080",
+                        "sandbox-remote",
+                        "nacos-cli",
+                        List.of(
+                                "skill-get",
+                                "pdf",
+                                "--config",
+                                "/workspace/user-1/.nacos/nacos-env-n1.yaml",
+                                "-o",
+                                "/workspace/user-1/.qwen/skills"),
+                        Duration.ofSeconds(60));
+    }
+}
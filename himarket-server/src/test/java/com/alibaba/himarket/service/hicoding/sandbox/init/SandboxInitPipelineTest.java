@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.hicoding.sandbox.init;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SandboxInitPipelineTest {
+
+    private final InitConfig config = new InitConfig(Duration.ofSeconds(10), true, true, false);
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void runsPhasesInOrderOnCallingThread() {
+        List<String> started = new ArrayList<>();
+        Thread caller = Thread.currentThread();
+        Runnable onCaller =
+                () -> {
+                    if (Thread.currentThread() != caller) {
+                        throw new IllegalStateException("phase left the calling thread");
+                    }
+                };
+
+        SandboxInitPipeline pipeline =
+                new SandboxInitPipeline(
+                        List.of(
+                                new TestPhase("c", 300, started, onCaller),
+                                new TestPhase("a", 100, started, onCaller),
+                                new TestPhase("b", 200, started, onCaller)),
+                        config,
+                        scheduler);
+
+        InitResult result = pipeline.execute(newContext());
+
+        assertTrue(result.success(), result.errorMessage());
+        assertEquals(List.of("a", "b", "c"), started);
+        assertEquals(3, result.phaseDurations().size());
+    }
+
+    @Test
+    void retriesPhaseThatExceedsItsTimeoutWithoutOverlap() {
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        TestPhase slow =
+                new TestPhase(
+                        "slow",
+                        100,
+                        new ArrayList<>(),
+                        () -> {
+                            attempts.incrementAndGet();
+                            if (running.incrementAndGet() > 1) {
+                                overlaps.incrementAndGet();
+                            }
+                            try {
+                                Thread.sleep(5000);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            } finally {
+                                running.decrementAndGet();
+                            }
+                        }) {
+                    @Override
+                    public Duration timeout() {
+                        return Duration.ofMillis(100);
+                    }
+
+                    @Override
+                    public RetryPolicy retryPolicy() {
+                        return new RetryPolicy(1, Duration.ZERO, 1.0, Duration.ZERO);
+                    }
+                };
+
+        InitResult result =
+                new SandboxInitPipeline(List.of(slow), config, scheduler).execute(newContext());
+
+        assertFalse(result.success());
+        assertEquals("slow", result.failedPhase());
+        assertTrue(result.errorMessage().contains("timed out"));
+        assertEquals(2, attempts.get());
+        assertEquals(0, overlaps.get());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    private static InitContext newContext() {
+        return new InitContext(null, "user-1", null, null, null, null, null);
+    }
+
+    private static class TestPhase implements InitPhase {
+
+        private final String name;
+        private final int order;
+        private final List<String> started;
+        private final Runnable action;
+
+        TestPhase(String name, int order, List<String> started, Runnable action) {
+            this.name = name;
+            this.order = order;
+            this.started = started;
+            this.action = action;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public int order() {
+            return order;
+        }
+
+        @Override
+        public boolean shouldExecute(InitContext context) {
+            return true;
+        }
+
+        @Override
+        public void execute(InitContext context) throws InitPhaseException {
+            started.add(name);
+            try {
+                action.run();
+            } catch (IllegalStateException e) {
+                throw new InitPhaseException(name, e.getMessage(), false);
+            }
+        }
+
+        @Override
+        public boolean verify(InitContext context) {
+            return true;
+        }
+
+        @Override
+        public RetryPolicy retryPolicy() {
+            return RetryPolicy.none();
+        }
+    }
+}
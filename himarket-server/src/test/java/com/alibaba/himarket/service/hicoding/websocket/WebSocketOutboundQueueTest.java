@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.hicoding.websocket;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.alibaba.himarket.config.AcpProperties;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+
+class WebSocketOutboundQueueTest {
+
+    private final Queue<Runnable> writerTasks = new ArrayDeque<>();
+
+    private final WebSocketSession session = mock(WebSocketSession.class);
+
+    @Test
+    void mergesCliOutputQueuedBehindTheWriter() throws Exception {
+        when(session.isOpen()).thenReturn(true);
+        WebSocketOutboundQueue queue =
+                new WebSocketOutboundQueue(
+                        session, writerTasks::add, new AcpProperties.OutboundConfig());
+
+        assertTrue(queue.offer("{\"a\":1}", true));
+        assertTrue(queue.offer("{\"a\":2}", true));
+        assertTrue(queue.offer("{\"status\":1}", false));
+        assertTrue(queue.offer("{\"a\":3}", true));
+        runWriter();
+
+        InOrder inOrder = Mockito.inOrder(session);
+        inOrder.verify(session).sendMessage(new TextMessage("{\"a\":1}\n{\"a\":2}"));
+        inOrder.verify(session).sendMessage(new TextMessage("{\"status\":1}"));
+        inOrder.verify(session).sendMessage(new TextMessage("{\"a\":3}"));
+    }
+
+    @Test
+    void closesSlowConsumerWithoutBlockingTheProducer() throws Exception {
+        when(session.isOpen()).thenReturn(true);
+        AcpProperties.OutboundConfig config = new AcpProperties.OutboundConfig();
+        config.setMaxQueuedChars(10);
+        WebSocketOutboundQueue queue =
+                new WebSocketOutboundQueue(session, writerTasks::add, config);
+
+        assertTrue(queue.offer("12345678", true));
+        assertFalse(queue.offer("12345678", true));
+        assertFalse(queue.offer("{}", false));
+        runWriter();
+
+        verify(session, never()).sendMessage(any());
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    void dropsCliOutputUntilTheQueueDrains() throws Exception {
+        when(session.isOpen()).thenReturn(true);
+        AcpProperties.OutboundConfig config = new AcpProperties.OutboundConfig();
+        config.setMaxQueuedChars(10);
+        config.setOverflowPolicy(AcpProperties.OverflowPolicy.DROP);
+        WebSocketOutboundQueue queue =
+                new WebSocketOutboundQueue(session, writerTasks::add, config);
+
+        assertTrue(queue.offer("12345678", true));
+        assertFalse(queue.offer("12345678", true));
+        assertTrue(queue.offer("{\"status\":1}", false));
+        runWriter();
+        assertTrue(queue.offer("12345678", true));
+        runWriter();
+
+        verify(session, never()).close(any());
+        verify(session).sendMessage(new TextMessage("{\"status\":1}"));
+        verify(session, Mockito.times(2)).sendMessage(new TextMessage("12345678"));
+    }
+
+    @Test
+    void keepsResponsesAndRequestsWhenDroppingCliOutput() throws Exception {
+        when(session.isOpen()).thenReturn(true);
+        AcpProperties.OutboundConfig config = new AcpProperties.OutboundConfig();
+        config.setMaxQueuedChars(10);
+        config.setOverflowPolicy(AcpProperties.OverflowPolicy.DROP);
+        WebSocketOutboundQueue queue =
+                new WebSocketOutboundQueue(session, writerTasks::add, config);
+
+        String notification = "{\"method\":\"session/update\"}";
+        String response = "{\"id\":1,\"result\":{}}";
+        String request = "{\"id\":2,\"method\":\"session/request_permission\"}";
+        assertTrue(queue.offer("12345678", true));
+        assertFalse(queue.offer(notification, true));
+        assertTrue(queue.offer(response, true));
+        assertTrue(queue.offer(request, true));
+        runWriter();
+
+        verify(session, never()).close(any());
+        verify(session).sendMessage(new TextMessage("12345678\n" + response + "\n" + request));
+        verify(session, Mockito.times(1)).sendMessage(any());
+    }
+
+    @Test
+    void sendsNextFrameFromTheCompletionCallback() {
+        NativeWebSocketSession nativeSession = mock(NativeWebSocketSession.class);
+        Session containerSession = mock(Session.class);
+        RemoteEndpoint.Async remote = mock(RemoteEndpoint.Async.class);
+        when(nativeSession.isOpen()).thenReturn(true);
+        when(nativeSession.getNativeSession(Session.class)).thenReturn(containerSession);
+        when(containerSession.getAsyncRemote()).thenReturn(remote);
+        WebSocketOutboundQueue queue =
+                new WebSocketOutboundQueue(
+                        nativeSession, writerTasks::add, new AcpProperties.OutboundConfig());
+
+        assertTrue(queue.offer("{\"a\":1}", false));
+        assertTrue(queue.offer("{\"a\":2}", false));
+        runWriter();
+
+        ArgumentCaptor<SendHandler> handler = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote).sendText(Mockito.eq("{\"a\":1}"), handler.capture());
+        verify(remote, never()).sendText(Mockito.eq("{\"a\":2}"), any());
+
+        handler.getValue().onResult(new SendResult());
+        runWriter();
+
+        verify(remote).sendText(Mockito.eq("{\"a\":2}"), any());
+    }
+
+    private void runWriter() {
+        Runnable task;
+        while ((task = writerTasks.poll()) != null) {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.hicoding.websocket;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+class WebSocketPingSchedulerTest {
+
+    private static final long INTERVAL_MILLIS =
+            TimeUnit.SECONDS.toMillis(WebSocketPingScheduler.PING_INTERVAL_SECONDS);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    private final WebSocketPingScheduler scheduler =
+            new WebSocketPingScheduler(clock::get, Runnable::run, null);
+
+    @Test
+    void visitsSessionsInTheirOwnSlots() throws Exception {
+        WebSocketSession first = session("s1");
+        WebSocketSession second = session("s2");
+        scheduler.startPing(first);
+        scheduler.startPing(second);
+        clock.addAndGet(INTERVAL_MILLIS);
+
+        scheduler.tick();
+        verify(first).sendMessage(any(PingMessage.class));
+        verify(second, never()).sendMessage(any());
+
+        scheduler.tick();
+        verify(second).sendMessage(any(PingMessage.class));
+    }
+
+    @Test
+    void skipsSessionsWithRecentTraffic() throws Exception {
+        WebSocketSession session = session("s1");
+        scheduler.startPing(session);
+        clock.addAndGet(INTERVAL_MILLIS);
+        scheduler.recordActivity("s1");
+
+        turnWheel();
+
+        verify(session, never()).sendMessage(any());
+        verify(session, never()).close(any());
+    }
+
+    @Test
+    void closesPeerThatDidNotAnswerThePing() throws Exception {
+        WebSocketSession session = session("s1");
+        scheduler.startPing(session);
+        clock.addAndGet(INTERVAL_MILLIS);
+        turnWheel();
+        verify(session).sendMessage(any(PingMessage.class));
+
+        clock.addAndGet(INTERVAL_MILLIS);
+        turnWheel();
+
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    void keepsPeerThatAnsweredThePing() throws Exception {
+        WebSocketSession session = session("s1");
+        scheduler.startPing(session);
+        clock.addAndGet(INTERVAL_MILLIS);
+        turnWheel();
+
+        clock.addAndGet(1);
+        scheduler.recordActivity("s1");
+        clock.addAndGet(INTERVAL_MILLIS);
+        turnWheel();
+
+        verify(session, never()).close(any());
+    }
+
+    private WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+
+    /**
+     * Visits every slot once.
+     */
+    private void turnWheel() {
+        for (int i = 0; i < WebSocketPingScheduler.WHEEL_SLOTS; i++) {
+            scheduler.tick();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.alibaba.himarket.entity.GatewayOutbox;
+import com.alibaba.himarket.repository.GatewayOutboxRepository;
+import com.alibaba.himarket.service.GatewayOutboxHandler;
+import com.alibaba.himarket.support.enums.GatewayOutboxOperation;
+import com.alibaba.himarket.support.enums.GatewayOutboxStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class GatewayOutboxServiceImplTest {
+
+    private GatewayOutboxRepository outboxRepository;
+
+    private GatewayOutboxHandler handler;
+
+    private GatewayOutboxServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(GatewayOutboxRepository.class);
+        handler = mock(GatewayOutboxHandler.class);
+        when(handler.supports(any())).thenReturn(true);
+
+        service =
+                new GatewayOutboxServiceImpl(
+                        outboxRepository, mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(service, "handlers", List.of(handler));
+        ReflectionTestUtils.setField(service, "dispatchExecutor", (Executor) Runnable::run);
+    }
+
+    @Test
+    void successfulEntryIsMarkedSucceeded() {
+        GatewayOutbox outbox = dueEntry();
+        givenDue(outbox);
+
+        service.dispatchPending();
+
+        verify(handler).handle(outbox);
+        assertEquals(GatewayOutboxStatus.SUCCEEDED, outbox.getStatus());
+        assertEquals(1, outbox.getAttempts());
+        assertNull(outbox.getLastError());
+        verify(outboxRepository).save(outbox);
+    }
+
+    @Test
+    void failedEntryIsRescheduledWithBackoff() {
+        GatewayOutbox outbox = dueEntry();
+        givenDue(outbox);
+        doThrow(new IllegalStateException("gateway unavailable")).when(handler).handle(outbox);
+
+        LocalDateTime before = LocalDateTime.now();
+        service.dispatchPending();
+
+        assertEquals(GatewayOutboxStatus.PENDING, outbox.getStatus());
+        assertEquals(1, outbox.getAttempts());
+        assertEquals("gateway unavailable", outbox.getLastError());
+        assertTrue(outbox.getNextAttemptAt().isAfter(before));
+    }
+
+    @Test
+    void exhaustedEntryIsMarkedFailedAndReported() {
+        GatewayOutbox outbox = dueEntry();
+        outbox.setAttempts(9);
+        givenDue(outbox);
+        doThrow(new IllegalStateException("gateway unavailable")).when(handler).handle(outbox);
+
+        service.dispatchPending();
+
+        assertEquals(GatewayOutboxStatus.FAILED, outbox.getStatus());
+        assertEquals(10, outbox.getAttempts());
+        verify(handler).onFailed(outbox);
+    }
+
+    @Test
+    void entryClaimedByAnotherInstanceIsSkipped() {
+        GatewayOutbox outbox = dueEntry();
+        when(outboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                        eq(GatewayOutboxStatus.PENDING), any(), any(Pageable.class)))
+                .thenReturn(List.of(outbox));
+        when(outboxRepository.compareAndSetStatus(
+                        1L, GatewayOutboxStatus.PENDING, GatewayOutboxStatus.PROCESSING))
+                .thenReturn(0);
+
+        service.dispatchPending();
+
+        verify(handler, never()).handle(any());
+        verify(outboxRepository, never()).save(any());
+    }
+
+    @Test
+    void entriesOfOneSubscriptionRunInOrder() {
+        GatewayOutbox authorize = entry(1L, "sub-1", GatewayOutboxOperation.AUTHORIZE_CONSUMER);
+        GatewayOutbox revoke = entry(2L, "sub-1", GatewayOutboxOperation.REVOKE_AUTHORIZATION);
+        GatewayOutbox deleteConsumer = entry(3L, null, GatewayOutboxOperation.DELETE_CONSUMER);
+        givenDue(authorize, revoke, deleteConsumer);
+
+        service.dispatchPending();
+
+        InOrder inOrder = inOrder(handler);
+        inOrder.verify(handler).handle(authorize);
+        inOrder.verify(handler).handle(revoke);
+        inOrder.verify(handler).handle(deleteConsumer);
+    }
+
+    @Test
+    void entriesOfOneGatewayRunConcurrentlyWithinTheBound() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        ReflectionTestUtils.setField(service, "dispatchExecutor", executor);
+        GatewayOutbox[] entries = new GatewayOutbox[8];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = entry(i + 1L, "sub-" + (i + 1), GatewayOutboxOperation.AUTHORIZE_CONSUMER);
+        }
+        givenDue(entries);
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        doAnswer(
+                        invocation -> {
+                            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            Thread.sleep(100);
+                            running.decrementAndGet();
+                            return null;
+                        })
+                .when(handler)
+                .handle(any());
+
+        try {
+            service.dispatchPending();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(handler, times(entries.length)).handle(any());
+        assertTrue(maxRunning.get() > 1);
+        assertTrue(maxRunning.get() <= 4);
+    }
+
+    private GatewayOutbox entry(Long id, String subscriptionId, GatewayOutboxOperation operation) {
+        return GatewayOutbox.builder()
+                .id(id)
+                .idempotencyKey(operation.name() + ":" + id)
+                .operation(operation)
+                .status(GatewayOutboxStatus.PENDING)
+                .consumerId("consumer-1")
+                .subscriptionId(subscriptionId)
+                .gatewayId(subscriptionId != null ? "gw-1" : null)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    private GatewayOutbox dueEntry() {
+        return GatewayOutbox.builder()
+                .id(1L)
+                .idempotencyKey("AUTHORIZE_CONSUMER:sub-1")
+                .operation(GatewayOutboxOperation.AUTHORIZE_CONSUMER)
+                .status(GatewayOutboxStatus.PENDING)
+                .subscriptionId("sub-1")
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void givenDue(GatewayOutbox... outboxes) {
+        when(outboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                        eq(GatewayOutboxStatus.PENDING), any(), any(Pageable.class)))
+                .thenReturn(List.of(outboxes));
+        when(outboxRepository.compareAndSetStatus(
+                        any(), eq(GatewayOutboxStatus.PENDING), eq(GatewayOutboxStatus.PROCESSING)))
+                .thenReturn(1);
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.alibaba.himarket.config.GatewayResilienceProperties;
+import com.alibaba.himarket.core.utils.HashUtils;
+import com.alibaba.himarket.dto.result.common.PageResult;
+import com.alibaba.himarket.dto.result.mcp.HigressMcpServerResult;
+import com.alibaba.himarket.entity.Gateway;
+import com.alibaba.himarket.entity.GatewayResource;
+import com.alibaba.himarket.repository.GatewayRepository;
+import com.alibaba.himarket.repository.GatewayResourceRepository;
+import com.alibaba.himarket.service.gateway.GatewayCallGuard;
+import com.alibaba.himarket.service.gateway.GatewayOperator;
+import com.alibaba.himarket.support.enums.GatewayResourceType;
+import com.alibaba.himarket.support.enums.GatewayType;
+import com.alibaba.himarket.utils.JsonUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class GatewayResourceServiceImplTest {
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void syncOnlyWritesChangedResourcesAndRemovesStaleOnes() {
+        GatewayRepository gatewayRepository = mock(GatewayRepository.class);
+        GatewayResourceRepository gatewayResourceRepository = mock(GatewayResourceRepository.class);
+        GatewayOperator operator = mock(GatewayOperator.class);
+        ApplicationContext applicationContext = mock(ApplicationContext.class);
+
+        Gateway gateway =
+                Gateway.builder().gatewayId("gw-1").gatewayType(GatewayType.HIGRESS).build();
+        when(gatewayRepository.findByGatewayId("gw-1")).thenReturn(Optional.of(gateway));
+        when(operator.getGatewayType()).thenReturn(GatewayType.HIGRESS);
+        when(applicationContext.getBeansOfType(GatewayOperator.class))
+                .thenReturn(Map.of("higressOperator", operator));
+
+        HigressMcpServerResult unchanged = mcpServer("unchanged");
+        HigressMcpServerResult added = mcpServer("added");
+        when(operator.fetchMcpServers(any(Gateway.class), eq(1), anyInt()))
+                .thenReturn(PageResult.of(List.of(unchanged, added), 1, 100, 2));
+        when(operator.fetchHTTPAPIs(any(Gateway.class), anyInt(), anyInt()))
+                .thenThrow(new UnsupportedOperationException("not supported"));
+
+        String unchangedContent = JsonUtil.toJson(unchanged);
+        GatewayResource unchangedRow =
+                GatewayResource.builder()
+                        .gatewayId("gw-1")
+                        .resourceType(GatewayResourceType.MCP_SERVER)
+                        .resourceKey("unchanged")
+                        .content(unchangedContent)
+                        .contentHash(HashUtils.sha256Hex(unchangedContent))
+                        .build();
+        GatewayResource staleRow =
+                GatewayResource.builder()
+                        .gatewayId("gw-1")
+                        .resourceType(GatewayResourceType.MCP_SERVER)
+                        .resourceKey("removed")
+                        .contentHash("outdated")
+                        .build();
+        when(gatewayResourceRepository.findByGatewayIdAndResourceType(
+                        "gw-1", GatewayResourceType.MCP_SERVER))
+                .thenReturn(List.of(unchangedRow, staleRow));
+
+        GatewayResourceServiceImpl service =
+                new GatewayResourceServiceImpl(
+                        gatewayRepository,
+                        gatewayResourceRepository,
+                        new GatewayCallGuard(
+                                new GatewayResilienceProperties(), new SimpleMeterRegistry()));
+        service.setApplicationContext(applicationContext);
+        service.syncResources("gw-1");
+
+        ArgumentCaptor<Collection<GatewayResource>> saved =
+                ArgumentCaptor.forClass(Collection.class);
+        verify(gatewayResourceRepository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        GatewayResource savedRow = saved.getValue().iterator().next();
+        assertEquals("added", savedRow.getResourceKey());
+        assertEquals(HigressMcpServerResult.class.getName(), savedRow.getResultClass());
+
+        verify(gatewayResourceRepository).deleteAllInBatch(List.of(staleRow));
+        verify(gatewayRepository).updateResourceSyncState(eq("gw-1"), any(), isNull());
+        verify(gatewayResourceRepository, never())
+                .findByGatewayIdAndResourceType("gw-1", GatewayResourceType.HTTP_API);
+    }
+
+    @Test
+    void keepsLastSyncTimeWhenNoResourceTypeCouldBeSynced() {
+        GatewayRepository gatewayRepository = mock(GatewayRepository.class);
+        GatewayResourceRepository gatewayResourceRepository = mock(GatewayResourceRepository.class);
+        GatewayOperator operator =
+                mock(
+                        GatewayOperator.class,
+                        invocation -> {
+                            if (invocation.getMethod().getName().equals("getGatewayType")) {
+                                return GatewayType.HIGRESS;
+                            }
+                            throw new IllegalStateException("gateway unreachable");
+                        });
+        ApplicationContext applicationContext = mock(ApplicationContext.class);
+
+        LocalDateTime lastSyncedAt = LocalDateTime.of(2026, 1, 1, 0, 0);
+        Gateway gateway =
+                Gateway.builder()
+                        .gatewayId("gw-1")
+                        .gatewayType(GatewayType.HIGRESS)
+                        .resourceSyncedAt(lastSyncedAt)
+                        .build();
+        when(gatewayRepository.findByGatewayId("gw-1")).thenReturn(Optional.of(gateway));
+        when(applicationContext.getBeansOfType(GatewayOperator.class))
+                .thenReturn(Map.of("higressOperator", operator));
+
+        GatewayResourceServiceImpl service =
+                new GatewayResourceServiceImpl(
+                        gatewayRepository,
+                        gatewayResourceRepository,
+                        new GatewayCallGuard(
+                                new GatewayResilienceProperties(), new SimpleMeterRegistry()));
+        service.setApplicationContext(applicationContext);
+        service.syncResources("gw-1");
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(gatewayRepository)
+                .updateResourceSyncState(eq("gw-1"), eq(lastSyncedAt), message.capture());
+        assertTrue(message.getValue().contains("gateway unreachable"));
+    }
+
+    @Test
+    void neverSyncedGatewayIsListedLiveWhileSyncRunsInBackground() {
+        GatewayRepository gatewayRepository = mock(GatewayRepository.class);
+        GatewayResourceRepository gatewayResourceRepository = mock(GatewayResourceRepository.class);
+        GatewayOperator operator = mock(GatewayOperator.class);
+        ApplicationContext applicationContext = mock(ApplicationContext.class);
+        when(operator.getGatewayType()).thenReturn(GatewayType.HIGRESS);
+        when(applicationContext.getBeansOfType(GatewayOperator.class))
+                .thenReturn(Map.of("higressOperator", operator));
+        when(operator.fetchMcpServers(any(Gateway.class), eq(2), eq(10)))
+                .thenReturn(
+                        PageResult.of(List.of(mcpServer("weather"), mcpServer("maps")), 2, 10, 12));
+
+        GatewayResourceServiceImpl service =
+                new GatewayResourceServiceImpl(
+                        gatewayRepository,
+                        gatewayResourceRepository,
+                        new GatewayCallGuard(
+                                new GatewayResilienceProperties(), new SimpleMeterRegistry()));
+        service.setApplicationContext(applicationContext);
+        List<Runnable> scheduled = new ArrayList<>();
+        ReflectionTestUtils.setField(service, "taskExecutor", (Executor) scheduled::add);
+
+        Gateway gateway =
+                Gateway.builder().gatewayId("gw-1").gatewayType(GatewayType.HIGRESS).build();
+        PageResult<HigressMcpServerResult> result =
+                service.listResources(gateway, GatewayResourceType.MCP_SERVER, "WEA", 2, 10);
+
+        assertEquals(1, result.getContent().size());
+        assertEquals("weather", result.getContent().get(0).getMcpServerName());
+        assertEquals(1, scheduled.size());
+        verify(gatewayRepository, never()).updateResourceSyncState(any(), any(), any());
+        verify(gatewayResourceRepository, never())
+                .findByGatewayIdAndResourceType(any(), any(), any(Pageable.class));
+    }
+
+    private HigressMcpServerResult mcpServer(String name) {
+        HigressMcpServerResult result = new HigressMcpServerResult();
+        result.setMcpServerName(name);
+        return result;
+    }
+}
@@ -21,11 +21,17 @@ package com.alibaba.himarket.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.alibaba.himarket.core.exception.BusinessException;
 import com.alibaba.himarket.core.security.ContextHolder;
+import com.alibaba.himarket.core.skill.PackageContentCache;
+import com.alibaba.himarket.core.skill.PackageDownloadCounter;
+import com.alibaba.himarket.core.skill.PackageZipCache;
+import com.alibaba.himarket.core.skill.VersionListCache;
 import com.alibaba.himarket.entity.Product;
 import com.alibaba.himarket.repository.ProductRepository;
 import com.alibaba.himarket.service.AiRegistrySkillService;
@@ -33,8 +39,16 @@ import com.alibaba.himarket.service.NacosService;
 import com.alibaba.himarket.support.enums.SkillRegistryType;
 import com.alibaba.himarket.support.product.ProductFeature;
 import com.alibaba.himarket.support.product.SkillConfig;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 class SkillServiceImplAiRegistryUploadTest {
@@ -56,15 +70,19 @@ class SkillServiceImplAiRegistryUploadTest {
                                                         .build())
                                         .build())
                         .build();
-        byte[] zipBytes = new byte[] {1, 2, 3};
+        byte[] zipBytes = zip("SKILL.md", "---\nname: web-search\n---\n");
         MultipartFile file = mock(MultipartFile.class);
         when(file.isEmpty()).thenReturn(false);
         when(file.getSize()).thenReturn((long) zipBytes.length);
         when(file.getOriginalFilename()).thenReturn("skill.zip");
-        when(file.getBytes()).thenReturn(zipBytes);
+        when(file.getInputStream()).thenReturn(new ByteArrayInputStream(zipBytes));
         when(productRepository.findByProductId("product-a")).thenReturn(Optional.of(product));
         when(aiRegistrySkillService.uploadFromZip(
-                        "airegistry-prod", "ns-prod", zipBytes, "skill.zip", true))
+                        eq("airegistry-prod"),
+                        eq("ns-prod"),
+                        any(Path.class),
+                        eq("skill.zip"),
+                        eq(true)))
                 .thenReturn("skill-a");
 
         SkillServiceImpl service =
@@ -72,7 +90,12 @@ class SkillServiceImplAiRegistryUploadTest {
                         mock(NacosService.class),
                         productRepository,
                         mock(ContextHolder.class),
-                        aiRegistrySkillService);
+                        aiRegistrySkillService,
+                        new PackageContentCache(),
+                        new PackageZipCache(),
+                        mock(PackageDownloadCounter.class),
+                        new VersionListCache(),
+                        new TransactionTemplate(mock(PlatformTransactionManager.class)));
 
         service.uploadPackage("product-a", file);
 
@@ -98,15 +121,19 @@ class SkillServiceImplAiRegistryUploadTest {
                                                         .build())
                                         .build())
                         .build();
-        byte[] zipBytes = new byte[] {1, 2, 3};
+        byte[] zipBytes = zip("SKILL.md", "---\nname: web-search\n---\n");
         MultipartFile file = mock(MultipartFile.class);
         when(file.isEmpty()).thenReturn(false);
         when(file.getSize()).thenReturn((long) zipBytes.length);
         when(file.getOriginalFilename()).thenReturn("skill.zip");
-        when(file.getBytes()).thenReturn(zipBytes);
+        when(file.getInputStream()).thenReturn(new ByteArrayInputStream(zipBytes));
         when(productRepository.findByProductId("product-a")).thenReturn(Optional.of(product));
         when(aiRegistrySkillService.uploadFromZip(
-                        "airegistry-prod", "ns-prod", zipBytes, "skill.zip", true))
+                        eq("airegistry-prod"),
+                        eq("ns-prod"),
+                        any(Path.class),
+                        eq("skill.zip"),
+                        eq(true)))
                 .thenReturn("aone-authored-code-pr-tracker");
 
         SkillServiceImpl service =
@@ -114,7 +141,12 @@ class SkillServiceImplAiRegistryUploadTest {
                         mock(NacosService.class),
                         productRepository,
                         mock(ContextHolder.class),
-                        aiRegistrySkillService);
+                        aiRegistrySkillService,
+                        new PackageContentCache(),
+                        new PackageZipCache(),
+                        mock(PackageDownloadCounter.class),
+                        new VersionListCache(),
+                        new TransactionTemplate(mock(PlatformTransactionManager.class)));
 
         service.uploadPackage("product-a", file);
 
@@ -138,7 +170,12 @@ class SkillServiceImplAiRegistryUploadTest {
                         mock(NacosService.class),
                         productRepository,
                         mock(ContextHolder.class),
-                        mock(AiRegistrySkillService.class));
+                        mock(AiRegistrySkillService.class),
+                        new PackageContentCache(),
+                        new PackageZipCache(),
+                        mock(PackageDownloadCounter.class),
+                        new VersionListCache(),
+                        new TransactionTemplate(mock(PlatformTransactionManager.class)));
 
         BusinessException exception =
                 assertThrows(
@@ -146,4 +183,14 @@ class SkillServiceImplAiRegistryUploadTest {
 
         assertEquals("INVALID_REQUEST", exception.getCode());
     }
+
+    private byte[] zip(String name, String content) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(out)) {
+            zos.putNextEntry(new ZipEntry(name));
+            zos.write(content.getBytes(StandardCharsets.UTF_8));
+            zos.closeEntry();
+        }
+        return out.toByteArray();
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.alibaba.himarket.core.security.ContextHolder;
+import com.alibaba.himarket.core.skill.PackageContentCache;
+import com.alibaba.himarket.core.skill.PackageDownloadCounter;
+import com.alibaba.himarket.core.skill.PackageZipCache;
+import com.alibaba.himarket.core.skill.VersionListCache;
+import com.alibaba.himarket.entity.Product;
+import com.alibaba.himarket.repository.ProductRepository;
+import com.alibaba.himarket.service.AiRegistrySkillService;
+import com.alibaba.himarket.service.NacosService;
+import com.alibaba.himarket.support.enums.SkillRegistryType;
+import com.alibaba.himarket.support.product.ProductFeature;
+import com.alibaba.himarket.support.product.SkillConfig;
+import com.alibaba.nacos.api.ai.model.skills.Skill;
+import com.alibaba.nacos.api.ai.model.skills.SkillResource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+class SkillServiceImplFileContentTest {
+
+    @Test
+    void fileBrowsingFetchesEachVersionOnceUntilDraftIsReuploaded() throws Exception {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        AiRegistrySkillService aiRegistrySkillService = mock(AiRegistrySkillService.class);
+        ContextHolder contextHolder = mock(ContextHolder.class);
+        Product product =
+                Product.builder()
+                        .productId("product-a")
+                        .feature(
+                                ProductFeature.builder()
+                                        .skillConfig(
+                                                SkillConfig.builder()
+                                                        .registryType(SkillRegistryType.AIREGISTRY)
+                                                        .aiRegistryId("airegistry-prod")
+                                                        .namespace("ns-prod")
+                                                        .skillName("web-search")
+                                                        .build())
+                                        .build())
+                        .build();
+        when(productRepository.findByProductId("product-a")).thenReturn(Optional.of(product));
+        when(contextHolder.isAdministrator()).thenReturn(true);
+
+        SkillResource resource = new SkillResource();
+        resource.setType("scripts");
+        resource.setName("search.py");
+        resource.setContent("print('hi')");
+        Skill skill = new Skill();
+        skill.setName("web-search");
+        skill.setSkillMd("---\nname: web-search\n---\n");
+        skill.setResource(Map.of("scripts/search.py", resource));
+        when(aiRegistrySkillService.getSkillVersion(
+                        "airegistry-prod", "ns-prod", "web-search", "1.0.0"))
+                .thenReturn(skill);
+
+        SkillServiceImpl service =
+                new SkillServiceImpl(
+                        mock(NacosService.class),
+                        productRepository,
+                        contextHolder,
+                        aiRegistrySkillService,
+                        new PackageContentCache(),
+                        new PackageZipCache(),
+                        mock(PackageDownloadCounter.class),
+                        new VersionListCache(),
+                        new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+        assertEquals(2, service.getFileTree("product-a", "1.0.0").size());
+        assertEquals(
+                "print('hi')",
+                service.getFileContent("product-a", "scripts/search.py", "1.0.0").getContent());
+        assertEquals(
+                "---\nname: web-search\n---\n",
+                service.getFileContent("product-a", "SKILL.md", "1.0.0").getContent());
+        verify(aiRegistrySkillService, times(1))
+                .getSkillVersion("airegistry-prod", "ns-prod", "web-search", "1.0.0");
+
+        byte[] zipBytes = zip("SKILL.md", "---\nname: web-search\n---\n");
+        MultipartFile file = mock(MultipartFile.class);
+        when(file.isEmpty()).thenReturn(false);
+        when(file.getSize()).thenReturn((long) zipBytes.length);
+        when(file.getInputStream()).thenReturn(new ByteArrayInputStream(zipBytes));
+        service.uploadPackage("product-a", file);
+
+        service.getFileContent("product-a", "scripts/search.py", "1.0.0");
+        verify(aiRegistrySkillService, times(2))
+                .getSkillVersion("airegistry-prod", "ns-prod", "web-search", "1.0.0");
+    }
+
+    private byte[] zip(String name, String content) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(out)) {
+            zos.putNextEntry(new ZipEntry(name));
+            zos.write(content.getBytes(StandardCharsets.UTF_8));
+            zos.closeEntry();
+        }
+        return out.toByteArray();
+    }
+}
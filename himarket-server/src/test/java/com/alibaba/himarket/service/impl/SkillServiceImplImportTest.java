@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.alibaba.himarket.core.security.ContextHolder;
+import com.alibaba.himarket.core.skill.PackageContentCache;
+import com.alibaba.himarket.core.skill.PackageDownloadCounter;
+import com.alibaba.himarket.core.skill.PackageZipCache;
+import com.alibaba.himarket.core.skill.VersionListCache;
+import com.alibaba.himarket.dto.result.common.ImportResult;
+import com.alibaba.himarket.entity.Product;
+import com.alibaba.himarket.repository.ProductRepository;
+import com.alibaba.himarket.service.AiRegistrySkillService;
+import com.alibaba.himarket.service.NacosService;
+import com.alibaba.himarket.support.enums.ProductType;
+import com.alibaba.nacos.api.ai.model.skills.SkillSummary;
+import com.alibaba.nacos.api.model.Page;
+import com.alibaba.nacos.maintainer.client.ai.AiMaintainerService;
+import com.alibaba.nacos.maintainer.client.ai.SkillMaintainerService;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class SkillServiceImplImportTest {
+
+    private ProductRepository productRepository;
+
+    private SkillMaintainerService skillService;
+
+    private SkillServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        NacosService nacosService = mock(NacosService.class);
+        AiMaintainerService aiService = mock(AiMaintainerService.class);
+        skillService = mock(SkillMaintainerService.class);
+        when(nacosService.getAiMaintainerService("nacos-1")).thenReturn(aiService);
+        when(aiService.skill()).thenReturn(skillService);
+
+        productRepository = mock(ProductRepository.class);
+        ContextHolder contextHolder = mock(ContextHolder.class);
+        when(contextHolder.getUser()).thenReturn("admin-1");
+
+        service =
+                new SkillServiceImpl(
+                        nacosService,
+                        productRepository,
+                        contextHolder,
+                        mock(AiRegistrySkillService.class),
+                        new PackageContentCache(),
+                        new PackageZipCache(),
+                        mock(PackageDownloadCounter.class),
+                        new VersionListCache(),
+                        new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importSkipsNamesTakenByAnyAdminAndSavesTheRestTogether() throws Exception {
+        givenPage("existing", "fresh");
+        when(productRepository.findByNameIn(List.of("existing", "fresh")))
+                .thenReturn(List.of(Product.builder().name("existing").adminId("admin-2").build()));
+
+        ImportResult result = service.importFromNacos("nacos-1", "ns", null);
+
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(1, result.getSkippedCount());
+        assertNull(result.getNextPage());
+        ArgumentCaptor<List<Product>> saved = ArgumentCaptor.forClass(List.class);
+        verify(productRepository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        assertEquals("fresh", saved.getValue().get(0).getName());
+        assertEquals(ProductType.AGENT_SKILL, saved.getValue().get(0).getType());
+    }
+
+    @Test
+    void importSavesRowByRowWhenANameWasTakenMeanwhile() throws Exception {
+        givenPage("taken", "fresh");
+        when(productRepository.findByNameIn(List.of("taken", "fresh"))).thenReturn(List.of());
+        when(productRepository.saveAll(any()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+        when(productRepository.save(argThat(product -> "taken".equals(product.getName()))))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        ImportResult result = service.importFromNacos("nacos-1", "ns", null);
+
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(1, result.getSkippedCount());
+        verify(productRepository).save(argThat(product -> "fresh".equals(product.getName())));
+    }
+
+    private void givenPage(String... names) throws Exception {
+        Page<SkillSummary> page = new Page<>();
+        page.setPageItems(List.of(names).stream().map(this::skill).toList());
+        when(skillService.listSkills(eq("ns"), eq(null), eq(null), eq(1), eq(100)))
+                .thenReturn(page);
+    }
+
+    private SkillSummary skill(String name) {
+        SkillSummary summary = new SkillSummary();
+        summary.setName(name);
+        return summary;
+    }
+}
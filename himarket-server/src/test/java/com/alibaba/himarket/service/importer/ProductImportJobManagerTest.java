@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.importer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.alibaba.himarket.core.security.ContextHolder;
+import com.alibaba.himarket.dto.params.product.ImportProductsParam;
+import com.alibaba.himarket.dto.params.product.ProductImportItemParam;
+import com.alibaba.himarket.dto.result.product.ProductImportJobResult;
+import com.alibaba.himarket.entity.Product;
+import com.alibaba.himarket.entity.ProductImportJob;
+import com.alibaba.himarket.repository.ProductImportJobRepository;
+import com.alibaba.himarket.repository.ProductRepository;
+import com.alibaba.himarket.service.importer.ProductImporter.PreparedImport;
+import com.alibaba.himarket.support.enums.ProductImportStatus;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ProductImportJobManagerTest {
+
+    @Test
+    void runTracksEachItemAndChecksNamesOncePerBatch() {
+        ProductImporter importer = mock(ProductImporter.class);
+        ProductRepository productRepository = mock(ProductRepository.class);
+        ContextHolder contextHolder = mock(ContextHolder.class);
+        when(contextHolder.getUser()).thenReturn("admin-1");
+
+        List<ProductImportItemParam> items = new ArrayList<>();
+        for (int i = 0; i < ProductImportJobManager.BATCH_SIZE + 3; i++) {
+            items.add(item("server-" + i));
+        }
+        ImportProductsParam param = new ImportProductsParam();
+        param.setItems(items);
+
+        AtomicInteger written = new AtomicInteger();
+        when(importer.prepare(eq(param), any()))
+                .thenAnswer(
+                        invocation -> {
+                            String name =
+                                    invocation
+                                            .getArgument(1, ProductImportItemParam.class)
+                                            .getResourceName();
+                            if ("server-1".equals(name)) {
+                                throw new IllegalStateException("source unavailable");
+                            }
+                            return new PreparedImport(name, written::incrementAndGet);
+                        });
+        Product existing = new Product();
+        existing.setName("server-2");
+        when(productRepository.findByNameInAndAdminId(anyCollection(), eq("admin-1")))
+                .thenReturn(List.of(existing), List.of());
+
+        ProductImportJobRepository jobRepository = mock(ProductImportJobRepository.class);
+        ProductImportJob stored = stored(jobRepository, "job-1");
+        ProductImportJobManager manager =
+                manager(importer, productRepository, jobRepository, contextHolder);
+
+        manager.run(new RunningImportJob("job-1", "admin-1", items), param);
+
+        ProductImportJobResult result = manager.getJob("job-1");
+        assertEquals(ProductImportStatus.SUCCEEDED, result.getStatus());
+        assertEquals(items.size() - 2, result.getSuccessCount());
+        assertEquals(2, result.getFailedCount());
+        assertEquals("source unavailable", result.getItems().get(1).getErrorMessage());
+        assertEquals(
+                "Product with name 'server-2' already exists",
+                result.getItems().get(2).getErrorMessage());
+        assertEquals(items.size() - 2, written.get());
+        verify(productRepository, times(2)).findByNameInAndAdminId(anyCollection(), eq("admin-1"));
+        // Once when started, after each of the two batches and once when finished
+        verify(jobRepository, times(4)).save(stored);
+    }
+
+    @Test
+    void cancelledJobSkipsRemainingItems() {
+        ProductImporter importer = mock(ProductImporter.class);
+        ContextHolder contextHolder = mock(ContextHolder.class);
+        when(contextHolder.getUser()).thenReturn("admin-1");
+        ProductImportJobRepository jobRepository = mock(ProductImportJobRepository.class);
+        stored(jobRepository, "job-2");
+        ProductImportJobManager manager =
+                manager(importer, mock(ProductRepository.class), jobRepository, contextHolder);
+        List<ProductImportItemParam> items = List.of(item("a"), item("b"));
+        ImportProductsParam param = new ImportProductsParam();
+        param.setItems(items);
+        RunningImportJob job = new RunningImportJob("job-2", "admin-1", items);
+        job.requestCancel();
+
+        manager.run(job, param);
+
+        ProductImportJobResult result = manager.getJob("job-2");
+        assertEquals(ProductImportStatus.CANCELLED, result.getStatus());
+        assertEquals(ProductImportStatus.CANCELLED, result.getItems().get(0).getStatus());
+        verify(importer, times(0)).prepare(any(), any());
+    }
+
+    @Test
+    void cancelStoredByAnotherInstanceStopsTheJob() {
+        ProductImporter importer = mock(ProductImporter.class);
+        ContextHolder contextHolder = mock(ContextHolder.class);
+        when(contextHolder.getUser()).thenReturn("admin-1");
+        ProductImportJobRepository jobRepository = mock(ProductImportJobRepository.class);
+        ProductImportJob stored = stored(jobRepository, "job-3");
+        stored.setCancelRequested(true);
+        ProductImportJobManager manager =
+                manager(importer, mock(ProductRepository.class), jobRepository, contextHolder);
+        List<ProductImportItemParam> items = List.of(item("a"));
+        ImportProductsParam param = new ImportProductsParam();
+        param.setItems(items);
+
+        manager.run(new RunningImportJob("job-3", "admin-1", items), param);
+
+        assertEquals(ProductImportStatus.CANCELLED, stored.getStatus());
+        verify(importer, times(0)).prepare(any(), any());
+    }
+
+    private ProductImportJobManager manager(
+            ProductImporter importer,
+            ProductRepository productRepository,
+            ProductImportJobRepository jobRepository,
+            ContextHolder contextHolder) {
+        ProductImportJobManager manager =
+                new ProductImportJobManager(
+                        importer, productRepository, jobRepository, contextHolder);
+        ReflectionTestUtils.setField(manager, "jobExecutor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(manager, "resolveExecutor", (Executor) Runnable::run);
+        return manager;
+    }
+
+    private ProductImportJob stored(ProductImportJobRepository jobRepository, String jobId) {
+        ProductImportJob stored =
+                ProductImportJob.builder().jobId(jobId).adminId("admin-1").build();
+        when(jobRepository.findByJobId(jobId)).thenReturn(Optional.of(stored));
+        return stored;
+    }
+
+    private ProductImportItemParam item(String name) {
+        ProductImportItemParam item = new ProductImportItemParam();
+        item.setResourceName(name);
+        return item;
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.nacos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.alibaba.nacos.api.PropertyKeyConst;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.common.lifecycle.Closeable;
+import com.alibaba.nacos.maintainer.client.ai.AiMaintainerFactory;
+import com.alibaba.nacos.maintainer.client.ai.AiMaintainerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class AiMaintainerClientPoolTest {
+
+    @Test
+    void rebuildsAndClosesClientWhenConfigChanges() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AiMaintainerClientPool pool = new AiMaintainerClientPool(meterRegistry);
+        AiMaintainerService first = closeableClient();
+        AiMaintainerService second = closeableClient();
+
+        AiMaintainerService acquired = pool.acquire("nacos-1", "v1", () -> first);
+        AiMaintainerService reused = pool.acquire("nacos-1", "v1", () -> second);
+        assertSame(acquired, reused);
+
+        pool.acquire("nacos-1", "v2", () -> second);
+
+        verify((Closeable) first, timeout(1000)).shutdown();
+        verify((Closeable) second, never()).shutdown();
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .counter("himarket.nacos.client.pool.rebuilds", "reason", "config_changed")
+                        .count());
+        assertEquals(1.0, meterRegistry.get("himarket.nacos.client.pool.size").gauge().value());
+    }
+
+    @Test
+    void dropsClientAfterRepeatedConnectionFailures() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AiMaintainerClientPool pool = new AiMaintainerClientPool(meterRegistry);
+        AiMaintainerService broken = closeableClient();
+        when(broken.listMcpServer(anyString(), anyString(), anyInt(), anyInt()))
+                .thenThrow(new NacosException(NacosException.BAD_GATEWAY, "no available server"));
+        AtomicInteger created = new AtomicInteger();
+
+        for (int i = 0; i < AiMaintainerClientPool.FAILURE_THRESHOLD; i++) {
+            AiMaintainerService client =
+                    pool.acquire(
+                            "nacos-1",
+                            "v1",
+                            () -> {
+                                created.incrementAndGet();
+                                return broken;
+                            });
+            assertThrows(NacosException.class, () -> client.listMcpServer("", "", 1, 10));
+        }
+        pool.acquire("nacos-1", "v1", () -> closeableClient());
+
+        assertEquals(1, created.get());
+        verify((Closeable) broken, timeout(1000)).shutdown();
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .counter("himarket.nacos.client.pool.rebuilds", "reason", "failure")
+                        .count());
+    }
+
+    @Test
+    void doesNotCountRejectedRequestsAsConnectionFailures() throws Exception {
+        AiMaintainerClientPool pool = new AiMaintainerClientPool(new SimpleMeterRegistry());
+        AiMaintainerService client = closeableClient();
+        when(client.listMcpServer(anyString(), anyString(), anyInt(), anyInt()))
+                .thenThrow(new NacosException(NacosException.NO_RIGHT, "forbidden"));
+        AtomicInteger created = new AtomicInteger();
+
+        for (int i = 0; i <= AiMaintainerClientPool.FAILURE_THRESHOLD; i++) {
+            AiMaintainerService acquired =
+                    pool.acquire(
+                            "nacos-1",
+                            "v1",
+                            () -> {
+                                created.incrementAndGet();
+                                return client;
+                            });
+            assertThrows(NacosException.class, () -> acquired.listMcpServer("", "", 1, 10));
+        }
+
+        assertEquals(1, created.get());
+        verify((Closeable) client, never()).shutdown();
+    }
+
+    @Test
+    void closesRetiredClientAfterRunningCallFinishes() throws Exception {
+        AiMaintainerClientPool pool = new AiMaintainerClientPool(new SimpleMeterRegistry());
+        AiMaintainerService client = closeableClient();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(client.listMcpServer(anyString(), anyString(), anyInt(), anyInt()))
+                .thenAnswer(
+                        invocation -> {
+                            started.countDown();
+                            release.await();
+                            return null;
+                        });
+        AiMaintainerService acquired = pool.acquire("nacos-1", "v1", () -> client);
+        Thread call =
+                new Thread(
+                        () -> {
+                            try {
+                                acquired.listMcpServer("", "", 1, 10);
+                            } catch (NacosException e) {
+                                throw new IllegalStateException(e);
+                            }
+                        });
+        call.start();
+        started.await();
+
+        pool.invalidate("nacos-1");
+        verify((Closeable) client, after(200).never()).shutdown();
+
+        release.countDown();
+        call.join();
+        verify((Closeable) client, timeout(1000)).shutdown();
+    }
+
+    @Test
+    void retiredSdkClientShutsDownItsHttpProxyResources() throws Exception {
+        AiMaintainerClientPool pool = new AiMaintainerClientPool(new SimpleMeterRegistry());
+        AiMaintainerService retired = sdkClient();
+        AiMaintainerService kept = sdkClient();
+
+        pool.acquire("nacos-1", "v1", () -> retired);
+        pool.acquire("nacos-2", "v1", () -> kept);
+        pool.invalidate("nacos-1");
+
+        ExecutorService retiredExecutor = reloginExecutor(retired);
+        for (int i = 0; i < 100 && !retiredExecutor.isShutdown(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(retiredExecutor.isShutdown());
+        assertFalse(reloginExecutor(kept).isShutdown());
+        pool.shutdown();
+    }
+
+    private AiMaintainerService sdkClient() throws NacosException {
+        Properties properties = new Properties();
+        properties.setProperty(PropertyKeyConst.SERVER_ADDR, "127.0.0.1:8848");
+        return AiMaintainerFactory.createAiMaintainerService(properties);
+    }
+
+    private ExecutorService reloginExecutor(AiMaintainerService client) {
+        Object context = ReflectionTestUtils.getField(client.skill(), "context");
+        Object httpProxy = ReflectionTestUtils.getField(context, "clientHttpProxy");
+        return (ExecutorService) ReflectionTestUtils.getField(httpProxy, "executor");
+    }
+
+    private AiMaintainerService closeableClient() {
+        return mock(AiMaintainerService.class, withSettings().extraInterfaces(Closeable.class));
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.sandbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.alibaba.himarket.core.utils.K8sClientUtils;
+import com.alibaba.himarket.entity.SandboxInstance;
+import com.alibaba.himarket.repository.SandboxInstanceRepository;
+import com.alibaba.himarket.service.task.SchedulerLeaseManager;
+import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SandboxHealthCheckTaskTest {
+
+    private final SandboxInstanceRepository repository = mock(SandboxInstanceRepository.class);
+
+    private final K8sClientUtils k8sClientUtils = mock(K8sClientUtils.class);
+
+    private final SchedulerLeaseManager leaseManager = mock(SchedulerLeaseManager.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SandboxHealthCheckTask task =
+            new SandboxHealthCheckTask(repository, leaseManager, k8sClientUtils, meterRegistry);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void statusFollowsInformerWatchState() {
+        SharedIndexInformer<Namespace> informer = mock(SharedIndexInformer.class);
+        when(k8sClientUtils.getNamespaceInformer("kubeconfig")).thenReturn(informer);
+        SandboxInstance sandbox = sandbox();
+
+        when(informer.isWatching()).thenReturn(true);
+        task.checkOne(sandbox);
+        assertEquals("RUNNING", sandbox.getStatus());
+
+        when(informer.isWatching()).thenReturn(false);
+        task.checkOne(sandbox);
+        assertEquals("ERROR", sandbox.getStatus());
+        assertEquals("Watch connection to the cluster is lost", sandbox.getStatusMessage());
+    }
+
+    @Test
+    void informerStartFailureEvictsClient() {
+        when(k8sClientUtils.getNamespaceInformer("kubeconfig"))
+                .thenThrow(new IllegalStateException("Failed to start informer namespaces"));
+        SandboxInstance sandbox = sandbox();
+
+        task.checkOne(sandbox);
+
+        assertEquals("ERROR", sandbox.getStatus());
+        assertEquals("Failed to start informer namespaces", sandbox.getStatusMessage());
+        verify(k8sClientUtils).evictClient("kubeconfig");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void checkAllWritesChangedAndStaleSandboxesPerStatus() {
+        when(leaseManager.tryAcquire(any(), any())).thenReturn(true);
+        SharedIndexInformer<Namespace> healthy = mock(SharedIndexInformer.class);
+        when(healthy.isWatching()).thenReturn(true);
+        when(k8sClientUtils.getNamespaceInformer("kubeconfig")).thenReturn(healthy);
+
+        SandboxInstance unchanged = sandbox();
+        unchanged.setSandboxId("sandbox-unchanged");
+        unchanged.setStatus("RUNNING");
+        unchanged.setLastCheckedAt(LocalDateTime.now().minusMinutes(1));
+        SandboxInstance stale = sandbox();
+        stale.setSandboxId("sandbox-stale");
+        stale.setStatus("RUNNING");
+        stale.setLastCheckedAt(LocalDateTime.now().minusHours(1));
+        SandboxInstance recovered = sandbox();
+        recovered.setSandboxId("sandbox-recovered");
+        recovered.setStatus("ERROR");
+        recovered.setStatusMessage("Watch connection to the cluster is lost");
+        SandboxInstance misconfigured = sandbox();
+        misconfigured.setSandboxId("sandbox-misconfigured");
+        misconfigured.setKubeConfig(null);
+        when(repository.findAll()).thenReturn(List.of(unchanged, stale, recovered, misconfigured));
+
+        try {
+            task.checkAll();
+        } finally {
+            task.shutdown();
+        }
+
+        verify(repository)
+                .updateHealthStatus(
+                        eq(List.of("sandbox-stale", "sandbox-recovered")),
+                        eq("RUNNING"),
+                        isNull(),
+                        any());
+        verify(repository)
+                .updateHealthStatus(
+                        eq(List.of("sandbox-misconfigured")),
+                        eq("ERROR"),
+                        eq("KubeConfig is empty"),
+                        any());
+        verify(repository, never()).saveAll(any());
+        assertEquals(1.0, meterRegistry.counter("himarket.sandbox.health.check.failed").count());
+        assertEquals(1, meterRegistry.timer("himarket.sandbox.health.check.duration").count());
+    }
+
+    @Test
+    void checkAllIsSkippedWithoutSchedulerLease() {
+        when(leaseManager.tryAcquire(any(), any())).thenReturn(false);
+
+        task.checkAll();
+
+        verify(repository, never()).findAll();
+    }
+
+    private SandboxInstance sandbox() {
+        SandboxInstance sandbox = new SandboxInstance();
+        sandbox.setSandboxName("sandbox-1");
+        sandbox.setKubeConfig("kubeconfig");
+        return sandbox;
+    }
+}
@@ -20,12 +20,17 @@
 package com.alibaba.himarket.service.task;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.alibaba.himarket.entity.PackageDownloadStat;
 import com.alibaba.himarket.entity.Product;
+import com.alibaba.himarket.repository.PackageDownloadStatRepository;
 import com.alibaba.himarket.repository.ProductRepository;
 import com.alibaba.himarket.service.AiRegistrySkillService;
 import com.alibaba.himarket.service.NacosService;
@@ -33,9 +38,13 @@ import com.alibaba.himarket.support.enums.ProductType;
 import com.alibaba.himarket.support.enums.SkillRegistryType;
 import com.alibaba.himarket.support.product.ProductFeature;
 import com.alibaba.himarket.support.product.SkillConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
 
 class DownloadCountSyncTaskTest {
 
@@ -63,12 +72,69 @@ class DownloadCountSyncTaskTest {
         when(aiRegistrySkillService.listSkillDownloadCounts("airegistry-1", "ns-prod"))
                 .thenReturn(Map.of("weather-skill", 12L));
 
-        new DownloadCountSyncTask(productRepository, nacosService, aiRegistrySkillService)
+        SchedulerLeaseManager leaseManager = mock(SchedulerLeaseManager.class);
+        when(leaseManager.tryAcquire(anyString(), any(Duration.class))).thenReturn(true);
+
+        PackageDownloadStatRepository packageDownloadStatRepository =
+                mock(PackageDownloadStatRepository.class);
+        when(packageDownloadStatRepository.findAll())
+                .thenReturn(
+                        List.of(
+                                PackageDownloadStat.builder()
+                                        .productId("product-1")
+                                        .cacheHitCount(3L)
+                                        .build()));
+
+        newTask(
+                        productRepository,
+                        nacosService,
+                        aiRegistrySkillService,
+                        leaseManager,
+                        packageDownloadStatRepository)
                 .syncDownloadCounts();
 
-        assertEquals(12L, skillConfig.getDownloadCount());
-        verify(productRepository).save(product);
+        // Registry downloads plus the downloads served from the package cache
+        assertEquals(15L, skillConfig.getDownloadCount());
+        verify(productRepository).saveAll(List.of(product));
+        verify(productRepository, never()).save(any());
         verify(aiRegistrySkillService).listSkillDownloadCounts("airegistry-1", "ns-prod");
         verify(nacosService, never()).getAiMaintainerService("airegistry-1");
     }
+
+    @Test
+    void syncIsSkippedWithoutSchedulerLease() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        SchedulerLeaseManager leaseManager = mock(SchedulerLeaseManager.class);
+        when(leaseManager.tryAcquire(eq("download-count-sync"), any(Duration.class)))
+                .thenReturn(false);
+
+        newTask(
+                        productRepository,
+                        mock(NacosService.class),
+                        mock(AiRegistrySkillService.class),
+                        leaseManager,
+                        mock(PackageDownloadStatRepository.class))
+                .syncDownloadCounts();
+
+        verify(productRepository, never()).findAllByType(any());
+        verify(productRepository, never()).saveAll(any());
+    }
+
+    private DownloadCountSyncTask newTask(
+            ProductRepository productRepository,
+            NacosService nacosService,
+            AiRegistrySkillService aiRegistrySkillService,
+            SchedulerLeaseManager leaseManager,
+            PackageDownloadStatRepository packageDownloadStatRepository) {
+        DownloadCountSyncTask task =
+                new DownloadCountSyncTask(
+                        productRepository,
+                        nacosService,
+                        aiRegistrySkillService,
+                        leaseManager,
+                        packageDownloadStatRepository,
+                        new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(task, "fetchExecutor", (Executor) Runnable::run);
+        return task;
+    }
 }
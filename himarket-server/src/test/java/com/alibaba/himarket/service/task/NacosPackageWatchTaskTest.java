@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.alibaba.himarket.service.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.alibaba.himarket.core.event.PackageChangedEvent;
+import com.alibaba.himarket.entity.Product;
+import com.alibaba.himarket.repository.ProductRepository;
+import com.alibaba.himarket.service.NacosService;
+import com.alibaba.himarket.support.enums.ProductType;
+import com.alibaba.himarket.support.product.ProductFeature;
+import com.alibaba.himarket.support.product.SkillConfig;
+import com.alibaba.nacos.api.ai.model.skills.SkillSummary;
+import com.alibaba.nacos.api.model.Page;
+import com.alibaba.nacos.maintainer.client.ai.AiMaintainerService;
+import com.alibaba.nacos.maintainer.client.ai.SkillMaintainerService;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+class NacosPackageWatchTaskTest {
+
+    @Test
+    void onlyChangedSkillsPublishPackageChangedEvents() throws Exception {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllByType(ProductType.AGENT_SKILL))
+                .thenReturn(
+                        List.of(
+                                skillProduct("product-a", "skill-a"),
+                                skillProduct("product-b", "skill-b")));
+        when(productRepository.findAllByType(ProductType.WORKER)).thenReturn(List.of());
+
+        NacosService nacosService = mock(NacosService.class);
+        AiMaintainerService aiService = mock(AiMaintainerService.class);
+        SkillMaintainerService skillService = mock(SkillMaintainerService.class);
+        when(nacosService.getAiMaintainerService("nacos-1")).thenReturn(aiService);
+        when(aiService.skill()).thenReturn(skillService);
+        when(skillService.listSkills(eq("ns"), isNull(), isNull(), anyInt(), anyInt()))
+                .thenReturn(page(summary("skill-a", 1L), summary("skill-b", 1L)))
+                .thenReturn(page(summary("skill-a", 2L), summary("skill-b", 1L)));
+
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        SchedulerLeaseManager leaseManager = mock(SchedulerLeaseManager.class);
+        when(leaseManager.tryAcquire(any(), any())).thenReturn(true);
+        NacosPackageWatchTask task =
+                new NacosPackageWatchTask(
+                        productRepository, nacosService, eventPublisher, leaseManager);
+
+        task.watchPackages();
+        verify(eventPublisher, never()).publishEvent(any());
+
+        task.watchPackages();
+        ArgumentCaptor<PackageChangedEvent> event =
+                ArgumentCaptor.forClass(PackageChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals("product-a", event.getValue().getProductId());
+    }
+
+    @Test
+    void watchIsSkippedWithoutSchedulerLease() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        NacosService nacosService = mock(NacosService.class);
+        SchedulerLeaseManager leaseManager = mock(SchedulerLeaseManager.class);
+        when(leaseManager.tryAcquire(any(), any())).thenReturn(false);
+        NacosPackageWatchTask task =
+                new NacosPackageWatchTask(
+                        productRepository,
+                        nacosService,
+                        mock(ApplicationEventPublisher.class),
+                        leaseManager);
+
+        task.watchPackages();
+
+        verify(productRepository, never()).findAllByType(any());
+        verify(nacosService, never()).getAiMaintainerService(any());
+    }
+
+    private Product skillProduct(String productId, String skillName) {
+        SkillConfig config =
+                SkillConfig.builder()
+                        .nacosId("nacos-1")
+                        .namespace("ns")
+                        .skillName(skillName)
+                        .build();
+        return Product.builder()
+                .productId(productId)
+                .type(ProductType.AGENT_SKILL)
+                .feature(ProductFeature.builder().skillConfig(config).build())
+                .build();
+    }
+
+    private SkillSummary summary(String name, Long updateTime) {
+        SkillSummary summary = new SkillSummary();
+        summary.setName(name);
+        summary.setUpdateTime(updateTime);
+        return summary;
+    }
+
+    private Page<SkillSummary> page(SkillSummary... summaries) {
+        Page<SkillSummary> page = new Page<>();
+        page.setPageItems(List.of(summaries));
+        return page;
+    }
+}
@@ -16,16 +16,28 @@ interface ImportMcpModalProps {
   onImportSuccess: () => void;
 }
 
-interface ProductImportFailure {
+interface ProductImportJobItem {
   resourceName?: string;
+  status: string;
   errorMessage?: string;
 }
 
-interface ProductImportResult {
-  successCount?: number;
-  failures?: ProductImportFailure[];
+interface ProductImportJob {
+  jobId: string;
+  status: string;
+  totalCount: number;
+  successCount: number;
+  failedCount: number;
+  items: ProductImportJobItem[];
 }
 
+const FINISHED_JOB_STATUSES = ['SUCCEEDED', 'FAILED', 'CANCELLED'];
+
+const JOB_POLL_INTERVAL_MS = 1000;
+
+const unwrapImportJob = (res: unknown) =>
+  (res as { data?: ProductImportJob }).data ?? (res as ProductImportJob);
+
 interface ImportResultState {
   selectedCount: number;
   successCount: number;
@@ -161,7 +173,13 @@ export default function ImportMcpModal({ onClose, onImportSuccess, open }: Impor
       return;
     }
     setImporting(true);
-    const hide = message.loading(t('product.marketImport.importing'), 0);
+    const progressKey = 'product-import-job';
+    message.open({
+      content: t('product.marketImport.importing'),
+      duration: 0,
+      key: progressKey,
+      type: 'loading',
+    });
     try {
       const importItems = selectedItems.map((item) => ({
         description: item.description,
@@ -169,61 +187,58 @@ export default function ImportMcpModal({ onClose, onImportSuccess, open }: Impor
         resourceName: item.displayName || item.mcpName || item.remoteId,
       }));
 
-      // 使用 AbortController 设置前端超时保护（5 分钟）
-      const controller = new AbortController();
-      const timeoutId = setTimeout(() => controller.abort(), 300000);
-
-      let res: unknown;
-      try {
-        res = await apiProductApi.importProducts({
+      // 提交异步导入任务并轮询进度，超过 5 分钟后停止等待，任务仍在后台继续
+      let job = unwrapImportJob(
+        await apiProductApi.submitImportJob({
           items: importItems,
           productType: 'MCP_SERVER',
           source: 'EXTERNAL',
           sourceConfig: { provider: vendorType },
+        }),
+      );
+      const deadline = Date.now() + 300000;
+      while (!FINISHED_JOB_STATUSES.includes(job.status)) {
+        if (Date.now() > deadline) {
+          message.warning(t('product.marketImport.timeoutWarning'));
+          onImportSuccess();
+          return;
+        }
+        await new Promise((resolve) => setTimeout(resolve, JOB_POLL_INTERVAL_MS));
+        job = unwrapImportJob(await apiProductApi.getImportJob(job.jobId));
+        message.open({
+          content: t('product.marketImport.importProgress', {
+            done: job.successCount + job.failedCount,
+            total: job.totalCount,
+          }),
+          duration: 0,
+          key: progressKey,
+          type: 'loading',
         });
-      } finally {
-        clearTimeout(timeoutId);
       }
 
-      const result =
-        (res as { data?: ProductImportResult }).data ?? (res as ProductImportResult | null);
-      if (result && typeof result.successCount === 'number') {
-        const failures = result.failures ?? [];
-        if (failures.length > 0) {
-          setImportResult({
-            failures,
-            selectedCount: selectedItems.length,
-            successCount: result.successCount,
-          });
-          onImportSuccess();
-          closeAfterImportSuccess();
-        } else {
-          message.success(t('product.marketImport.successCount', { count: result.successCount }));
-          onImportSuccess();
-          closeAfterImportSuccess();
-        }
+      const failures = job.items
+        .filter((item) => item.status === 'FAILED')
+        .map((item) => ({ errorMessage: item.errorMessage, resourceName: item.resourceName }));
+      if (failures.length > 0) {
+        setImportResult({
+          failures,
+          selectedCount: selectedItems.length,
+          successCount: job.successCount,
+        });
       } else {
-        message.success(t('action.importSuccess'));
-        onImportSuccess();
-        closeAfterImportSuccess();
+        message.success(t('product.marketImport.successCount', { count: job.successCount }));
       }
+      onImportSuccess();
+      closeAfterImportSuccess();
     } catch (err: unknown) {
-      if (
-        (err as { name?: string }).name === 'AbortError' ||
-        (err as { code?: string }).code === 'ECONNABORTED'
-      ) {
-        message.warning(t('product.marketImport.timeoutWarning'));
-        onImportSuccess();
-      } else {
-        const msg =
-          (err as { response?: { data?: { message?: string } }; message?: string }).response?.data
-            ?.message ||
-          (err as { message?: string }).message ||
-          t('product.import.failed');
-        message.error(msg);
-      }
+      const msg =
+        (err as { response?: { data?: { message?: string } }; message?: string }).response?.data
+          ?.message ||
+        (err as { message?: string }).message ||
+        t('product.import.failed');
+      message.error(msg);
     } finally {
-      hide();
+      message.destroy(progressKey);
       setImporting(false);
     }
   }, [closeAfterImportSuccess, selectedItems, vendorType, onImportSuccess, t]);
@@ -46,7 +46,7 @@ export default function RemoteMcpTable({
   pagination,
   selectedKeys,
 }: RemoteMcpTableProps) {
-  const { t } = useLocale();
+  const { locale, t } = useLocale();
   const selectedSet = useMemo(() => new Set(selectedKeys), [selectedKeys]);
   const isAtLimit = selectedKeys.length >= maxSelection;
 
@@ -209,7 +209,14 @@ export default function RemoteMcpTable({
       </div>
 
       {/* Pagination */}
-      <div className="flex justify-end mt-4">
+      <div className="flex items-center justify-between mt-4">
+        <span className="text-xs text-gray-400">
+          {items[0]?.syncedAt
+            ? t('product.marketImport.syncedAt', {
+                time: new Date(items[0].syncedAt).toLocaleString(locale),
+              })
+            : t('product.marketImport.live')}
+        </span>
         <Pagination
           current={pagination.current}
           onChange={pagination.onChange}
@@ -3,6 +3,7 @@ import {
   DeleteOutlined,
   CheckCircleFilled,
   ClockCircleOutlined,
+  CloseCircleFilled,
   ReloadOutlined,
 } from '@ant-design/icons';
 import { Modal, message, Button, Popconfirm } from 'antd';
@@ -271,6 +272,11 @@ export function SubscriptionListModal({
               <CheckCircleFilled className="text-green-500 mr-2" style={{ fontSize: '10px' }} />
               <span className="text-xs text-gray-900">{t('portal.subscriptions.approved')}</span>
             </>
+          ) : status === 'FAILED' ? (
+            <>
+              <CloseCircleFilled className="text-red-500 mr-2" style={{ fontSize: '10px' }} />
+              <span className="text-xs text-gray-900">{t('portal.subscriptions.failed')}</span>
+            </>
           ) : (
             <>
               <ClockCircleOutlined className="text-orange-500 mr-2" style={{ fontSize: '10px' }} />
@@ -296,7 +302,7 @@ export function SubscriptionListModal({
         const isApproving = actionLoading === `${loadingKey}-approve`;
         const isDeleting = actionLoading === `${loadingKey}-delete`;
 
-        if (record.status === 'PENDING') {
+        if (record.status === 'PENDING' || record.status === 'FAILED') {
           return (
             <Button
               className="text-blue-600 hover:text-blue-700 hover:bg-blue-50 !px-2 text-xs"
@@ -254,6 +254,10 @@ const zhCNMessages = {
   'page.gateway.apiGatewayDescription': '阿里云 API 网关服务',
   'page.gateway.apsaraGateway': '飞天企业版 AI 网关',
   'page.gateway.apsaraGatewayDescription': '阿里云飞天企业版 AI 网关服务',
+  'page.gateway.circuitClosed': '正常',
+  'page.gateway.circuitHalfOpen': '探测恢复中',
+  'page.gateway.circuitOpen': '已熔断',
+  'page.gateway.circuitState': '调用状态',
   'page.gateway.confirmDelete': '确定要删除该网关吗？',
   'page.gateway.consoleAddress': 'Console 地址',
   'page.gateway.description': '管理和配置您的网关实例',
@@ -262,9 +266,13 @@ const zhCNMessages = {
   'page.gateway.higressDescription': 'Higress 云原生网关',
   'page.gateway.import': '导入网关实例',
   'page.gateway.nameAndId': '网关名称/ID',
+  'page.gateway.neverSynced': '未同步',
   'page.gateway.privateAiGateway': '专有云 AI 网关',
   'page.gateway.privateAiGatewayDescription': '专有云 AI 网关服务',
   'page.gateway.region': '区域',
+  'page.gateway.resourceSyncedAt': '资源同步时间',
+  'page.gateway.syncResources': '同步资源',
+  'page.gateway.syncSuccess': '网关资源同步完成',
   'page.gateway.title': '网关实例',
   'page.mcpMonitor.description': '查看 MCP Server 的流量、延迟和状态分布',
   'page.mcpMonitor.title': 'MCP 监控',
@@ -587,6 +595,7 @@ const zhCNMessages = {
   'portal.subscriptions.deleteFailed': '删除订阅失败: {message}',
   'portal.subscriptions.deleteSuccess': '删除订阅成功',
   'portal.subscriptions.empty': '暂无订阅记录',
+  'portal.subscriptions.failed': '授权失败',
   'portal.subscriptions.fetchFailed': '获取订阅列表失败',
   'portal.subscriptions.pending': '待审批',
   'portal.subscriptions.productName': '产品名称',
@@ -811,7 +820,9 @@ const zhCNMessages = {
   'product.marketImport.exists': '已存在',
   'product.marketImport.fromVendor': '从 {vendor} 导入',
   'product.marketImport.importing': '正在导入，请稍候...',
+  'product.marketImport.importProgress': '正在导入 {done}/{total}...',
   'product.marketImport.importSelected': '导入选中项',
+  'product.marketImport.live': '数据实时来自第三方平台',
   'product.marketImport.maxSelection': '最多选择 {count} 条',
   'product.marketImport.noData': '暂无数据',
   'product.marketImport.queryFailed': '查询失败',
@@ -824,6 +835,7 @@ const zhCNMessages = {
   'product.marketImport.selectFirst': '请先选择要导入的 MCP',
   'product.marketImport.selectionLimitReached': '（已达上限）',
   'product.marketImport.successCount': '成功导入 {count} 个 MCP Server',
+  'product.marketImport.syncedAt': '数据同步于 {time}',
   'product.marketImport.timeoutWarning': '导入请求超时，但后台可能已完成导入，请刷新页面查看',
   'product.marketImport.title': '导入 MCP Server',
   'product.marketImport.vendor.lobeHubDescription': 'LobeHub MCP 市场，丰富的 AI 工具生态',
@@ -1237,6 +1249,10 @@ const enUSMessages = {
   'page.gateway.apiGatewayDescription': 'Alibaba Cloud API Gateway service',
   'page.gateway.apsaraGateway': 'Apsara Enterprise AI Gateway',
   'page.gateway.apsaraGatewayDescription': 'Alibaba Cloud Apsara Enterprise AI Gateway service',
+  'page.gateway.circuitClosed': 'Healthy',
+  'page.gateway.circuitHalfOpen': 'Recovering',
+  'page.gateway.circuitOpen': 'Circuit open',
+  'page.gateway.circuitState': 'Call status',
   'page.gateway.confirmDelete': 'Delete this gateway?',
   'page.gateway.consoleAddress': 'Console URL',
   'page.gateway.description': 'Manage and configure gateway instances',
@@ -1245,9 +1261,13 @@ const enUSMessages = {
   'page.gateway.higressDescription': 'Higress cloud-native gateway',
   'page.gateway.import': 'Import gateway instance',
   'page.gateway.nameAndId': 'Gateway name / ID',
+  'page.gateway.neverSynced': 'Never synced',
   'page.gateway.privateAiGateway': 'Private-cloud AI Gateway',
   'page.gateway.privateAiGatewayDescription': 'Private-cloud AI Gateway service',
   'page.gateway.region': 'Region',
+  'page.gateway.resourceSyncedAt': 'Resources synced at',
+  'page.gateway.syncResources': 'Sync',
+  'page.gateway.syncSuccess': 'Gateway resources synced',
   'page.gateway.title': 'Gateway Instances',
   'page.mcpMonitor.description': 'Monitor MCP Server traffic, latency, and status distribution',
   'page.mcpMonitor.title': 'MCP Monitor',
@@ -1574,6 +1594,7 @@ const enUSMessages = {
   'portal.subscriptions.deleteFailed': 'Failed to delete subscription: {message}',
   'portal.subscriptions.deleteSuccess': 'Subscription deleted',
   'portal.subscriptions.empty': 'No subscriptions',
+  'portal.subscriptions.failed': 'Authorization failed',
   'portal.subscriptions.fetchFailed': 'Failed to load subscriptions',
   'portal.subscriptions.pending': 'Pending',
   'portal.subscriptions.productName': 'Product name',
@@ -1802,7 +1823,9 @@ const enUSMessages = {
   'product.marketImport.exists': 'Exists',
   'product.marketImport.fromVendor': 'Import from {vendor}',
   'product.marketImport.importing': 'Importing, please wait...',
+  'product.marketImport.importProgress': 'Importing {done}/{total}...',
   'product.marketImport.importSelected': 'Import selected',
+  'product.marketImport.live': 'Listed live from the vendor',
   'product.marketImport.maxSelection': 'Select up to {count} items',
   'product.marketImport.noData': 'No data',
   'product.marketImport.queryFailed': 'Query failed',
@@ -1815,6 +1838,7 @@ const enUSMessages = {
   'product.marketImport.selectFirst': 'Select MCP items to import first',
   'product.marketImport.selectionLimitReached': '(limit reached)',
   'product.marketImport.successCount': 'Imported {count} MCP Servers',
+  'product.marketImport.syncedAt': 'Synced at {time}',
   'product.marketImport.timeoutWarning':
     'The import request timed out, but the backend may have completed it. Refresh the page to check.',
   'product.marketImport.title': 'Import MCP Server',
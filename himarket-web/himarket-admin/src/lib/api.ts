@@ -243,8 +243,27 @@ export const portalApi = {
   },
 };
 
+interface ProductImportRequest {
+  productType: string;
+  source: 'GATEWAY' | 'NACOS' | 'AIREGISTRY' | 'EXTERNAL';
+  sourceConfig:
+    | { instanceId: string }
+    | { instanceId: string; namespace?: string }
+    | { instanceId: string; namespace: string }
+    | { provider: string };
+  items: Array<{
+    resourceName?: string;
+    resourceId?: string;
+    description?: string;
+  }>;
+}
+
 // API Product相关API
 export const apiProductApi = {
+  // 取消导入任务，已导入的产品会保留
+  cancelImportJob: (jobId: string) => {
+    return api.post(`/products/import-jobs/${jobId}/cancel`);
+  },
   // 取消发布API产品到门户
   cancelPublishToPortal: (productId: string, publicationId: string) => {
     return api.delete(`/products/${productId}/publications/${publicationId}`);
@@ -281,6 +300,10 @@ export const apiProductApi = {
   getApiProducts: (params?: GetApiProductsParams) => {
     return api.get(`/products`, { params });
   },
+  // 查询导入任务进度
+  getImportJob: (jobId: string) => {
+    return api.get(`/products/import-jobs/${jobId}`);
+  },
   // 获取产品关联的类别
   getProductCategories: (productId: string) => {
     return api.get(`/products/${productId}/categories`);
@@ -297,20 +320,7 @@ export const apiProductApi = {
     return api.get(`/products/${productId}/subscriptions`, { params });
   },
   // 批量导入 AI API 资源为产品
-  importProducts: (data: {
-    productType: string;
-    source: 'GATEWAY' | 'NACOS' | 'AIREGISTRY' | 'EXTERNAL';
-    sourceConfig:
-      | { instanceId: string }
-      | { instanceId: string; namespace?: string }
-      | { instanceId: string; namespace: string }
-      | { provider: string };
-    items: Array<{
-      resourceName?: string;
-      resourceId?: string;
-      description?: string;
-    }>;
-  }) => {
+  importProducts: (data: ProductImportRequest) => {
     return api.post(`/products/import`, data, { timeout: 300000 });
   },
   // 发布API产品到门户
@@ -321,6 +331,10 @@ export const apiProductApi = {
   reloadProductConfig: (productId: string) => {
     return api.post(`/products/${productId}/configurations/reload`);
   },
+  // 以异步任务方式批量导入，返回任务进度
+  submitImportJob: (data: ProductImportRequest) => {
+    return api.post(`/products/import-jobs`, data);
+  },
   // 更新API产品
   updateApiProduct: (productId: string, data: UpdateApiProductRequest) => {
     return api.put(`/products/${productId}`, data);
@@ -395,6 +409,10 @@ export const gatewayApi = {
     return api.post(`/gateways`, { ...data });
   },
   // 更新网关
+  syncGatewayResources: (gatewayId: string) => {
+    return api.post(`/gateways/${gatewayId}/resources/sync`);
+  },
+
   updateGateway: (gatewayId: string, data: UpdateGatewayRequest) => {
     return api.put(`/gateways/${gatewayId}`, data);
   },
@@ -1,5 +1,5 @@
-import { PlusOutlined, EditOutlined, DeleteOutlined } from '@ant-design/icons';
-import { Button, message, Modal, Tooltip } from 'antd';
+import { PlusOutlined, EditOutlined, DeleteOutlined, SyncOutlined } from '@ant-design/icons';
+import { Button, message, Modal, Tag, Tooltip } from 'antd';
 import { useState, useEffect, useCallback, useRef } from 'react';
 
 import { AdminPageHeader } from '@/components/common';
@@ -26,6 +26,7 @@ export default function Consoles() {
   const [activeTab, setActiveTab] = useState<GatewayType>('HIGRESS');
   const [editVisible, setEditVisible] = useState(false);
   const [editingGateway, setEditingGateway] = useState<Gateway | null>(null);
+  const [syncingGatewayId, setSyncingGatewayId] = useState<string | null>(null);
   const [pagination, setPagination] = useState({
     current: 1,
     pageSize: 10,
@@ -112,10 +113,64 @@ export default function Consoles() {
     });
   };
 
+  const handleSyncResources = async (gatewayId: string) => {
+    setSyncingGatewayId(gatewayId);
+    try {
+      await gatewayApi.syncGatewayResources(gatewayId);
+      message.success(t('page.gateway.syncSuccess'));
+      fetchGatewaysByType(activeTab, pagination.current, pagination.pageSize);
+    } catch (_error) {
+      // message.error('同步失败')
+    } finally {
+      setSyncingGatewayId(null);
+    }
+  };
+
+  const resourceSyncColumn: NonNullable<TableProps<Gateway>['columns']>[number] = {
+    dataIndex: 'resourceSyncedAt',
+    key: 'resourceSyncedAt',
+    render: (date: string | undefined, record: Gateway) => {
+      const text = date ? formatDateTime(date) : t('page.gateway.neverSynced');
+      if (!record.resourceSyncMessage) {
+        return text;
+      }
+      return (
+        <Tooltip title={record.resourceSyncMessage}>
+          <span className="text-orange-500">{text}</span>
+        </Tooltip>
+      );
+    },
+    title: t('page.gateway.resourceSyncedAt'),
+  };
+
+  const circuitColumn: NonNullable<TableProps<Gateway>['columns']>[number] = {
+    dataIndex: 'circuitState',
+    key: 'circuitState',
+    render: (state: string | undefined) => {
+      if (state === 'OPEN') {
+        return <Tag color="red">{t('page.gateway.circuitOpen')}</Tag>;
+      }
+      if (state === 'HALF_OPEN') {
+        return <Tag color="orange">{t('page.gateway.circuitHalfOpen')}</Tag>;
+      }
+      return <Tag color="green">{t('page.gateway.circuitClosed')}</Tag>;
+    },
+    title: t('page.gateway.circuitState'),
+  };
+
   const actionColumn: NonNullable<TableProps<Gateway>['columns']>[number] = {
     key: 'action',
     render: (_text: unknown, record: Gateway) => (
       <div className="flex items-center gap-1">
+        <Button
+          className="text-blue-600 hover:text-blue-700 hover:bg-blue-50 !px-2 text-xs"
+          icon={<SyncOutlined />}
+          loading={syncingGatewayId === record.gatewayId}
+          onClick={() => handleSyncResources(record.gatewayId)}
+          type="text"
+        >
+          {t('page.gateway.syncResources')}
+        </Button>
         <Button
           className="text-blue-600 hover:text-blue-700 hover:bg-blue-50 !px-2 text-xs"
           icon={<EditOutlined />}
@@ -136,7 +191,7 @@ export default function Consoles() {
       </div>
     ),
     title: t('common.operation'),
-    width: 160,
+    width: 240,
   };
 
   // APIG 网关的列定义
@@ -178,6 +233,8 @@ export default function Consoles() {
       render: (date: string) => formatDateTime(date),
       title: t('product.overview.createAt'),
     },
+    resourceSyncColumn,
+    circuitColumn,
     actionColumn,
   ];
 
@@ -212,6 +269,8 @@ export default function Consoles() {
       render: (date: string) => formatDateTime(date),
       title: t('product.overview.createAt'),
     },
+    resourceSyncColumn,
+    circuitColumn,
     actionColumn,
   ];
 
@@ -246,6 +305,8 @@ export default function Consoles() {
       render: (date: string) => formatDateTime(date),
       title: t('product.overview.createAt'),
     },
+    resourceSyncColumn,
+    circuitColumn,
     actionColumn,
   ];
 
@@ -296,6 +357,8 @@ export default function Consoles() {
       render: (date: string) => formatDateTime(date),
       title: t('product.overview.createAt'),
     },
+    resourceSyncColumn,
+    circuitColumn,
     actionColumn,
   ];
 
@@ -4,6 +4,9 @@ export interface Gateway {
   description?: string;
   gatewayType: 'APIG_API' | 'HIGRESS' | 'APIG_AI' | 'ADP_AI_GATEWAY' | 'APSARA_GATEWAY';
   createAt: string;
+  resourceSyncedAt?: string;
+  resourceSyncMessage?: string;
+  circuitState?: 'CLOSED' | 'OPEN' | 'HALF_OPEN' | string;
   apigConfig?: ApigConfig;
   higressConfig?: HigressConfig;
   adpAIGatewayConfig?: AdpAIGatewayConfig;
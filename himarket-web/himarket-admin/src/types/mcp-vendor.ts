@@ -12,6 +12,7 @@ export interface RemoteMcpItemResult {
   repoUrl: string | null;
   extraParams: string | null;
   existsInPlatform: boolean;
+  syncedAt: string | null;
 }
 
 export interface ImportItemStatus {
@@ -2,7 +2,7 @@ export interface Subscription {
   subscriptionId: string;
   consumerId: string;
   productId: string;
-  status: 'PENDING' | 'APPROVED';
+  status: 'PENDING' | 'APPROVED' | 'FAILED';
   createAt: string;
   updatedAt: string;
   productName: string;
@@ -152,7 +152,9 @@ export function SubscriptionManager({
                 ? t('subscription.approved')
                 : status === 'PENDING'
                   ? t('subscription.pending')
-                  : status}
+                  : status === 'FAILED'
+                    ? t('subscription.failed')
+                    : status}
             </span>
           </div>
         );
@@ -112,7 +112,16 @@ export function useCodingWebSocket({
     };
 
     ws.onmessage = (e) => {
-      onMessageRef.current(e.data);
+      // The server merges consecutive CLI messages into one newline-separated
+      // frame when the connection is backed up.
+      const data = String(e.data);
+      if (data.indexOf('\n') < 0) {
+        onMessageRef.current(data);
+        return;
+      }
+      for (const line of data.split('\n')) {
+        if (line.trim()) onMessageRef.current(line);
+      }
     };
 
     ws.onerror = (e) => {
@@ -44,7 +44,7 @@ export interface ConsumerCredentialResult {
 export interface Subscription {
   productId: string;
   consumerId: string;
-  status: 'PENDING' | 'APPROVED';
+  status: 'PENDING' | 'APPROVED' | 'FAILED';
   createAt: string;
   updatedAt: string;
   productName: string;
@@ -30,3 +30,11 @@ export const ZOMBIE_TTL_MS = 60000; // CLI 退出后 session 保留 60 秒供 re
 export const WORKSPACE_ROOT = process.env.WORKSPACE_ROOT || '/workspace';
 
 export const LISTEN_HOST = SIDECAR_MODE === 'local' ? '127.0.0.1' : '0.0.0.0';
+
+// Skill 包缓存目录，同一 Sidecar 上的所有会话共享，
+// 以 (Nacos 地址, namespace, name, version) 的哈希为键，重复会话直接从本地磁盘复制。
+export const SKILL_CACHE_DIR =
+  process.env.SKILL_CACHE_DIR || '/var/cache/himarket/skills';
+
+export const SKILL_CACHE_MAX_ENTRIES =
+  parseInt(process.env.SKILL_CACHE_MAX_ENTRIES, 10) || 500;
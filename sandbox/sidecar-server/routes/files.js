@@ -50,6 +50,52 @@ export const fileRoutes = [
     },
   },
 
+  // POST /files/batch-write — 一次请求写入多个文件（支持绝对路径）
+  // 请求体：{ files: [{ path, content, encoding, mode }], atomic }
+  //   encoding 为 'base64' 时将 content 解码后写入，默认 'utf-8'；
+  //   mode 为文件权限（如 384 或 "600"），缺省时使用默认权限；
+  //   atomic 为 true 时先全部写入临时文件，任一失败则全部清理，全部成功后再逐个 rename。
+  // 响应：{ success, results: [{ path, success, error }] }，results 与 files 一一对应
+  {
+    method: 'POST',
+    match: (url) => url === '/files/batch-write',
+    handler: async (req, res) => {
+      let body;
+      try {
+        body = await parseJsonBody(req);
+      } catch {
+        return sendJson(res, 400, {
+          success: false,
+          error: '无效的 JSON 请求体',
+        });
+      }
+      const { files, atomic } = body;
+      if (!Array.isArray(files) || files.length === 0) {
+        return sendJson(res, 400, {
+          success: false,
+          error: '缺少 files 参数',
+        });
+      }
+      if (
+        files.some(
+          (f) => !f || !f.path || f.content === undefined || f.content === null,
+        )
+      ) {
+        return sendJson(res, 400, {
+          success: false,
+          error: '每个文件都需要 path 和 content 参数',
+        });
+      }
+      const results = atomic
+        ? await writeFilesAtomically(files)
+        : await Promise.all(files.map(writeSingleFile));
+      sendJson(res, 200, {
+        success: results.every((r) => r.success),
+        results,
+      });
+    },
+  },
+
   // POST /files/read — 读取文件（支持绝对路径）
   // 支持 encoding 参数：'base64' 返回 base64 编码（用于二进制文件），默认 'utf-8'
   {
@@ -428,3 +474,91 @@ export const fileRoutes = [
     },
   },
 ];
+
+// ---------------------------------------------------------------------------
+// 批量写入辅助函数
+// ---------------------------------------------------------------------------
+
+/**
+ * 解析文件权限，支持数字或八进制字符串，缺省时返回 undefined。
+ */
+function parseMode(mode) {
+  if (mode === undefined || mode === null || mode === '') {
+    return undefined;
+  }
+  const parsed = typeof mode === 'number' ? mode : parseInt(String(mode), 8);
+  if (!Number.isInteger(parsed) || parsed < 0 || parsed > 0o7777) {
+    throw new Error(`无效的 mode: ${mode}`);
+  }
+  return parsed;
+}
+
+function toBuffer(file) {
+  return file.encoding === 'base64'
+    ? Buffer.from(file.content, 'base64')
+    : Buffer.from(String(file.content), 'utf-8');
+}
+
+/**
+ * 写入单个文件，失败时返回错误而不抛出。
+ */
+async function writeSingleFile(file) {
+  try {
+    const fullPath = resolvePath(file.path);
+    const mode = parseMode(file.mode);
+    await fs.mkdir(path.dirname(fullPath), { recursive: true });
+    await fs.writeFile(fullPath, toBuffer(file));
+    if (mode !== undefined) {
+      await fs.chmod(fullPath, mode);
+    }
+    return { path: file.path, success: true };
+  } catch (err) {
+    return { path: file.path, success: false, error: err.message };
+  }
+}
+
+/**
+ * 原子批量写入：先写临时文件，任一失败则清理全部临时文件，不修改任何目标文件；
+ * 全部成功后逐个 rename，同一文件系统内 rename 保证单个文件不会被读到半写状态。
+ */
+async function writeFilesAtomically(files) {
+  const staged = [];
+  let failed = null;
+  for (const file of files) {
+    try {
+      const fullPath = resolvePath(file.path);
+      const mode = parseMode(file.mode);
+      await fs.mkdir(path.dirname(fullPath), { recursive: true });
+      const tmpPath = `${fullPath}.tmp-${process.pid}-${Date.now()}-${staged.length}`;
+      staged.push({ file, fullPath, tmpPath });
+      await fs.writeFile(tmpPath, toBuffer(file));
+      if (mode !== undefined) {
+        await fs.chmod(tmpPath, mode);
+      }
+    } catch (err) {
+      failed = { path: file.path, error: err.message };
+      break;
+    }
+  }
+
+  if (failed) {
+    await Promise.all(staged.map((s) => fs.unlink(s.tmpPath).catch(() => {})));
+    return files.map((file) =>
+      file.path === failed.path
+        ? { path: file.path, success: false, error: failed.error }
+        : { path: file.path, success: false, error: '批量写入已回滚' },
+    );
+  }
+
+  const results = [];
+  for (const { file, fullPath, tmpPath } of staged) {
+    try {
+      await fs.rename(tmpPath, fullPath);
+      results.push({ path: file.path, success: true });
+    } catch (err) {
+      await fs.unlink(tmpPath).catch(() => {});
+      results.push({ path: file.path, success: false, error: err.message });
+    }
+  }
+  return results;
+}
@@ -0,0 +1,378 @@
+import fs from 'node:fs/promises';
+import path from 'node:path';
+import crypto from 'node:crypto';
+import { createWriteStream } from 'node:fs';
+import { Readable } from 'node:stream';
+import { pipeline } from 'node:stream/promises';
+import { execFile } from 'node:child_process';
+import { parseJsonBody, sendJson } from '../lib/http.js';
+import { resolvePath } from '../lib/path.js';
+import { SKILL_CACHE_DIR, SKILL_CACHE_MAX_ENTRIES } from '../config.js';
+
+// ---------------------------------------------------------------------------
+// POST /skills/fetch — 下载 Skill 到指定目录，命中本地缓存时直接复制
+//
+// 请求体：{ config, outputDir, skills: [{ name, namespace, version }], timeout }
+//   config 为 nacos-env.yaml 路径，outputDir 为 Skill 输出目录，均支持绝对路径；
+//   带 version 的 Skill 通过 Nacos 下载接口按版本下载，以 (Nacos 地址, namespace,
+//   name, version) 为键缓存到 SKILL_CACHE_DIR；未带 version 的 Skill 每次都用
+//   nacos-cli 下载最新版本。
+// 响应与 /exec 一致：{ exitCode, stdout, stderr }，另附 cachedCount。
+// ---------------------------------------------------------------------------
+
+// 正在下载的缓存键，避免并发会话重复下载同一个 Skill
+const inflight = new Map();
+
+// 正在被复制的缓存键及其读者数，淘汰时跳过
+const readers = new Map();
+
+export const skillRoutes = [
+  {
+    method: 'POST',
+    match: (url) => url === '/skills/fetch',
+    handler: async (req, res) => {
+      let body;
+      try {
+        body = await parseJsonBody(req);
+      } catch {
+        return sendJson(res, 400, { error: '无效的 JSON 请求体' });
+      }
+      const { config, outputDir, skills, timeout } = body;
+      if (
+        !config ||
+        !outputDir ||
+        !Array.isArray(skills) ||
+        skills.length === 0
+      ) {
+        return sendJson(res, 400, {
+          error: '缺少 config、outputDir 或 skills 参数',
+        });
+      }
+      if (
+        skills.some(
+          (s) =>
+            !s || !s.name || s.name.includes('/') || s.name.includes('..'),
+        )
+      ) {
+        return sendJson(res, 400, { error: '无效的 Skill 名称' });
+      }
+      const timeoutMs =
+        typeof timeout === 'number' && timeout > 0 ? timeout : 120000;
+
+      try {
+        const result = await fetchSkills(
+          resolvePath(config),
+          resolvePath(outputDir),
+          skills,
+          timeoutMs,
+        );
+        sendJson(res, 200, result);
+      } catch (err) {
+        sendJson(res, 500, { error: err.message });
+      }
+    },
+  },
+];
+
+async function fetchSkills(configPath, outputDir, skills, timeoutMs) {
+  await fs.mkdir(outputDir, { recursive: true });
+  const env = await readEnv(configPath);
+
+  // 同步登记本次负责下载的缓存键；其他请求已在下载的键则等待其完成后读缓存
+  const owned = new Map();
+  const waits = [];
+  for (const skill of skills) {
+    const key = cacheKey(env, skill);
+    if (!key || owned.has(key)) {
+      continue;
+    }
+    if (inflight.has(key)) {
+      waits.push(inflight.get(key));
+    } else {
+      let done;
+      inflight.set(key, new Promise((resolve) => (done = resolve)));
+      owned.set(key, done);
+    }
+  }
+
+  try {
+    await Promise.all(waits);
+
+    // 1. 命中缓存的 Skill 直接复制
+    const pinned = [];
+    const unpinned = [];
+    let cachedCount = 0;
+    for (const skill of skills) {
+      const key = cacheKey(env, skill);
+      if (!key) {
+        unpinned.push(skill);
+      } else if (await copyFromCache(key, path.join(outputDir, skill.name))) {
+        cachedCount++;
+      } else {
+        pinned.push(skill);
+      }
+    }
+
+    // 2. 固定版本的 Skill 按版本下载到缓存后复制；失败时退回 nacos-cli 下载最新版本
+    const downloaded = await Promise.all(
+      pinned.map((skill) => downloadToCache(env, skill, timeoutMs)),
+    );
+    for (let i = 0; i < pinned.length; i++) {
+      const skill = pinned[i];
+      if (
+        downloaded[i] &&
+        (await copyFromCache(
+          cacheKey(env, skill),
+          path.join(outputDir, skill.name),
+        ))
+      ) {
+        continue;
+      }
+      unpinned.push(skill);
+    }
+    if (pinned.length > 0) {
+      await pruneCache();
+    }
+    if (unpinned.length === 0) {
+      return { exitCode: 0, stdout: '', stderr: '', cachedCount };
+    }
+
+    // 3. 其余 Skill 一次性用 nacos-cli 下载到输出目录，不写入缓存
+    const result = await runNacosCli(
+      [
+        'skill-get',
+        ...unpinned.map((s) => s.name),
+        '--config',
+        configPath,
+        '-o',
+        outputDir,
+      ],
+      timeoutMs,
+    );
+    return { ...result, cachedCount };
+  } finally {
+    for (const [key, done] of owned) {
+      inflight.delete(key);
+      done();
+    }
+  }
+}
+
+/**
+ * 通过 Nacos 下载接口按版本下载 Skill ZIP，解压后写入缓存。
+ * nacos-cli skill-get 只能下载最新版本，缓存内容必须与键中的版本一致，因此固定版本走 HTTP 接口。
+ *
+ * @returns 是否已写入缓存
+ */
+async function downloadToCache(env, skill, timeoutMs) {
+  await fs.mkdir(SKILL_CACHE_DIR, { recursive: true });
+  const stagingDir = await fs.mkdtemp(path.join(SKILL_CACHE_DIR, '.staging-'));
+  try {
+    const params = new URLSearchParams({
+      namespaceId: skill.namespace || env.namespace,
+      skillName: skill.name,
+      version: skill.version,
+    });
+    if (env.username && env.password) {
+      params.set('username', env.username);
+      params.set('password', env.password);
+    }
+    const response = await fetch(
+      `http://${env.host}:${env.port}/v3/console/ai/skills/version/download?${params}`,
+      { signal: AbortSignal.timeout(timeoutMs) },
+    );
+    if (!response.ok) {
+      console.warn(
+        `[skills] 按版本下载失败: ${skill.name}@${skill.version}, status=${response.status}`,
+      );
+      return false;
+    }
+    const zipFile = path.join(stagingDir, 'skill.zip');
+    await pipeline(
+      Readable.fromWeb(response.body),
+      createWriteStream(zipFile),
+    );
+
+    const extractDir = path.join(stagingDir, 'out');
+    const result = await run(
+      'unzip',
+      ['-q', '-o', zipFile, '-d', extractDir],
+      timeoutMs,
+    );
+    const extracted = path.join(extractDir, skill.name);
+    if (result.exitCode !== 0 || !(await exists(extracted))) {
+      console.warn(
+        `[skills] 解压失败: ${skill.name}@${skill.version}, ${result.stderr}`,
+      );
+      return false;
+    }
+
+    // rename 是原子的，读者不会看到写了一半的缓存
+    await fs
+      .rename(extracted, path.join(SKILL_CACHE_DIR, cacheKey(env, skill)))
+      .catch(() => {
+        // 并发写入同一个键时保留已有缓存
+      });
+    return true;
+  } catch (err) {
+    console.warn(
+      `[skills] 按版本下载失败: ${skill.name}@${skill.version}, ${err.message}`,
+    );
+    return false;
+  } finally {
+    await fs.rm(stagingDir, { recursive: true, force: true }).catch(() => {});
+  }
+}
+
+function runNacosCli(args, timeoutMs) {
+  return run('nacos-cli', args, timeoutMs);
+}
+
+function run(command, args, timeoutMs) {
+  return new Promise((resolve) => {
+    execFile(
+      command,
+      args,
+      {
+        timeout: timeoutMs,
+        maxBuffer: 10 * 1024 * 1024,
+        env: { ...process.env },
+      },
+      (err, stdout, stderr) => {
+        if (err && err.killed) {
+          resolve({
+            exitCode: 124,
+            stdout: stdout || '',
+            stderr: (stderr || '') + '\nProcess timed out',
+          });
+        } else if (err && err.code === 'ENOENT') {
+          resolve({
+            exitCode: 127,
+            stdout: '',
+            stderr: `Command not found: ${command}`,
+          });
+        } else if (err) {
+          resolve({
+            exitCode: err.code || 1,
+            stdout: stdout || '',
+            stderr: stderr || err.message,
+          });
+        } else {
+          resolve({ exitCode: 0, stdout: stdout || '', stderr: stderr || '' });
+        }
+      },
+    );
+  });
+}
+
+/**
+ * 从 nacos-env.yaml 读取 Nacos 地址和认证信息，读取失败时返回 null，此时不使用缓存。
+ */
+async function readEnv(configPath) {
+  let content;
+  try {
+    content = await fs.readFile(configPath, 'utf8');
+  } catch {
+    return null;
+  }
+  const field = (name) => {
+    const m = content.match(new RegExp(`^${name}:\\s*(.*)$`, 'm'));
+    return m ? m[1].trim() : '';
+  };
+  const host = field('host');
+  if (!host) {
+    return null;
+  }
+  return {
+    host,
+    port: field('port') || '8848',
+    authType: field('authType'),
+    username: field('username'),
+    password: field('password'),
+    namespace: field('namespace'),
+  };
+}
+
+/**
+ * 缓存键：(Nacos 地址, namespace, name, version) 的 SHA-256。
+ * 无 version、无法确定 Nacos 地址或使用阿里云 AK/SK 认证（HTTP 接口无法签名）时不缓存。
+ */
+function cacheKey(env, skill) {
+  if (!env || env.authType === 'aliyun' || !skill.version) {
+    return null;
+  }
+  return crypto
+    .createHash('sha256')
+    .update(
+      `${env.host}:${env.port}\n${skill.namespace || ''}\n${skill.name}\n${skill.version}`,
+    )
+    .digest('hex');
+}
+
+async function copyFromCache(key, target) {
+  const cached = path.join(SKILL_CACHE_DIR, key);
+  // 先登记读者再检查存在性，复制期间 pruneCache 不会删除该条目
+  readers.set(key, (readers.get(key) || 0) + 1);
+  try {
+    if (!(await exists(cached))) {
+      return false;
+    }
+    try {
+      await fs.cp(cached, target, { recursive: true, force: true });
+    } catch {
+      // 登记读者前已开始的淘汰删除了该条目，按未命中重新下载
+      return false;
+    }
+    // 更新 mtime，淘汰时按最近使用排序
+    const now = new Date();
+    await fs.utimes(cached, now, now).catch(() => {});
+    return true;
+  } finally {
+    const count = readers.get(key) - 1;
+    if (count > 0) {
+      readers.set(key, count);
+    } else {
+      readers.delete(key);
+    }
+  }
+}
+
+/**
+ * 缓存条目超过 SKILL_CACHE_MAX_ENTRIES 时删除最久未使用的条目，正在被复制的条目跳过。
+ */
+async function pruneCache() {
+  const names = (await fs.readdir(SKILL_CACHE_DIR)).filter(
+    (n) => !n.startsWith('.'),
+  );
+  if (names.length <= SKILL_CACHE_MAX_ENTRIES) {
+    return;
+  }
+  const entries = await Promise.all(
+    names.map(async (name) => {
+      const stat = await fs
+        .stat(path.join(SKILL_CACHE_DIR, name))
+        .catch(() => null);
+      return { name, mtimeMs: stat ? stat.mtimeMs : 0 };
+    }),
+  );
+  entries.sort((a, b) => a.mtimeMs - b.mtimeMs);
+  const stale = entries.slice(0, entries.length - SKILL_CACHE_MAX_ENTRIES);
+  for (const { name } of stale) {
+    if (readers.has(name)) {
+      continue;
+    }
+    await fs.rm(path.join(SKILL_CACHE_DIR, name), {
+      recursive: true,
+      force: true,
+    });
+  }
+}
+
+async function exists(p) {
+  try {
+    await fs.access(p);
+    return true;
+  } catch {
+    return false;
+  }
+}
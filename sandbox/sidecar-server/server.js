@@ -15,6 +15,7 @@ import { healthRoutes } from './routes/health.js';
 import { sessionRoutes } from './routes/sessions.js';
 import { fileRoutes } from './routes/files.js';
 import { execRoutes } from './routes/exec.js';
+import { skillRoutes } from './routes/skills.js';
 import { handleTerminalUpgrade } from './ws/terminal.js';
 import { handleCliUpgrade } from './ws/cli.js';
 
@@ -27,6 +28,7 @@ const allRoutes = [
   ...sessionRoutes,
   ...fileRoutes,
   ...execRoutes,
+  ...skillRoutes,
 ];
 
 // ---------------------------------------------------------------------------